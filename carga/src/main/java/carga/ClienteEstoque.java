@@ -0,0 +1,225 @@
+package carga;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OptionalDataException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import model.BlocoRelatorio;
+import model.CabecalhoRelatorio;
+import model.Movimentacao;
+import model.Produto;
+
+/**
+ * Cliente do protocolo de {@code server.Server} usado pelo gerador de carga.
+ * <p>
+ * Cada chamada abre uma conexão, envia um comando e lê a resposta completa,
+ * como o frontend faz. Respostas de texto iniciadas por {@code "ERRO"} ou
+ * {@code "Erro"} contam como falha; exceções de rede e de desserialização
+ * também.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ClienteEstoque {
+
+    /** Comandos que o cliente sabe enviar. */
+    public static final List<String> COMANDOS = List.of(
+            "LISTAR_CATEGORIAS", "LISTAR_PRODUTOS", "BUSCAR_PRODUTO", "BUSCAR_PRODUTOS_POR_IDS",
+            "INSERIR_MOVIMENTACAO", "LISTAR_MOVIMENTACOES", "TENDENCIA_MOVIMENTACOES", "RESERVAR", "ESTOQUE_DISPONIVEL",
+            "RELATORIO_LISTA_PRECOS", "RELATORIO_BALANCO", "RELATORIO_ABAIXO_MINIMO",
+            "RELATORIO_QTD_POR_CATEGORIA", "RELATORIO_MAIS_MOVIMENTADO", "RELATORIO_COBERTURA_ESTOQUE",
+            "RELATORIO_CURVA_ABC", "RELATORIO_VALOR_MOVIMENTADO", "RELATORIO_DASHBOARD", "RELATORIO_QUADROS", "VALOR_ESTOQUE", "METRICAS", "METRICAS_SQL", "METRICAS_FAIXAS", "LISTAR_REQUISICOES");
+
+    private final String host;
+    private final int porta;
+    private final int timeoutMs;
+
+    /** Relatórios sorteados em {@code RELATORIO_QUADROS}, os mesmos do mix {@code relatorios}. */
+    private static final String[] RELATORIOS_QUADROS = {
+            "LISTA_PRECOS", "BALANCO", "ABAIXO_MINIMO", "QTD_POR_CATEGORIA", "MAIS_MOVIMENTADO"};
+
+    /** IDs usados nos comandos que recebem produto. */
+    private volatile int[] idsProdutos = {1};
+
+    /**
+     * Cria o cliente.
+     *
+     * @param host endereço do servidor
+     * @param porta porta do servidor
+     * @param timeoutMs tempo máximo de conexão e de leitura
+     */
+    public ClienteEstoque(String host, int porta, int timeoutMs) {
+        this.host = host;
+        this.porta = porta;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Carrega os IDs de produtos existentes, usados nas movimentações e nas
+     * buscas por ID. Se a listagem falhar, mantém o ID {@code 1}.
+     *
+     * @return quantidade de produtos encontrados
+     */
+    @SuppressWarnings("unchecked")
+    public int carregarProdutos() {
+        try (Socket socket = conectar()) {
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            out.writeUTF("LISTAR_PRODUTOS");
+            out.flush();
+            Object resposta = in.readObject();
+            if (resposta instanceof List<?> lista && !lista.isEmpty()) {
+                idsProdutos = ((List<Produto>) lista).stream().mapToInt(Produto::getId).toArray();
+                return idsProdutos.length;
+            }
+        } catch (OptionalDataException e) {
+            // O servidor respondeu com uma mensagem de erro em texto
+            System.err.println("⚠️ Não foi possível listar produtos: servidor respondeu com erro");
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("⚠️ Não foi possível listar produtos: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Executa um comando e consome a resposta.
+     *
+     * @param comando comando do protocolo
+     * @return {@code true} se o servidor respondeu com sucesso
+     * @throws IOException em falha de rede
+     */
+    public boolean executar(String comando) throws IOException {
+        try (Socket socket = conectar()) {
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            out.writeUTF(comando);
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+            switch (comando) {
+                case "INSERIR_MOVIMENTACAO" -> {
+                    Produto produto = new Produto();
+                    produto.setId(produtoAleatorio(aleatorio));
+                    Movimentacao mov = new Movimentacao(produto, aleatorio.nextBoolean() ? "ENTRADA" : "SAIDA",
+                            1 + aleatorio.nextInt(10), new Date());
+                    // Chave nova por envio, como um cliente que reenviaria a mesma em caso de timeout
+                    mov.setChaveIdempotencia(UUID.randomUUID().toString());
+                    out.writeObject(mov);
+                    out.flush();
+                    return sucesso(in.readUTF());
+                }
+                case "RESERVAR" -> {
+                    // Reserva curta, que vence sozinha no servidor
+                    out.writeInt(produtoAleatorio(aleatorio));
+                    out.writeInt(1 + aleatorio.nextInt(3));
+                    out.writeInt(5);
+                    out.flush();
+                    return sucesso(in.readUTF());
+                }
+                case "ESTOQUE_DISPONIVEL" -> {
+                    out.writeInt(produtoAleatorio(aleatorio));
+                    out.flush();
+                    return respostaObjeto(in);
+                }
+                case "BUSCAR_PRODUTO" -> {
+                    out.writeUTF(String.valueOf((char) ('a' + aleatorio.nextInt(26))));
+                    out.writeInt(20);
+                    out.flush();
+                    return respostaObjeto(in);
+                }
+                case "BUSCAR_PRODUTOS_POR_IDS" -> {
+                    int[] ids = new int[20];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = produtoAleatorio(aleatorio);
+                    }
+                    out.writeObject(ids);
+                    out.flush();
+                    return respostaObjeto(in);
+                }
+                case "TENDENCIA_MOVIMENTACOES" -> {
+                    out.writeUTF("PRODUTO");
+                    out.writeInt(produtoAleatorio(aleatorio));
+                    out.writeUTF("DIA");
+                    out.writeInt(90);
+                    out.flush();
+                    return respostaObjeto(in);
+                }
+                case "RELATORIO_QUADROS" -> {
+                    out.writeUTF(RELATORIOS_QUADROS[aleatorio.nextInt(RELATORIOS_QUADROS.length)]);
+                    out.flush();
+                    return respostaQuadros(in);
+                }
+                default -> {
+                    // Listagens, relatórios e métricas: apenas o comando
+                    out.flush();
+                    return respostaObjeto(in);
+                }
+            }
+        }
+    }
+
+    private Socket conectar() throws IOException {
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, porta), timeoutMs);
+        socket.setSoTimeout(timeoutMs);
+        return socket;
+    }
+
+    private int produtoAleatorio(ThreadLocalRandom aleatorio) {
+        int[] ids = idsProdutos;
+        return ids[aleatorio.nextInt(ids.length)];
+    }
+
+    /**
+     * Lê uma resposta que normalmente é um objeto; em caso de erro o servidor
+     * responde com texto ({@code writeUTF}), que o {@link ObjectInputStream}
+     * entrega como {@link OptionalDataException}.
+     */
+    private static boolean respostaObjeto(ObjectInputStream in) throws IOException {
+        try {
+            Object resposta = in.readObject();
+            return resposta != null;
+        } catch (OptionalDataException e) {
+            return sucesso(in.readUTF());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Classe desconhecida na resposta: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lê um relatório em quadros: o {@link CabecalhoRelatorio} e os blocos
+     * até o último. Um erro pode chegar em texto no lugar de qualquer quadro.
+     */
+    private static boolean respostaQuadros(ObjectInputStream in) throws IOException {
+        try {
+            if (!(in.readObject() instanceof CabecalhoRelatorio)) {
+                return false;
+            }
+            while (true) {
+                if (!(in.readObject() instanceof BlocoRelatorio bloco)) {
+                    return false;
+                }
+                if (bloco.isUltimo()) {
+                    return true;
+                }
+            }
+        } catch (OptionalDataException e) {
+            return sucesso(in.readUTF());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Classe desconhecida na resposta: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean sucesso(String resposta) {
+        return resposta != null && !resposta.regionMatches(true, 0, "ERRO", 0, 4);
+    }
+}
@@ -0,0 +1,241 @@
+package carga;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga para o servidor de estoque ({@code server.Server}).
+ * <p>
+ * Simula N clientes concorrentes enviando uma mistura ponderada de comandos
+ * ({@link MixComandos}) e reporta vazão e percentis de latência por comando.
+ * </p>
+ *
+ * <p><b>Modos:</b></p>
+ * <ul>
+ *     <li>{@code fechado} — cada cliente envia a próxima requisição quando a
+ *     anterior termina (mais {@code --pausa} ms). Com {@code --taxa}, cada
+ *     cliente segue um cronograma fixo de {@code taxa / clientes} req/s e a
+ *     latência corrigida é medida a partir do instante programado;</li>
+ *     <li>{@code aberto} — as requisições chegam em taxa fixa
+ *     ({@code --taxa}, obrigatória), independentemente das respostas; o
+ *     próximo cliente livre atende a próxima chegada. Se o servidor atrasa,
+ *     as chegadas se acumulam e o atraso aparece na latência corrigida.</li>
+ * </ul>
+ *
+ * <p><b>Opções</b> (todas no formato {@code --nome valor}):</p>
+ * <ul>
+ *     <li>{@code --host} (padrão {@code localhost}) e {@code --porta} (padrão 1234);</li>
+ *     <li>{@code --clientes} — conexões simultâneas (padrão 10);</li>
+ *     <li>{@code --modo} — {@code fechado} (padrão) ou {@code aberto};</li>
+ *     <li>{@code --taxa} — requisições por segundo no total;</li>
+ *     <li>{@code --pausa} — pausa entre requisições no modo fechado, em ms (padrão 0);</li>
+ *     <li>{@code --mix} — mix pronto ({@code padrao}, {@code leitura}, {@code escrita},
+ *     {@code relatorios}, {@code dashboard}, {@code quadros}) ou lista {@code COMANDO=peso,...} (padrão {@code padrao});</li>
+ *     <li>{@code --aquecimento} e {@code --duracao} — em segundos (padrão 5 e 30);
+ *     nada é registrado durante o aquecimento;</li>
+ *     <li>{@code --timeout} — tempo máximo por requisição, em ms (padrão 10000);</li>
+ *     <li>{@code --json} — arquivo onde gravar os resultados, para comparar execuções.</li>
+ * </ul>
+ *
+ * <p>Para resultados repetíveis, rode servidor, banco e gerador na mesma
+ * máquina, com o banco recriado a partir de {@code estoque.sql}, e fixe o
+ * mix, a taxa e a duração. Exemplo:</p>
+ * <pre>{@code
+ *     mvn -q install -DskipTests                 # backend, na raiz
+ *     mvn -q -f carga/pom.xml package
+ *     java -cp carga/target/classes:target/classes carga.GeradorCarga \
+ *          --modo aberto --taxa 500 --clientes 32 --mix padrao --duracao 60 --json carga.json
+ * }</pre>
+ *
+ * <p>Para separar o custo do banco do custo do próprio servidor, repita a
+ * mesma carga com o servidor iniciado com {@code -Destoque.armazenamento=memoria}
+ * (sem E/S) e compare os dois arquivos JSON.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class GeradorCarga {
+
+    private final ClienteEstoque cliente;
+    private final MixComandos mix;
+    private final ResultadoCarga resultado = new ResultadoCarga();
+    private final int clientes;
+    private final boolean aberto;
+    private final double taxa;
+    private final long pausaNanos;
+
+    /** Próxima chegada programada no modo aberto. */
+    private final AtomicLong proximaChegada = new AtomicLong();
+
+    private long inicioNanos;
+    private long inicioMedicaoNanos;
+    private long fimNanos;
+
+    private GeradorCarga(ClienteEstoque cliente, MixComandos mix, int clientes, boolean aberto,
+                         double taxa, long pausaNanos) {
+        this.cliente = cliente;
+        this.mix = mix;
+        this.clientes = clientes;
+        this.aberto = aberto;
+        this.taxa = taxa;
+        this.pausaNanos = pausaNanos;
+    }
+
+    /**
+     * Ponto de entrada do gerador.
+     *
+     * @param args opções no formato {@code --nome valor}
+     */
+    public static void main(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                System.out.println("Opção inválida: " + args[i]);
+                System.exit(1);
+            }
+            opcoes.put(args[i].substring(2), args[i + 1]);
+        }
+
+        String host = opcoes.getOrDefault("host", "localhost");
+        int porta = Integer.parseInt(opcoes.getOrDefault("porta", "1234"));
+        int clientes = Integer.parseInt(opcoes.getOrDefault("clientes", "10"));
+        boolean aberto = "aberto".equalsIgnoreCase(opcoes.getOrDefault("modo", "fechado"));
+        double taxa = Double.parseDouble(opcoes.getOrDefault("taxa", "0"));
+        long pausaMs = Long.parseLong(opcoes.getOrDefault("pausa", "0"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "5"));
+        int duracao = Integer.parseInt(opcoes.getOrDefault("duracao", "30"));
+        int timeout = Integer.parseInt(opcoes.getOrDefault("timeout", "10000"));
+        String definicaoMix = opcoes.getOrDefault("mix", "padrao");
+
+        if (aberto && taxa <= 0) {
+            System.out.println("O modo aberto exige --taxa (requisições por segundo).");
+            System.exit(1);
+        }
+        MixComandos mix;
+        try {
+            mix = MixComandos.de(definicaoMix);
+        } catch (IllegalArgumentException e) {
+            System.out.println("💥 " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        ClienteEstoque cliente = new ClienteEstoque(host, porta, timeout);
+        int produtos = cliente.carregarProdutos();
+        System.out.printf("🎯 %s:%d | modo %s | %d clientes | taxa %s | mix %s | %d produtos%n",
+                host, porta, aberto ? "aberto" : "fechado", clientes,
+                taxa > 0 ? taxa + " req/s" : "livre", mix, produtos);
+        System.out.printf("⏳ Aquecimento de %d s, medição de %d s...%n", aquecimento, duracao);
+
+        GeradorCarga gerador = new GeradorCarga(cliente, mix, clientes, aberto, taxa, pausaMs * 1_000_000);
+        double segundos = gerador.executar(aquecimento, duracao);
+        System.out.println();
+        gerador.resultado.imprimir(segundos);
+
+        String json = opcoes.get("json");
+        if (json != null) {
+            Map<String, Object> parametros = new LinkedHashMap<>();
+            parametros.put("host", host);
+            parametros.put("porta", porta);
+            parametros.put("modo", aberto ? "aberto" : "fechado");
+            parametros.put("clientes", clientes);
+            parametros.put("taxa", taxa);
+            parametros.put("pausa_ms", pausaMs);
+            parametros.put("mix", mix.toString());
+            parametros.put("aquecimento_s", aquecimento);
+            parametros.put("produtos", produtos);
+            try (Writer w = Files.newBufferedWriter(Paths.get(json), StandardCharsets.UTF_8)) {
+                gerador.resultado.gravarJson(w, parametros, segundos);
+                System.out.println("💾 Resultados gravados em " + json);
+            } catch (IOException e) {
+                System.err.println("💥 Erro ao gravar " + json + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Executa a carga e espera os clientes terminarem.
+     *
+     * @param aquecimento segundos de aquecimento
+     * @param duracao segundos de medição
+     * @return duração efetiva da medição, em segundos
+     */
+    private double executar(int aquecimento, int duracao) {
+        inicioNanos = System.nanoTime();
+        inicioMedicaoNanos = inicioNanos + aquecimento * 1_000_000_000L;
+        fimNanos = inicioMedicaoNanos + duracao * 1_000_000_000L;
+
+        Thread[] threads = new Thread[clientes];
+        for (int i = 0; i < clientes; i++) {
+            int indice = i;
+            threads[i] = new Thread(() -> rodarCliente(indice), "cliente-" + i);
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return Math.max(1e-9, (Math.min(System.nanoTime(), fimNanos) - inicioMedicaoNanos) / 1e9);
+    }
+
+    private void rodarCliente(int indice) {
+        // Intervalo entre chegadas: global no modo aberto, por cliente no fechado com taxa
+        long intervalo = taxa > 0 ? (long) (1e9 / (aberto ? taxa : taxa / clientes)) : 0;
+        // Espalha o início dos clientes no modo fechado com taxa, para não chegarem em rajadas
+        long proximo = inicioNanos + (aberto || intervalo == 0 ? 0 : intervalo * indice / clientes);
+
+        while (true) {
+            long programado;
+            if (aberto) {
+                programado = inicioNanos + proximaChegada.getAndIncrement() * intervalo;
+            } else if (intervalo > 0) {
+                programado = proximo;
+                proximo += intervalo;
+            } else {
+                programado = System.nanoTime();
+            }
+            if (programado >= fimNanos) {
+                return;
+            }
+            esperarAte(programado);
+
+            String comando = mix.sortear();
+            long envio = System.nanoTime();
+            boolean sucesso;
+            try {
+                sucesso = cliente.executar(comando);
+            } catch (IOException e) {
+                if (programado >= inicioMedicaoNanos) {
+                    resultado.registrarFalha(comando, System.nanoTime() - programado);
+                }
+                continue;
+            }
+            long fim = System.nanoTime();
+            if (programado >= inicioMedicaoNanos) {
+                resultado.registrar(comando, fim - envio, fim - programado, sucesso);
+            }
+            if (!aberto && intervalo == 0 && pausaNanos > 0) {
+                LockSupport.parkNanos(pausaNanos);
+            }
+        }
+    }
+
+    private static void esperarAte(long instante) {
+        long falta;
+        while ((falta = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(falta);
+        }
+    }
+}
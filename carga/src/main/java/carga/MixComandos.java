@@ -0,0 +1,106 @@
+package carga;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mistura ponderada de comandos enviada pelo gerador de carga.
+ * <p>
+ * Definida no formato {@code COMANDO=peso,COMANDO=peso,...}; cada requisição
+ * sorteia um comando com probabilidade proporcional ao peso. Alguns mixes
+ * prontos podem ser usados pelo nome ({@link #PREDEFINIDOS}).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class MixComandos {
+
+    /** Mixes prontos, por nome. */
+    public static final Map<String, String> PREDEFINIDOS = Map.of(
+            "padrao", "LISTAR_PRODUTOS=30,BUSCAR_PRODUTO=20,INSERIR_MOVIMENTACAO=30,LISTAR_CATEGORIAS=10,"
+                    + "RELATORIO_BALANCO=5,RELATORIO_MAIS_MOVIMENTADO=5",
+            "leitura", "LISTAR_PRODUTOS=40,BUSCAR_PRODUTO=30,BUSCAR_PRODUTOS_POR_IDS=20,LISTAR_CATEGORIAS=10",
+            "escrita", "INSERIR_MOVIMENTACAO=90,LISTAR_PRODUTOS=10",
+            "relatorios", "RELATORIO_LISTA_PRECOS=20,RELATORIO_BALANCO=20,RELATORIO_ABAIXO_MINIMO=20,"
+                    + "RELATORIO_QTD_POR_CATEGORIA=20,RELATORIO_MAIS_MOVIMENTADO=20",
+            "dashboard", "RELATORIO_DASHBOARD=100",
+            "quadros", "RELATORIO_QUADROS=100");
+
+    private final String[] comandos;
+    private final int[] acumulados;
+    private final int total;
+
+    private MixComandos(Map<String, Integer> pesos) {
+        comandos = pesos.keySet().toArray(new String[0]);
+        acumulados = new int[comandos.length];
+        int soma = 0;
+        for (int i = 0; i < comandos.length; i++) {
+            soma += pesos.get(comandos[i]);
+            acumulados[i] = soma;
+        }
+        total = soma;
+    }
+
+    /**
+     * Interpreta a definição de um mix.
+     *
+     * @param definicao nome de um mix pronto ou lista {@code COMANDO=peso}
+     * @return mix de comandos
+     * @throws IllegalArgumentException se a definição for inválida
+     */
+    public static MixComandos de(String definicao) {
+        String texto = PREDEFINIDOS.getOrDefault(definicao, definicao);
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : texto.split(",")) {
+            String[] kv = parte.trim().split("=");
+            String comando = kv[0].trim().toUpperCase();
+            if (!ClienteEstoque.COMANDOS.contains(comando)) {
+                throw new IllegalArgumentException("Comando não suportado no mix: " + comando);
+            }
+            int peso = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (peso <= 0) {
+                throw new IllegalArgumentException("Peso inválido para " + comando + ": " + peso);
+            }
+            pesos.merge(comando, peso, Integer::sum);
+        }
+        return new MixComandos(pesos);
+    }
+
+    /**
+     * Sorteia o próximo comando.
+     *
+     * @return comando
+     */
+    public String sortear() {
+        int r = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < acumulados.length; i++) {
+            if (r < acumulados[i]) {
+                return comandos[i];
+            }
+        }
+        return comandos[comandos.length - 1];
+    }
+
+    /**
+     * Retorna os comandos do mix.
+     *
+     * @return comandos, na ordem da definição
+     */
+    public List<String> getComandos() {
+        return new ArrayList<>(List.of(comandos));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < comandos.length; i++) {
+            int peso = acumulados[i] - (i == 0 ? 0 : acumulados[i - 1]);
+            sb.append(i == 0 ? "" : ",").append(comandos[i]).append('=').append(peso);
+        }
+        return sb.toString();
+    }
+}
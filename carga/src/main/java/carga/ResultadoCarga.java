@@ -0,0 +1,154 @@
+package carga;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import metricas.HistogramaLatencia;
+
+/**
+ * Resultados de uma execução do gerador de carga, por comando.
+ * <p>
+ * Cada comando tem dois histogramas:
+ * </p>
+ * <ul>
+ *     <li><b>serviço</b> — do envio efetivo até o fim da resposta;</li>
+ *     <li><b>corrigida</b> — do instante em que a requisição <i>deveria</i>
+ *     ter sido enviada, segundo a taxa programada, até o fim da resposta.
+ *     Se o servidor trava, as requisições que ficaram esperando entram com
+ *     todo o atraso, em vez de sumirem da amostra (correção de
+ *     <i>coordinated omission</i>).</li>
+ * </ul>
+ * <p>
+ * Sem taxa programada (laço fechado puro), as duas medidas coincidem.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ResultadoCarga {
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private final Map<String, PorComando> comandos = new ConcurrentHashMap<>();
+
+    /**
+     * Registra uma requisição concluída.
+     *
+     * @param comando comando executado
+     * @param nanosServico duração medida a partir do envio
+     * @param nanosCorrigida duração medida a partir do instante programado
+     * @param sucesso se o servidor respondeu com sucesso
+     */
+    public void registrar(String comando, long nanosServico, long nanosCorrigida, boolean sucesso) {
+        PorComando p = comandos.computeIfAbsent(comando, k -> new PorComando());
+        p.servico.registrar(nanosServico);
+        p.corrigida.registrar(nanosCorrigida);
+        p.requisicoes.increment();
+        if (!sucesso) {
+            p.erros.increment();
+        }
+    }
+
+    /**
+     * Registra uma requisição que falhou antes de obter resposta (conexão
+     * recusada, tempo esgotado, etc.).
+     *
+     * @param comando comando executado
+     * @param nanosCorrigida duração medida a partir do instante programado
+     */
+    public void registrarFalha(String comando, long nanosCorrigida) {
+        PorComando p = comandos.computeIfAbsent(comando, k -> new PorComando());
+        p.corrigida.registrar(nanosCorrigida);
+        p.requisicoes.increment();
+        p.erros.increment();
+        p.falhasRede.increment();
+    }
+
+    /**
+     * Imprime a tabela de resultados.
+     *
+     * @param segundos duração da medição
+     */
+    public void imprimir(double segundos) {
+        System.out.printf("%-28s %8s %9s %6s %6s | %9s %9s %9s %9s | %9s %9s %9s %9s %9s%n",
+                "comando", "qtd", "req/s", "erros", "rede",
+                "s.p50", "s.p90", "s.p99", "s.p99.9",
+                "c.p50", "c.p90", "c.p99", "c.p99.9", "c.máx");
+        long total = 0;
+        long erros = 0;
+        for (Map.Entry<String, PorComando> e : new TreeMap<>(comandos).entrySet()) {
+            PorComando p = e.getValue();
+            long[] s = p.servico.percentis(PERCENTIS);
+            long[] c = p.corrigida.percentis(PERCENTIS);
+            long n = p.requisicoes.sum();
+            total += n;
+            erros += p.erros.sum();
+            System.out.printf("%-28s %8d %9.1f %6d %6d | %9.2f %9.2f %9.2f %9.2f | %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey(), n, n / segundos, p.erros.sum(), p.falhasRede.sum(),
+                    ms(s[0]), ms(s[1]), ms(s[2]), ms(s[3]),
+                    ms(c[0]), ms(c[1]), ms(c[2]), ms(c[3]), ms(p.corrigida.getMaximo()));
+        }
+        System.out.printf("%nTotal: %d requisições em %.1f s — %.1f req/s, %d erros (latências em ms; "
+                + "s = serviço, c = corrigida)%n", total, segundos, total / segundos, erros);
+    }
+
+    /**
+     * Grava os resultados em JSON, para comparar execuções.
+     *
+     * @param saida destino
+     * @param parametros parâmetros da execução
+     * @param segundos duração da medição
+     * @throws IOException em falha de escrita
+     */
+    public void gravarJson(Writer saida, Map<String, Object> parametros, double segundos) throws IOException {
+        StringBuilder sb = new StringBuilder("{\n  \"parametros\": {");
+        boolean primeiro = true;
+        for (Map.Entry<String, Object> e : parametros.entrySet()) {
+            sb.append(primeiro ? "" : ",").append("\n    \"").append(e.getKey()).append("\": ");
+            Object v = e.getValue();
+            sb.append(v instanceof Number ? v.toString() : "\"" + v + "\"");
+            primeiro = false;
+        }
+        sb.append("\n  },\n  \"segundos\": ").append(segundos).append(",\n  \"comandos\": {");
+        primeiro = true;
+        for (Map.Entry<String, PorComando> e : new TreeMap<>(comandos).entrySet()) {
+            PorComando p = e.getValue();
+            long n = p.requisicoes.sum();
+            sb.append(primeiro ? "" : ",").append("\n    \"").append(e.getKey()).append("\": {")
+                    .append("\"requisicoes\": ").append(n)
+                    .append(", \"vazao_rps\": ").append(Math.round(n / segundos * 10) / 10.0)
+                    .append(", \"erros\": ").append(p.erros.sum())
+                    .append(", \"falhas_rede\": ").append(p.falhasRede.sum())
+                    .append(", \"servico_ms\": ").append(percentisJson(p.servico))
+                    .append(", \"corrigida_ms\": ").append(percentisJson(p.corrigida))
+                    .append('}');
+            primeiro = false;
+        }
+        sb.append("\n  }\n}\n");
+        saida.write(sb.toString());
+    }
+
+    private static String percentisJson(HistogramaLatencia h) {
+        long[] v = h.percentis(PERCENTIS);
+        return String.format(Locale.ROOT,
+                "{\"p50\": %.3f, \"p90\": %.3f, \"p99\": %.3f, \"p99_9\": %.3f, \"max\": %.3f}",
+                ms(v[0]), ms(v[1]), ms(v[2]), ms(v[3]), ms(h.getMaximo()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /** Histogramas e contadores de um comando. */
+    private static final class PorComando {
+        final HistogramaLatencia servico = new HistogramaLatencia();
+        final HistogramaLatencia corrigida = new HistogramaLatencia();
+        final LongAdder requisicoes = new LongAdder();
+        final LongAdder erros = new LongAdder();
+        final LongAdder falhasRede = new LongAdder();
+    }
+}
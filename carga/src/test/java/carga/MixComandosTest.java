@@ -0,0 +1,54 @@
+package carga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link MixComandos}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class MixComandosTest {
+
+    @Test
+    void mixesProntos() {
+        for (String nome : MixComandos.PREDEFINIDOS.keySet()) {
+            assertEquals(MixComandos.PREDEFINIDOS.get(nome), MixComandos.de(nome).toString());
+        }
+    }
+
+    /** Nomes em qualquer caixa, peso padrão 1 e pesos repetidos somados. */
+    @Test
+    void definicaoLivre() {
+        MixComandos mix = MixComandos.de("listar_produtos=3, BUSCAR_PRODUTO ,LISTAR_PRODUTOS=2");
+        assertEquals(List.of("LISTAR_PRODUTOS", "BUSCAR_PRODUTO"), mix.getComandos());
+        assertEquals("LISTAR_PRODUTOS=5,BUSCAR_PRODUTO=1", mix.toString());
+    }
+
+    @Test
+    void definicaoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> MixComandos.de("APAGAR_TUDO=1"));
+        assertThrows(IllegalArgumentException.class, () -> MixComandos.de("LISTAR_PRODUTOS=0"));
+        assertThrows(IllegalArgumentException.class, () -> MixComandos.de("LISTAR_PRODUTOS=x"));
+    }
+
+    /** O sorteio segue os pesos. */
+    @Test
+    void sorteioProporcionalAosPesos() {
+        MixComandos mix = MixComandos.de("LISTAR_PRODUTOS=3,BUSCAR_PRODUTO=1");
+        int listar = 0;
+        int sorteios = 100_000;
+        for (int i = 0; i < sorteios; i++) {
+            if (mix.sortear().equals("LISTAR_PRODUTOS")) {
+                listar++;
+            }
+        }
+        double fracao = (double) listar / sorteios;
+        assertTrue(fracao > 0.73 && fracao < 0.77, "fração de LISTAR_PRODUTOS: " + fracao);
+    }
+}
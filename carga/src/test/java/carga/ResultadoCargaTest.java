@@ -0,0 +1,46 @@
+package carga;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link ResultadoCarga}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ResultadoCargaTest {
+
+    @Test
+    void jsonPorComando() throws IOException {
+        ResultadoCarga resultado = new ResultadoCarga();
+        resultado.registrar("LISTAR_PRODUTOS", 1_000_000, 2_000_000, true);
+        resultado.registrar("LISTAR_PRODUTOS", 3_000_000, 4_000_000, false);
+        resultado.registrarFalha("BUSCAR_PRODUTO", 5_000_000);
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("clientes", 8);
+        parametros.put("mix", "leitura");
+        StringWriter saida = new StringWriter();
+        resultado.gravarJson(saida, parametros, 2.0);
+        String json = saida.toString();
+
+        assertTrue(json.contains("\"clientes\": 8"), json);
+        assertTrue(json.contains("\"mix\": \"leitura\""), json);
+        assertTrue(json.contains("\"segundos\": 2.0"), json);
+        assertTrue(json.contains("\"LISTAR_PRODUTOS\": {\"requisicoes\": 2, \"vazao_rps\": 1.0, \"erros\": 1, "
+                + "\"falhas_rede\": 0, \"servico_ms\": {"), json);
+        // Máximos exatos; os percentis vêm do histograma, com erro relativo pequeno
+        assertTrue(json.contains("\"max\": 3.000}, \"corrigida_ms\""), json);
+        assertTrue(json.contains("\"max\": 4.000}}"), json);
+        assertTrue(json.contains("\"BUSCAR_PRODUTO\": {\"requisicoes\": 1, \"vazao_rps\": 0.5, \"erros\": 1, "
+                + "\"falhas_rede\": 1, \"servico_ms\": {\"p50\": 0.000"), json);
+        // Comandos em ordem alfabética
+        assertTrue(json.indexOf("BUSCAR_PRODUTO") < json.indexOf("LISTAR_PRODUTOS"), json);
+    }
+}
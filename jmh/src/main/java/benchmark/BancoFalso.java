@@ -0,0 +1,174 @@
+package benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Driver JDBC em memória que atende às URLs {@code jdbc:mysql:} usadas por
+ * {@code dao.ConexaoDAO}, para que os benchmarks executem o código real dos
+ * DAOs e serviços sem banco.
+ * <p>
+ * Toda consulta devolve as mesmas linhas ({@link #definirLinhas(List)}), lidas
+ * pelo rótulo da coluna; cada linha deve conter as colunas que o código
+ * medido lê. Conexões, comandos e resultados são {@link Proxy proxies}
+ * dinâmicos, como no {@code dao.MonitorJdbc}; o custo deles é pequeno perto
+ * do mapeamento medido, mas entra no resultado.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class BancoFalso implements Driver {
+
+    private static final BancoFalso INSTANCIA = new BancoFalso();
+
+    private static volatile List<Map<String, Object>> linhas = List.of();
+
+    static {
+        try {
+            DriverManager.registerDriver(INSTANCIA);
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private BancoFalso() {
+    }
+
+    /**
+     * Define as linhas devolvidas por todas as consultas (e registra o driver
+     * na primeira chamada).
+     *
+     * @param novasLinhas linhas, com valores por rótulo de coluna
+     */
+    public static void definirLinhas(List<Map<String, Object>> novasLinhas) {
+        linhas = List.copyOf(novasLinhas);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        return proxy(Connection.class, (p, m, args) -> switch (m.getName()) {
+            case "createStatement", "prepareStatement" -> comando(m.getReturnType());
+            case "isClosed", "isReadOnly" -> false;
+            case "getAutoCommit", "isValid" -> true;
+            default -> padrao(m);
+        });
+    }
+
+    private static Object comando(Class<?> tipo) {
+        return proxy(tipo, (p, m, args) -> switch (m.getName()) {
+            case "executeQuery" -> resultado(linhas);
+            case "executeUpdate" -> 1;
+            case "execute" -> true;
+            default -> padrao(m);
+        });
+    }
+
+    private static ResultSet resultado(List<Map<String, Object>> dados) {
+        int[] posicao = {-1};
+        return proxy(ResultSet.class, (p, m, args) -> {
+            switch (m.getName()) {
+                case "next":
+                    return ++posicao[0] < dados.size();
+                case "getString":
+                case "getInt":
+                case "getDouble":
+                case "getLong":
+                case "getObject":
+                    Object valor = dados.get(posicao[0]).get((String) args[0]);
+                    return converter(valor, m.getReturnType());
+                case "wasNull":
+                    return false;
+                default:
+                    return padrao(m);
+            }
+        });
+    }
+
+    private static Object converter(Object valor, Class<?> tipo) {
+        if (tipo == String.class) {
+            return valor == null ? null : valor.toString();
+        }
+        if (tipo == int.class) {
+            return valor == null ? 0 : ((Number) valor).intValue();
+        }
+        if (tipo == long.class) {
+            return valor == null ? 0L : ((Number) valor).longValue();
+        }
+        if (tipo == double.class) {
+            return valor == null ? 0.0 : ((Number) valor).doubleValue();
+        }
+        return valor;
+    }
+
+    /** Resposta neutra para os métodos que o código medido não usa de fato ({@code close}, etc.). */
+    private static Object padrao(Method m) {
+        Class<?> r = m.getReturnType();
+        if (r == boolean.class) {
+            return false;
+        }
+        if (r == int.class) {
+            return 0;
+        }
+        if (r == long.class) {
+            return 0L;
+        }
+        if (r == void.class) {
+            return null;
+        }
+        if (r.isPrimitive()) {
+            throw new UnsupportedOperationException(m.getName());
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BancoFalso.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith("jdbc:mysql:");
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
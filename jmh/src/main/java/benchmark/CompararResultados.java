@@ -0,0 +1,126 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compara dois resultados JSON do JMH (por exemplo, antes e depois de uma
+ * alteração) e aponta as regressões.
+ * <p>
+ * Um benchmark é marcado como regressão quando piora além da soma das
+ * margens de erro das duas execuções (intervalos de confiança de 99,9% que
+ * não se sobrepõem); pioras menores são tratadas como ruído. Para modos de
+ * tempo ({@code us/op}) pior é maior; para vazão ({@code ops/s}) pior é menor.
+ * </p>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     java -cp jmh/target/benchmarks.jar benchmark.CompararResultados antes.json depois.json
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CompararResultados {
+
+    private static final Pattern PARAMETROS = Pattern.compile("\"params\"\\s*:\\s*\\{([^}]*)}");
+    private static final Pattern PARAMETRO = Pattern.compile("\"([^\"]+)\"\\s*:\\s*\"([^\"]*)\"");
+    private static final Pattern METRICA = Pattern.compile(
+            "\"primaryMetric\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([^,\\s]+)\\s*,\\s*\"scoreError\"\\s*:\\s*([^,\\s]+)");
+    private static final Pattern UNIDADE = Pattern.compile("\"scoreUnit\"\\s*:\\s*\"([^\"]+)\"");
+
+    /**
+     * Ponto de entrada.
+     *
+     * @param args arquivo de referência e arquivo novo
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Uso: CompararResultados <antes.json> <depois.json>");
+            System.exit(1);
+        }
+        Map<String, Resultado> antes;
+        Map<String, Resultado> depois;
+        try {
+            antes = ler(args[0]);
+            depois = ler(args[1]);
+        } catch (IOException e) {
+            System.err.println("💥 Erro ao ler resultados: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        int regressoes = 0;
+        System.out.printf("%-70s %22s %22s %9s%n", "benchmark", "antes", "depois", "variação");
+        for (Map.Entry<String, Resultado> e : new TreeMap<>(depois).entrySet()) {
+            Resultado d = e.getValue();
+            Resultado a = antes.get(e.getKey());
+            if (a == null) {
+                System.out.printf("%-70s %22s %15.3f ± %-5.3g %9s  (novo)%n", e.getKey(), "-", d.score, d.erro, "");
+                continue;
+            }
+            double variacao = a.score == 0 ? 0 : 100.0 * (d.score - a.score) / a.score;
+            boolean menorMelhor = d.unidade.endsWith("/op");
+            double piora = menorMelhor ? d.score - a.score : a.score - d.score;
+            boolean regressao = piora > errar(a.erro) + errar(d.erro);
+            if (regressao) {
+                regressoes++;
+            }
+            System.out.printf("%-70s %14.3f ± %-5.3g %14.3f ± %-5.3g %+8.1f%% %s%s%n", e.getKey(),
+                    a.score, a.erro, d.score, d.erro, variacao, d.unidade, regressao ? "  ⚠️ regressão" : "");
+        }
+        System.out.printf("%n%d benchmarks comparados, %d regressões%n", depois.size(), regressoes);
+        if (regressoes > 0) {
+            System.exit(3);
+        }
+    }
+
+    /** Erro {@code NaN} (uma única iteração) não amplia a margem. */
+    private static double errar(double erro) {
+        return Double.isNaN(erro) ? 0 : erro;
+    }
+
+    private static Map<String, Resultado> ler(String arquivo) throws IOException {
+        String json = Files.readString(Paths.get(arquivo), StandardCharsets.UTF_8);
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        String[] partes = json.split("\"benchmark\"\\s*:\\s*\"");
+        for (int i = 1; i < partes.length; i++) {
+            String parte = partes[i];
+            String nome = parte.substring(0, parte.indexOf('"'));
+            int inicioMetrica = parte.indexOf("\"primaryMetric\"");
+            Matcher metrica = METRICA.matcher(parte);
+            Matcher unidade = UNIDADE.matcher(parte);
+            if (inicioMetrica < 0 || !metrica.find() || !unidade.find()) {
+                continue;
+            }
+            StringBuilder chave = new StringBuilder(nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1));
+            Matcher parametros = PARAMETROS.matcher(parte.substring(0, inicioMetrica));
+            if (parametros.find()) {
+                Map<String, String> ordenados = new TreeMap<>();
+                Matcher p = PARAMETRO.matcher(parametros.group(1));
+                while (p.find()) {
+                    ordenados.put(p.group(1), p.group(2));
+                }
+                chave.append(ordenados.toString().replace('{', '(').replace('}', ')'));
+            }
+            resultados.put(chave.toString(), new Resultado(numero(metrica.group(1)), numero(metrica.group(2)),
+                    unidade.group(1)));
+        }
+        return resultados;
+    }
+
+    private static double numero(String texto) {
+        return texto.startsWith("\"") || texto.equals("NaN") ? Double.NaN : Double.parseDouble(texto);
+    }
+
+    /** Pontuação de um benchmark. */
+    private record Resultado(double score, double erro, String unidade) {
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.Categoria;
+import model.EmbalagemProduto;
+import model.Movimentacao;
+import model.Produto;
+import model.TamanhoProduto;
+
+/**
+ * Dados sintéticos dos benchmarks, gerados com semente fixa para que
+ * execuções diferentes meçam exatamente a mesma entrada.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class DadosBenchmark {
+
+    private static final long SEMENTE = 42;
+
+    private static final int CATEGORIAS = 20;
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Gera produtos com categorias compartilhadas (como a consulta com JOIN).
+     *
+     * @param quantidade quantidade de produtos
+     * @return produtos
+     */
+    static List<Produto> produtos(int quantidade) {
+        Random aleatorio = new Random(SEMENTE);
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIAS; i++) {
+            categorias.add(new Categoria(i, "Categoria " + i,
+                    EmbalagemProduto.values()[i % EmbalagemProduto.values().length],
+                    TamanhoProduto.values()[i % TamanhoProduto.values().length]));
+        }
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            produtos.add(new Produto(i, "Produto " + i, Math.round(aleatorio.nextDouble() * 10_000) / 100.0,
+                    "UN", aleatorio.nextInt(500), 10, 400, categorias.get(i % CATEGORIAS)));
+        }
+        return produtos;
+    }
+
+    /**
+     * Gera movimentações, cada uma com seu próprio objeto de produto (como
+     * devolvido por {@code MovimentacaoDAO.listar}).
+     *
+     * @param quantidade quantidade de movimentações
+     * @return movimentações
+     */
+    static List<Movimentacao> movimentacoes(int quantidade) {
+        Random aleatorio = new Random(SEMENTE);
+        List<Produto> produtos = produtos(Math.max(1, quantidade / 10));
+        List<Movimentacao> movimentacoes = new ArrayList<>(quantidade);
+        long base = 1_700_000_000_000L;
+        for (int i = 1; i <= quantidade; i++) {
+            Produto original = produtos.get(aleatorio.nextInt(produtos.size()));
+            Produto copia = new Produto(original.getId(), original.getNome(), original.getPreco(),
+                    original.getTipoUnidade(), original.getQuantidadeAtual(), original.getQuantidadeMinima(),
+                    original.getQuantidadeMaxima(), original.getCategoria());
+            movimentacoes.add(new Movimentacao(i, copia, aleatorio.nextBoolean() ? "ENTRADA" : "SAIDA",
+                    1 + aleatorio.nextInt(50), new Date(base + i * 60_000L)));
+        }
+        return movimentacoes;
+    }
+
+    /**
+     * Gera linhas "de banco" com as colunas lidas por {@code ProdutoDAO} e
+     * pelos relatórios de {@code RelatorioService}.
+     *
+     * @param quantidade quantidade de linhas
+     * @param enumsValidos se {@code false}, embalagem e tamanho trazem textos
+     * que não correspondem a nenhuma constante (caminho da exceção)
+     * @return linhas por rótulo de coluna
+     */
+    static List<Map<String, Object>> linhas(int quantidade, boolean enumsValidos) {
+        List<Map<String, Object>> linhas = new ArrayList<>(quantidade);
+        for (Produto p : produtos(quantidade)) {
+            Map<String, Object> l = new HashMap<>();
+            l.put("id", p.getId());
+            l.put("nome", p.getNome());
+            l.put("produto", p.getNome());
+            l.put("preco", p.getPreco());
+            l.put("tipo_unidade", p.getTipoUnidade());
+            l.put("quantidade_atual", p.getQuantidadeAtual());
+            l.put("quantidade_minima", p.getQuantidadeMinima());
+            l.put("quantidade_maxima", p.getQuantidadeMaxima());
+            l.put("categoria_id", p.getCategoria().getId());
+            l.put("categoria_nome", p.getCategoria().getNome());
+            l.put("categoria", p.getCategoria().getNome());
+            l.put("categoria_embalagem", enumsValidos ? p.getCategoria().getEmbalagem().name() : "Plástico");
+            l.put("categoria_tamanho", enumsValidos ? p.getCategoria().getTamanho().name() : "Médio");
+            linhas.add(l);
+        }
+        return linhas;
+    }
+}
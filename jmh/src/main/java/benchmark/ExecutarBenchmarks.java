@@ -0,0 +1,61 @@
+package benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks e grava os resultados em JSON.
+ * <p>
+ * Aceita as mesmas opções da linha de comando do JMH (filtro por nome,
+ * {@code -p linhas=100}, {@code -f 1}, etc.). Sem {@code -rf}, o formato é
+ * JSON; sem {@code -rff}, o resultado vai para {@code jmh-resultado.json}.
+ * Compare duas execuções com {@link CompararResultados}.
+ * </p>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     mvn -q install -DskipTests                 # backend, na raiz
+ *     mvn -q -f jmh/pom.xml package
+ *     java -jar jmh/target/benchmarks.jar -rff antes.json
+ *     java -jar jmh/target/benchmarks.jar Serializacao -rff depois.json
+ *     java -cp jmh/target/benchmarks.jar benchmark.CompararResultados antes.json depois.json
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ExecutarBenchmarks {
+
+    /** Arquivo de resultado padrão. */
+    private static final String ARQUIVO_PADRAO = "jmh-resultado.json";
+
+    /**
+     * Ponto de entrada.
+     *
+     * @param args opções do JMH
+     * @throws RunnerException se a execução falhar
+     */
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions linhaDeComando;
+        try {
+            linhaDeComando = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("💥 " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        OptionsBuilder opcoes = new OptionsBuilder();
+        opcoes.parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result(ARQUIVO_PADRAO);
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import dao.ProdutoDAO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapeamento de produtos em {@link ProdutoDAO#listar()}, incluindo a
+ * conversão de embalagem e tamanho com {@code valueOf} dentro de
+ * {@code try/catch}.
+ * <p>
+ * Com {@code enumsValidos=false}, as duas conversões de cada linha lançam
+ * {@link IllegalArgumentException} (textos como {@code "Médio"} gravados por
+ * outra aplicação), o que mostra o custo de usar exceções no caminho comum.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProdutoDAOBenchmark {
+
+    /** Quantidade de linhas devolvidas pela consulta. */
+    @Param({"100", "10000"})
+    public int linhas;
+
+    /** Se embalagem e tamanho correspondem a constantes dos enums. */
+    @Param({"true", "false"})
+    public boolean enumsValidos;
+
+    private final ProdutoDAO dao = new ProdutoDAO();
+
+    @Setup
+    public void preparar() {
+        BancoFalso.definirLinhas(DadosBenchmark.linhas(linhas, enumsValidos));
+    }
+
+    @Benchmark
+    public List<Produto> listar() {
+        return dao.listar();
+    }
+}
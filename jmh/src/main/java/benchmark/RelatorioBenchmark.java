@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import relatorios.EscritorQuadros;
+import relatorios.Relatorio;
+import service.RelatorioService;
+
+/**
+ * Montagem dos relatórios em {@link RelatorioService}: leitura de cada linha
+ * do {@code ResultSet} e construção de um {@code HashMap} por linha.
+ * <p>
+ * As consultas são atendidas pelo {@link BancoFalso}, então o tempo medido é
+ * o do código Java (mapeamento, boxing, mapas), sem rede nem MySQL.
+ * </p>
+ * <p>
+ * {@link #balancoEmQuadros()} mede o caminho de {@code RELATORIO_QUADROS}
+ * já com a serialização (saída descartada): compare com a soma de
+ * {@link #balancoFisicoFinanceiro()} e de
+ * {@code server.EnvioRelatorioBenchmark.enviarListaComoTexto}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RelatorioBenchmark {
+
+    /** Quantidade de linhas devolvidas pela consulta. */
+    @Param({"100", "10000"})
+    public int linhas;
+
+    private final RelatorioService servico = new RelatorioService();
+
+    @Setup
+    public void preparar() {
+        BancoFalso.definirLinhas(DadosBenchmark.linhas(linhas, true));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> listarPrecos() {
+        return servico.listarPrecos();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> balancoFisicoFinanceiro() {
+        return servico.balancoFisicoFinanceiro();
+    }
+
+    @Benchmark
+    public long balancoEmQuadros() throws IOException, SQLException {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            EscritorQuadros escritor = new EscritorQuadros(out);
+            servico.transmitir(Relatorio.BALANCO, escritor);
+            return escritor.getTotalLinhas();
+        }
+    }
+}
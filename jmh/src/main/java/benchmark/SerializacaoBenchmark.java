@@ -0,0 +1,86 @@
+package benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Movimentacao;
+import model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo da serialização Java das listas que o servidor envia em
+ * {@code LISTAR_PRODUTOS} e {@code LISTAR_MOVIMENTACOES}.
+ * <p>
+ * Cada operação usa um {@link ObjectOutputStream} novo, como o servidor faz a
+ * cada conexão; o buffer de bytes é reaproveitado para não medir o
+ * crescimento do vetor.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializacaoBenchmark {
+
+    /** Quantidade de elementos da lista. */
+    @Param({"10", "1000", "10000"})
+    public int tamanho;
+
+    private List<Produto> produtos;
+    private List<Movimentacao> movimentacoes;
+    private byte[] produtosSerializados;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void preparar() throws IOException {
+        produtos = DadosBenchmark.produtos(tamanho);
+        movimentacoes = DadosBenchmark.movimentacoes(tamanho);
+        serializar(produtos);
+        produtosSerializados = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public int serializarProdutos() throws IOException {
+        return serializar(produtos);
+    }
+
+    @Benchmark
+    public int serializarMovimentacoes() throws IOException {
+        return serializar(movimentacoes);
+    }
+
+    /** Lado do cliente: reconstrução da lista de produtos. */
+    @Benchmark
+    public Object desserializarProdutos() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(produtosSerializados))) {
+            return in.readObject();
+        }
+    }
+
+    private int serializar(Object objeto) throws IOException {
+        buffer.reset();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(objeto);
+        }
+        return buffer.size();
+    }
+}
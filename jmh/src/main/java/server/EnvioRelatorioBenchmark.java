@@ -0,0 +1,88 @@
+package server;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Envio de relatórios por {@link Server#enviarListaComoTexto}: conversão de
+ * cada valor para texto com {@code stream}/{@code toMap}/{@code toString}
+ * seguida da serialização.
+ * <p>
+ * Fica no pacote {@code server} para acessar o método, que é visível no
+ * pacote. O benchmark {@link #somenteSerializacao()} envia a mesma lista já
+ * convertida, de modo que a diferença entre os dois é o custo da conversão.
+ * A saída é descartada ({@link OutputStream#nullOutputStream()}).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EnvioRelatorioBenchmark {
+
+    /** Quantidade de linhas do relatório. */
+    @Param({"100", "10000"})
+    public int linhas;
+
+    private List<Map<String, Object>> relatorio;
+    private List<Map<String, String>> relatorioEmTexto;
+
+    @Setup
+    public void preparar() {
+        // Mesmo formato do balanço físico/financeiro
+        relatorio = new ArrayList<>(linhas);
+        for (int i = 0; i < linhas; i++) {
+            Map<String, Object> linha = new HashMap<>();
+            int quantidade = i % 500;
+            double preco = (i % 10_000) / 100.0;
+            linha.put("produto", "Produto " + i);
+            linha.put("categoria", "Categoria " + (i % 20));
+            linha.put("quantidade", quantidade);
+            linha.put("preco", preco);
+            linha.put("valor_total", quantidade * preco);
+            relatorio.add(linha);
+        }
+        relatorioEmTexto = relatorio.stream()
+                .map(m -> m.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey, e -> e.getValue() == null ? "" : e.getValue().toString())))
+                .toList();
+    }
+
+    @Benchmark
+    public void enviarListaComoTexto() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            Server.enviarListaComoTexto(out, relatorio);
+        }
+    }
+
+    @Benchmark
+    public void somenteSerializacao() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            out.writeObject(relatorioEmTexto);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package avaliacao;
+
+import dao.ProdutoRepositorio;
+import dao.RelatorioRepositorio;
+import dao.Repositorios;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import log.Log;
+import model.Produto;
+
+/**
+ * Valor do estoque ({@code quantidade_atual × preco}) mantido de forma
+ * incremental, em centavos inteiros: o total geral e o subtotal de cada
+ * categoria, respondidos sem percorrer os produtos.
+ * <p>
+ * Os preços são convertidos para centavos ({@code long}) uma única vez, ao
+ * entrar; as somas são exatas, sem os arredondamentos de {@code double} do
+ * balanço linha a linha. Cada inserção, alteração ou exclusão de produto feita
+ * pelo {@code service.ProdutoService} substitui a posição do produto e soma só
+ * a diferença aos acumuladores. Neste sistema a quantidade em estoque vem do
+ * cadastro do produto (as movimentações não alteram {@code quantidade_atual}),
+ * de modo que o valor acompanha o estado do produto.
+ * </p>
+ *
+ * <p><b>Concorrência:</b> os acumuladores são {@link LongAdder} — somadores
+ * divididos em células por thread, sem disputa entre escritores; ler um total
+ * custa uma soma das células, independente do número de produtos. A troca da
+ * posição de um produto é atômica por produto
+ * ({@link ConcurrentHashMap#compute}); a recarga completa usa a trava de
+ * escrita e as atualizações, a de leitura, para que várias atualizações
+ * corram em paralelo. Cada atualização chega ao total geral como uma única
+ * diferença, de modo que um total lido durante atualizações nunca contém
+ * metade de uma delas.</p>
+ *
+ * <p><b>Conciliação:</b> a cada {@code -Destoque.avaliacao.conciliarMin}
+ * minutos (padrão 10; {@code 0} desativa) os subtotais são comparados com a
+ * soma feita pelo banco ({@link RelatorioRepositorio#valorEmEstoquePorCategoria()}).
+ * Havendo divergência — alteração feita fora do servidor, ou duas alterações
+ * do mesmo produto aplicadas fora de ordem —, os valores são recarregados a
+ * partir dos produtos.</p>
+ *
+ * <p>Carregada sob demanda, na primeira consulta ({@code VALOR_ESTOQUE}).</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class AvaliacaoEstoque {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final AvaliacaoEstoque INSTANCIA = new AvaliacaoEstoque();
+
+    /** Intervalo da conciliação com o banco, em minutos ({@code 0} desativa). */
+    private static final long INTERVALO_CONCILIACAO_MIN = Long.getLong("estoque.avaliacao.conciliarMin", 10);
+
+    /** O que um produto soma ao valor em estoque. */
+    private record Posicao(int categoriaId, long quantidade, long precoCentavos) {
+
+        static Posicao de(Produto p) {
+            return new Posicao(p.getCategoria() == null ? 0 : p.getCategoria().getId(),
+                    p.getQuantidadeAtual(), centavos(p.getPreco()));
+        }
+
+        long valor() {
+            return quantidade * precoCentavos;
+        }
+    }
+
+    /** Posição atual de cada produto, por ID. */
+    private final Map<Integer, Posicao> posicoes = new ConcurrentHashMap<>();
+
+    /** Valor total em estoque, em centavos. */
+    private final LongAdder total = new LongAdder();
+
+    /** Valor em estoque por ID de categoria, em centavos. */
+    private final Map<Integer, LongAdder> porCategoria = new ConcurrentHashMap<>();
+
+    /** Leitura: atualizações de produtos; escrita: carga e recarga completas. */
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private final LongAdder conciliacoes = new LongAdder();
+    private final LongAdder divergencias = new LongAdder();
+
+    /** Indica se os valores já foram carregados. */
+    private volatile boolean carregado;
+
+    private final ProdutoRepositorio produtoDAO = Repositorios.produtos();
+    private final RelatorioRepositorio relatorioDAO = Repositorios.relatorios();
+
+    private AvaliacaoEstoque() {
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return avaliação do estoque
+     */
+    public static AvaliacaoEstoque getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Converte um preço para centavos, arredondando para o centavo mais
+     * próximo (o banco guarda {@code DECIMAL(10,2)}).
+     *
+     * @param preco preço em reais
+     * @return preço em centavos
+     */
+    public static long centavos(double preco) {
+        return Math.round(preco * 100);
+    }
+
+    // ======================================================================
+    // CARGA E ATUALIZAÇÕES
+    // ======================================================================
+
+    /**
+     * Carrega os valores a partir dos produtos na primeira chamada e agenda a
+     * conciliação periódica. Atualizações concorrentes aguardam a carga e são
+     * aplicadas em seguida.
+     * <p>
+     * Se a leitura dos produtos falhar, a falha é registrada e os valores
+     * continuam não carregados: a próxima chamada tenta de novo, em vez de
+     * tomar um estoque vazio como verdadeiro.
+     * </p>
+     */
+    public void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            if (carregado) {
+                return;
+            }
+            recarregar(produtoDAO.carregar());
+            carregado = true;
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao carregar o valor do estoque", e);
+            return;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        Log.info("💰 Valor do estoque carregado", "produtos", posicoes.size(),
+                "valor_total", emReais(total.sum()));
+        agendarConciliacao();
+    }
+
+    /**
+     * Insere ou substitui um produto, somando a diferença de valor (ignorado
+     * se ainda não carregado: o produto será lido na carga).
+     *
+     * @param produto produto com ID definido
+     */
+    public void atualizar(Produto produto) {
+        if (!carregado || produto == null || produto.getId() <= 0) {
+            return;
+        }
+        Posicao nova = Posicao.de(produto);
+        trava.readLock().lock();
+        try {
+            posicoes.compute(produto.getId(), (id, antiga) -> {
+                aplicar(antiga, nova);
+                return nova;
+            });
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto, descontando o seu valor.
+     *
+     * @param id identificador do produto
+     */
+    public void remover(int id) {
+        if (!carregado) {
+            return;
+        }
+        trava.readLock().lock();
+        try {
+            posicoes.computeIfPresent(id, (k, antiga) -> {
+                aplicar(antiga, null);
+                return null;
+            });
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /** Troca a contribuição de um produto nos acumuladores. */
+    private void aplicar(Posicao antiga, Posicao nova) {
+        long antes = antiga == null ? 0 : antiga.valor();
+        long depois = nova == null ? 0 : nova.valor();
+        total.add(depois - antes);
+        if (antiga != null && nova != null && antiga.categoriaId() == nova.categoriaId()) {
+            acumulador(nova.categoriaId()).add(depois - antes);
+        } else {
+            if (antiga != null) {
+                acumulador(antiga.categoriaId()).add(-antes);
+            }
+            if (nova != null) {
+                acumulador(nova.categoriaId()).add(depois);
+            }
+        }
+    }
+
+    private LongAdder acumulador(int categoriaId) {
+        return porCategoria.computeIfAbsent(categoriaId, k -> new LongAdder());
+    }
+
+    /** Substitui todos os valores. Chamado com a trava de escrita. */
+    private void recarregar(List<Produto> produtos) {
+        posicoes.clear();
+        porCategoria.clear();
+        total.reset();
+        for (Produto p : produtos) {
+            Posicao posicao = Posicao.de(p);
+            posicoes.put(p.getId(), posicao);
+            aplicar(null, posicao);
+        }
+    }
+
+    // ======================================================================
+    // CONSULTAS
+    // ======================================================================
+
+    /**
+     * @return valor total em estoque, em centavos
+     */
+    public long getValorTotalCentavos() {
+        garantirCarregado();
+        return total.sum();
+    }
+
+    /**
+     * @param categoriaId identificador da categoria
+     * @return valor em estoque da categoria, em centavos
+     */
+    public long getValorCategoriaCentavos(int categoriaId) {
+        garantirCarregado();
+        LongAdder valor = porCategoria.get(categoriaId);
+        return valor == null ? 0 : valor.sum();
+    }
+
+    /**
+     * @return valor em estoque por ID de categoria, em centavos (sem as categorias zeradas)
+     */
+    public Map<Integer, Long> subtotaisPorCategoria() {
+        garantirCarregado();
+        Map<Integer, Long> subtotais = new HashMap<>();
+        porCategoria.forEach((id, valor) -> {
+            long soma = valor.sum();
+            if (soma != 0) {
+                subtotais.put(id, soma);
+            }
+        });
+        return subtotais;
+    }
+
+    /**
+     * Resume os valores para o comando {@code VALOR_ESTOQUE}: uma linha
+     * {@code TOTAL} seguida de uma linha por categoria, em ordem de ID.
+     *
+     * @return linhas com {@code categoria}, {@code valor} (reais, exato) e {@code centavos}
+     */
+    public List<Map<String, Object>> resumir() {
+        long valorTotal = getValorTotalCentavos();
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        Map<String, Object> linhaTotal = linha("TOTAL", valorTotal);
+        linhaTotal.put("produtos", posicoes.size());
+        linhaTotal.put("conciliacoes", conciliacoes.sum());
+        linhaTotal.put("divergencias", divergencias.sum());
+        linhas.add(linhaTotal);
+        new TreeMap<>(subtotaisPorCategoria()).forEach((id, valor) -> linhas.add(linha(id, valor)));
+        return linhas;
+    }
+
+    private static Map<String, Object> linha(Object categoria, long centavos) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("categoria", categoria);
+        linha.put("valor", emReais(centavos));
+        linha.put("centavos", centavos);
+        return linha;
+    }
+
+    private static BigDecimal emReais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    // ======================================================================
+    // CONCILIAÇÃO
+    // ======================================================================
+
+    /**
+     * Compara os subtotais com a soma feita pelo banco e, se divergirem,
+     * recarrega os valores a partir dos produtos.
+     * <p>
+     * A comparação definitiva é feita com a trava de escrita: as alterações já
+     * gravadas no banco, mas ainda não aplicadas aqui, aguardam e são
+     * reaplicadas depois da recarga sem efeito (cada atualização substitui a
+     * posição do produto, em vez de somar a ela).
+     * </p>
+     *
+     * @return {@code true} se os valores conferiam com o banco
+     * @throws SQLException se a consulta ao banco falhar ou os valores não
+     *                      puderem ser carregados; os valores atuais são mantidos
+     */
+    public boolean conciliar() throws SQLException {
+        garantirCarregado();
+        if (!carregado) {
+            throw new SQLException("Valor do estoque não carregado.");
+        }
+        conciliacoes.increment();
+        if (subtotaisPorCategoria().equals(semZeros(relatorioDAO.valorEmEstoquePorCategoria()))) {
+            return true;
+        }
+
+        trava.writeLock().lock();
+        try {
+            Map<Integer, Long> banco = semZeros(relatorioDAO.valorEmEstoquePorCategoria());
+            Map<Integer, Long> memoria = subtotaisPorCategoria();
+            if (memoria.equals(banco)) {
+                // Era só uma alteração ainda em andamento
+                return true;
+            }
+            divergencias.increment();
+            long totalMemoria = total.sum();
+            // Lê antes de limpar: se a leitura falhar, os valores atuais ficam
+            recarregar(produtoDAO.carregar());
+            Log.aviso("⚖️ Valor do estoque divergente do banco, recarregado",
+                    "valor_memoria", emReais(totalMemoria),
+                    "valor_banco", emReais(banco.values().stream().mapToLong(Long::longValue).sum()),
+                    "valor_recarregado", emReais(total.sum()));
+            return false;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private static Map<Integer, Long> semZeros(Map<Integer, Long> valores) {
+        valores.values().removeIf(v -> v == 0);
+        return valores;
+    }
+
+    private void agendarConciliacao() {
+        if (INTERVALO_CONCILIACAO_MIN <= 0) {
+            return;
+        }
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "avaliacao-conciliacao");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                if (conciliar()) {
+                    Log.debug("⚖️ Valor do estoque conferido com o banco", "valor_total", emReais(total.sum()));
+                }
+            } catch (SQLException e) {
+                Log.aviso("⚠️ Conciliação do valor do estoque não executada", "motivo", e.getMessage());
+            }
+        }, INTERVALO_CONCILIACAO_MIN, INTERVALO_CONCILIACAO_MIN, TimeUnit.MINUTES);
+    }
+}
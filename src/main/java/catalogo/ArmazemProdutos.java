@@ -0,0 +1,89 @@
+package catalogo;
+
+import java.util.List;
+import java.util.Set;
+import model.Categoria;
+import model.Produto;
+
+/**
+ * Armazenamento dos produtos do {@link CatalogoEstoque}.
+ * <p>
+ * Há duas implementações, escolhidas na inicialização pela propriedade
+ * {@code estoque.catalogo.offheap}:
+ * </p>
+ * <ul>
+ *     <li>{@link ArmazemProdutosHeap} (padrão) — objetos {@link Produto} em um mapa concorrente;</li>
+ *     <li>{@link CatalogoOffHeap} — registros de largura fixa fora do heap, sem
+ *     custo de coleta de lixo proporcional ao número de produtos.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+interface ArmazemProdutos {
+
+    /** Valor retornado pelas consultas de quantidade quando o produto não existe. */
+    int AUSENTE = Integer.MIN_VALUE;
+
+    /**
+     * Insere ou substitui um produto.
+     *
+     * @param produto produto com ID definido
+     */
+    void gravar(Produto produto);
+
+    /**
+     * Retorna o produto com o ID informado.
+     *
+     * @param id identificador do produto
+     * @return produto, ou {@code null} se não existir
+     */
+    Produto buscar(int id);
+
+    /**
+     * Remove um produto.
+     *
+     * @param id identificador do produto
+     * @return {@code true} se o produto existia
+     */
+    boolean remover(int id);
+
+    /**
+     * Remove os produtos cujos IDs não estão no conjunto informado.
+     *
+     * @param ids IDs que devem permanecer
+     */
+    void manterSomente(Set<Integer> ids);
+
+    /**
+     * Informa a versão atual de uma categoria aos produtos que a referenciam.
+     *
+     * @param categoria categoria alterada
+     */
+    void vincularCategoria(Categoria categoria);
+
+    /**
+     * Retorna o preço de um produto sem criar objetos.
+     *
+     * @param id identificador do produto
+     * @return preço, ou {@link Double#NaN} se o produto não existir
+     */
+    double getPreco(int id);
+
+    /**
+     * Retorna a quantidade em estoque de um produto sem criar objetos.
+     *
+     * @param id identificador do produto
+     * @return quantidade atual, ou {@link #AUSENTE} se o produto não existir
+     */
+    int getQuantidadeAtual(int id);
+
+    /** @return cópia da lista de produtos armazenados */
+    List<Produto> listar();
+
+    /** @return quantidade de produtos armazenados */
+    int tamanho();
+
+    /** Remove todos os produtos. */
+    void limpar();
+}
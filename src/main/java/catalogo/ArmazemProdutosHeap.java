@@ -0,0 +1,78 @@
+package catalogo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import model.Categoria;
+import model.Produto;
+
+/**
+ * Armazenamento padrão dos produtos do catálogo: objetos {@link Produto} em um
+ * {@link ConcurrentHashMap} indexado pelo ID.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ArmazemProdutosHeap implements ArmazemProdutos {
+
+    /** Produtos por ID. */
+    private final Map<Integer, Produto> produtos = new ConcurrentHashMap<>();
+
+    @Override
+    public void gravar(Produto produto) {
+        produtos.put(produto.getId(), produto);
+    }
+
+    @Override
+    public Produto buscar(int id) {
+        return produtos.get(id);
+    }
+
+    @Override
+    public boolean remover(int id) {
+        return produtos.remove(id) != null;
+    }
+
+    @Override
+    public void manterSomente(Set<Integer> ids) {
+        produtos.keySet().retainAll(ids);
+    }
+
+    @Override
+    public void vincularCategoria(Categoria categoria) {
+        for (Produto p : produtos.values()) {
+            if (p.getCategoria() != null && p.getCategoria().getId() == categoria.getId()) {
+                p.setCategoria(categoria);
+            }
+        }
+    }
+
+    @Override
+    public double getPreco(int id) {
+        Produto p = produtos.get(id);
+        return p == null ? Double.NaN : p.getPreco();
+    }
+
+    @Override
+    public int getQuantidadeAtual(int id) {
+        Produto p = produtos.get(id);
+        return p == null ? AUSENTE : p.getQuantidadeAtual();
+    }
+
+    @Override
+    public List<Produto> listar() {
+        return new ArrayList<>(produtos.values());
+    }
+
+    @Override
+    public int tamanho() {
+        return produtos.size();
+    }
+
+    @Override
+    public void limpar() {
+        produtos.clear();
+    }
+}
@@ -0,0 +1,169 @@
+package catalogo;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import model.Categoria;
+import model.Produto;
+
+/**
+ * Compara o {@link CatalogoOffHeap} com um {@code HashMap<Integer, Produto>}
+ * contendo os mesmos produtos sintéticos.
+ *
+ * <p>Para cada armazenamento, mede:</p>
+ * <ul>
+ *     <li><b>Memória</b> — heap ocupado após uma coleta completa e, no caso
+ *     fora do heap, a memória nativa ocupada;</li>
+ *     <li><b>Pausas de GC</b> — tempo de coletas completas explícitas e das
+ *     coletas causadas por uma carga de alocação de objetos temporários
+ *     enquanto o catálogo está vivo;</li>
+ *     <li><b>Consultas</b> — nanossegundos e bytes alocados por consulta de
+ *     preço, com IDs aleatórios.</li>
+ * </ul>
+ *
+ * <p>Exemplo (4 milhões de produtos):</p>
+ * <pre>{@code
+ *     java -Xmx4g -cp target/classes catalogo.BenchmarkOffHeap 4000000
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class BenchmarkOffHeap {
+
+    private static final int CONSULTAS = 5_000_000;
+
+    /** Evita que o JIT elimine as consultas medidas. */
+    private static double sumidouro;
+
+    /**
+     * Ponto de entrada do benchmark.
+     *
+     * @param args quantidade de produtos (padrão 2000000)
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Categoria categoria = new Categoria(1, "Geral", null, null);
+
+        System.out.printf("🧪 %,d produtos sintéticos%n%n", n);
+
+        long base = heapAposGc();
+        Map<Integer, Produto> mapa = new HashMap<>();
+        for (int i = 1; i <= n; i++) {
+            mapa.put(i, produto(i, categoria));
+        }
+        long heapMapa = heapAposGc() - base;
+        relatar("HashMap<Integer, Produto>", heapMapa, 0, mapa.size(),
+                medirPausas(), medirConsultas(id -> {
+                    Produto p = mapa.get(id);
+                    return p == null ? Double.NaN : p.getPreco();
+                }, n));
+        mapa.clear();
+
+        base = heapAposGc();
+        CatalogoOffHeap offHeap = new CatalogoOffHeap(n, id -> categoria);
+        for (int i = 1; i <= n; i++) {
+            offHeap.gravar(produto(i, categoria));
+        }
+        long heapOffHeap = Math.max(0, heapAposGc() - base);
+        relatar("CatalogoOffHeap", heapOffHeap, offHeap.getBytesOcupados(), offHeap.tamanho(),
+                medirPausas(), medirConsultas(offHeap::getPreco, n));
+    }
+
+    private static Produto produto(int i, Categoria categoria) {
+        return new Produto(i, "Produto sintético número " + i, 1 + (i % 1000) / 10.0, "UN",
+                i % 500, 10, 1000, categoria);
+    }
+
+    /** Resultado de {@link #medirPausas()}: {coletas completas ms, coletas da carga ms, quantidade}. */
+    private static long[] medirPausas() {
+        long[] resultado = new long[3];
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        resultado[0] = (System.nanoTime() - inicio) / 3_000_000;
+
+        long tempoAntes = tempoGc();
+        long contagemAntes = contagemGc();
+        Object[] sobreviventes = new Object[4096];
+        SplittableRandom aleatorio = new SplittableRandom(7);
+        for (int i = 0; i < 40_000_000; i++) {
+            // Objetos temporários, alguns sobrevivendo um pouco para chegarem à geração antiga
+            sobreviventes[aleatorio.nextInt(sobreviventes.length)] = new long[8];
+        }
+        resultado[1] = tempoGc() - tempoAntes;
+        resultado[2] = contagemGc() - contagemAntes;
+        return resultado;
+    }
+
+    private static long[] medirConsultas(ConsultaPreco consulta, int n) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        int[] ids = new int[CONSULTAS];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + aleatorio.nextInt(n);
+        }
+        for (int aquecimento = 0; aquecimento < 3; aquecimento++) {
+            for (int id : ids) {
+                sumidouro += consulta.preco(id);
+            }
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long alocadoAntes = threads.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        double soma = 0;
+        for (int id : ids) {
+            soma += consulta.preco(id);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long alocado = threads.getThreadAllocatedBytes(threadId) - alocadoAntes;
+        sumidouro += soma;
+        return new long[]{nanos / CONSULTAS, alocado / CONSULTAS};
+    }
+
+    private static void relatar(String nome, long heap, long nativo, int produtos, long[] pausas, long[] consultas) {
+        System.out.println("📦 " + nome);
+        System.out.printf("   produtos:                 %,d%n", produtos);
+        System.out.printf("   heap ocupado:             %,d KB (%d bytes/produto)%n", heap / 1024, heap / Math.max(1, produtos));
+        System.out.printf("   memória nativa:           %,d KB%n", nativo / 1024);
+        System.out.printf("   coleta completa (média):  %d ms%n", pausas[0]);
+        System.out.printf("   GC sob carga:             %d ms em %d coletas%n", pausas[1], pausas[2]);
+        System.out.printf("   consulta de preço:        %d ns, %d bytes alocados%n%n", consultas[0], consultas[1]);
+    }
+
+    private static long heapAposGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long tempoGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long contagemGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    /** Consulta de preço medida pelo benchmark. */
+    @FunctionalInterface
+    private interface ConsultaPreco {
+        double preco(int id);
+    }
+}
@@ -0,0 +1,77 @@
+package catalogo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+/**
+ * Mede o tempo de reinício do {@link CatalogoEstoque}: carga completa a partir
+ * do banco versus carga do snapshot seguida da leitura das alterações recentes.
+ *
+ * <p>Cada cenário é executado várias vezes em uma instância nova do catálogo e
+ * o menor tempo é reportado. Usa o banco configurado em {@link dao.ConexaoDAO}.</p>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     java -cp target/classes:mysql-connector-j.jar catalogo.BenchmarkReinicio /tmp/catalogo.snap 5
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class BenchmarkReinicio {
+
+    /**
+     * Ponto de entrada do benchmark.
+     *
+     * @param args arquivo de snapshot (padrão {@code catalogo.snap}) e número de repetições (padrão 5)
+     */
+    public static void main(String[] args) {
+        Path arquivo = Paths.get(args.length > 0 ? args[0] : "catalogo.snap");
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try {
+            long melhorCompleto = Long.MAX_VALUE;
+            CatalogoEstoque referencia = null;
+            for (int i = 0; i < repeticoes; i++) {
+                CatalogoEstoque catalogo = new CatalogoEstoque();
+                long inicio = System.nanoTime();
+                catalogo.carregarCompleto();
+                melhorCompleto = Math.min(melhorCompleto, System.nanoTime() - inicio);
+                referencia = catalogo;
+            }
+            System.out.printf("🐢 Carga completa do banco: %.1f ms (%d produtos, %d categorias)%n",
+                    melhorCompleto / 1e6, referencia.getProdutos().size(), referencia.getCategorias().size());
+
+            long inicioGravacao = System.nanoTime();
+            referencia.gravarSnapshot(arquivo);
+            System.out.printf("💾 Gravação do snapshot: %.1f ms (%d KB)%n",
+                    (System.nanoTime() - inicioGravacao) / 1e6, Files.size(arquivo) / 1024);
+
+            long melhorSnapshot = Long.MAX_VALUE;
+            long melhorSincronizacao = Long.MAX_VALUE;
+            for (int i = 0; i < repeticoes; i++) {
+                CatalogoEstoque catalogo = new CatalogoEstoque();
+                long inicio = System.nanoTime();
+                catalogo.carregarDeSnapshot(arquivo);
+                long lido = System.nanoTime();
+                catalogo.sincronizar();
+                long fim = System.nanoTime();
+                melhorSnapshot = Math.min(melhorSnapshot, fim - inicio);
+                melhorSincronizacao = Math.min(melhorSincronizacao, fim - lido);
+            }
+            System.out.printf("🚀 Snapshot + alterações recentes: %.1f ms (sincronização: %.1f ms)%n",
+                    melhorSnapshot / 1e6, melhorSincronizacao / 1e6);
+            System.out.printf("📈 Ganho: %.1fx%n", (double) melhorCompleto / melhorSnapshot);
+
+        } catch (SQLException e) {
+            System.err.println("💥 Erro de banco durante o benchmark: " + e.getMessage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("💥 Erro ao ler o snapshot: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package catalogo;
+
+import dao.CategoriaRepositorio;
+import dao.ConexaoDAO;
+import dao.MovimentacaoRepositorio;
+import dao.ProdutoRepositorio;
+import dao.Repositorios;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import log.Log;
+import model.Categoria;
+import model.Produto;
+import service.IndiceBuscaProduto;
+
+/**
+ * Catálogo de estoque em memória: categorias, produtos e os totais
+ * movimentados (entradas e saídas) por produto.
+ * <p>
+ * Serve as estruturas em memória do servidor (índice de busca, relatórios
+ * agregados) sem precisar reler o banco a cada requisição. Produtos e
+ * categorias são mantidos atualizados pelos serviços a cada alteração; os
+ * totais movimentados são sincronizados de forma incremental a partir da
+ * maior movimentação já contabilizada (marca d'água).
+ * </p>
+ *
+ * <p><b>Versões para relatórios:</b> cada alteração publica uma
+ * {@link VersaoCatalogo} imutável, trocando uma única referência
+ * ({@link #versaoAtual()}). As alterações são aplicadas e publicadas sob uma
+ * trava só de escritores; os relatórios leem uma versão inteira sem travar
+ * ninguém e nunca veem uma movimentação ou edição pela metade. Versões que
+ * nenhum relatório referencia mais são liberadas pelo coletor de lixo.</p>
+ *
+ * <p><b>Reinício rápido:</b> o catálogo pode ser gravado periodicamente em um
+ * arquivo de snapshot ({@link SnapshotCatalogo}). Na inicialização, o snapshot
+ * é carregado e apenas as linhas alteradas desde então são lidas do banco:</p>
+ * <ul>
+ *     <li>produtos e categorias com {@code atualizado_em} posterior à marca do snapshot;</li>
+ *     <li>movimentações com ID maior que a marca do snapshot;</li>
+ *     <li>exclusões, detectadas comparando os IDs existentes (consulta só de chaves).</li>
+ * </ul>
+ *
+ * <p><b>Configuração</b> (propriedades de sistema):</p>
+ * <ul>
+ *     <li>{@code estoque.snapshot.arquivo} — caminho do snapshot; sem ela, o catálogo não é carregado na inicialização;</li>
+ *     <li>{@code estoque.snapshot.intervaloMin} — intervalo de gravação do snapshot, em minutos (padrão 5);</li>
+ *     <li>{@code estoque.catalogo.offheap} — se {@code true}, os produtos ficam fora do heap
+ *     ({@link CatalogoOffHeap}) em vez de objetos {@link Produto} em um mapa;</li>
+ *     <li>{@code estoque.catalogo.capacidade} — capacidade inicial do armazenamento fora do heap (padrão 100000).</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CatalogoEstoque {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final CatalogoEstoque INSTANCIA = new CatalogoEstoque();
+
+    /**
+     * Margem de segurança aplicada à marca de atualização. Alterações gravadas
+     * no banco pouco antes da marca, mas ainda não refletidas em memória, são
+     * relidas na próxima sincronização (reler é inofensivo).
+     */
+    private static final long MARGEM_MARCA_MS = 5_000;
+
+    /** Categorias por ID. */
+    private final Map<Integer, Categoria> categorias = new ConcurrentHashMap<>();
+
+    /** Produtos, no heap ou fora dele conforme {@code estoque.catalogo.offheap}. */
+    private final ArmazemProdutos produtos;
+
+    /** Totais {@code {entradas, saidas}} movimentados por ID de produto. */
+    private final Map<Integer, long[]> totais = new ConcurrentHashMap<>();
+
+    /** Maior ID de movimentação já contabilizado nos totais. */
+    private volatile long marcaMovimentacao;
+
+    /** Instante (relógio do banco) a partir do qual as alterações precisam ser relidas. */
+    private volatile long marcaAtualizacao;
+
+    /** Indica se o catálogo foi carregado. */
+    private volatile boolean carregado;
+
+    /** Trava dos escritores: alteração das estruturas e publicação da versão. */
+    private final Object publicacao = new Object();
+
+    /** Última versão publicada, lida sem trava pelos relatórios. */
+    private volatile VersaoCatalogo versao = VersaoCatalogo.VAZIA;
+
+    private final CategoriaRepositorio categoriaDAO = Repositorios.categorias();
+    private final ProdutoRepositorio produtoDAO = Repositorios.produtos();
+    private final MovimentacaoRepositorio movimentacaoDAO = Repositorios.movimentacoes();
+
+    /**
+     * Construtor restrito ao pacote: o servidor usa {@link #getInstancia()};
+     * ferramentas de medição criam instâncias independentes.
+     */
+    CatalogoEstoque() {
+        this(Boolean.getBoolean("estoque.catalogo.offheap"));
+    }
+
+    /**
+     * Cria um catálogo com o armazenamento de produtos escolhido.
+     *
+     * @param foraDoHeap se {@code true}, usa {@link CatalogoOffHeap}
+     */
+    CatalogoEstoque(boolean foraDoHeap) {
+        this.produtos = foraDoHeap
+                ? new CatalogoOffHeap(Integer.getInteger("estoque.catalogo.capacidade", 100_000), categorias::get)
+                : new ArmazemProdutosHeap();
+    }
+
+    /**
+     * Retorna a instância compartilhada do catálogo.
+     *
+     * @return catálogo de estoque
+     */
+    public static CatalogoEstoque getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Carrega o catálogo na inicialização do servidor, caso a propriedade
+     * {@code estoque.snapshot.arquivo} esteja definida, e agenda a gravação
+     * periódica do snapshot.
+     * <p>
+     * Se o snapshot existir, ele é carregado e complementado com as alterações
+     * feitas no banco desde então; caso contrário (ou se estiver corrompido),
+     * o catálogo é lido integralmente do banco. Ao final, o
+     * {@link IndiceBuscaProduto} é alimentado com os produtos do catálogo.
+     * </p>
+     *
+     * @return {@code true} se o catálogo foi carregado
+     */
+    public static boolean iniciarSeConfigurado() {
+        String caminho = System.getProperty("estoque.snapshot.arquivo");
+        if (caminho == null || caminho.isBlank()) {
+            return false;
+        }
+        if (Repositorios.isMemoria()) {
+            // O armazenamento em memória já é o próprio catálogo; a sincronização depende do relógio do banco
+            Log.aviso("⚠️ Catálogo desativado com armazenamento em memória", "snapshot", caminho);
+            return false;
+        }
+        Path arquivo = Paths.get(caminho);
+        CatalogoEstoque catalogo = getInstancia();
+
+        try {
+            long inicio = System.nanoTime();
+            String origem = "banco (carga completa)";
+            boolean doSnapshot = false;
+            if (Files.exists(arquivo)) {
+                try {
+                    catalogo.carregarDeSnapshot(arquivo);
+                    catalogo.sincronizar();
+                    origem = "snapshot + alterações recentes";
+                    doSnapshot = true;
+                } catch (IOException e) {
+                    Log.aviso("⚠️ Snapshot do catálogo inválido, recarregando do banco", "motivo", e.getMessage());
+                    catalogo.limpar();
+                }
+            }
+            if (!doSnapshot) {
+                catalogo.carregarCompleto();
+            }
+            Log.info("🗂️ Catálogo carregado", "origem", origem, "duracao_ms", (System.nanoTime() - inicio) / 1_000_000,
+                    "produtos", catalogo.produtos.tamanho(), "categorias", catalogo.categorias.size());
+            IndiceBuscaProduto.getInstancia().garantirCarregado(catalogo::getProdutos);
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao carregar o catálogo", e);
+            return false;
+        }
+
+        long intervalo = Long.getLong("estoque.snapshot.intervaloMin", 5);
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalogo-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleAtFixedRate(() -> catalogo.gravarSnapshot(arquivo), intervalo, intervalo, TimeUnit.MINUTES);
+        return true;
+    }
+
+    // ======================================================================
+    // CARGA E SINCRONIZAÇÃO
+    // ======================================================================
+
+    /**
+     * Lê o catálogo inteiro do banco: todas as categorias, todos os produtos e
+     * os totais de todas as movimentações.
+     *
+     * @throws SQLException se o banco não estiver acessível
+     */
+    public synchronized void carregarCompleto() throws SQLException {
+        limpar();
+        long marca = ConexaoDAO.agoraNoBanco().getTime() - MARGEM_MARCA_MS;
+        long ateId = movimentacaoDAO.maiorId();
+        List<Categoria> lidasCategorias = categoriaDAO.carregar();
+        List<Produto> lidosProdutos = produtoDAO.carregar();
+        Map<Integer, long[]> lidosTotais = movimentacaoDAO.totaisPorProduto(0, ateId);
+
+        synchronized (publicacao) {
+            for (Categoria c : lidasCategorias) {
+                categorias.put(c.getId(), c);
+            }
+            for (Produto p : lidosProdutos) {
+                produtos.gravar(p);
+            }
+            totais.putAll(lidosTotais);
+
+            marcaMovimentacao = ateId;
+            marcaAtualizacao = marca;
+            carregado = true;
+            reconstruirVersao();
+        }
+    }
+
+    /**
+     * Carrega o conteúdo de um arquivo de snapshot, substituindo o catálogo atual.
+     *
+     * @param arquivo arquivo de snapshot
+     * @throws IOException se o arquivo não puder ser lido ou estiver corrompido
+     */
+    public synchronized void carregarDeSnapshot(Path arquivo) throws IOException {
+        SnapshotCatalogo.Conteudo conteudo = SnapshotCatalogo.ler(arquivo);
+        synchronized (publicacao) {
+            limpar();
+            for (Categoria c : conteudo.categorias()) {
+                categorias.put(c.getId(), c);
+            }
+            for (Produto p : conteudo.produtos()) {
+                produtos.gravar(p);
+            }
+            totais.putAll(conteudo.totais());
+            marcaMovimentacao = conteudo.marcaMovimentacao();
+            marcaAtualizacao = conteudo.marcaAtualizacao();
+            carregado = true;
+            reconstruirVersao();
+        }
+    }
+
+    /**
+     * Traz para a memória as alterações feitas no banco desde as marcas atuais:
+     * categorias e produtos alterados, exclusões e novas movimentações.
+     *
+     * @throws SQLException se o banco não estiver acessível
+     */
+    public synchronized void sincronizar() throws SQLException {
+        long novaMarca = ConexaoDAO.agoraNoBanco().getTime() - MARGEM_MARCA_MS;
+        Timestamp desde = new Timestamp(marcaAtualizacao);
+        List<Categoria> alteradas = categoriaDAO.listarAlteradasDesde(desde);
+        Set<Integer> idsCategorias = categoriaDAO.listarIds();
+        List<Produto> alterados = produtoDAO.listarAlteradosDesde(desde);
+        Set<Integer> idsProdutos = produtoDAO.listarIds();
+
+        synchronized (publicacao) {
+            for (Categoria c : alteradas) {
+                categorias.put(c.getId(), c);
+                produtos.vincularCategoria(c);
+            }
+            categorias.keySet().retainAll(idsCategorias);
+
+            for (Produto p : alterados) {
+                produtos.gravar(p);
+            }
+            produtos.manterSomente(idsProdutos);
+            totais.keySet().retainAll(idsProdutos);
+            reconstruirVersao();
+        }
+
+        sincronizarMovimentacoes();
+        marcaAtualizacao = novaMarca;
+    }
+
+    /**
+     * Soma aos totais apenas as movimentações gravadas após a marca d'água.
+     * Consulta barata, executada antes de relatórios que usam os totais.
+     *
+     * @throws SQLException se o banco não estiver acessível
+     */
+    public synchronized void sincronizarMovimentacoes() throws SQLException {
+        long ateId = movimentacaoDAO.maiorId();
+        if (ateId <= marcaMovimentacao) {
+            return;
+        }
+        Map<Integer, long[]> novos = movimentacaoDAO.totaisPorProduto(marcaMovimentacao, ateId);
+        publicar(edicao -> {
+            for (Map.Entry<Integer, long[]> e : novos.entrySet()) {
+                long[] soma = e.getValue();
+                totais.merge(e.getKey(), soma, (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+                VersaoCatalogo.Item item = edicao.item(e.getKey());
+                if (item != null) {
+                    edicao.gravar(item.somar(soma[0], soma[1]));
+                }
+            }
+            marcaMovimentacao = ateId;
+        });
+    }
+
+    /**
+     * Grava o catálogo atual em um arquivo de snapshot, sincronizando antes os
+     * totais movimentados para que correspondam à marca gravada. O estado é
+     * copiado com a trava de publicação, a mesma das alterações feitas pelos
+     * serviços: produtos, categorias, totais e marcas saem do mesmo instante.
+     *
+     * @param arquivo arquivo de destino
+     */
+    public void gravarSnapshot(Path arquivo) {
+        try {
+            long inicio = System.nanoTime();
+            SnapshotCatalogo.Conteudo conteudo;
+            synchronized (this) {
+                sincronizarMovimentacoes();
+                synchronized (publicacao) {
+                    conteudo = new SnapshotCatalogo.Conteudo(marcaMovimentacao, marcaAtualizacao,
+                            new ArrayList<>(categorias.values()), produtos.listar(),
+                            Map.copyOf(totais));
+                }
+            }
+            SnapshotCatalogo.gravar(arquivo, conteudo);
+            Log.info("💾 Snapshot do catálogo gravado", "duracao_ms", (System.nanoTime() - inicio) / 1_000_000,
+                    "produtos", conteudo.produtos().size());
+        } catch (SQLException | IOException e) {
+            Log.erro("💥 Erro ao gravar snapshot do catálogo", e);
+        }
+    }
+
+    private void limpar() {
+        synchronized (publicacao) {
+            carregado = false;
+            categorias.clear();
+            produtos.limpar();
+            totais.clear();
+            marcaMovimentacao = 0;
+            marcaAtualizacao = 0;
+            versao = versao.recriar().concluir();
+        }
+    }
+
+    // ======================================================================
+    // PUBLICAÇÃO DE VERSÕES
+    // ======================================================================
+
+    /**
+     * Aplica uma alteração e publica a versão resultante com uma única troca
+     * de referência. Escritores são serializados; leitores nunca esperam.
+     *
+     * @param alteracao altera as estruturas do catálogo e a edição da próxima versão
+     */
+    private void publicar(Consumer<VersaoCatalogo.Edicao> alteracao) {
+        synchronized (publicacao) {
+            VersaoCatalogo.Edicao edicao = versao.editar();
+            alteracao.accept(edicao);
+            versao = edicao.concluir();
+        }
+    }
+
+    /**
+     * Publica uma versão montada do zero a partir das estruturas atuais
+     * (após cargas e sincronizações completas). Chamado com a trava de
+     * publicação.
+     */
+    private void reconstruirVersao() {
+        VersaoCatalogo.Edicao edicao = versao.recriar();
+        edicao.categorias(nomesCategorias());
+        for (Produto p : produtos.listar()) {
+            edicao.gravar(VersaoCatalogo.Item.de(p, totais.get(p.getId())));
+        }
+        versao = edicao.concluir();
+    }
+
+    private Map<Integer, String> nomesCategorias() {
+        Map<Integer, String> nomes = new HashMap<>();
+        for (Categoria c : categorias.values()) {
+            nomes.put(c.getId(), c.getNome());
+        }
+        return nomes;
+    }
+
+    // ======================================================================
+    // ATUALIZAÇÕES FEITAS PELOS SERVIÇOS
+    // ======================================================================
+
+    /**
+     * Insere ou substitui um produto no catálogo (ignorado se não carregado).
+     *
+     * @param produto produto com ID definido
+     */
+    public void atualizarProduto(Produto produto) {
+        if (carregado && produto != null && produto.getId() > 0) {
+            publicar(edicao -> {
+                produtos.gravar(produto);
+                edicao.gravar(VersaoCatalogo.Item.de(produto, totais.get(produto.getId())));
+            });
+        }
+    }
+
+    /**
+     * Remove um produto do catálogo.
+     *
+     * @param id identificador do produto
+     */
+    public void removerProduto(int id) {
+        publicar(edicao -> {
+            produtos.remover(id);
+            totais.remove(id);
+            edicao.remover(id);
+        });
+    }
+
+    /**
+     * Insere ou substitui uma categoria no catálogo (ignorado se não carregado).
+     *
+     * @param categoria categoria com ID definido
+     */
+    public void atualizarCategoria(Categoria categoria) {
+        if (carregado && categoria != null && categoria.getId() > 0) {
+            publicar(edicao -> {
+                categorias.put(categoria.getId(), categoria);
+                produtos.vincularCategoria(categoria);
+                edicao.categorias(nomesCategorias());
+            });
+        }
+    }
+
+    /**
+     * Remove uma categoria do catálogo.
+     *
+     * @param id identificador da categoria
+     */
+    public void removerCategoria(int id) {
+        publicar(edicao -> {
+            categorias.remove(id);
+            edicao.categorias(nomesCategorias());
+        });
+    }
+
+    // ======================================================================
+    // CONSULTAS
+    // ======================================================================
+
+    /** @return {@code true} se o catálogo estiver carregado */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Retorna a última versão publicada. Quem gera um relatório deve pegá-la
+     * uma única vez e ler tudo dela, para obter um estado consistente.
+     *
+     * @return versão imutável do catálogo (vazia se não carregado)
+     */
+    public VersaoCatalogo versaoAtual() {
+        return versao;
+    }
+
+    /**
+     * Retorna o produto com o ID informado.
+     *
+     * @param id identificador do produto
+     * @return produto, ou {@code null} se não existir
+     */
+    public Produto getProduto(int id) {
+        return produtos.buscar(id);
+    }
+
+    /** @return cópia da lista de produtos do catálogo */
+    public List<Produto> getProdutos() {
+        return produtos.listar();
+    }
+
+    /**
+     * Retorna o preço de um produto sem materializar o objeto.
+     *
+     * @param id identificador do produto
+     * @return preço, ou {@link Double#NaN} se o produto não existir
+     */
+    public double getPreco(int id) {
+        return produtos.getPreco(id);
+    }
+
+    /**
+     * Retorna a quantidade em estoque de um produto sem materializar o objeto.
+     *
+     * @param id identificador do produto
+     * @return quantidade atual, ou {@link Integer#MIN_VALUE} se o produto não existir
+     */
+    public int getQuantidadeAtual(int id) {
+        return produtos.getQuantidadeAtual(id);
+    }
+
+    /** @return visão das categorias do catálogo */
+    public Collection<Categoria> getCategorias() {
+        return categorias.values();
+    }
+
+    /**
+     * Retorna os totais movimentados de um produto.
+     *
+     * @param produtoId identificador do produto
+     * @return {@code {entradas, saidas}}, ou {@code null} se nunca movimentado
+     */
+    public long[] getTotais(int produtoId) {
+        return totais.get(produtoId);
+    }
+
+    /** @return maior ID de movimentação contabilizado */
+    public long getMarcaMovimentacao() {
+        return marcaMovimentacao;
+    }
+}
@@ -0,0 +1,562 @@
+package catalogo;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+import model.Categoria;
+import model.Produto;
+
+/**
+ * Armazenamento de produtos fora do heap, com a API de memória externa
+ * ({@link MemorySegment}).
+ * <p>
+ * Com milhões de produtos, manter um objeto {@link Produto} (e suas
+ * {@code String}s) por item no heap aumenta o tempo de cada coleta completa e o
+ * consumo de memória. Aqui os dados ficam em três segmentos nativos, invisíveis
+ * para o coletor de lixo:
+ * </p>
+ * <ul>
+ *     <li><b>registros</b> — um registro de {@value #TAMANHO_REGISTRO} bytes por
+ *     produto (campos numéricos, ID da categoria e posição dos textos); slots
+ *     liberados formam uma lista encadeada dentro dos próprios registros;</li>
+ *     <li><b>índice</b> — tabela de endereçamento aberto (sondagem linear) de
+ *     pares {@code [id, slot]}, com ocupação máxima de 50% e remoção por
+ *     deslocamento para trás (sem marcadores de exclusão);</li>
+ *     <li><b>textos</b> — área de nomes e unidades em UTF-8, com alocação
+ *     sequencial e compactação quando metade dela vira lixo.</li>
+ * </ul>
+ *
+ * <p><b>Concorrência:</b> escritas usam o bloqueio exclusivo de um
+ * {@link StampedLock}. As consultas de preço e quantidade usam leitura
+ * otimista — não bloqueiam nem criam objetos — e só recorrem ao bloqueio de
+ * leitura se uma escrita ocorrer no meio da consulta. Os segmentos são
+ * alocados em arenas automáticas: um segmento substituído por crescimento só é
+ * liberado quando nenhuma leitura em andamento o referencia mais.</p>
+ *
+ * <p>O {@link Produto} completo é materializado sob demanda em
+ * {@link #buscar(int)} e {@link #listar()}; a categoria é resolvida pelo ID no
+ * momento da leitura, então alterações de categoria não exigem tocar nos
+ * registros.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CatalogoOffHeap implements ArmazemProdutos {
+
+    // Layout do registro (bytes)
+    private static final long OFF_ID = 0;
+    private static final long OFF_CATEGORIA = 4;      // também guarda o próximo slot livre
+    private static final long OFF_PRECO = 8;
+    private static final long OFF_ATUAL = 16;
+    private static final long OFF_MINIMA = 20;
+    private static final long OFF_MAXIMA = 24;
+    private static final long OFF_NOME_TAM = 28;
+    private static final long OFF_NOME_POS = 32;
+    private static final long OFF_UNIDADE_POS = 40;
+    private static final long OFF_UNIDADE_TAM = 48;
+
+    /** Tamanho de cada registro de produto, em bytes. */
+    static final int TAMANHO_REGISTRO = 56;
+
+    /** Tamanho de cada entrada do índice ({@code [int id, int slot]}). */
+    private static final int TAMANHO_ENTRADA = 8;
+
+    /** Lixo mínimo na área de textos antes de considerar a compactação. */
+    private static final long LIXO_MINIMO_COMPACTACAO = 1 << 20;
+
+    private final StampedLock trava = new StampedLock();
+
+    /** Converte o ID da categoria gravado no registro na {@link Categoria} atual. */
+    private final IntFunction<Categoria> resolvedorCategoria;
+
+    private final int capacidadeInicial;
+
+    private MemorySegment registros;
+    private MemorySegment indice;
+    private MemorySegment textos;
+
+    /** Slots já usados alguma vez (os seguintes nunca foram ocupados). */
+    private int slotsUsados;
+
+    /** Primeiro slot da lista de livres, ou {@code -1}. */
+    private int primeiroLivre;
+
+    /** Produtos armazenados. */
+    private int quantidade;
+
+    /** Bytes ocupados na área de textos (vivos + lixo). */
+    private long textosUsados;
+
+    /** Bytes da área de textos que pertencem a versões antigas. */
+    private long textosLixo;
+
+    /**
+     * Cria o armazenamento com capacidade inicial para {@code capacidade}
+     * produtos (cresce automaticamente).
+     *
+     * @param capacidade capacidade inicial
+     * @param resolvedorCategoria função que retorna a categoria pelo ID, usada ao
+     *                            materializar produtos
+     */
+    public CatalogoOffHeap(int capacidade, IntFunction<Categoria> resolvedorCategoria) {
+        this.capacidadeInicial = Math.max(16, capacidade);
+        this.resolvedorCategoria = resolvedorCategoria;
+        inicializar();
+    }
+
+    private void inicializar() {
+        registros = alocar((long) capacidadeInicial * TAMANHO_REGISTRO);
+        indice = alocar((long) Integer.highestOneBit(capacidadeInicial * 2 - 1) * 2 * TAMANHO_ENTRADA);
+        textos = alocar((long) capacidadeInicial * 24);
+        slotsUsados = 0;
+        primeiroLivre = -1;
+        quantidade = 0;
+        textosUsados = 0;
+        textosLixo = 0;
+    }
+
+    private static MemorySegment alocar(long bytes) {
+        return Arena.ofAuto().allocate(bytes, 8);
+    }
+
+    // ======================================================================
+    // LEITURAS SEM ALOCAÇÃO
+    // ======================================================================
+
+    @Override
+    public double getPreco(int id) {
+        long carimbo = trava.tryOptimisticRead();
+        double preco = lerPreco(id);
+        if (trava.validate(carimbo)) {
+            return preco;
+        }
+        carimbo = trava.readLock();
+        try {
+            return lerPreco(id);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    @Override
+    public int getQuantidadeAtual(int id) {
+        long carimbo = trava.tryOptimisticRead();
+        int atual = lerInt(id, OFF_ATUAL);
+        if (trava.validate(carimbo)) {
+            return atual;
+        }
+        carimbo = trava.readLock();
+        try {
+            return lerInt(id, OFF_ATUAL);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Lê o preço a partir de cópias locais dos segmentos. Os limites são
+     * conferidos contra o tamanho do próprio segmento, então uma leitura
+     * otimista concorrente com um crescimento nunca sai da memória válida.
+     */
+    private double lerPreco(int id) {
+        MemorySegment reg = registros;
+        int slot = localizar(indice, id);
+        if (slot < 0 || (long) (slot + 1) * TAMANHO_REGISTRO > reg.byteSize()) {
+            return Double.NaN;
+        }
+        return reg.get(ValueLayout.JAVA_DOUBLE, (long) slot * TAMANHO_REGISTRO + OFF_PRECO);
+    }
+
+    private int lerInt(int id, long campo) {
+        MemorySegment reg = registros;
+        int slot = localizar(indice, id);
+        if (slot < 0 || (long) (slot + 1) * TAMANHO_REGISTRO > reg.byteSize()) {
+            return AUSENTE;
+        }
+        return reg.get(ValueLayout.JAVA_INT, (long) slot * TAMANHO_REGISTRO + campo);
+    }
+
+    /**
+     * Procura o slot de um ID no índice.
+     *
+     * @return slot, ou {@code -1} se o ID não estiver no índice
+     */
+    private static int localizar(MemorySegment idx, int id) {
+        int mascara = (int) (idx.byteSize() / TAMANHO_ENTRADA) - 1;
+        int i = espalhar(id) & mascara;
+        for (int n = 0; n <= mascara; n++) {
+            long pos = (long) i * TAMANHO_ENTRADA;
+            int chave = idx.get(ValueLayout.JAVA_INT, pos);
+            if (chave == id) {
+                return idx.get(ValueLayout.JAVA_INT, pos + 4);
+            }
+            if (chave == 0) {
+                return -1;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private static int espalhar(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ======================================================================
+    // ESCRITAS
+    // ======================================================================
+
+    @Override
+    public void gravar(Produto produto) {
+        int id = produto.getId();
+        if (id == 0) {
+            throw new IllegalArgumentException("Produto sem ID não pode ser armazenado");
+        }
+        byte[] nome = produto.getNome() == null ? null : produto.getNome().getBytes(StandardCharsets.UTF_8);
+        byte[] unidade = produto.getTipoUnidade() == null ? null : produto.getTipoUnidade().getBytes(StandardCharsets.UTF_8);
+
+        long carimbo = trava.writeLock();
+        try {
+            int slot = localizar(indice, id);
+            if (slot < 0) {
+                slot = alocarSlot();
+                inserirNoIndice(id, slot);
+                quantidade++;
+            } else {
+                descartarTextos(slot);
+            }
+
+            long base = (long) slot * TAMANHO_REGISTRO;
+            registros.set(ValueLayout.JAVA_INT, base + OFF_ID, id);
+            registros.set(ValueLayout.JAVA_INT, base + OFF_CATEGORIA,
+                    produto.getCategoria() == null ? 0 : produto.getCategoria().getId());
+            registros.set(ValueLayout.JAVA_DOUBLE, base + OFF_PRECO, produto.getPreco());
+            registros.set(ValueLayout.JAVA_INT, base + OFF_ATUAL, produto.getQuantidadeAtual());
+            registros.set(ValueLayout.JAVA_INT, base + OFF_MINIMA, produto.getQuantidadeMinima());
+            registros.set(ValueLayout.JAVA_INT, base + OFF_MAXIMA, produto.getQuantidadeMaxima());
+            gravarTexto(base + OFF_NOME_POS, base + OFF_NOME_TAM, nome);
+            gravarTexto(base + OFF_UNIDADE_POS, base + OFF_UNIDADE_TAM, unidade);
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    @Override
+    public boolean remover(int id) {
+        long carimbo = trava.writeLock();
+        try {
+            return removerInterno(id);
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    private boolean removerInterno(int id) {
+        int slot = removerDoIndice(id);
+        if (slot < 0) {
+            return false;
+        }
+        descartarTextos(slot);
+        long base = (long) slot * TAMANHO_REGISTRO;
+        registros.set(ValueLayout.JAVA_INT, base + OFF_ID, 0);
+        registros.set(ValueLayout.JAVA_INT, base + OFF_CATEGORIA, primeiroLivre);
+        primeiroLivre = slot;
+        quantidade--;
+        return true;
+    }
+
+    @Override
+    public void manterSomente(Set<Integer> ids) {
+        long carimbo = trava.writeLock();
+        try {
+            for (int slot = 0; slot < slotsUsados; slot++) {
+                int id = registros.get(ValueLayout.JAVA_INT, (long) slot * TAMANHO_REGISTRO + OFF_ID);
+                if (id != 0 && !ids.contains(id)) {
+                    removerInterno(id);
+                }
+            }
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    @Override
+    public void vincularCategoria(Categoria categoria) {
+        // A categoria é resolvida pelo ID a cada leitura; nada a atualizar.
+    }
+
+    @Override
+    public void limpar() {
+        long carimbo = trava.writeLock();
+        try {
+            inicializar();
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    private int alocarSlot() {
+        if (primeiroLivre >= 0) {
+            int slot = primeiroLivre;
+            primeiroLivre = registros.get(ValueLayout.JAVA_INT, (long) slot * TAMANHO_REGISTRO + OFF_CATEGORIA);
+            return slot;
+        }
+        if ((long) (slotsUsados + 1) * TAMANHO_REGISTRO > registros.byteSize()) {
+            MemorySegment novo = alocar(registros.byteSize() * 2);
+            MemorySegment.copy(registros, 0, novo, 0, (long) slotsUsados * TAMANHO_REGISTRO);
+            registros = novo;
+        }
+        return slotsUsados++;
+    }
+
+    private void inserirNoIndice(int id, int slot) {
+        long entradas = indice.byteSize() / TAMANHO_ENTRADA;
+        if ((long) (quantidade + 1) * 2 > entradas) {
+            redimensionarIndice(entradas * 2);
+        }
+        colocar(indice, id, slot);
+    }
+
+    private static void colocar(MemorySegment idx, int id, int slot) {
+        int mascara = (int) (idx.byteSize() / TAMANHO_ENTRADA) - 1;
+        int i = espalhar(id) & mascara;
+        while (idx.get(ValueLayout.JAVA_INT, (long) i * TAMANHO_ENTRADA) != 0) {
+            i = (i + 1) & mascara;
+        }
+        long pos = (long) i * TAMANHO_ENTRADA;
+        idx.set(ValueLayout.JAVA_INT, pos + 4, slot);
+        idx.set(ValueLayout.JAVA_INT, pos, id);
+    }
+
+    private void redimensionarIndice(long entradas) {
+        MemorySegment novo = alocar(entradas * TAMANHO_ENTRADA);
+        long antigas = indice.byteSize() / TAMANHO_ENTRADA;
+        for (long i = 0; i < antigas; i++) {
+            int chave = indice.get(ValueLayout.JAVA_INT, i * TAMANHO_ENTRADA);
+            if (chave != 0) {
+                colocar(novo, chave, indice.get(ValueLayout.JAVA_INT, i * TAMANHO_ENTRADA + 4));
+            }
+        }
+        indice = novo;
+    }
+
+    /**
+     * Remove um ID do índice, deslocando para trás as entradas seguintes da
+     * mesma sequência de sondagem.
+     *
+     * @return slot que o ID ocupava, ou {@code -1} se não existia
+     */
+    private int removerDoIndice(int id) {
+        int mascara = (int) (indice.byteSize() / TAMANHO_ENTRADA) - 1;
+        int i = espalhar(id) & mascara;
+        while (true) {
+            int chave = indice.get(ValueLayout.JAVA_INT, (long) i * TAMANHO_ENTRADA);
+            if (chave == 0) {
+                return -1;
+            }
+            if (chave == id) {
+                break;
+            }
+            i = (i + 1) & mascara;
+        }
+        int slot = indice.get(ValueLayout.JAVA_INT, (long) i * TAMANHO_ENTRADA + 4);
+
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            int chave = indice.get(ValueLayout.JAVA_INT, (long) j * TAMANHO_ENTRADA);
+            if (chave == 0) {
+                break;
+            }
+            int ideal = espalhar(chave) & mascara;
+            boolean podeMover = j > i ? (ideal <= i || ideal > j) : (ideal <= i && ideal > j);
+            if (podeMover) {
+                MemorySegment.copy(indice, (long) j * TAMANHO_ENTRADA, indice, (long) i * TAMANHO_ENTRADA, TAMANHO_ENTRADA);
+                i = j;
+            }
+        }
+        indice.set(ValueLayout.JAVA_LONG, (long) i * TAMANHO_ENTRADA, 0L);
+        return slot;
+    }
+
+    // ======================================================================
+    // ÁREA DE TEXTOS
+    // ======================================================================
+
+    private void gravarTexto(long campoPosicao, long campoTamanho, byte[] bytes) {
+        if (bytes == null) {
+            registros.set(ValueLayout.JAVA_INT, campoTamanho, -1);
+            registros.set(ValueLayout.JAVA_LONG, campoPosicao, 0L);
+            return;
+        }
+        garantirEspacoTextos(bytes.length);
+        MemorySegment.copy(bytes, 0, textos, ValueLayout.JAVA_BYTE, textosUsados, bytes.length);
+        registros.set(ValueLayout.JAVA_LONG, campoPosicao, textosUsados);
+        registros.set(ValueLayout.JAVA_INT, campoTamanho, bytes.length);
+        textosUsados += bytes.length;
+    }
+
+    private void descartarTextos(int slot) {
+        long base = (long) slot * TAMANHO_REGISTRO;
+        textosLixo += Math.max(0, registros.get(ValueLayout.JAVA_INT, base + OFF_NOME_TAM));
+        textosLixo += Math.max(0, registros.get(ValueLayout.JAVA_INT, base + OFF_UNIDADE_TAM));
+    }
+
+    private void garantirEspacoTextos(int bytes) {
+        if (textosUsados + bytes <= textos.byteSize()) {
+            return;
+        }
+        long vivos = textosUsados - textosLixo;
+        if (textosLixo >= LIXO_MINIMO_COMPACTACAO && textosLixo * 2 >= textosUsados) {
+            compactarTextos(Math.max(textos.byteSize(), (vivos + bytes) * 2));
+        } else {
+            long novoTamanho = Math.max(textos.byteSize() * 2, textosUsados + bytes);
+            MemorySegment novo = alocar(novoTamanho);
+            MemorySegment.copy(textos, 0, novo, 0, textosUsados);
+            textos = novo;
+        }
+    }
+
+    /**
+     * Copia apenas os textos vivos para uma nova área, atualizando as posições
+     * nos registros.
+     */
+    private void compactarTextos(long tamanho) {
+        MemorySegment novo = alocar(tamanho);
+        long escrito = 0;
+        for (int slot = 0; slot < slotsUsados; slot++) {
+            long base = (long) slot * TAMANHO_REGISTRO;
+            if (registros.get(ValueLayout.JAVA_INT, base + OFF_ID) == 0) {
+                continue;
+            }
+            escrito = moverTexto(novo, escrito, base + OFF_NOME_POS, base + OFF_NOME_TAM);
+            escrito = moverTexto(novo, escrito, base + OFF_UNIDADE_POS, base + OFF_UNIDADE_TAM);
+        }
+        textos = novo;
+        textosUsados = escrito;
+        textosLixo = 0;
+    }
+
+    private long moverTexto(MemorySegment destino, long escrito, long campoPosicao, long campoTamanho) {
+        int tamanho = registros.get(ValueLayout.JAVA_INT, campoTamanho);
+        if (tamanho <= 0) {
+            return escrito;
+        }
+        MemorySegment.copy(textos, registros.get(ValueLayout.JAVA_LONG, campoPosicao), destino, escrito, tamanho);
+        registros.set(ValueLayout.JAVA_LONG, campoPosicao, escrito);
+        return escrito + tamanho;
+    }
+
+    private String lerTexto(long campoPosicao, long campoTamanho) {
+        int tamanho = registros.get(ValueLayout.JAVA_INT, campoTamanho);
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        MemorySegment.copy(textos, ValueLayout.JAVA_BYTE, registros.get(ValueLayout.JAVA_LONG, campoPosicao), bytes, 0, tamanho);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ======================================================================
+    // MATERIALIZAÇÃO
+    // ======================================================================
+
+    @Override
+    public Produto buscar(int id) {
+        long carimbo = trava.readLock();
+        try {
+            int slot = localizar(indice, id);
+            return slot < 0 ? null : materializar(slot);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    @Override
+    public List<Produto> listar() {
+        long carimbo = trava.readLock();
+        try {
+            List<Produto> lista = new ArrayList<>(quantidade);
+            for (int slot = 0; slot < slotsUsados; slot++) {
+                if (registros.get(ValueLayout.JAVA_INT, (long) slot * TAMANHO_REGISTRO + OFF_ID) != 0) {
+                    lista.add(materializar(slot));
+                }
+            }
+            return lista;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    private Produto materializar(int slot) {
+        long base = (long) slot * TAMANHO_REGISTRO;
+        Produto p = new Produto();
+        p.setId(registros.get(ValueLayout.JAVA_INT, base + OFF_ID));
+        p.setNome(lerTexto(base + OFF_NOME_POS, base + OFF_NOME_TAM));
+        p.setPreco(registros.get(ValueLayout.JAVA_DOUBLE, base + OFF_PRECO));
+        p.setTipoUnidade(lerTexto(base + OFF_UNIDADE_POS, base + OFF_UNIDADE_TAM));
+        p.setQuantidadeAtual(registros.get(ValueLayout.JAVA_INT, base + OFF_ATUAL));
+        p.setQuantidadeMinima(registros.get(ValueLayout.JAVA_INT, base + OFF_MINIMA));
+        p.setQuantidadeMaxima(registros.get(ValueLayout.JAVA_INT, base + OFF_MAXIMA));
+        int categoriaId = registros.get(ValueLayout.JAVA_INT, base + OFF_CATEGORIA);
+        if (categoriaId != 0) {
+            Categoria c = resolvedorCategoria.apply(categoriaId);
+            if (c == null) {
+                c = new Categoria();
+                c.setId(categoriaId);
+            }
+            p.setCategoria(c);
+        }
+        return p;
+    }
+
+    // ======================================================================
+    // ESTATÍSTICAS
+    // ======================================================================
+
+    @Override
+    public int tamanho() {
+        long carimbo = trava.readLock();
+        try {
+            return quantidade;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Retorna o total de memória nativa reservada pelos três segmentos.
+     *
+     * @return bytes reservados fora do heap
+     */
+    public long getBytesReservados() {
+        long carimbo = trava.readLock();
+        try {
+            return registros.byteSize() + indice.byteSize() + textos.byteSize();
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Retorna a memória nativa efetivamente ocupada (registros usados, índice e
+     * textos gravados, incluindo lixo ainda não compactado).
+     *
+     * @return bytes ocupados fora do heap
+     */
+    public long getBytesOcupados() {
+        long carimbo = trava.readLock();
+        try {
+            return (long) slotsUsados * TAMANHO_REGISTRO + indice.byteSize() + textosUsados;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package catalogo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import model.Categoria;
+import model.EmbalagemProduto;
+import model.Produto;
+import model.TamanhoProduto;
+
+/**
+ * Formato binário do snapshot do {@link CatalogoEstoque}.
+ *
+ * <p><b>Layout</b> (big-endian):</p>
+ * <pre>
+ *   int  MAGICO ("CATS")      int  VERSAO
+ *   long marcaMovimentacao    long marcaAtualizacao
+ *   int  nCategorias          nCategorias × [int id, str nome, byte embalagem, byte tamanho]
+ *   int  nProdutos            nProdutos × [int id, str nome, double preco, str unidade,
+ *                                          int atual, int minima, int maxima, int categoriaId]
+ *   int  nTotais              nTotais × [int produtoId, long entradas, long saidas]
+ *   int  CRC32C de todos os bytes anteriores
+ * </pre>
+ * <p>
+ * Textos são gravados como {@code short} de tamanho seguido dos bytes UTF-8
+ * ({@code -1} para nulo); enums como o ordinal ({@code -1} para nulo).
+ * </p>
+ *
+ * <p>A gravação é feita em um arquivo temporário renomeado atomicamente sobre o
+ * anterior, de modo que uma queda durante a gravação preserva o snapshot
+ * antigo. A leitura mapeia o arquivo em memória e valida o CRC antes de
+ * decodificar qualquer registro.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class SnapshotCatalogo {
+
+    /** Identificador do formato ("CATS"). */
+    static final int MAGICO = 0x43415453;
+
+    /** Versão do formato. */
+    static final int VERSAO = 1;
+
+    /**
+     * Conteúdo de um snapshot.
+     *
+     * @param marcaMovimentacao maior ID de movimentação contabilizado nos totais
+     * @param marcaAtualizacao instante (millis, relógio do banco) a partir do qual reler alterações
+     * @param categorias categorias do catálogo
+     * @param produtos produtos do catálogo
+     * @param totais totais {@code {entradas, saidas}} por ID de produto
+     */
+    public record Conteudo(long marcaMovimentacao, long marcaAtualizacao, List<Categoria> categorias,
+                           List<Produto> produtos, Map<Integer, long[]> totais) {
+    }
+
+    private SnapshotCatalogo() {
+    }
+
+    /**
+     * Grava o snapshot de forma atômica.
+     *
+     * @param arquivo arquivo de destino
+     * @param conteudo conteúdo a gravar
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public static void gravar(Path arquivo, Conteudo conteudo) throws IOException {
+        Path absoluto = arquivo.toAbsolutePath();
+        Files.createDirectories(absoluto.getParent());
+        Path temporario = absoluto.resolveSibling(absoluto.getFileName() + ".tmp");
+
+        try (OutputStream arquivoSaida = Files.newOutputStream(temporario,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream verificado = new CheckedOutputStream(new BufferedOutputStream(arquivoSaida, 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(verificado);
+
+            out.writeInt(MAGICO);
+            out.writeInt(VERSAO);
+            out.writeLong(conteudo.marcaMovimentacao());
+            out.writeLong(conteudo.marcaAtualizacao());
+
+            out.writeInt(conteudo.categorias().size());
+            for (Categoria c : conteudo.categorias()) {
+                out.writeInt(c.getId());
+                escreverTexto(out, c.getNome());
+                out.writeByte(c.getEmbalagem() == null ? -1 : c.getEmbalagem().ordinal());
+                out.writeByte(c.getTamanho() == null ? -1 : c.getTamanho().ordinal());
+            }
+
+            out.writeInt(conteudo.produtos().size());
+            for (Produto p : conteudo.produtos()) {
+                out.writeInt(p.getId());
+                escreverTexto(out, p.getNome());
+                out.writeDouble(p.getPreco());
+                escreverTexto(out, p.getTipoUnidade());
+                out.writeInt(p.getQuantidadeAtual());
+                out.writeInt(p.getQuantidadeMinima());
+                out.writeInt(p.getQuantidadeMaxima());
+                out.writeInt(p.getCategoria() == null ? 0 : p.getCategoria().getId());
+            }
+
+            out.writeInt(conteudo.totais().size());
+            for (Map.Entry<Integer, long[]> e : conteudo.totais().entrySet()) {
+                out.writeInt(e.getKey());
+                out.writeLong(e.getValue()[0]);
+                out.writeLong(e.getValue()[1]);
+            }
+
+            out.flush();
+            int crc = (int) verificado.getChecksum().getValue();
+            out.writeInt(crc);
+            out.flush();
+        }
+        // Garante que os dados estejam em disco antes da renomeação
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+            canal.force(true);
+        }
+        Files.move(temporario, absoluto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lê um snapshot mapeando o arquivo em memória.
+     *
+     * @param arquivo arquivo de snapshot
+     * @return conteúdo decodificado
+     * @throws IOException se o arquivo não puder ser lido, tiver formato
+     *                     desconhecido ou estiver corrompido
+     */
+    public static Conteudo ler(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < 28 || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho de snapshot inválido: " + tamanho);
+            }
+            MappedByteBuffer buf = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+
+            int fim = (int) tamanho - 4;
+            CRC32C crc = new CRC32C();
+            crc.update(buf.slice(0, fim));
+            if ((int) crc.getValue() != buf.getInt(fim)) {
+                throw new IOException("CRC do snapshot não confere");
+            }
+
+            if (buf.getInt() != MAGICO) {
+                throw new IOException("Arquivo não é um snapshot do catálogo");
+            }
+            int versao = buf.getInt();
+            if (versao != VERSAO) {
+                throw new IOException("Versão de snapshot não suportada: " + versao);
+            }
+            long marcaMovimentacao = buf.getLong();
+            long marcaAtualizacao = buf.getLong();
+
+            EmbalagemProduto[] embalagens = EmbalagemProduto.values();
+            TamanhoProduto[] tamanhos = TamanhoProduto.values();
+
+            int nCategorias = buf.getInt();
+            List<Categoria> categorias = new ArrayList<>(nCategorias);
+            Map<Integer, Categoria> categoriaPorId = new HashMap<>(nCategorias * 2);
+            for (int i = 0; i < nCategorias; i++) {
+                int id = buf.getInt();
+                String nome = lerTexto(buf);
+                byte embalagem = buf.get();
+                byte tamanhoCat = buf.get();
+                Categoria c = new Categoria(id, nome,
+                        embalagem < 0 ? null : embalagens[embalagem],
+                        tamanhoCat < 0 ? null : tamanhos[tamanhoCat]);
+                categorias.add(c);
+                categoriaPorId.put(id, c);
+            }
+
+            int nProdutos = buf.getInt();
+            List<Produto> produtos = new ArrayList<>(nProdutos);
+            for (int i = 0; i < nProdutos; i++) {
+                Produto p = new Produto();
+                p.setId(buf.getInt());
+                p.setNome(lerTexto(buf));
+                p.setPreco(buf.getDouble());
+                p.setTipoUnidade(lerTexto(buf));
+                p.setQuantidadeAtual(buf.getInt());
+                p.setQuantidadeMinima(buf.getInt());
+                p.setQuantidadeMaxima(buf.getInt());
+                int categoriaId = buf.getInt();
+                Categoria c = categoriaPorId.get(categoriaId);
+                if (c == null && categoriaId != 0) {
+                    c = new Categoria();
+                    c.setId(categoriaId);
+                }
+                p.setCategoria(c);
+                produtos.add(p);
+            }
+
+            int nTotais = buf.getInt();
+            Map<Integer, long[]> totais = new HashMap<>(nTotais * 2);
+            for (int i = 0; i < nTotais; i++) {
+                totais.put(buf.getInt(), new long[]{buf.getLong(), buf.getLong()});
+            }
+
+            if (buf.position() != fim) {
+                throw new IOException("Snapshot com bytes inesperados após os registros");
+            }
+            return new Conteudo(marcaMovimentacao, marcaAtualizacao, categorias, produtos, totais);
+        } catch (RuntimeException e) {
+            // Índices de enum ou tamanhos inválidos em um arquivo com CRC coincidente
+            throw new IOException("Snapshot inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Texto muito longo para o snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer buf) {
+        short tamanho = buf.getShort();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,361 @@
+package catalogo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import model.Categoria;
+import model.Produto;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Versão imutável do catálogo de estoque, usada pelos relatórios: produtos
+ * (com os totais movimentados) e nomes de categorias em um mesmo instante.
+ * <p>
+ * O {@link CatalogoEstoque} publica uma versão nova a cada alteração, trocando
+ * uma única referência; quem gera um relatório pega a versão atual uma vez e
+ * lê só dela, sem travas e sem ver metade de uma atualização. Uma versão
+ * antiga deixa de ser alcançável quando o último relatório que a lê termina,
+ * e o coletor de lixo a libera — não há contagem de leitores.
+ * </p>
+ *
+ * <p><b>Cópia na escrita por blocos:</b> os produtos ficam em blocos de
+ * {@value #TAMANHO_BLOCO} posições, indexados pelo ID. Uma alteração copia o
+ * vetor de blocos e apenas os blocos tocados; os demais são compartilhados
+ * com a versão anterior. Assim, publicar uma versão custa
+ * O(produtos / {@value #TAMANHO_BLOCO} + {@value #TAMANHO_BLOCO}) em vez de
+ * copiar o catálogo inteiro.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class VersaoCatalogo {
+
+    /** Posições por bloco de produtos (potência de 2). */
+    static final int TAMANHO_BLOCO = 1024;
+
+    private static final int BITS_BLOCO = Integer.numberOfTrailingZeros(TAMANHO_BLOCO);
+
+    /** Mesma ordem do {@code ORDER BY nome} das consultas (sem distinguir maiúsculas). */
+    private static final Comparator<String> POR_NOME = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+
+    /** Versão vazia, publicada antes da carga do catálogo. */
+    static final VersaoCatalogo VAZIA = new VersaoCatalogo(0, new Item[0][], Map.of(), 0);
+
+    /**
+     * Produto em uma versão do catálogo, com os totais movimentados.
+     *
+     * @param id identificador do produto
+     * @param nome nome do produto
+     * @param categoriaId identificador da categoria
+     * @param preco preço unitário
+     * @param tipoUnidade unidade de medida
+     * @param quantidadeAtual quantidade em estoque
+     * @param quantidadeMinima estoque mínimo
+     * @param quantidadeMaxima estoque máximo
+     * @param entradas total de unidades que entraram
+     * @param saidas total de unidades que saíram
+     */
+    public record Item(int id, String nome, int categoriaId, double preco, String tipoUnidade,
+                       int quantidadeAtual, int quantidadeMinima, int quantidadeMaxima,
+                       long entradas, long saidas) {
+
+        /**
+         * Cria o item a partir de um produto.
+         *
+         * @param p produto com categoria
+         * @param totais {@code {entradas, saidas}}, ou {@code null}
+         * @return item da versão
+         */
+        public static Item de(Produto p, long[] totais) {
+            Categoria c = p.getCategoria();
+            return new Item(p.getId(), p.getNome(), c == null ? 0 : c.getId(), p.getPreco(), p.getTipoUnidade(),
+                    p.getQuantidadeAtual(), p.getQuantidadeMinima(), p.getQuantidadeMaxima(),
+                    totais == null ? 0 : totais[0], totais == null ? 0 : totais[1]);
+        }
+
+        /**
+         * @return cópia do item com os totais somados
+         */
+        Item somar(long maisEntradas, long maisSaidas) {
+            return new Item(id, nome, categoriaId, preco, tipoUnidade, quantidadeAtual, quantidadeMinima,
+                    quantidadeMaxima, entradas + maisEntradas, saidas + maisSaidas);
+        }
+    }
+
+    private final long numero;
+    private final Item[][] blocos;
+    private final Map<Integer, String> categorias;
+    private final int produtos;
+
+    /** Produtos ordenados pelo nome, montados no primeiro relatório que precisa deles. */
+    private volatile Item[] porNome;
+
+    private VersaoCatalogo(long numero, Item[][] blocos, Map<Integer, String> categorias, int produtos) {
+        this.numero = numero;
+        this.blocos = blocos;
+        this.categorias = categorias;
+        this.produtos = produtos;
+    }
+
+    /**
+     * @return número da versão (cresce a cada publicação)
+     */
+    public long getNumero() {
+        return numero;
+    }
+
+    /**
+     * @return quantidade de produtos na versão
+     */
+    public int getQuantidadeProdutos() {
+        return produtos;
+    }
+
+    /**
+     * @param id identificador do produto
+     * @return produto na versão, ou {@code null}
+     */
+    public Item getItem(int id) {
+        int b = id >>> BITS_BLOCO;
+        Item[] bloco = id >= 0 && b < blocos.length ? blocos[b] : null;
+        return bloco == null ? null : bloco[id & (TAMANHO_BLOCO - 1)];
+    }
+
+    /**
+     * @param categoriaId identificador da categoria
+     * @return nome da categoria na versão, ou {@code null}
+     */
+    public String getNomeCategoria(int categoriaId) {
+        return categorias.get(categoriaId);
+    }
+
+    // ======================================================================
+    // RELATÓRIOS
+    // ======================================================================
+
+    /**
+     * Escreve as linhas de um relatório a partir desta versão, com as mesmas
+     * colunas, filtros e ordenação das consultas de {@code dao.RelatorioDAO}
+     * (produtos sem categoria ficam de fora, como no {@code JOIN}).
+     *
+     * @param relatorio relatório desejado
+     * @param saida destino das linhas (sem {@code iniciar}/{@code concluir})
+     */
+    public void transmitir(Relatorio relatorio, SaidaRelatorio saida) {
+        switch (relatorio) {
+            case LISTA_PRECOS -> {
+                for (Item p : porNome()) {
+                    String categoria = categorias.get(p.categoriaId());
+                    if (categoria != null) {
+                        saida.texto(p.nome()).texto(categoria).decimal(p.preco()).texto(p.tipoUnidade());
+                        saida.fimLinha();
+                    }
+                }
+            }
+            case BALANCO -> {
+                for (Item p : porNome()) {
+                    String categoria = categorias.get(p.categoriaId());
+                    if (categoria != null) {
+                        saida.texto(p.nome()).texto(categoria).inteiro(p.quantidadeAtual()).decimal(p.preco())
+                                .decimal(p.quantidadeAtual() * p.preco());
+                        saida.fimLinha();
+                    }
+                }
+            }
+            case ABAIXO_MINIMO -> {
+                for (Item p : porNome()) {
+                    String categoria = categorias.get(p.categoriaId());
+                    if (categoria != null && p.quantidadeAtual() < p.quantidadeMinima()) {
+                        saida.texto(p.nome()).texto(categoria).inteiro(p.quantidadeAtual())
+                                .inteiro(p.quantidadeMinima());
+                        saida.fimLinha();
+                    }
+                }
+            }
+            case QTD_POR_CATEGORIA -> {
+                // LEFT JOIN ... GROUP BY c.nome: categorias sem produtos aparecem com zero
+                Map<String, long[]> contagem = new TreeMap<>(POR_NOME);
+                for (String nome : categorias.values()) {
+                    contagem.putIfAbsent(nome, new long[1]);
+                }
+                forEach(p -> {
+                    String categoria = categorias.get(p.categoriaId());
+                    if (categoria != null) {
+                        contagem.get(categoria)[0]++;
+                    }
+                });
+                contagem.forEach((nome, qtd) -> {
+                    saida.texto(nome).inteiro(qtd[0]);
+                    saida.fimLinha();
+                });
+            }
+            case MAIS_MOVIMENTADO -> {
+                Map<List<String>, long[]> grupos = new HashMap<>();
+                forEach(p -> {
+                    String categoria = categorias.get(p.categoriaId());
+                    if (categoria != null && (p.entradas() != 0 || p.saidas() != 0)) {
+                        long[] soma = grupos.computeIfAbsent(Arrays.asList(p.nome(), categoria), k -> new long[2]);
+                        soma[0] += p.entradas();
+                        soma[1] += p.saidas();
+                    }
+                });
+                List<Map.Entry<List<String>, long[]>> ordenados = new ArrayList<>(grupos.entrySet());
+                ordenados.sort((a, b) -> Long.compare(b.getValue()[0] + b.getValue()[1],
+                        a.getValue()[0] + a.getValue()[1]));
+                for (Map.Entry<List<String>, long[]> g : ordenados) {
+                    long[] soma = g.getValue();
+                    saida.texto(g.getKey().get(0)).texto(g.getKey().get(1))
+                            .inteiro(soma[0]).inteiro(soma[1]).inteiro(soma[0] + soma[1]);
+                    saida.fimLinha();
+                }
+            }
+        }
+    }
+
+    /**
+     * Percorre os produtos desta versão, em ordem de ID.
+     *
+     * @param acao chamada uma vez por produto
+     */
+    public void forEach(Consumer<Item> acao) {
+        for (Item[] bloco : blocos) {
+            if (bloco != null) {
+                for (Item p : bloco) {
+                    if (p != null) {
+                        acao.accept(p);
+                    }
+                }
+            }
+        }
+    }
+
+    private Item[] porNome() {
+        Item[] ordenados = porNome;
+        if (ordenados == null) {
+            // Corrida inofensiva: duas threads podem ordenar ao mesmo tempo e chegam ao mesmo resultado
+            List<Item> lista = new ArrayList<>(produtos);
+            forEach(lista::add);
+            ordenados = lista.toArray(new Item[0]);
+            Arrays.sort(ordenados, Comparator.comparing(Item::nome, POR_NOME));
+            porNome = ordenados;
+        }
+        return ordenados;
+    }
+
+    // ======================================================================
+    // EDIÇÃO
+    // ======================================================================
+
+    /**
+     * Inicia a montagem da próxima versão a partir desta. Usado pelo
+     * {@link CatalogoEstoque}, sempre por um escritor de cada vez.
+     *
+     * @return edição que copia só os blocos alterados
+     */
+    Edicao editar() {
+        return new Edicao(this, false);
+    }
+
+    /**
+     * Inicia a montagem de uma versão vazia, que substitui esta por inteiro
+     * (carga completa do catálogo), mantendo a numeração.
+     *
+     * @return edição sem produtos nem categorias
+     */
+    Edicao recriar() {
+        return new Edicao(this, true);
+    }
+
+    /**
+     * Montagem de uma nova versão: copia o vetor de blocos e, na primeira
+     * alteração de cada bloco, o próprio bloco; a versão de origem não muda.
+     */
+    static final class Edicao {
+
+        private final VersaoCatalogo origem;
+        private Item[][] blocos;
+        private boolean[] copiados;
+        private Map<Integer, String> categorias;
+        private int produtos;
+
+        private Edicao(VersaoCatalogo origem, boolean vazia) {
+            this.origem = origem;
+            this.blocos = vazia ? new Item[0][] : origem.blocos.clone();
+            this.copiados = new boolean[blocos.length];
+            this.categorias = vazia ? Map.of() : origem.categorias;
+            this.produtos = vazia ? 0 : origem.produtos;
+        }
+
+        /**
+         * @param id identificador do produto
+         * @return produto na versão em montagem, ou {@code null}
+         */
+        Item item(int id) {
+            int b = id >>> BITS_BLOCO;
+            Item[] bloco = b < blocos.length ? blocos[b] : null;
+            return bloco == null ? null : bloco[id & (TAMANHO_BLOCO - 1)];
+        }
+
+        /**
+         * Insere ou substitui um produto.
+         *
+         * @param item produto (ID não negativo)
+         */
+        void gravar(Item item) {
+            Item[] bloco = blocoGravavel(item.id() >>> BITS_BLOCO);
+            int i = item.id() & (TAMANHO_BLOCO - 1);
+            if (bloco[i] == null) {
+                produtos++;
+            }
+            bloco[i] = item;
+        }
+
+        /**
+         * Remove um produto, se existir.
+         *
+         * @param id identificador do produto
+         */
+        void remover(int id) {
+            if (id < 0 || item(id) == null) {
+                return;
+            }
+            blocoGravavel(id >>> BITS_BLOCO)[id & (TAMANHO_BLOCO - 1)] = null;
+            produtos--;
+        }
+
+        /**
+         * Substitui os nomes das categorias.
+         *
+         * @param nomes nomes por ID
+         */
+        void categorias(Map<Integer, String> nomes) {
+            categorias = Map.copyOf(nomes);
+        }
+
+        private Item[] blocoGravavel(int b) {
+            if (b >= blocos.length) {
+                int tamanho = Math.max(b + 1, blocos.length * 2);
+                blocos = Arrays.copyOf(blocos, tamanho);
+                copiados = Arrays.copyOf(copiados, tamanho);
+            }
+            if (!copiados[b]) {
+                blocos[b] = blocos[b] == null ? new Item[TAMANHO_BLOCO] : blocos[b].clone();
+                copiados[b] = true;
+            }
+            return blocos[b];
+        }
+
+        /**
+         * @return nova versão, com número seguinte ao da origem
+         */
+        VersaoCatalogo concluir() {
+            return new VersaoCatalogo(origem.numero + 1, blocos, categorias, produtos);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package classificacao;
+
+import avaliacao.AvaliacaoEstoque;
+import catalogo.CatalogoEstoque;
+import catalogo.VersaoCatalogo;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import log.Log;
+import model.Movimentacao;
+import model.TipoMovimentacao;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Curva ABC (Pareto) dos produtos pelo valor das saídas, para priorizar as
+ * contagens cíclicas ({@link Relatorio#CURVA_ABC}).
+ * <p>
+ * O valor de cada produto é a quantidade saída nos últimos
+ * {@code -Destoque.curvaAbc.dias} dias (padrão 90) × o preço, em centavos.
+ * Os produtos são ordenados do maior para o menor valor e classificados
+ * pela participação acumulada antes deles: até
+ * {@code -Destoque.curvaAbc.limiteA} (padrão 80%), classe A; até
+ * {@code -Destoque.curvaAbc.limiteB} (padrão 95%), classe B; o restante,
+ * inclusive os produtos sem saídas, classe C.
+ * </p>
+ * <p>
+ * O valor de cada produto, a ordenação ({@link Arrays#parallelSort}), a
+ * soma acumulada ({@link Arrays#parallelPrefix}) e as classes são
+ * calculados em paralelo.
+ * </p>
+ *
+ * <p><b>Cache:</b> a curva calculada é reaproveitada até que as saídas
+ * registradas depois dela somem mais de {@code -Destoque.curvaAbc.variacao}
+ * (padrão 5%) do valor total da curva, até que um produto seja incluído,
+ * alterado ou excluído (ou uma categoria alterada), ou até {@code -Destoque.curvaAbc.validadeMin}
+ * minutos (padrão 15; a janela de dias avança mesmo sem movimentações).
+ * Pedidos simultâneos com o cache vencido esperam um único recálculo.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CurvaAbc {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final CurvaAbc INSTANCIA = new CurvaAbc();
+
+    /** Janela das saídas consideradas, em dias ({@code -Destoque.curvaAbc.dias}). */
+    public static final int JANELA_DIAS = Math.max(1, Integer.getInteger("estoque.curvaAbc.dias", 90));
+
+    /** Participação acumulada máxima da classe A, em fração ({@code -Destoque.curvaAbc.limiteA}, em %). */
+    private static final double LIMITE_A = Integer.getInteger("estoque.curvaAbc.limiteA", 80) / 100.0;
+
+    /** Participação acumulada máxima da classe B, em fração ({@code -Destoque.curvaAbc.limiteB}, em %). */
+    private static final double LIMITE_B = Math.max(LIMITE_A,
+            Integer.getInteger("estoque.curvaAbc.limiteB", 95) / 100.0);
+
+    /** Fração do valor total que, em saídas novas, vence o cache ({@code -Destoque.curvaAbc.variacao}, em %). */
+    private static final double VARIACAO = Integer.getInteger("estoque.curvaAbc.variacao", 5) / 100.0;
+
+    /** Idade máxima do cache ({@code -Destoque.curvaAbc.validadeMin}). */
+    private static final long VALIDADE_NS = TimeUnit.MINUTES.toNanos(
+            Math.max(1, Integer.getInteger("estoque.curvaAbc.validadeMin", 15)));
+
+    /** Ordem da curva: maior valor primeiro; empates pelo nome. */
+    private static final Comparator<Valor> POR_VALOR = Comparator
+            .comparingLong(Valor::centavos).reversed()
+            .thenComparing(v -> v.posicao().produto(), Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+    /** Valor (em centavos) das saídas registradas desde o início; só cresce. */
+    private final LongAdder saidasCentavos = new LongAdder();
+
+    /** Incrementada quando um produto é incluído, alterado ou excluído, ou uma categoria alterada. */
+    private final AtomicLong geracao = new AtomicLong();
+
+    private volatile Cache cache;
+
+    private CurvaAbc() {
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return curva ABC do servidor
+     */
+    public static CurvaAbc getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Produto classificado.
+     *
+     * @param id ID do produto (chave das saídas)
+     * @param produto nome do produto
+     * @param categoria nome da categoria
+     * @param preco preço unitário
+     */
+    public record Posicao(int id, String produto, String categoria, double preco) {
+    }
+
+    /**
+     * Dados lidos para um recálculo.
+     *
+     * @param posicoes produtos classificados
+     * @param saidas unidades saídas na janela por ID de produto (ausente: nenhuma)
+     */
+    public record Dados(List<Posicao> posicoes, Map<Integer, Long> saidas) {
+    }
+
+    /**
+     * Lê os produtos e as saídas de uma janela, quando o cache venceu.
+     */
+    @FunctionalInterface
+    public interface Leitura {
+
+        /**
+         * @param dias tamanho da janela das saídas
+         * @return produtos e saídas
+         * @throws SQLException se a leitura falhar
+         */
+        Dados ler(int dias) throws SQLException;
+    }
+
+    /**
+     * Linha da curva, na ordem das colunas de {@link Relatorio#CURVA_ABC}
+     * (participações em porcentagem).
+     */
+    public record Linha(String produto, String categoria, long quantidade, long valorCentavos,
+                        double participacao, double participacaoAcumulada, String classe) {
+    }
+
+    /** Valor de um produto, antes da ordenação. */
+    private record Valor(Posicao posicao, long quantidade, long centavos) {
+    }
+
+    /**
+     * Curva calculada e o estado em que foi lida.
+     *
+     * @param precos preço em centavos dos produtos com saídas (mede as saídas novas)
+     * @param saidasCentavosBase {@link #saidasCentavos} antes da leitura
+     * @param geracaoBase {@link #geracao} antes da leitura
+     */
+    private record Cache(Linha[] linhas, long valorTotalCentavos, Map<Integer, Long> precos,
+                         long saidasCentavosBase, long geracaoBase, long calculadaEm) {
+    }
+
+    // ======================================================================
+    // CONSULTA
+    // ======================================================================
+
+    /**
+     * Retorna a curva em cache ou, se ela venceu, recalcula a partir dos
+     * dados lidos por {@code leitura}.
+     *
+     * @param leitura fonte dos produtos e das saídas
+     * @return linhas da curva, do maior para o menor valor
+     * @throws SQLException se a leitura falhar
+     */
+    public Linha[] obter(Leitura leitura) throws SQLException {
+        Cache atual = cache;
+        if (valido(atual)) {
+            return atual.linhas();
+        }
+        synchronized (this) {
+            atual = cache;
+            if (valido(atual)) {
+                return atual.linhas();
+            }
+            long inicio = System.nanoTime();
+            // Marcas lidas antes dos dados: o que chegar durante a leitura vence o novo cache, não se perde
+            long saidasBase = saidasCentavos.sum();
+            long geracaoBase = geracao.get();
+            Dados dados = leitura.ler(JANELA_DIAS);
+
+            Map<Integer, Long> precos = new HashMap<>();
+            Linha[] linhas = calcular(dados, LIMITE_A, LIMITE_B, precos);
+            long total = Arrays.stream(linhas).mapToLong(Linha::valorCentavos).sum();
+            cache = new Cache(linhas, total, precos, saidasBase, geracaoBase, System.nanoTime());
+            Log.debug("🔤 Curva ABC recalculada", "produtos", linhas.length, "com_saidas", precos.size(),
+                    "valor_total", total / 100.0, "duracao_ms", (System.nanoTime() - inicio) / 1_000_000);
+            return linhas;
+        }
+    }
+
+    private boolean valido(Cache c) {
+        if (c == null || c.geracaoBase() != geracao.get() || System.nanoTime() - c.calculadaEm() > VALIDADE_NS) {
+            return false;
+        }
+        long novas = saidasCentavos.sum() - c.saidasCentavosBase();
+        return novas == 0 || novas < VARIACAO * c.valorTotalCentavos();
+    }
+
+    /**
+     * Calcula a curva: valor por produto, ordenação, participação acumulada
+     * e classe, em paralelo.
+     *
+     * @param precos recebe o preço em centavos de cada produto com saídas
+     */
+    private static Linha[] calcular(Dados dados, double limiteA, double limiteB, Map<Integer, Long> precos) {
+        Valor[] valores = dados.posicoes().parallelStream()
+                .map(p -> {
+                    long quantidade = dados.saidas().getOrDefault(p.id(), 0L);
+                    return new Valor(p, quantidade, quantidade * AvaliacaoEstoque.centavos(p.preco()));
+                })
+                .toArray(Valor[]::new);
+        Arrays.parallelSort(valores, POR_VALOR);
+
+        int n = valores.length;
+        long[] acumulado = new long[n];
+        for (int i = 0; i < n; i++) {
+            acumulado[i] = valores[i].centavos();
+            if (valores[i].quantidade() > 0) {
+                precos.put(valores[i].posicao().id(), AvaliacaoEstoque.centavos(valores[i].posicao().preco()));
+            }
+        }
+        Arrays.parallelPrefix(acumulado, Long::sum);
+        double total = n == 0 ? 0 : acumulado[n - 1];
+
+        Linha[] linhas = new Linha[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Valor v = valores[i];
+            double antes = total == 0 ? 1 : (acumulado[i] - v.centavos()) / total;
+            String classe = v.centavos() == 0 || antes >= limiteB ? "C" : antes < limiteA ? "A" : "B";
+            linhas[i] = new Linha(v.posicao().produto(), v.posicao().categoria(), v.quantidade(), v.centavos(),
+                    total == 0 ? 0 : 100 * v.centavos() / total, total == 0 ? 0 : 100 * acumulado[i] / total,
+                    classe);
+        });
+        return linhas;
+    }
+
+    /**
+     * Escreve as linhas na saída do relatório (sem {@code iniciar}/{@code concluir}).
+     *
+     * @param linhas linhas da curva
+     * @param saida destino das linhas
+     */
+    public static void escrever(Linha[] linhas, SaidaRelatorio saida) {
+        for (Linha l : linhas) {
+            saida.texto(l.produto()).texto(l.categoria()).inteiro(l.quantidade())
+                    .decimal(l.valorCentavos() / 100.0).decimal(l.participacao())
+                    .decimal(l.participacaoAcumulada()).texto(l.classe());
+            saida.fimLinha();
+        }
+    }
+
+    // ======================================================================
+    // ALTERAÇÕES
+    // ======================================================================
+
+    /**
+     * Soma o valor de uma saída registrada, para medir quanto a curva em
+     * cache já se afastou das movimentações (entradas não mudam a curva).
+     *
+     * @param movimentacao movimentação aceita
+     */
+    public void registrar(Movimentacao movimentacao) {
+        if (movimentacao == null || movimentacao.getProduto() == null
+                || !TipoMovimentacao.SAIDA.name().equalsIgnoreCase(movimentacao.getTipo())) {
+            return;
+        }
+        Cache atual = cache;
+        int id = movimentacao.getProduto().getId();
+        Long preco = atual == null ? null : atual.precos().get(id);
+        if (preco == null) {
+            // Produto sem saídas na curva: preço do catálogo ou, sem ele, o do objeto recebido
+            VersaoCatalogo.Item item = CatalogoEstoque.getInstancia().versaoAtual().getItem(id);
+            preco = AvaliacaoEstoque.centavos(item != null ? item.preco() : movimentacao.getProduto().getPreco());
+        }
+        saidasCentavos.add(movimentacao.getQuantidade() * preco);
+    }
+
+    /**
+     * Vence o cache quando um produto é incluído, alterado ou excluído: a
+     * curva lista todos os produtos, inclusive os sem saídas (classe C), e
+     * preço, nome ou categoria podem ter mudado.
+     *
+     * @param id ID do produto
+     */
+    public void produtoAlterado(int id) {
+        geracao.incrementAndGet();
+    }
+
+    /**
+     * Vence o cache quando uma categoria é alterada (o nome aparece na curva).
+     */
+    public void categoriaAlterada() {
+        geracao.incrementAndGet();
+    }
+}
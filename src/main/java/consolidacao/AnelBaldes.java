@@ -0,0 +1,141 @@
+package consolidacao;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buffer circular com os últimos {@code n} períodos de uma chave (produto ou
+ * categoria) em uma granularidade: a posição {@code periodo mod n} guarda o
+ * período atual ou, se ainda não foi reaproveitada, um período antigo, que é
+ * zerado quando o novo período chega.
+ * <p>
+ * Cada posição marca se mudou desde a última gravação na tabela. O acesso é
+ * sincronizado no próprio anel: a disputa fica restrita a movimentações do
+ * mesmo produto ou categoria.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class AnelBaldes {
+
+    /** Marca de posição nunca usada. */
+    private static final int VAZIO = Integer.MIN_VALUE;
+
+    private final int[] periodos;
+    private final long[] entradas;
+    private final long[] saidas;
+    private final boolean[] alterados;
+
+    AnelBaldes(int tamanho) {
+        periodos = new int[tamanho];
+        Arrays.fill(periodos, VAZIO);
+        entradas = new long[tamanho];
+        saidas = new long[tamanho];
+        alterados = new boolean[tamanho];
+    }
+
+    /**
+     * Soma quantidades a um período.
+     *
+     * @return {@code false} se o período é mais antigo que o guardado na posição (fora da janela)
+     */
+    synchronized boolean somar(int periodo, long maisEntradas, long maisSaidas) {
+        int i = posicao(periodo);
+        if (periodos[i] != periodo) {
+            if (periodos[i] != VAZIO && periodos[i] > periodo) {
+                return false;
+            }
+            periodos[i] = periodo;
+            entradas[i] = 0;
+            saidas[i] = 0;
+        }
+        entradas[i] += maisEntradas;
+        saidas[i] += maisSaidas;
+        alterados[i] = true;
+        return true;
+    }
+
+    /**
+     * Define os totais de um período lidos da tabela, sem marcá-lo como
+     * alterado (ignorado se a posição já guarda um período mais novo).
+     */
+    synchronized void definir(int periodo, long totalEntradas, long totalSaidas) {
+        int i = posicao(periodo);
+        if (periodos[i] == VAZIO || periodos[i] <= periodo) {
+            periodos[i] = periodo;
+            entradas[i] = totalEntradas;
+            saidas[i] = totalSaidas;
+        }
+    }
+
+    /**
+     * Copia os totais dos períodos {@code desde .. desde + destino.length - 1};
+     * períodos sem movimentação ficam zerados.
+     *
+     * @param destino {@code {entradas, saidas}} por período, somados aos já presentes
+     */
+    synchronized void somarEm(int desde, long[][] destino) {
+        for (int k = 0; k < destino.length; k++) {
+            int i = posicao(desde + k);
+            if (periodos[i] == desde + k) {
+                destino[k][0] += entradas[i];
+                destino[k][1] += saidas[i];
+            }
+        }
+    }
+
+    /**
+     * @return soma das saídas dos períodos a partir de {@code primeiro}
+     */
+    synchronized long saidasDesde(int primeiro) {
+        long total = 0;
+        for (int i = 0; i < periodos.length; i++) {
+            if (periodos[i] != VAZIO && periodos[i] >= primeiro) {
+                total += saidas[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Recolhe os períodos alterados desde a última chamada e limpa as marcas.
+     */
+    synchronized void recolherAlterados(Granularidade granularidade, Escopo escopo, int chave,
+                                        List<Balde> destino) {
+        for (int i = 0; i < periodos.length; i++) {
+            if (alterados[i]) {
+                destino.add(new Balde(granularidade, escopo, chave, periodos[i], entradas[i], saidas[i]));
+                alterados[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Volta a marcar um período como alterado (gravação que falhou), se ele
+     * ainda estiver no anel.
+     */
+    synchronized void marcarAlterado(int periodo) {
+        int i = posicao(periodo);
+        if (periodos[i] == periodo) {
+            alterados[i] = true;
+        }
+    }
+
+    /**
+     * @return {@code true} se nenhum período a partir de {@code primeiro} tem
+     *         dados e não há nada a gravar (o anel pode ser descartado)
+     */
+    synchronized boolean semDadosDesde(int primeiro) {
+        for (int i = 0; i < periodos.length; i++) {
+            if (alterados[i] || (periodos[i] != VAZIO && periodos[i] >= primeiro)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int posicao(int periodo) {
+        return Math.floorMod(periodo, periodos.length);
+    }
+}
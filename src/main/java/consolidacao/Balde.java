@@ -0,0 +1,18 @@
+package consolidacao;
+
+/**
+ * Totais de entradas e saídas de um produto ou categoria em um período: uma
+ * linha da tabela {@code movimentacao_consolidada}.
+ *
+ * @param granularidade hora ou dia
+ * @param escopo produto ou categoria
+ * @param chave ID do produto ou da categoria
+ * @param periodo período da granularidade ({@link Granularidade#periodo(long)})
+ * @param entradas unidades que entraram no período
+ * @param saidas unidades que saíram no período
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public record Balde(Granularidade granularidade, Escopo escopo, int chave, int periodo, long entradas, long saidas) {
+}
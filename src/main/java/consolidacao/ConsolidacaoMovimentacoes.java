@@ -0,0 +1,312 @@
+package consolidacao;
+
+import catalogo.CatalogoEstoque;
+import dao.ConsolidacaoRepositorio;
+import dao.MovimentacaoRepositorio;
+import dao.Repositorios;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import log.Log;
+
+/**
+ * Movimentações consolidadas por hora e por dia, por produto e por
+ * categoria, para os relatórios de tendência de consumo
+ * ({@code TENDENCIA_MOVIMENTACOES}) e de cobertura de estoque
+ * ({@code RELATORIO_COBERTURA_ESTOQUE}) sem reler a tabela {@code movimentacao}.
+ * <p>
+ * Cada chave (produto ou categoria) tem um {@link AnelBaldes} por
+ * {@link Granularidade}, com os últimos períodos em memória. As
+ * movimentações gravadas no banco após a marca d'água (o maior ID de
+ * movimentação já somado) são somadas aos quatro anéis (produto e
+ * categoria, hora e dia) do período da sua data, em uma consulta agrupada
+ * por produto e hora, antes de cada consulta e de cada gravação, como os
+ * totais do {@link CatalogoEstoque}. Os baldes alterados são gravados em lote
+ * na tabela {@code movimentacao_consolidada}, junto com a marca e na mesma
+ * transação, a cada {@code -Destoque.consolidacao.gravarSeg} segundos
+ * (padrão 30), e os períodos que saíram da janela são descartados da tabela
+ * e da memória.
+ * </p>
+ *
+ * <p><b>Inicialização:</b> os baldes e a marca são lidos da tabela, e as
+ * movimentações gravadas depois da marca ({@code id > marca}) são somadas em
+ * seguida: o que não chegou a ser gravado antes de uma queda não se perde.
+ * Se a tabela estiver vazia (primeira execução), ou com
+ * {@code -Destoque.consolidacao.reconstruir=true}, a marca começa em zero e
+ * os baldes são montados a partir das movimentações da janela diária.</p>
+ *
+ * <p>Cada movimentação soma à categoria do produto no momento em que é
+ * lida; as somas já feitas continuam na categoria anterior.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ConsolidacaoMovimentacoes {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final ConsolidacaoMovimentacoes INSTANCIA = new ConsolidacaoMovimentacoes();
+
+    /** Intervalo de gravação dos baldes alterados, em segundos. */
+    private static final long INTERVALO_GRAVACAO_SEG = Math.max(1, Long.getLong("estoque.consolidacao.gravarSeg", 30));
+
+    /** Anéis por escopo, granularidade e chave. */
+    private final Map<Escopo, Map<Granularidade, Map<Integer, AnelBaldes>>> aneis = new EnumMap<>(Escopo.class);
+
+    /** Indica se os baldes foram carregados; antes disso, as consultas não usam a consolidação. */
+    private volatile boolean iniciada;
+
+    /** Maior ID de movimentação já somado aos baldes; guardada pelo monitor da instância. */
+    private long marcaMovimentacao;
+
+    private final ConsolidacaoRepositorio repositorio = Repositorios.consolidacoes();
+    private final MovimentacaoRepositorio movimentacoes = Repositorios.movimentacoes();
+
+    private ConsolidacaoMovimentacoes() {
+        for (Escopo escopo : Escopo.values()) {
+            Map<Granularidade, Map<Integer, AnelBaldes>> porGranularidade = new EnumMap<>(Granularidade.class);
+            for (Granularidade g : Granularidade.values()) {
+                porGranularidade.put(g, new ConcurrentHashMap<>());
+            }
+            aneis.put(escopo, porGranularidade);
+        }
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return consolidação de movimentações
+     */
+    public static ConsolidacaoMovimentacoes getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Carrega os baldes, soma as movimentações gravadas depois da marca e
+     * agenda a gravação periódica. Chamado uma vez, na inicialização do
+     * servidor, antes de aceitar conexões.
+     */
+    public static void iniciar() {
+        ConsolidacaoMovimentacoes consolidacao = getInstancia();
+        long inicio = System.nanoTime();
+        String origem;
+        long marcaGravada = 0;
+        synchronized (consolidacao) {
+            try {
+                List<Balde> gravados = consolidacao.repositorio.carregar();
+                if (gravados.isEmpty() || Boolean.getBoolean("estoque.consolidacao.reconstruir")) {
+                    // Marca zero: a sincronização monta a janela diária inteira
+                    origem = "movimentações";
+                } else {
+                    for (Balde b : gravados) {
+                        consolidacao.mapa(b.escopo(), b.granularidade())
+                                .computeIfAbsent(b.chave(), k -> new AnelBaldes(b.granularidade().getPeriodos()))
+                                .definir(b.periodo(), b.entradas(), b.saidas());
+                    }
+                    marcaGravada = consolidacao.repositorio.carregarMarca();
+                    consolidacao.marcaMovimentacao = marcaGravada;
+                    origem = "tabela";
+                }
+                consolidacao.sincronizar();
+            } catch (SQLException e) {
+                // Sem histórico: as tendências passam a contar a partir da próxima sincronização
+                Log.aviso("⚠️ Consolidação de movimentações sem histórico", "motivo", e.getMessage());
+                origem = "vazia";
+            }
+            consolidacao.iniciada = true;
+            Log.info("📈 Consolidação de movimentações carregada", "origem", origem,
+                    "produtos", consolidacao.mapa(Escopo.PRODUTO, Granularidade.DIA).size(),
+                    "marca_gravada", marcaGravada, "marca", consolidacao.marcaMovimentacao,
+                    "duracao_ms", (System.nanoTime() - inicio) / 1_000_000);
+        }
+
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "consolidacao-gravacao");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleWithFixedDelay(consolidacao::gravar, INTERVALO_GRAVACAO_SEG, INTERVALO_GRAVACAO_SEG,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Soma aos baldes as movimentações da janela diária gravadas após a marca
+     * d'água e avança a marca. Consulta barata quando não há movimentações
+     * novas (só o maior ID).
+     *
+     * @throws SQLException se o banco não estiver acessível
+     */
+    private synchronized void sincronizar() throws SQLException {
+        long ateId = movimentacoes.maiorId();
+        if (ateId <= marcaMovimentacao) {
+            return;
+        }
+        long desde = LocalDate.now().minusDays(Granularidade.DIA.getPeriodos() - 1L)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        repositorio.somarMovimentacoesPorHora(desde, marcaMovimentacao, ateId,
+                this::somar);
+        marcaMovimentacao = ateId;
+    }
+
+    /** Sincroniza antes de uma consulta; se o banco falhar, a consulta usa o que já foi somado. */
+    private void sincronizarParaConsulta() {
+        try {
+            sincronizar();
+        } catch (SQLException e) {
+            Log.aviso("⚠️ Consolidação de movimentações não sincronizada", "motivo", e.getMessage());
+        }
+    }
+
+    private Map<Integer, AnelBaldes> mapa(Escopo escopo, Granularidade granularidade) {
+        return aneis.get(escopo).get(granularidade);
+    }
+
+    // ======================================================================
+    // SOMAS
+    // ======================================================================
+
+    private void somar(int produtoId, int categoriaId, long instante, long entradas, long saidas) {
+        long agora = System.currentTimeMillis();
+        for (Granularidade g : Granularidade.values()) {
+            int periodo = g.periodo(instante);
+            int atual = g.periodo(agora);
+            if (periodo > atual + 1 || periodo <= atual - g.getPeriodos()) {
+                continue;
+            }
+            somar(mapa(Escopo.PRODUTO, g), produtoId, g, periodo, entradas, saidas);
+            if (categoriaId > 0) {
+                somar(mapa(Escopo.CATEGORIA, g), categoriaId, g, periodo, entradas, saidas);
+            }
+        }
+    }
+
+    private static void somar(Map<Integer, AnelBaldes> mapa, int chave, Granularidade g, int periodo,
+                              long entradas, long saidas) {
+        // Dentro do compute: o descarte de anéis vazios não perde uma soma concorrente
+        mapa.compute(chave, (k, anel) -> {
+            AnelBaldes destino = anel == null ? new AnelBaldes(g.getPeriodos()) : anel;
+            destino.somar(periodo, entradas, saidas);
+            return destino;
+        });
+    }
+
+    // ======================================================================
+    // GRAVAÇÃO
+    // ======================================================================
+
+    /**
+     * Soma as movimentações novas, grava na tabela os baldes alterados desde a
+     * última gravação, com a marca d'água correspondente, e descarta os
+     * períodos que saíram da janela. Se a gravação falhar, os baldes voltam a
+     * ser marcados como alterados e vão na próxima.
+     */
+    synchronized void gravar() {
+        sincronizarParaConsulta();
+        List<Balde> alterados = new ArrayList<>();
+        for (Escopo escopo : Escopo.values()) {
+            for (Granularidade g : Granularidade.values()) {
+                mapa(escopo, g).forEach((chave, anel) -> anel.recolherAlterados(g, escopo, chave, alterados));
+            }
+        }
+        try {
+            repositorio.gravar(alterados, marcaMovimentacao);
+            long agora = System.currentTimeMillis();
+            for (Granularidade g : Granularidade.values()) {
+                int primeiro = g.periodo(agora) - g.getPeriodos() + 1;
+                repositorio.descartarAnteriores(g, primeiro);
+                for (Escopo escopo : Escopo.values()) {
+                    Map<Integer, AnelBaldes> mapa = mapa(escopo, g);
+                    for (Integer chave : mapa.keySet()) {
+                        mapa.computeIfPresent(chave, (k, anel) -> anel.semDadosDesde(primeiro) ? null : anel);
+                    }
+                }
+            }
+            if (!alterados.isEmpty()) {
+                Log.debug("📈 Baldes de movimentações gravados", "baldes", alterados.size());
+            }
+        } catch (SQLException e) {
+            for (Balde b : alterados) {
+                AnelBaldes anel = mapa(b.escopo(), b.granularidade()).get(b.chave());
+                if (anel != null) {
+                    anel.marcarAlterado(b.periodo());
+                }
+            }
+            Log.aviso("⚠️ Baldes de movimentações não gravados", "baldes", alterados.size(),
+                    "motivo", e.getMessage());
+        }
+    }
+
+    // ======================================================================
+    // CONSULTAS
+    // ======================================================================
+
+    /**
+     * Tendência de um produto ou categoria: entradas, saídas e saldo em cada
+     * um dos últimos períodos, do mais antigo ao atual (períodos sem
+     * movimentação aparecem zerados).
+     *
+     * @param escopo produto ou categoria
+     * @param chave ID do produto ou da categoria
+     * @param granularidade hora ou dia
+     * @param periodos quantos períodos (limitado à janela mantida)
+     * @return linhas com {@code periodo}, {@code entradas}, {@code saidas} e {@code saldo}
+     */
+    public List<Map<String, Object>> tendencia(Escopo escopo, int chave, Granularidade granularidade, int periodos) {
+        if (iniciada) {
+            sincronizarParaConsulta();
+        }
+        int n = Math.clamp(periodos, 1, granularidade.getPeriodos());
+        int desde = granularidade.periodo(System.currentTimeMillis()) - n + 1;
+        long[][] totais = new long[n][2];
+        AnelBaldes anel = mapa(escopo, granularidade).get(chave);
+        if (anel != null) {
+            anel.somarEm(desde, totais);
+        }
+
+        List<Map<String, Object>> linhas = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("periodo", granularidade.rotulo(desde + k));
+            linha.put("entradas", totais[k][0]);
+            linha.put("saidas", totais[k][1]);
+            linha.put("saldo", totais[k][0] - totais[k][1]);
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    /**
+     * Saídas de cada produto nos últimos {@code dias} dias (o atual incluído),
+     * somadas a partir dos baldes diários, sem consultar a tabela
+     * {@code movimentacao}.
+     *
+     * @param dias tamanho da janela
+     * @return unidades saídas por ID de produto (só produtos com saídas), ou
+     *         {@code null} se a consolidação não foi iniciada ou a janela é
+     *         maior que a diária mantida
+     */
+    public Map<Integer, Long> saidasPorProduto(int dias) {
+        if (!iniciada || dias > Granularidade.DIA.getPeriodos()) {
+            return null;
+        }
+        sincronizarParaConsulta();
+        int desde = Granularidade.DIA.periodo(System.currentTimeMillis()) - dias + 1;
+        Map<Integer, Long> saidas = new HashMap<>();
+        mapa(Escopo.PRODUTO, Granularidade.DIA).forEach((produto, anel) -> {
+            long total = anel.saidasDesde(desde);
+            if (total != 0) {
+                saidas.put(produto, total);
+            }
+        });
+        return saidas;
+    }
+}
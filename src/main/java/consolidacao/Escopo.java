@@ -0,0 +1,33 @@
+package consolidacao;
+
+import java.util.Locale;
+
+/**
+ * A que se refere um balde de movimentações consolidadas: um produto ou
+ * uma categoria (a soma dos seus produtos).
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum Escopo {
+
+    /** Chave é o ID do produto. */
+    PRODUTO,
+
+    /** Chave é o ID da categoria. */
+    CATEGORIA;
+
+    /**
+     * Localiza o escopo pelo nome, sem distinguir maiúsculas.
+     *
+     * @param nome nome informado pelo cliente
+     * @return escopo, ou {@code null} se o nome não corresponde a nenhum
+     */
+    public static Escopo porNome(String nome) {
+        try {
+            return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package consolidacao;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Granularidade dos baldes de movimentações consolidadas.
+ * <p>
+ * O período de um balde é contado em horas ou dias do relógio local desde
+ * {@code 1970-01-01} — o mesmo relógio em que {@code data_movimentacao} é
+ * gravada —, de modo que os dias começam à meia-noite local.
+ * </p>
+ *
+ * <p><b>Configuração:</b> quantos períodos ficam em memória (e na tabela),
+ * com {@code -Destoque.consolidacao.horas} (padrão 168, sete dias) e
+ * {@code -Destoque.consolidacao.dias} (padrão 90).</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum Granularidade {
+
+    /** Baldes de uma hora. */
+    HORA(Integer.getInteger("estoque.consolidacao.horas", 168), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00")),
+
+    /** Baldes de um dia. */
+    DIA(Integer.getInteger("estoque.consolidacao.dias", 90), DateTimeFormatter.ISO_LOCAL_DATE);
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    private final int periodos;
+    private final DateTimeFormatter formato;
+
+    Granularidade(int periodos, DateTimeFormatter formato) {
+        this.periodos = Math.max(1, periodos);
+        this.formato = formato;
+    }
+
+    /**
+     * @return quantidade de períodos mantidos
+     */
+    public int getPeriodos() {
+        return periodos;
+    }
+
+    /**
+     * @param instante instante em milissegundos desde a época
+     * @return período (horas ou dias locais desde 1970-01-01) que contém o instante
+     */
+    public int periodo(long instante) {
+        LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), ZONA);
+        return switch (this) {
+            case HORA -> (int) Math.floorDiv(local.toEpochSecond(ZoneOffset.UTC), 3_600L);
+            case DIA -> (int) local.toLocalDate().toEpochDay();
+        };
+    }
+
+    /**
+     * @param periodo período desta granularidade
+     * @return rótulo legível (ex.: {@code 2025-03-14 09:00} ou {@code 2025-03-14})
+     */
+    public String rotulo(int periodo) {
+        return switch (this) {
+            case HORA -> formato.format(LocalDateTime.ofEpochSecond(periodo * 3_600L, 0, ZoneOffset.UTC));
+            case DIA -> formato.format(LocalDate.ofEpochDay(periodo));
+        };
+    }
+
+    /**
+     * Localiza a granularidade pelo nome, sem distinguir maiúsculas.
+     *
+     * @param nome nome informado pelo cliente ({@code HORA} ou {@code DIA})
+     * @return granularidade, ou {@code null} se o nome não corresponde a nenhuma
+     */
+    public static Granularidade porNome(String nome) {
+        try {
+            return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
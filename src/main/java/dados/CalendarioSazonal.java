@@ -0,0 +1,114 @@
+package dados;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuição das movimentações no tempo: quantas caem em cada dia e em que
+ * horário.
+ * <p>
+ * O peso de cada dia combina uma sazonalidade anual (pico no fim do ano e
+ * vale no meio do ano), a semana (sábado e domingo com menos movimento) e um
+ * crescimento linear ao longo do período. A quantidade de cada dia é a parte
+ * proporcional do total, arredondada de forma acumulada para que a soma seja
+ * exata. Dentro do dia, o horário segue o expediente, com picos no fim da
+ * manhã e no meio da tarde.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class CalendarioSazonal {
+
+    /** Peso relativo de cada hora do dia. */
+    private static final double[] PESO_HORA = {
+            0.05, 0.02, 0.02, 0.02, 0.02, 0.05, 0.2, 0.5, 1.0, 1.4, 1.6, 1.5,
+            1.0, 1.1, 1.4, 1.5, 1.3, 1.0, 0.7, 0.5, 0.3, 0.2, 0.1, 0.08};
+
+    private static final double[] ACUMULADO_HORA = new double[24];
+
+    static {
+        double soma = 0;
+        for (int i = 0; i < 24; i++) {
+            soma += PESO_HORA[i];
+            ACUMULADO_HORA[i] = soma;
+        }
+        for (int i = 0; i < 24; i++) {
+            ACUMULADO_HORA[i] /= soma;
+        }
+    }
+
+    private final LocalDate inicio;
+    private final long[] porDia;
+
+    /**
+     * Distribui o total de movimentações entre os dias do período.
+     *
+     * @param inicio primeiro dia
+     * @param dias quantidade de dias
+     * @param total total de movimentações
+     */
+    CalendarioSazonal(LocalDate inicio, int dias, long total) {
+        this.inicio = inicio;
+        double[] pesos = new double[dias];
+        double soma = 0;
+        for (int d = 0; d < dias; d++) {
+            LocalDate data = inicio.plusDays(d);
+            double anual = 1 + 0.25 * Math.cos(2 * Math.PI * (data.getDayOfYear() - 350) / 365.0);
+            if (data.getMonthValue() == 12 && data.getDayOfMonth() >= 10) {
+                anual *= 1.4;
+            }
+            DayOfWeek diaSemana = data.getDayOfWeek();
+            double semanal = diaSemana == DayOfWeek.SUNDAY ? 0.35 : diaSemana == DayOfWeek.SATURDAY ? 0.6 : 1.0;
+            double crescimento = 1 + 0.3 * d / Math.max(1, dias - 1);
+            pesos[d] = anual * semanal * crescimento;
+            soma += pesos[d];
+        }
+        porDia = new long[dias];
+        double acumulado = 0;
+        long distribuido = 0;
+        for (int d = 0; d < dias; d++) {
+            acumulado += pesos[d];
+            long ate = Math.round(total * (acumulado / soma));
+            porDia[d] = ate - distribuido;
+            distribuido = ate;
+        }
+    }
+
+    /** @return quantidade de dias do período */
+    int getDias() {
+        return porDia.length;
+    }
+
+    /**
+     * @param dia índice do dia (0 = início)
+     * @return data correspondente
+     */
+    LocalDate getData(int dia) {
+        return inicio.plusDays(dia);
+    }
+
+    /**
+     * @param dia índice do dia
+     * @return quantidade de movimentações no dia
+     */
+    long getQuantidade(int dia) {
+        return porDia[dia];
+    }
+
+    /**
+     * Sorteia um horário dentro do dia.
+     *
+     * @param aleatorio gerador
+     * @return segundos desde a meia-noite
+     */
+    static int sortearSegundoDoDia(SplittableRandom aleatorio) {
+        double u = aleatorio.nextDouble();
+        int hora = 0;
+        while (hora < 23 && u > ACUMULADO_HORA[hora]) {
+            hora++;
+        }
+        return hora * 3600 + aleatorio.nextInt(3600);
+    }
+}
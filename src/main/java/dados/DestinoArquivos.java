@@ -0,0 +1,147 @@
+package dados;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava as linhas em arquivos separados por tabulação, prontos para
+ * {@code LOAD DATA}, mais um script {@code carregar.sql} com os comandos de
+ * carga.
+ * <p>
+ * Cada thread escreve seus próprios arquivos ({@code produto-01.tsv},
+ * {@code movimentacao-03.tsv}, ...), sem disputa entre elas. Nulos são
+ * gravados como {@code \N}; tabulação, quebra de linha e barra invertida são
+ * escapadas.
+ * </p>
+ *
+ * <p>Carga:</p>
+ * <pre>{@code
+ *     cd <dir> && mysql --local-infile=1 -u root -p estoque_db < carregar.sql
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class DestinoArquivos implements DestinoDados {
+
+    private final Path diretorio;
+    private final List<String> comandos = new ArrayList<>();
+
+    /**
+     * Cria o destino, criando o diretório se necessário.
+     *
+     * @param diretorio diretório dos arquivos
+     * @throws IOException se o diretório não puder ser criado
+     */
+    DestinoArquivos(Path diretorio) throws IOException {
+        this.diretorio = Files.createDirectories(diretorio);
+    }
+
+    @Override
+    public SaidaLinhas abrir(Tabela tabela, int trabalhador) throws IOException {
+        String arquivo = String.format("%s-%02d.tsv", tabela.getNome(), trabalhador);
+        synchronized (comandos) {
+            comandos.add("LOAD DATA LOCAL INFILE '" + arquivo + "' INTO TABLE " + tabela.getNome()
+                    + " FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n' ("
+                    + String.join(", ", tabela.getColunas()) + ");");
+        }
+        Writer escritor = Files.newBufferedWriter(diretorio.resolve(arquivo), StandardCharsets.UTF_8);
+        return new SaidaTsv(escritor instanceof BufferedWriter b ? b : new BufferedWriter(escritor, 1 << 16));
+    }
+
+    @Override
+    public String descrever() {
+        return "arquivos em " + diretorio.toAbsolutePath();
+    }
+
+    /**
+     * Grava o script de carga, com as tabelas na ordem das chaves estrangeiras.
+     *
+     * @throws IOException em falha de escrita
+     */
+    @Override
+    public void close() throws IOException {
+        List<String> script = new ArrayList<>();
+        script.add("SET foreign_key_checks = 0, unique_checks = 0;");
+        for (Tabela tabela : Tabela.values()) {
+            for (String comando : comandos) {
+                if (comando.contains("INTO TABLE " + tabela.getNome() + " ")) {
+                    script.add(comando);
+                }
+            }
+        }
+        script.add("SET foreign_key_checks = 1, unique_checks = 1;");
+        Files.write(diretorio.resolve("carregar.sql"), script, StandardCharsets.UTF_8);
+    }
+
+    /** Escreve linhas TSV em um arquivo. */
+    private static final class SaidaTsv implements SaidaLinhas {
+
+        private final BufferedWriter saida;
+        private final StringBuilder linha = new StringBuilder(128);
+
+        SaidaTsv(BufferedWriter saida) {
+            this.saida = saida;
+        }
+
+        @Override
+        public void escrever(Object... valores) throws IOException {
+            linha.setLength(0);
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    linha.append('\t');
+                }
+                Object v = valores[i];
+                if (v == null) {
+                    linha.append("\\N");
+                } else if (v instanceof LocalDateTime data) {
+                    formatar(data);
+                } else if (v instanceof String texto) {
+                    escapar(texto);
+                } else {
+                    linha.append(v);
+                }
+            }
+            linha.append('\n');
+            saida.append(linha);
+        }
+
+        /** Formato {@code yyyy-MM-dd HH:mm:ss}, sem passar pelo {@code DateTimeFormatter}. */
+        private void formatar(LocalDateTime d) {
+            linha.append(d.getYear()).append('-');
+            doisDigitos(d.getMonthValue()).append('-');
+            doisDigitos(d.getDayOfMonth()).append(' ');
+            doisDigitos(d.getHour()).append(':');
+            doisDigitos(d.getMinute()).append(':');
+            doisDigitos(d.getSecond());
+        }
+
+        private StringBuilder doisDigitos(int v) {
+            return linha.append((char) ('0' + v / 10)).append((char) ('0' + v % 10));
+        }
+
+        private void escapar(String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '\t' -> linha.append("\\t");
+                    case '\n' -> linha.append("\\n");
+                    case '\\' -> linha.append("\\\\");
+                    default -> linha.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            saida.close();
+        }
+    }
+}
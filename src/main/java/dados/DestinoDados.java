@@ -0,0 +1,61 @@
+package dados;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Destino das linhas geradas: banco ({@link DestinoMySql}) ou arquivos para
+ * {@code LOAD DATA} ({@link DestinoArquivos}).
+ *
+ * @version 1.0
+ * @since 2025
+ */
+interface DestinoDados extends AutoCloseable {
+
+    /**
+     * Abre uma saída exclusiva de uma thread para uma tabela.
+     *
+     * @param tabela tabela de destino
+     * @param trabalhador índice da thread
+     * @return saída de linhas
+     * @throws Exception se o destino não puder ser aberto
+     */
+    SaidaLinhas abrir(Tabela tabela, int trabalhador) throws Exception;
+
+    /**
+     * Descreve o destino para o relatório final.
+     *
+     * @return descrição
+     */
+    String descrever();
+
+    /**
+     * Encerra o destino.
+     *
+     * @throws IOException em falha de escrita
+     * @throws SQLException em falha no banco
+     */
+    @Override
+    void close() throws IOException, SQLException;
+
+    /** Saída de linhas de uma tabela, usada por uma única thread. */
+    interface SaidaLinhas extends AutoCloseable {
+
+        /**
+         * Escreve uma linha.
+         *
+         * @param valores valores na ordem de {@link Tabela#getColunas()}
+         * @throws Exception em falha de escrita
+         */
+        void escrever(Object... valores) throws Exception;
+
+        /**
+         * Grava o que estiver pendente e fecha a saída.
+         *
+         * @throws IOException em falha de escrita
+         * @throws SQLException em falha no banco
+         */
+        @Override
+        void close() throws IOException, SQLException;
+    }
+}
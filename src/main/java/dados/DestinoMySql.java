@@ -0,0 +1,139 @@
+package dados;
+
+import dao.ConexaoDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Grava as linhas direto no MySQL configurado em {@link ConexaoDAO}, com
+ * {@code INSERT} de várias linhas por comando.
+ * <p>
+ * Cada thread usa sua própria conexão e um único {@link PreparedStatement}
+ * com {@code lote} linhas, reaproveitado a cada lote; as últimas linhas vão
+ * em um comando do tamanho exato. Nas conexões do gerador, as verificações de
+ * chave estrangeira e de unicidade ficam desligadas, já que os dados são
+ * consistentes por construção.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class DestinoMySql implements DestinoDados {
+
+    private final int lote;
+
+    /**
+     * Cria o destino.
+     *
+     * @param lote linhas por comando {@code INSERT}
+     * @param limpar se {@code true}, esvazia as tabelas antes de gerar, junto
+     * com as que derivam delas (consolidação e histórico de preços)
+     * @throws SQLException se a limpeza falhar
+     */
+    DestinoMySql(int lote, boolean limpar) throws SQLException {
+        this.lote = lote;
+        if (limpar) {
+            try (Connection conn = conectar(); Statement stmt = conn.createStatement()) {
+                stmt.execute("TRUNCATE TABLE movimentacao_consolidada");
+                stmt.execute("TRUNCATE TABLE movimentacao_consolidada_marca");
+                stmt.execute("TRUNCATE TABLE preco_historico");
+                stmt.execute("TRUNCATE TABLE movimentacao");
+                stmt.execute("TRUNCATE TABLE produto");
+                stmt.execute("TRUNCATE TABLE categoria");
+            }
+        }
+    }
+
+    @Override
+    public SaidaLinhas abrir(Tabela tabela, int trabalhador) throws SQLException {
+        return new SaidaInsert(conectar(), tabela, lote);
+    }
+
+    @Override
+    public String descrever() {
+        return "MySQL (lotes de " + lote + " linhas)";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static Connection conectar() throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET foreign_key_checks = 0, unique_checks = 0");
+        }
+        return conn;
+    }
+
+    /** Acumula linhas e envia um {@code INSERT} a cada lote completo. */
+    private static final class SaidaInsert implements SaidaLinhas {
+
+        private final Connection conn;
+        private final Tabela tabela;
+        private final int colunas;
+        private final int lote;
+        private final Object[] valores;
+        private PreparedStatement cheio;
+        private int linhas;
+
+        SaidaInsert(Connection conn, Tabela tabela, int lote) {
+            this.conn = conn;
+            this.tabela = tabela;
+            this.colunas = tabela.getColunas().length;
+            this.lote = lote;
+            this.valores = new Object[lote * colunas];
+        }
+
+        @Override
+        public void escrever(Object... linha) throws SQLException {
+            System.arraycopy(linha, 0, valores, linhas * colunas, colunas);
+            if (++linhas == lote) {
+                if (cheio == null) {
+                    cheio = conn.prepareStatement(sql(lote));
+                }
+                enviar(cheio, lote);
+            }
+        }
+
+        private void enviar(PreparedStatement stmt, int quantidade) throws SQLException {
+            for (int i = 0; i < quantidade * colunas; i++) {
+                Object v = valores[i];
+                stmt.setObject(i + 1, v instanceof LocalDateTime data ? Timestamp.valueOf(data) : v);
+            }
+            stmt.executeUpdate();
+            linhas = 0;
+        }
+
+        private String sql(int quantidade) {
+            StringBuilder sb = new StringBuilder("INSERT INTO ").append(tabela.getNome())
+                    .append(" (").append(String.join(", ", tabela.getColunas())).append(") VALUES ");
+            String tupla = "(" + "?, ".repeat(colunas - 1) + "?)";
+            for (int i = 0; i < quantidade; i++) {
+                sb.append(i == 0 ? "" : ", ").append(tupla);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (conn) {
+                if (cheio != null) {
+                    cheio.close();
+                }
+                if (linhas > 0) {
+                    try (PreparedStatement resto = conn.prepareStatement(sql(linhas))) {
+                        enviar(resto, linhas);
+                    }
+                }
+            }
+        }
+    }
+}
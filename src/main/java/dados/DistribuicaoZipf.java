@@ -0,0 +1,120 @@
+package dados;
+
+import java.util.SplittableRandom;
+
+/**
+ * Amostragem de uma distribuição de Zipf em {@code 1..n}: a probabilidade do
+ * item de posição {@code k} é proporcional a {@code 1 / k^s}.
+ * <p>
+ * Usa o método de rejeição-inversão de Hörmann e Derflinger, com custo
+ * constante por amostra e sem tabela, o que permite sortear entre milhões de
+ * produtos sem memória extra. A posição sorteada é convertida em ID por uma
+ * permutação fixa ({@link #paraId(int)}), para que os produtos populares
+ * fiquem espalhados pelo catálogo em vez de concentrados nos primeiros IDs.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class DistribuicaoZipf {
+
+    private final int n;
+    private final double s;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double limiteAceitacao;
+
+    /** Multiplicador da permutação posição → ID, primo em relação a {@code n}. */
+    private final long multiplicador;
+
+    /**
+     * Cria a distribuição.
+     *
+     * @param n quantidade de itens
+     * @param s expoente (quanto maior, mais concentrada; 0 é uniforme)
+     */
+    DistribuicaoZipf(int n, double s) {
+        if (n < 1 || s < 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos: n=" + n + ", s=" + s);
+        }
+        this.n = n;
+        this.s = s;
+        hIntegralX1 = hIntegral(1.5) - 1d;
+        hIntegralN = hIntegral(n + 0.5);
+        limiteAceitacao = 2d - hIntegralInversa(hIntegral(2.5) - h(2));
+
+        long m = Math.max(1, (long) (n * 0.6180339887));
+        while (mdc(m, n) != 1) {
+            m++;
+        }
+        multiplicador = m;
+    }
+
+    /**
+     * Sorteia uma posição de popularidade.
+     *
+     * @param aleatorio gerador
+     * @return posição entre {@code 1} (mais popular) e {@code n}
+     */
+    int amostrar(SplittableRandom aleatorio) {
+        while (true) {
+            double u = hIntegralN + aleatorio.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInversa(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > n) {
+                k = n;
+            }
+            if (k - x <= limiteAceitacao || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * Converte uma posição de popularidade em ID (permutação de {@code 1..n}).
+     *
+     * @param posicao posição entre {@code 1} e {@code n}
+     * @return ID entre {@code 1} e {@code n}
+     */
+    int paraId(int posicao) {
+        return (int) ((posicao - 1) * multiplicador % n) + 1;
+    }
+
+    private double h(double x) {
+        return Math.exp(-s * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return auxiliar2((1d - s) * logX) * logX;
+    }
+
+    private double hIntegralInversa(double x) {
+        double t = x * (1d - s);
+        if (t < -1d) {
+            t = -1d;
+        }
+        return Math.exp(auxiliar1(t) * x);
+    }
+
+    /** {@code log(1 + x) / x}, estável perto de zero. */
+    private static double auxiliar1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1d - x * (0.5 - x * (1d / 3d - 0.25 * x));
+    }
+
+    /** {@code (exp(x) - 1) / x}, estável perto de zero. */
+    private static double auxiliar2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1d + x * 0.5 * (1d + x * (1d / 3d) * (1d + 0.25 * x));
+    }
+
+    private static long mdc(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,306 @@
+package dados;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import model.EmbalagemProduto;
+import model.TamanhoProduto;
+
+/**
+ * Gerador de massa de dados sintética para o banco de estoque: categorias,
+ * produtos e o histórico de movimentações.
+ * <p>
+ * A popularidade dos produtos segue uma distribuição de Zipf
+ * ({@link DistribuicaoZipf}): poucos produtos concentram a maior parte das
+ * movimentações, espalhados pelos IDs. As movimentações se distribuem no
+ * tempo conforme o {@link CalendarioSazonal} (sazonalidade anual, fins de
+ * semana, crescimento e horário comercial).
+ * </p>
+ * <p>
+ * O resultado depende apenas da semente e dos tamanhos, não do número de
+ * conexões: cada bloco de produtos e cada dia de movimentações tem seu próprio
+ * gerador aleatório, derivado da semente.
+ * </p>
+ *
+ * <p><b>Opções</b> (todas no formato {@code --nome valor}):</p>
+ * <ul>
+ *     <li>{@code --categorias}, {@code --produtos}, {@code --movimentacoes} —
+ *     quantidades (padrão 50, 10000 e 1000000);</li>
+ *     <li>{@code --semente} — semente (padrão 42);</li>
+ *     <li>{@code --zipf} — expoente da popularidade dos produtos (padrão 1.1);</li>
+ *     <li>{@code --inicio} e {@code --dias} — período das movimentações
+ *     (padrão 365 dias terminando ontem);</li>
+ *     <li>{@code --destino} — {@code mysql} (padrão), gravando direto no banco de
+ *     {@code dao.ConexaoDAO}, ou {@code arquivos}, gerando arquivos para
+ *     {@code LOAD DATA} em {@code --dir} (padrão {@code dados});</li>
+ *     <li>{@code --conexoes} — threads e conexões em paralelo (padrão 4);</li>
+ *     <li>{@code --lote} — linhas por {@code INSERT} (padrão 1000);</li>
+ *     <li>{@code --limpar} — {@code sim} para esvaziar as tabelas antes, inclusive
+ *     a consolidação e o histórico de preços (apenas no destino {@code mysql}).</li>
+ * </ul>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     java -cp target/classes:<mysql-connector-j.jar> dados.GeradorDados \
+ *          --produtos 50000 --movimentacoes 5000000 --conexoes 8 --limpar sim
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class GeradorDados {
+
+    /** Produtos por bloco; fixo para o resultado não depender de {@code --conexoes}. */
+    private static final int BLOCO_PRODUTOS = 1000;
+
+    private static final String[] GRUPOS = {
+        "Bebidas", "Laticínios", "Limpeza", "Higiene", "Mercearia", "Padaria", "Frios",
+        "Congelados", "Hortifruti", "Pet", "Bazar", "Utilidades", "Enlatados", "Doces",
+        "Cereais", "Temperos", "Massas", "Biscoitos", "Papelaria", "Descartáveis"
+    };
+
+    private static final String[] ITENS = {
+        "Refrigerante", "Suco", "Água", "Leite", "Iogurte", "Queijo", "Detergente", "Sabão",
+        "Desinfetante", "Shampoo", "Sabonete", "Creme Dental", "Arroz", "Feijão", "Açúcar",
+        "Café", "Pão", "Bolo", "Presunto", "Salame", "Pizza", "Sorvete", "Tomate", "Banana",
+        "Ração", "Pilha", "Copo", "Milho", "Ervilha", "Chocolate", "Aveia", "Sal", "Macarrão",
+        "Bolacha", "Caderno", "Guardanapo"
+    };
+
+    private static final String[] MARCAS = {
+        "Bom Preço", "Da Casa", "Estrela", "Aurora", "Vale Verde", "Primor", "Sol Nascente",
+        "Serra Azul", "Campestre", "Nativa", "Real", "Ouro Fino"
+    };
+
+    private static final String[] UNIDADES = {"UN", "KG", "L", "CX", "PCT"};
+
+    private final int categorias;
+    private final int produtos;
+    private final long movimentacoes;
+    private final long semente;
+    private final double expoenteZipf;
+    private final LocalDate inicio;
+    private final int dias;
+    private final int conexoes;
+    private final DestinoDados destino;
+
+    private final AtomicLong linhas = new AtomicLong();
+    private volatile String etapa = "";
+
+    private GeradorDados(Map<String, String> opcoes, DestinoDados destino) {
+        this.categorias = Integer.parseInt(opcoes.getOrDefault("categorias", "50"));
+        this.produtos = Integer.parseInt(opcoes.getOrDefault("produtos", "10000"));
+        this.movimentacoes = Long.parseLong(opcoes.getOrDefault("movimentacoes", "1000000"));
+        this.semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+        this.expoenteZipf = Double.parseDouble(opcoes.getOrDefault("zipf", "1.1"));
+        this.dias = Integer.parseInt(opcoes.getOrDefault("dias", "365"));
+        this.inicio = opcoes.containsKey("inicio")
+                ? LocalDate.parse(opcoes.get("inicio"))
+                : LocalDate.now().minusDays(dias);
+        this.conexoes = Integer.parseInt(opcoes.getOrDefault("conexoes", "4"));
+        this.destino = destino;
+    }
+
+    /**
+     * Ponto de entrada do gerador.
+     *
+     * @param args opções no formato {@code --nome valor}
+     */
+    public static void main(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                System.out.println("Opção inválida: " + args[i]);
+                System.exit(1);
+            }
+            opcoes.put(args[i].substring(2), args[i + 1]);
+        }
+
+        GeradorDados gerador;
+        try {
+            gerador = new GeradorDados(opcoes, criarDestino(opcoes));
+        } catch (Exception e) {
+            System.out.println("💥 Não foi possível preparar o destino: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        System.out.printf("🎲 Semente %d | %d categorias, %d produtos, %d movimentações em %d dias desde %s%n",
+                gerador.semente, gerador.categorias, gerador.produtos, gerador.movimentacoes,
+                gerador.dias, gerador.inicio);
+        System.out.printf("🎯 Destino: %s | %d conexões%n", gerador.destino.descrever(), gerador.conexoes);
+
+        try (gerador.destino) {
+            gerador.gerar();
+        } catch (Exception e) {
+            System.out.println("💥 Erro na geração: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static DestinoDados criarDestino(Map<String, String> opcoes) throws Exception {
+        String tipo = opcoes.getOrDefault("destino", "mysql");
+        return switch (tipo) {
+            case "mysql" -> new DestinoMySql(Integer.parseInt(opcoes.getOrDefault("lote", "1000")),
+                    "sim".equalsIgnoreCase(opcoes.get("limpar")));
+            case "arquivos" -> new DestinoArquivos(Paths.get(opcoes.getOrDefault("dir", "dados")));
+            default -> throw new IllegalArgumentException("destino desconhecido: " + tipo);
+        };
+    }
+
+    /** Gera as três tabelas, na ordem das chaves estrangeiras, e imprime a vazão de cada etapa. */
+    private void gerar() throws Exception {
+        Thread progresso = Thread.ofPlatform().daemon().name("dados-progresso").start(this::reportarProgresso);
+        List<String> resumo = new ArrayList<>();
+
+        resumo.add(executarEtapa("categorias", 1, t -> gerarCategorias()));
+        resumo.add(executarEtapa("produtos", conexoes, this::gerarProdutos));
+        CalendarioSazonal calendario = new CalendarioSazonal(inicio, dias, movimentacoes);
+        DistribuicaoZipf popularidade = new DistribuicaoZipf(produtos, expoenteZipf);
+        resumo.add(executarEtapa("movimentacoes", conexoes, t -> gerarMovimentacoes(t, calendario, popularidade)));
+
+        progresso.interrupt();
+        System.out.println();
+        System.out.println("✅ Geração concluída:");
+        resumo.forEach(System.out::println);
+    }
+
+    /** Trabalho de uma thread em uma etapa. */
+    @FunctionalInterface
+    private interface Trabalho {
+        void executar(int trabalhador) throws Exception;
+    }
+
+    private String executarEtapa(String nome, int threads, Trabalho trabalho) throws Exception {
+        etapa = nome;
+        linhas.set(0);
+        long inicioNanos = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int trabalhador = t;
+                tarefas.add(executor.submit(() -> {
+                    trabalho.executar(trabalhador);
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                try {
+                    tarefa.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw e.getCause() instanceof Exception causa ? causa : e;
+                }
+            }
+        }
+        double segundos = Math.max(1e-9, (System.nanoTime() - inicioNanos) / 1e9);
+        long total = linhas.get();
+        return String.format("   %-14s %,12d linhas em %8.2f s — %,12.0f linhas/s", nome, total, segundos,
+                total / segundos);
+    }
+
+    private void reportarProgresso() {
+        long anterior = 0;
+        String etapaAnterior = "";
+        try {
+            while (true) {
+                Thread.sleep(5000);
+                long atual = linhas.get();
+                String etapaAtual = etapa;
+                if (!etapaAtual.equals(etapaAnterior)) {
+                    anterior = 0;
+                    etapaAnterior = etapaAtual;
+                }
+                System.out.printf("⏳ %s: %,d linhas (%,.0f linhas/s)%n", etapaAtual, atual, (atual - anterior) / 5.0);
+                anterior = atual;
+            }
+        } catch (InterruptedException e) {
+            // Geração concluída
+        }
+    }
+
+    private void gerarCategorias() throws Exception {
+        SplittableRandom aleatorio = aleatorio(0, 0);
+        EmbalagemProduto[] embalagens = EmbalagemProduto.values();
+        TamanhoProduto[] tamanhos = TamanhoProduto.values();
+        try (DestinoDados.SaidaLinhas saida = destino.abrir(Tabela.CATEGORIA, 0)) {
+            for (int id = 1; id <= categorias; id++) {
+                String nome = GRUPOS[(id - 1) % GRUPOS.length];
+                if (id > GRUPOS.length) {
+                    nome += " " + ((id - 1) / GRUPOS.length + 1);
+                }
+                saida.escrever(id, nome,
+                        embalagens[aleatorio.nextInt(embalagens.length)].name(),
+                        tamanhos[aleatorio.nextInt(tamanhos.length)].name());
+                linhas.incrementAndGet();
+            }
+        }
+    }
+
+    /** Cada thread gera os blocos de produtos de índice {@code bloco % conexoes == trabalhador}. */
+    private void gerarProdutos(int trabalhador) throws Exception {
+        DistribuicaoZipf popularidadeCategorias = new DistribuicaoZipf(categorias, 0.8);
+        int blocos = (produtos + BLOCO_PRODUTOS - 1) / BLOCO_PRODUTOS;
+        try (DestinoDados.SaidaLinhas saida = destino.abrir(Tabela.PRODUTO, trabalhador)) {
+            for (int bloco = trabalhador; bloco < blocos; bloco += conexoes) {
+                SplittableRandom aleatorio = aleatorio(1, bloco);
+                int fim = Math.min(produtos, (bloco + 1) * BLOCO_PRODUTOS);
+                for (int id = bloco * BLOCO_PRODUTOS + 1; id <= fim; id++) {
+                    String nome = ITENS[aleatorio.nextInt(ITENS.length)] + " "
+                            + MARCAS[aleatorio.nextInt(MARCAS.length)] + " " + id;
+                    // Preço log-normal: mediana de R$ 12, com cauda de itens caros
+                    double preco = Math.max(0.5, Math.round(12 * Math.exp(0.9 * aleatorio.nextGaussian()) * 100) / 100.0);
+                    int minima = 5 + aleatorio.nextInt(46);
+                    int maxima = minima * (3 + aleatorio.nextInt(8));
+                    int atual = aleatorio.nextInt(maxima + 1);
+                    int categoria = popularidadeCategorias.paraId(popularidadeCategorias.amostrar(aleatorio));
+                    saida.escrever(id, nome, preco, UNIDADES[aleatorio.nextInt(UNIDADES.length)],
+                            atual, minima, maxima, categoria);
+                }
+                linhas.addAndGet(fim - bloco * BLOCO_PRODUTOS);
+            }
+        }
+    }
+
+    /** Cada thread gera os dias de índice {@code dia % conexoes == trabalhador}, em ordem cronológica. */
+    private void gerarMovimentacoes(int trabalhador, CalendarioSazonal calendario, DistribuicaoZipf popularidade)
+            throws Exception {
+        try (DestinoDados.SaidaLinhas saida = destino.abrir(Tabela.MOVIMENTACAO, trabalhador)) {
+            for (int dia = trabalhador; dia < calendario.getDias(); dia += conexoes) {
+                SplittableRandom aleatorio = aleatorio(2, dia);
+                int quantidade = (int) calendario.getQuantidade(dia);
+                int[] segundos = new int[quantidade];
+                for (int i = 0; i < quantidade; i++) {
+                    segundos[i] = CalendarioSazonal.sortearSegundoDoDia(aleatorio);
+                }
+                Arrays.sort(segundos);
+
+                LocalDateTime meiaNoite = calendario.getData(dia).atStartOfDay();
+                for (int segundo : segundos) {
+                    int produto = popularidade.paraId(popularidade.amostrar(aleatorio));
+                    // Cerca de 30% de entradas (reposição, em volumes maiores) e 70% de saídas
+                    boolean entrada = aleatorio.nextInt(100) < 30;
+                    int qtd = entrada ? 20 + aleatorio.nextInt(181) : 1 + aleatorio.nextInt(10);
+                    saida.escrever(produto, entrada ? "ENTRADA" : "SAIDA", qtd, meiaNoite.plusSeconds(segundo));
+                }
+                linhas.addAndGet(quantidade);
+            }
+        }
+    }
+
+    /** Gerador aleatório próprio de uma etapa e de um bloco, derivado da semente. */
+    private SplittableRandom aleatorio(int etapa, long indice) {
+        return new SplittableRandom(semente * 0x9E3779B97F4A7C15L + ((long) etapa << 48) + indice);
+    }
+}
@@ -0,0 +1,39 @@
+package dados;
+
+/**
+ * Tabelas preenchidas pelo {@link GeradorDados}, com as colunas na ordem em
+ * que os valores são escritos.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+enum Tabela {
+
+    /** Categorias, com ID explícito. */
+    CATEGORIA("categoria", "id", "nome", "embalagem", "tamanho"),
+
+    /** Produtos, com ID explícito para que as movimentações possam referenciá-los. */
+    PRODUTO("produto", "id", "nome", "preco", "tipo_unidade", "quantidade_atual",
+            "quantidade_minima", "quantidade_maxima", "categoria_id"),
+
+    /** Movimentações; o ID é gerado pelo banco. */
+    MOVIMENTACAO("movimentacao", "produto_id", "tipo", "quantidade", "data_movimentacao");
+
+    private final String nome;
+    private final String[] colunas;
+
+    Tabela(String nome, String... colunas) {
+        this.nome = nome;
+        this.colunas = colunas;
+    }
+
+    /** @return nome da tabela no banco */
+    String getNome() {
+        return nome;
+    }
+
+    /** @return colunas, na ordem de escrita */
+    String[] getColunas() {
+        return colunas;
+    }
+}
@@ -2,7 +2,10 @@ package dao;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import log.Log;
 import model.Categoria;
 import model.EmbalagemProduto;
 import model.TamanhoProduto;
@@ -19,7 +22,7 @@ import model.TamanhoProduto;
  * @author Luiz
  * @version 1.0
  */
-public class CategoriaDAO {
+public class CategoriaDAO implements CategoriaRepositorio {
 
     /**
      * Insere uma nova categoria no banco de dados.
@@ -45,22 +48,40 @@ public class CategoriaDAO {
             }
 
         } catch (SQLException e) {
-            System.out.println("Erro ao inserir categoria: " + e.getMessage());
+            Log.erro("Erro ao inserir categoria", e, "nome", categoria.getNome());
         }
     }
 
     /**
      * Retorna uma lista com todas as categorias cadastradas no banco de dados.
+     * Em caso de falha, o erro é registrado no log e a lista vem vazia; use
+     * {@link #carregar()} quando a falha precisar ser tratada.
      *
      * @return lista de objetos {@link Categoria}
      */
     public List<Categoria> listar() {
+        try {
+            return carregar();
+        } catch (SQLException e) {
+            Log.erro("Erro ao listar categorias", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retorna todas as categorias cadastradas, propagando a falha do banco.
+     *
+     * @return lista de objetos {@link Categoria}
+     * @throws SQLException caso ocorra erro de comunicação com o banco de dados
+     */
+    public List<Categoria> carregar() throws SQLException {
         List<Categoria> lista = new ArrayList<>();
-        String sql = "SELECT * FROM categoria";
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
 
-        try (Connection conn = ConexaoDAO.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (conn; Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT * FROM categoria")) {
 
             while (rs.next()) {
                 Categoria c = new Categoria();
@@ -83,9 +104,6 @@ public class CategoriaDAO {
 
                 lista.add(c);
             }
-
-        } catch (SQLException e) {
-            System.out.println("Erro ao listar categorias: " + e.getMessage());
         }
 
         return lista;
@@ -108,10 +126,10 @@ public class CategoriaDAO {
             stmt.setInt(4, categoria.getId());
 
             stmt.executeUpdate();
-            System.out.println("Categoria atualizada com sucesso!");
+            Log.debug("Categoria atualizada com sucesso!", "categoria", categoria.getId());
 
         } catch (SQLException e) {
-            System.out.println("Erro ao atualizar categoria: " + e.getMessage());
+            Log.erro("Erro ao atualizar categoria", e, "categoria", categoria.getId());
         }
     }
 
@@ -164,9 +182,9 @@ public void excluir(int id) throws Exception {
         int linhasAfetadas = stmt.executeUpdate();
 
         if (linhasAfetadas > 0) {
-            System.out.println("🗑️ Categoria excluída com sucesso! ID: " + id);
+            Log.info("🗑️ Categoria excluída com sucesso!", "categoria", id);
         } else {
-            System.out.println("⚠️ Nenhuma categoria encontrada para exclusão. ID informado: " + id);
+            Log.aviso("⚠️ Nenhuma categoria encontrada para exclusão.", "categoria", id);
         }
 
     } catch (SQLException e) {
@@ -214,12 +232,79 @@ public void excluir(int id) throws Exception {
             }
 
         } catch (SQLException e) {
-            System.out.println("Erro ao buscar categoria por ID: " + e.getMessage());
+            Log.erro("Erro ao buscar categoria por ID", e, "categoria", id);
         }
 
         return categoria;
     }
 
+    /**
+     * Retorna as categorias inseridas ou alteradas a partir do instante informado.
+     * <p>
+     * Usado na recarga incremental do catálogo em memória, com base na coluna
+     * {@code atualizado_em}.
+     * </p>
+     *
+     * @param desde instante de referência (inclusivo)
+     * @return lista de categorias alteradas
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public List<Categoria> listarAlteradasDesde(Timestamp desde) throws SQLException {
+        List<Categoria> lista = new ArrayList<>();
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; PreparedStatement stmt = conn.prepareStatement("SELECT * FROM categoria WHERE atualizado_em >= ?")) {
+            stmt.setTimestamp(1, desde);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Categoria c = new Categoria();
+                    c.setId(rs.getInt("id"));
+                    c.setNome(rs.getString("nome"));
+
+                    try {
+                        c.setEmbalagem(EmbalagemProduto.valueOf(rs.getString("embalagem")));
+                    } catch (Exception ex) {
+                        c.setEmbalagem(null);
+                    }
+
+                    try {
+                        c.setTamanho(TamanhoProduto.valueOf(rs.getString("tamanho")));
+                    } catch (Exception ex) {
+                        c.setTamanho(null);
+                    }
+
+                    lista.add(c);
+                }
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna os IDs de todas as categorias cadastradas, usados para detectar
+     * exclusões na recarga incremental do catálogo em memória.
+     *
+     * @return conjunto de IDs existentes
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public Set<Integer> listarIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT id FROM categoria")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
     /**
      * Gera um relatório contendo a quantidade de produtos associados a cada categoria.
      * <p>
@@ -260,7 +345,7 @@ public void excluir(int id) throws Exception {
             }
 
         } catch (SQLException e) {
-            System.out.println("Erro ao gerar relatório de quantidade por categoria: " + e.getMessage());
+            Log.erro("Erro ao gerar relatório de quantidade por categoria", e);
         }
 
         return lista;
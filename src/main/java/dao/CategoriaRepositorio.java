@@ -0,0 +1,91 @@
+package dao;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import model.Categoria;
+
+/**
+ * Operações de persistência da entidade {@link Categoria}.
+ * <p>
+ * A implementação padrão é o {@link CategoriaDAO} (JDBC); a implementação em
+ * memória ({@code memoria.CategoriaMemoria}) é escolhida por
+ * {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface CategoriaRepositorio {
+
+    /**
+     * Insere uma nova categoria, atribuindo o ID gerado ao próprio objeto.
+     *
+     * @param categoria categoria a inserir
+     */
+    void inserir(Categoria categoria);
+
+    /**
+     * Lista todas as categorias.
+     *
+     * @return lista de categorias
+     */
+    List<Categoria> listar();
+
+    /**
+     * Lista todas as categorias, propagando a falha do armazenamento (ao
+     * contrário de {@link #listar()}, que devolve a lista vazia).
+     *
+     * @return lista de categorias
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    List<Categoria> carregar() throws SQLException;
+
+    /**
+     * Atualiza nome, embalagem e tamanho de uma categoria existente.
+     *
+     * @param categoria categoria com os dados atualizados
+     */
+    void atualizar(Categoria categoria);
+
+    /**
+     * Exclui uma categoria, desde que não tenha produtos associados.
+     *
+     * @param id identificador da categoria
+     * @throws Exception caso a exclusão não seja permitida
+     */
+    void excluir(int id) throws Exception;
+
+    /**
+     * Busca uma categoria pelo ID.
+     *
+     * @param id identificador da categoria
+     * @return categoria encontrada, ou {@code null}
+     */
+    Categoria buscarPorId(int id);
+
+    /**
+     * Lista as categorias inseridas ou alteradas a partir do instante informado.
+     *
+     * @param desde instante de referência (inclusivo)
+     * @return categorias alteradas
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    List<Categoria> listarAlteradasDesde(Timestamp desde) throws SQLException;
+
+    /**
+     * Lista os IDs de todas as categorias.
+     *
+     * @return conjunto de IDs existentes
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    Set<Integer> listarIds() throws SQLException;
+
+    /**
+     * Conta os produtos de cada categoria, por nome de categoria.
+     *
+     * @return linhas {@code {nome, quantidade}}, ordenadas pelo nome
+     */
+    List<Object[]> quantidadePorCategoria();
+}
@@ -1,8 +1,15 @@
 package dao;
 
+import eventos.EventoObterConexao;
+import faixas.Faixa;
+import log.Log;
+import requisicoes.Requisicao;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 
 /**
  * Classe responsável por gerenciar a conexão com o banco de dados MySQL do sistema de estoque.
@@ -35,16 +42,75 @@ public class ConexaoDAO {
      * O método tenta estabelecer a conexão utilizando o {@link DriverManager}.
      * Caso ocorra falha, a exceção é tratada internamente e o método retorna {@code null}.
      * </p>
+     * <p>
+     * Com {@code -Destoque.jdbc.monitorar=true} (ou durante uma gravação JFR
+     * com eventos SQL), a conexão é envolvida pelo {@link MonitorJdbc}, que
+     * mede tempos e linhas de cada comando SQL. O tempo de obtenção gera um
+     * {@link EventoObterConexao}.
+     * </p>
+     * <p>
+     * Durante o atendimento de uma requisição, a conexão conta na cota da
+     * {@link Faixa} do comando: se a cota estiver esgotada até o fim da
+     * espera configurada, o método retorna {@code null} como em qualquer
+     * falha de conexão. A cota é devolvida no {@code close()}.
+     * </p>
+     * <p>
+     * Os comandos SQL da conexão seguem o prazo e o cancelamento da
+     * {@link Requisicao} em andamento ({@link ControleConsulta}).
+     * </p>
      *
      * @return um objeto {@link Connection} ativo, ou {@code null} se a conexão falhar
      * @throws SQLException se ocorrer um erro crítico durante a tentativa de conexão
      */
     public static Connection getConnection() {
+        EventoObterConexao evento = new EventoObterConexao();
+        evento.begin();
+        Faixa faixa = Faixa.atual();
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            if (faixa != null && !faixa.reservarConexao()) {
+                Log.aviso("⏳ Cota de conexões da faixa esgotada", "faixa", faixa);
+                return null;
+            }
+            long inicio = System.nanoTime();
+            Connection conexao = DriverManager.getConnection(URL, USER, PASSWORD);
+            evento.sucesso = true;
+            if (MonitorJdbc.isAtivo()) {
+                conexao = MonitorJdbc.monitorar(conexao, System.nanoTime() - inicio);
+            }
+            Requisicao requisicao = Requisicao.atual();
+            if (requisicao != null) {
+                conexao = ControleConsulta.controlar(conexao, requisicao);
+            }
+            return faixa == null ? conexao : faixa.vincular(conexao);
         } catch (SQLException e) {
-            System.out.println("Erro ao conectar ao banco: " + e.getMessage());
+            if (faixa != null) {
+                faixa.liberarConexao();
+            }
+            Log.erro("Erro ao conectar ao banco", e, "url", URL);
             return null;
+        } finally {
+            evento.commit();
+        }
+    }
+
+    /**
+     * Obtém a data e hora atuais segundo o relógio do banco de dados.
+     * <p>
+     * Usada como marca de referência na recarga incremental do catálogo em
+     * memória, evitando diferenças entre o relógio do servidor e o do MySQL.
+     * </p>
+     *
+     * @return instante atual do banco, com precisão de milissegundos
+     * @throws SQLException se não houver conexão ou a consulta falhar
+     */
+    public static Timestamp agoraNoBanco() throws SQLException {
+        Connection conn = getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        try (conn; Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT NOW(3)")) {
+            rs.next();
+            return rs.getTimestamp(1);
         }
     }
 }
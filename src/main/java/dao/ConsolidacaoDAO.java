@@ -0,0 +1,163 @@
+package dao;
+
+import consolidacao.Balde;
+import consolidacao.Escopo;
+import consolidacao.Granularidade;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acesso JDBC à tabela {@code movimentacao_consolidada}: baldes de entradas e
+ * saídas por produto ou categoria, por hora ou por dia.
+ * <p>
+ * A gravação usa {@code INSERT ... ON DUPLICATE KEY UPDATE} em lote com os
+ * totais absolutos do balde, de modo que regravar um balde (após uma falha,
+ * por exemplo) não duplica valores. A marca d'água (tabela
+ * {@code movimentacao_consolidada_marca}) é gravada na mesma transação.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ConsolidacaoDAO implements ConsolidacaoRepositorio {
+
+    private static final String SQL_CARREGAR = """
+            SELECT granularidade, escopo, chave, periodo, entradas, saidas
+            FROM movimentacao_consolidada
+        """;
+
+    private static final String SQL_GRAVAR = """
+            INSERT INTO movimentacao_consolidada (granularidade, escopo, chave, periodo, entradas, saidas)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE entradas = VALUES(entradas), saidas = VALUES(saidas)
+        """;
+
+    private static final String SQL_CARREGAR_MARCA = """
+            SELECT ultima_movimentacao FROM movimentacao_consolidada_marca WHERE id = 1
+        """;
+
+    private static final String SQL_GRAVAR_MARCA = """
+            INSERT INTO movimentacao_consolidada_marca (id, ultima_movimentacao)
+            VALUES (1, ?)
+            ON DUPLICATE KEY UPDATE ultima_movimentacao = VALUES(ultima_movimentacao)
+        """;
+
+    private static final String SQL_DESCARTAR = """
+            DELETE FROM movimentacao_consolidada
+            WHERE granularidade = ? AND periodo < ?
+        """;
+
+    /** Movimentações por produto e hora (relógio local, como {@code data_movimentacao}). */
+    private static final String SQL_POR_HORA = """
+            SELECT m.produto_id, p.categoria_id,
+                   DATE_FORMAT(m.data_movimentacao, '%Y-%m-%d %H:00:00') AS hora,
+                   SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END) AS entradas,
+                   SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END) AS saidas
+            FROM movimentacao m
+            JOIN produto p ON m.produto_id = p.id
+            WHERE m.data_movimentacao >= ? AND m.id > ? AND m.id <= ?
+            GROUP BY m.produto_id, p.categoria_id, hora
+        """;
+
+    @Override
+    public List<Balde> carregar() throws SQLException {
+        List<Balde> baldes = new ArrayList<>();
+        try (Connection conn = conectar();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(SQL_CARREGAR)) {
+            while (rs.next()) {
+                baldes.add(new Balde(
+                        Granularidade.valueOf(rs.getString("granularidade")),
+                        Escopo.valueOf(rs.getString("escopo")),
+                        rs.getInt("chave"),
+                        rs.getInt("periodo"),
+                        rs.getLong("entradas"),
+                        rs.getLong("saidas")));
+            }
+        }
+        return baldes;
+    }
+
+    @Override
+    public long carregarMarca() throws SQLException {
+        try (Connection conn = conectar();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(SQL_CARREGAR_MARCA)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    @Override
+    public void gravar(List<Balde> baldes, long marca) throws SQLException {
+        try (Connection conn = conectar();
+             PreparedStatement stmt = conn.prepareStatement(SQL_GRAVAR);
+             PreparedStatement stmtMarca = conn.prepareStatement(SQL_GRAVAR_MARCA)) {
+            // Baldes e marca juntos: após uma queda, a marca diz exatamente o que os baldes já somam
+            conn.setAutoCommit(false);
+            try {
+                for (Balde b : baldes) {
+                    stmt.setString(1, b.granularidade().name());
+                    stmt.setString(2, b.escopo().name());
+                    stmt.setInt(3, b.chave());
+                    stmt.setInt(4, b.periodo());
+                    stmt.setLong(5, b.entradas());
+                    stmt.setLong(6, b.saidas());
+                    stmt.addBatch();
+                }
+                if (!baldes.isEmpty()) {
+                    stmt.executeBatch();
+                }
+                stmtMarca.setLong(1, marca);
+                stmtMarca.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    public void descartarAnteriores(Granularidade granularidade, int periodo) throws SQLException {
+        try (Connection conn = conectar();
+             PreparedStatement stmt = conn.prepareStatement(SQL_DESCARTAR)) {
+            stmt.setString(1, granularidade.name());
+            stmt.setInt(2, periodo);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void somarMovimentacoesPorHora(long desde, long aposId, long ateId, TotalHora destino)
+            throws SQLException {
+        try (Connection conn = conectar();
+             PreparedStatement stmt = conn.prepareStatement(SQL_POR_HORA)) {
+            stmt.setTimestamp(1, new Timestamp(desde));
+            stmt.setLong(2, aposId);
+            stmt.setLong(3, ateId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    destino.somar(rs.getInt("produto_id"), rs.getInt("categoria_id"),
+                            Timestamp.valueOf(rs.getString("hora")).getTime(),
+                            rs.getLong("entradas"), rs.getLong("saidas"));
+                }
+            }
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        return conn;
+    }
+}
@@ -0,0 +1,90 @@
+package dao;
+
+import consolidacao.Balde;
+import consolidacao.Granularidade;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Persistência das movimentações consolidadas por hora e por dia (tabela
+ * {@code movimentacao_consolidada}), mantidas em memória por
+ * {@code consolidacao.ConsolidacaoMovimentacoes}.
+ * <p>
+ * A implementação padrão é o {@link ConsolidacaoDAO} (JDBC); a implementação
+ * em memória ({@code memoria.ConsolidacaoMemoria}) é escolhida por
+ * {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface ConsolidacaoRepositorio {
+
+    /**
+     * Lê todos os baldes gravados.
+     *
+     * @return baldes da tabela
+     * @throws SQLException se a consulta falhar
+     */
+    List<Balde> carregar() throws SQLException;
+
+    /**
+     * Lê a marca d'água gravada com os baldes: o maior ID de movimentação já
+     * somado a eles.
+     *
+     * @return marca gravada, ou {@code 0} se nunca gravada
+     * @throws SQLException se a consulta falhar
+     */
+    long carregarMarca() throws SQLException;
+
+    /**
+     * Grava os totais dos baldes, substituindo os já gravados para o mesmo
+     * período (os totais são absolutos: gravar de novo não soma), e a marca
+     * d'água correspondente, na mesma transação.
+     *
+     * @param baldes baldes alterados
+     * @param marca maior ID de movimentação somado aos baldes
+     * @throws SQLException se a gravação falhar
+     */
+    void gravar(List<Balde> baldes, long marca) throws SQLException;
+
+    /**
+     * Remove os baldes de uma granularidade anteriores a um período (fora da
+     * janela mantida).
+     *
+     * @param granularidade granularidade
+     * @param periodo primeiro período mantido
+     * @throws SQLException se a exclusão falhar
+     */
+    void descartarAnteriores(Granularidade granularidade, int periodo) throws SQLException;
+
+    /**
+     * Soma as movimentações de uma faixa de IDs registradas a partir de um
+     * instante, agrupadas por produto e hora, em uma única consulta. Usado
+     * para montar os baldes pela primeira vez (ou reconstruí-los), com a faixa
+     * começando em zero, e para somar as movimentações novas desde a marca
+     * d'água.
+     *
+     * @param desde instante inicial, em milissegundos desde a época
+     * @param aposId último ID já somado (exclusivo)
+     * @param ateId maior ID a somar (inclusivo)
+     * @param destino recebe cada grupo
+     * @throws SQLException se a consulta falhar
+     */
+    void somarMovimentacoesPorHora(long desde, long aposId, long ateId, TotalHora destino) throws SQLException;
+
+    /**
+     * Recebe os totais de um produto em uma hora.
+     */
+    @FunctionalInterface
+    interface TotalHora {
+        /**
+         * @param produtoId ID do produto
+         * @param categoriaId ID da categoria do produto
+         * @param inicioHora início da hora, em milissegundos desde a época
+         * @param entradas unidades que entraram
+         * @param saidas unidades que saíram
+         */
+        void somar(int produtoId, int categoriaId, long inicioHora, long entradas, long saidas);
+    }
+}
@@ -0,0 +1,127 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import requisicoes.Requisicao;
+
+/**
+ * Aplica o prazo e o cancelamento da {@link Requisicao} aos comandos SQL de
+ * uma conexão, sem que os DAOs precisem saber da requisição.
+ * <p>
+ * Antes de cada execução, o comando recebe {@link Statement#setQueryTimeout(int)}
+ * com o tempo restante da requisição (arredondado para cima, em segundos) e
+ * fica registrado na requisição enquanto executa, para que
+ * {@link Requisicao#cancelar(String)} possa chamar {@link Statement#cancel()}.
+ * Se a execução devolve um {@link ResultSet}, o registro continua até ele (ou
+ * o comando) ser fechado: lido em fluxo, o resultado ainda está sendo
+ * produzido pelo banco, e o cancelamento precisa interromper a consulta, não
+ * só a leitura. Cada {@code next()} dos resultados verifica o cancelamento, de
+ * modo que a leitura para na linha seguinte e o {@code try-with-resources} do
+ * DAO fecha a conexão.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class ControleConsulta {
+
+    private ControleConsulta() {
+    }
+
+    /**
+     * Envolve uma conexão com o controle da requisição.
+     *
+     * @param conexao conexão aberta
+     * @param requisicao requisição em andamento
+     * @return conexão controlada
+     */
+    static Connection controlar(Connection conexao, Requisicao requisicao) {
+        return proxy(Connection.class, (p, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            String nome = metodo.getName();
+            if (nome.equals("createStatement") || nome.equals("prepareStatement") || nome.equals("prepareCall")) {
+                return proxy(metodo.getReturnType().asSubclass(Statement.class),
+                        new ComandoControlado((Statement) resultado, requisicao));
+            }
+            return resultado;
+        });
+    }
+
+    /** Comando controlado: aplica o prazo e registra a execução na requisição. */
+    private static final class ComandoControlado implements InvocationHandler {
+
+        private final Statement comando;
+        private final Requisicao requisicao;
+
+        ComandoControlado(Statement comando, Requisicao requisicao) {
+            this.comando = comando;
+            this.requisicao = requisicao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado;
+            if (metodo.getName().startsWith("execute")) {
+                requisicao.verificar();
+                comando.setQueryTimeout((int) Math.max(1, (requisicao.nanosRestantes() + 999_999_999) / 1_000_000_000));
+                requisicao.registrar(comando);
+                boolean emLeitura = false;
+                try {
+                    resultado = invocar(comando, metodo, args);
+                    emLeitura = resultado instanceof ResultSet;
+                } catch (SQLTimeoutException e) {
+                    requisicao.prazoEsgotado();
+                    throw e;
+                } finally {
+                    // Com resultado aberto, desregistra no fechamento do ResultSet ou do comando
+                    if (!emLeitura) {
+                        requisicao.desregistrar(comando);
+                    }
+                }
+            } else {
+                if (metodo.getName().equals("close")) {
+                    requisicao.desregistrar(comando);
+                }
+                resultado = invocar(comando, metodo, args);
+            }
+            if (resultado instanceof ResultSet rs) {
+                return leitura(rs, comando, requisicao);
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * {@link ResultSet} que interrompe a leitura quando a requisição é
+     * cancelada e, ao ser fechado, desregistra o comando que o produziu.
+     */
+    private static ResultSet leitura(ResultSet rs, Statement comando, Requisicao requisicao) {
+        return proxy(ResultSet.class, (p, metodo, args) -> {
+            if (metodo.getName().equals("next")) {
+                requisicao.verificar();
+            } else if (metodo.getName().equals("close")) {
+                requisicao.desregistrar(comando);
+            }
+            return invocar(rs, metodo, args);
+        });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ControleConsulta.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+}
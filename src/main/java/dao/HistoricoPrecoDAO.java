@@ -0,0 +1,84 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import precos.VigenciaPreco;
+
+/**
+ * Acesso JDBC à tabela {@code preco_historico}: o preço de cada produto a
+ * partir de cada mudança ({@code preco} em {@code DECIMAL(10,2)}, lido e
+ * gravado em centavos).
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class HistoricoPrecoDAO implements HistoricoPrecoRepositorio {
+
+    private static final String SQL_CARREGAR = """
+            SELECT produto_id, vigente_desde, CAST(preco * 100 AS SIGNED) AS centavos
+            FROM preco_historico
+            ORDER BY produto_id, vigente_desde
+        """;
+
+    private static final String SQL_GRAVAR = """
+            INSERT INTO preco_historico (produto_id, vigente_desde, preco)
+            VALUES (?, ?, ? / 100)
+            ON DUPLICATE KEY UPDATE preco = VALUES(preco)
+        """;
+
+    private static final String SQL_SEMEAR = """
+            INSERT IGNORE INTO preco_historico (produto_id, vigente_desde, preco)
+            SELECT id, ?, preco FROM produto
+        """;
+
+    @Override
+    public List<VigenciaPreco> carregar() throws SQLException {
+        List<VigenciaPreco> vigencias = new ArrayList<>();
+        try (Connection conn = conectar();
+             Statement st = conn.createStatement()) {
+            // Em fluxo: a tabela pode ter uma linha por produto e por mudança de preço
+            st.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = st.executeQuery(SQL_CARREGAR)) {
+                while (rs.next()) {
+                    vigencias.add(new VigenciaPreco(rs.getInt("produto_id"),
+                            rs.getTimestamp("vigente_desde").getTime(), rs.getLong("centavos")));
+                }
+            }
+        }
+        return vigencias;
+    }
+
+    @Override
+    public void gravar(VigenciaPreco vigencia) throws SQLException {
+        try (Connection conn = conectar();
+             PreparedStatement stmt = conn.prepareStatement(SQL_GRAVAR)) {
+            stmt.setInt(1, vigencia.produtoId());
+            stmt.setTimestamp(2, new Timestamp(vigencia.desde()));
+            stmt.setLong(3, vigencia.precoCentavos());
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public int semear(long desde) throws SQLException {
+        try (Connection conn = conectar();
+             PreparedStatement stmt = conn.prepareStatement(SQL_SEMEAR)) {
+            stmt.setTimestamp(1, new Timestamp(desde));
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        return conn;
+    }
+}
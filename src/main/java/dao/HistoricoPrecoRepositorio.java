@@ -0,0 +1,46 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import precos.VigenciaPreco;
+
+/**
+ * Persistência do histórico de preços (tabela {@code preco_historico}),
+ * indexado em memória por {@code precos.HistoricoPrecos}.
+ * <p>
+ * A implementação padrão é o {@link HistoricoPrecoDAO} (JDBC); a
+ * implementação em memória ({@code memoria.HistoricoPrecoMemoria}) é
+ * escolhida por {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface HistoricoPrecoRepositorio {
+
+    /**
+     * Lê todas as vigências gravadas.
+     *
+     * @return vigências, por produto e início
+     * @throws SQLException se a consulta falhar
+     */
+    List<VigenciaPreco> carregar() throws SQLException;
+
+    /**
+     * Grava uma vigência (substitui a do mesmo produto e início, se houver).
+     *
+     * @param vigencia vigência nova
+     * @throws SQLException se a gravação falhar
+     */
+    void gravar(VigenciaPreco vigencia) throws SQLException;
+
+    /**
+     * Grava o preço atual de cada produto como vigente desde {@code desde},
+     * em um único comando. Usado na primeira execução, com a tabela vazia.
+     *
+     * @param desde início das vigências, em milissegundos desde a época
+     * @return quantidade de vigências gravadas
+     * @throws SQLException se a gravação falhar
+     */
+    int semear(long desde) throws SQLException;
+}
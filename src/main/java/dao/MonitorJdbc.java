@@ -0,0 +1,423 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import eventos.EventoSql;
+import log.Log;
+import metricas.HistogramaLatencia;
+
+/**
+ * Instrumentação opcional das conexões JDBC devolvidas por
+ * {@link ConexaoDAO#getConnection()}.
+ * <p>
+ * Quando ativada ({@code -Destoque.jdbc.monitorar=true}), cada conexão,
+ * comando e {@link ResultSet} é envolvido por um proxy dinâmico que mede, por
+ * texto SQL normalizado:
+ * </p>
+ * <ul>
+ *     <li><b>preparo</b> — tempo de {@code prepareStatement};</li>
+ *     <li><b>execução</b> — tempo de {@code executeQuery}/{@code executeUpdate}/{@code execute};</li>
+ *     <li><b>leitura</b> — tempo somado das chamadas a {@code next()} e linhas lidas;</li>
+ *     <li>linhas afetadas por atualizações.</li>
+ * </ul>
+ * <p>
+ * Também é medido o tempo de obtenção da conexão. Comandos cuja execução mais
+ * leitura ultrapassa {@code estoque.jdbc.lentaMs} (padrão 200 ms) são
+ * registrados no log com os parâmetros informados.
+ * </p>
+ *
+ * <p>A normalização troca literais numéricos e textuais por {@code ?} e reduz
+ * listas {@code IN (?, ?, ...)} a uma só forma, para que consultas iguais com
+ * valores diferentes sejam agregadas juntas.</p>
+ *
+ * <p>Cada execução também gera um {@link EventoSql} para o Java Flight
+ * Recorder. As conexões são instrumentadas quando a propriedade está ativa
+ * ou quando há uma gravação JFR coletando esse evento; fora desses casos,
+ * {@link ConexaoDAO} devolve a conexão do driver diretamente.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class MonitorJdbc {
+
+    /** Indica se a instrumentação está ativa. */
+    private static final boolean ATIVO = Boolean.getBoolean("estoque.jdbc.monitorar");
+
+    /** Limite para registrar um comando como lento, em nanossegundos. */
+    private static final long LIMITE_LENTA_NANOS = Long.getLong("estoque.jdbc.lentaMs", 200) * 1_000_000;
+
+    /** Quantidade máxima de textos SQL distintos guardados no cache de normalização. */
+    private static final int MAXIMO_CACHE_NORMALIZACAO = 10_000;
+
+    private static final Pattern LITERAL_TEXTO = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_PARAMETROS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private static final Map<String, String> NORMALIZADOS = new ConcurrentHashMap<>();
+    private static final Map<String, EstatisticaSql> ESTATISTICAS = new ConcurrentHashMap<>();
+
+    /** Tempo de obtenção de conexões. */
+    private static final HistogramaLatencia EMPRESTIMOS = new HistogramaLatencia();
+    private static final LongAdder QUANTIDADE_EMPRESTIMOS = new LongAdder();
+
+    private MonitorJdbc() {
+    }
+
+    /**
+     * Indica se a instrumentação está ativa, pela propriedade ou por uma
+     * gravação JFR em andamento.
+     *
+     * @return {@code true} se as conexões devem ser monitoradas
+     */
+    public static boolean isAtivo() {
+        return ATIVO || EventoSql.ativo();
+    }
+
+    /**
+     * Envolve uma conexão recém-obtida.
+     *
+     * @param conexao conexão do driver
+     * @param nanosEmprestimo tempo gasto para obtê-la
+     * @return conexão monitorada
+     */
+    static Connection monitorar(Connection conexao, long nanosEmprestimo) {
+        EMPRESTIMOS.registrar(nanosEmprestimo);
+        QUANTIDADE_EMPRESTIMOS.increment();
+        return proxy(Connection.class, new ConexaoMonitorada(conexao));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(MonitorJdbc.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Normaliza um texto SQL para agregação.
+     *
+     * @param sql texto original
+     * @return texto com literais substituídos e espaços compactados
+     */
+    static String normalizar(String sql) {
+        if (sql == null) {
+            return "(desconhecido)";
+        }
+        String normalizado = NORMALIZADOS.get(sql);
+        if (normalizado != null) {
+            return normalizado;
+        }
+        normalizado = LITERAL_TEXTO.matcher(sql).replaceAll("?");
+        normalizado = LITERAL_NUMERO.matcher(normalizado).replaceAll("?");
+        normalizado = LISTA_PARAMETROS.matcher(normalizado).replaceAll("(?, ...)");
+        normalizado = ESPACOS.matcher(normalizado).replaceAll(" ").trim();
+        if (NORMALIZADOS.size() < MAXIMO_CACHE_NORMALIZACAO) {
+            NORMALIZADOS.put(sql, normalizado);
+        }
+        return normalizado;
+    }
+
+    private static EstatisticaSql estatistica(String sqlNormalizado) {
+        EstatisticaSql e = ESTATISTICAS.get(sqlNormalizado);
+        return e != null ? e : ESTATISTICAS.computeIfAbsent(sqlNormalizado, k -> new EstatisticaSql());
+    }
+
+    // ======================================================================
+    // RESUMO
+    // ======================================================================
+
+    /**
+     * Monta o resumo das estatísticas por comando SQL, do maior para o menor
+     * tempo total, seguido da linha de obtenção de conexões. Tempos em
+     * milissegundos.
+     *
+     * @return linhas do resumo (vazio se a instrumentação nunca foi ativada)
+     */
+    public static List<Map<String, Object>> resumir() {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        if (QUANTIDADE_EMPRESTIMOS.sum() == 0) {
+            return linhas;
+        }
+
+        List<Map.Entry<String, EstatisticaSql>> ordenadas = new ArrayList<>(ESTATISTICAS.entrySet());
+        ordenadas.sort(Comparator.comparingLong((Map.Entry<String, EstatisticaSql> e) -> e.getValue().nanosTotais()).reversed());
+
+        for (Map.Entry<String, EstatisticaSql> e : ordenadas) {
+            EstatisticaSql s = e.getValue();
+            long execucoes = s.execucoes.sum();
+            long[] p = s.latencias.percentis(50, 99);
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("sql", e.getKey());
+            linha.put("execucoes", execucoes);
+            linha.put("preparo_medio_ms", mediaMs(s.nanosPreparo.sum(), s.preparos.sum()));
+            linha.put("execucao_media_ms", mediaMs(s.nanosExecucao.sum(), execucoes));
+            linha.put("leitura_media_ms", mediaMs(s.nanosLeitura.sum(), execucoes));
+            linha.put("p50_ms", ms(p[0]));
+            linha.put("p99_ms", ms(p[1]));
+            linha.put("max_ms", ms(s.latencias.getMaximo()));
+            linha.put("total_ms", ms(s.nanosTotais()));
+            linha.put("linhas_lidas", s.linhasLidas.sum());
+            linha.put("linhas_afetadas", s.linhasAfetadas.sum());
+            linha.put("lentas", s.lentas.sum());
+            linhas.add(linha);
+        }
+
+        long[] p = EMPRESTIMOS.percentis(50, 99);
+        Map<String, Object> emprestimo = new LinkedHashMap<>();
+        emprestimo.put("sql", "(obter conexão)");
+        emprestimo.put("execucoes", QUANTIDADE_EMPRESTIMOS.sum());
+        emprestimo.put("p50_ms", ms(p[0]));
+        emprestimo.put("p99_ms", ms(p[1]));
+        emprestimo.put("max_ms", ms(EMPRESTIMOS.getMaximo()));
+        linhas.add(emprestimo);
+        return linhas;
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static double mediaMs(long nanos, long quantidade) {
+        return quantidade == 0 ? 0 : ms(nanos / quantidade);
+    }
+
+    /** Estatísticas acumuladas de um texto SQL normalizado. */
+    private static final class EstatisticaSql {
+        final LongAdder preparos = new LongAdder();
+        final LongAdder execucoes = new LongAdder();
+        final LongAdder nanosPreparo = new LongAdder();
+        final LongAdder nanosExecucao = new LongAdder();
+        final LongAdder nanosLeitura = new LongAdder();
+        final LongAdder linhasLidas = new LongAdder();
+        final LongAdder linhasAfetadas = new LongAdder();
+        final LongAdder lentas = new LongAdder();
+
+        /** Execução + leitura de cada chamada. */
+        final HistogramaLatencia latencias = new HistogramaLatencia();
+
+        long nanosTotais() {
+            return nanosPreparo.sum() + nanosExecucao.sum() + nanosLeitura.sum();
+        }
+    }
+
+    // ======================================================================
+    // PROXIES
+    // ======================================================================
+
+    /** Conexão monitorada: intercepta a criação de comandos. */
+    private static final class ConexaoMonitorada implements InvocationHandler {
+
+        private final Connection conexao;
+
+        ConexaoMonitorada(Connection conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.equals("prepareStatement") || nome.equals("prepareCall")) {
+                long inicio = System.nanoTime();
+                Object comando = invocar(conexao, metodo, args);
+                String sql = normalizar((String) args[0]);
+                EstatisticaSql e = estatistica(sql);
+                e.nanosPreparo.add(System.nanoTime() - inicio);
+                e.preparos.increment();
+                return proxy(metodo.getReturnType().asSubclass(Statement.class),
+                        new ComandoMonitorado((Statement) comando, sql));
+            }
+            if (nome.equals("createStatement")) {
+                return proxy(Statement.class, new ComandoMonitorado((Statement) invocar(conexao, metodo, args), null));
+            }
+            return invocar(conexao, metodo, args);
+        }
+    }
+
+    /**
+     * Comando monitorado ({@link Statement}, {@link PreparedStatement} ou
+     * chamada de procedimento): mede a execução e guarda os parâmetros para o
+     * log de comandos lentos.
+     */
+    private static final class ComandoMonitorado implements InvocationHandler {
+
+        private final Statement comando;
+
+        /** SQL normalizado do comando preparado ({@code null} para {@link Statement} simples). */
+        private final String sqlPreparado;
+
+        /** Parâmetros informados, por posição. */
+        private final Map<Integer, Object> parametros = new TreeMap<>();
+
+        ComandoMonitorado(Statement comando, String sqlPreparado) {
+            this.comando = comando;
+            this.sqlPreparado = sqlPreparado;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                parametros.put(indice, args[1]);
+                return invocar(comando, metodo, args);
+            }
+            if (nome.equals("clearParameters")) {
+                parametros.clear();
+                return invocar(comando, metodo, args);
+            }
+            if (!nome.startsWith("execute")) {
+                Object resultado = invocar(comando, metodo, args);
+                if (nome.equals("getResultSet") && resultado != null) {
+                    return proxy(ResultSet.class, new LeituraMonitorada((ResultSet) resultado,
+                            sqlPreparado, 0, parametrosComoTexto(), null));
+                }
+                return resultado;
+            }
+
+            String sql = sqlPreparado != null ? sqlPreparado
+                    : normalizar(args != null && args.length > 0 && args[0] instanceof String s ? s : null);
+            EstatisticaSql e = estatistica(sql);
+
+            EventoSql evento = new EventoSql();
+            evento.begin();
+            long inicio = System.nanoTime();
+            Object resultado = invocar(comando, metodo, args);
+            long nanos = System.nanoTime() - inicio;
+            e.nanosExecucao.add(nanos);
+            e.execucoes.increment();
+
+            if (resultado instanceof ResultSet rs) {
+                // Consulta: o tempo total só é conhecido ao fim da leitura
+                return proxy(ResultSet.class, new LeituraMonitorada(rs, sql, nanos, parametrosComoTexto(), evento));
+            }
+            long afetadas = 0;
+            if (resultado instanceof Integer n) {
+                afetadas = n;
+            } else if (resultado instanceof Long n) {
+                afetadas = n;
+            } else if (resultado instanceof int[] lote) {
+                for (int n : lote) {
+                    afetadas += Math.max(0, n);
+                }
+            }
+            e.linhasAfetadas.add(Math.max(0, afetadas));
+            concluir(e, sql, nanos, 0, -1, parametrosComoTexto());
+            emitir(evento, sql, afetadas, nanos);
+            return resultado;
+        }
+
+        private String parametrosComoTexto() {
+            return parametros.isEmpty() ? "" : parametros.values().toString();
+        }
+    }
+
+    /** {@link ResultSet} monitorado: mede o tempo de {@code next()} e conta as linhas. */
+    private static final class LeituraMonitorada implements InvocationHandler {
+
+        private final ResultSet rs;
+        private final String sql;
+        private final long nanosExecucao;
+        private final String parametros;
+        private final EventoSql evento;
+
+        private long nanosLeitura;
+        private long linhas;
+        private boolean concluida;
+
+        LeituraMonitorada(ResultSet rs, String sql, long nanosExecucao, String parametros, EventoSql evento) {
+            this.rs = rs;
+            this.sql = sql;
+            this.nanosExecucao = nanosExecucao;
+            this.parametros = parametros;
+            this.evento = evento;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.equals("next")) {
+                long inicio = System.nanoTime();
+                boolean temLinha = rs.next();
+                nanosLeitura += System.nanoTime() - inicio;
+                if (temLinha) {
+                    linhas++;
+                } else {
+                    finalizar();
+                }
+                return temLinha;
+            }
+            if (nome.equals("close")) {
+                finalizar();
+            }
+            return invocar(rs, metodo, args);
+        }
+
+        private void finalizar() {
+            if (concluida || sql == null) {
+                return;
+            }
+            concluida = true;
+            EstatisticaSql e = estatistica(sql);
+            e.nanosLeitura.add(nanosLeitura);
+            e.linhasLidas.add(linhas);
+            concluir(e, sql, nanosExecucao, nanosLeitura, linhas, parametros);
+            if (evento != null) {
+                emitir(evento, sql, linhas, nanosExecucao);
+            }
+        }
+    }
+
+    /** Grava o evento JFR da execução, se a gravação estiver coletando. */
+    private static void emitir(EventoSql evento, String sql, long linhas, long nanosExecucao) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.sql = sql;
+            evento.linhas = linhas;
+            evento.nanosExecucao = nanosExecucao;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Registra a latência de uma chamada e, se ultrapassar o limite, escreve
+     * o comando no log.
+     */
+    private static void concluir(EstatisticaSql e, String sql, long nanosExecucao, long nanosLeitura,
+                                 long linhas, String parametros) {
+        long total = nanosExecucao + nanosLeitura;
+        e.latencias.registrar(total);
+        if (total < LIMITE_LENTA_NANOS) {
+            return;
+        }
+        e.lentas.increment();
+        Log.aviso("🐢 SQL lenta", "duracao_ms", milissegundos(total), "execucao_ms", milissegundos(nanosExecucao),
+                "leitura_ms", milissegundos(nanosLeitura), "linhas", linhas, "sql", sql, "parametros", parametros);
+    }
+
+    private static double milissegundos(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
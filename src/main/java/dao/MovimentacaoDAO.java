@@ -1,12 +1,15 @@
 package dao;
 
+import log.Log;
 import model.Movimentacao;
 import model.Produto;
 import model.Categoria;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe responsável por realizar operações de acesso e manipulação dos dados da entidade
@@ -27,12 +30,18 @@ import java.util.List;
  * @author Luiz
  * @version 1.0
  */
-public class MovimentacaoDAO {
+public class MovimentacaoDAO implements MovimentacaoRepositorio {
+
+    /** Código de erro do MySQL para valor repetido em chave única. */
+    private static final int ER_DUP_ENTRY = 1062;
 
     /**
      * Insere uma nova movimentação no banco de dados.
      * <p>
      * Registra as informações do produto, tipo de movimentação, quantidade e data.
+     * A chave de idempotência, se houver, vai para a coluna única
+     * {@code chave_idempotencia}: um reenvio com a mesma chave esbarra nela e
+     * retorna {@link #JA_REGISTRADA}, sem segunda gravação.
      * </p>
      *
      * @param mov objeto {@link Movimentacao} contendo os dados da movimentação
@@ -40,7 +49,10 @@ public class MovimentacaoDAO {
      * @throws SQLException caso ocorra erro de comunicação com o banco de dados
      */
     public String inserir(Movimentacao mov) {
-        String sql = "INSERT INTO movimentacao (produto_id, tipo, quantidade, data_movimentacao) VALUES (?, ?, ?, ?)";
+        String sql = """
+            INSERT INTO movimentacao (produto_id, tipo, quantidade, data_movimentacao, chave_idempotencia)
+            VALUES (?, ?, ?, ?, ?)
+        """;
 
         try (Connection conn = ConexaoDAO.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -49,16 +61,61 @@ public class MovimentacaoDAO {
             stmt.setString(2, mov.getTipo());
             stmt.setInt(3, mov.getQuantidade());
             stmt.setTimestamp(4, new java.sql.Timestamp(mov.getDataMovimentacao().getTime()));
+            stmt.setString(5, mov.getChaveIdempotencia());
 
             stmt.executeUpdate();
             return "Movimentação registrada com sucesso!";
 
+        } catch (SQLIntegrityConstraintViolationException e) {
+            if (e.getErrorCode() == ER_DUP_ENTRY && mov.getChaveIdempotencia() != null) {
+                Log.info("🔁 Movimentação repetida não gravada", "chave", mov.getChaveIdempotencia());
+                return JA_REGISTRADA;
+            }
+            Log.erro("💥 Erro ao inserir movimentação", e, "produto", mov.getProduto() == null ? null : mov.getProduto().getId());
+            return "Erro ao registrar movimentação: " + e.getMessage();
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao inserir movimentação", e, "produto", mov.getProduto() == null ? null : mov.getProduto().getId());
             return "Erro ao registrar movimentação: " + e.getMessage();
         }
     }
 
+    /**
+     * Insere uma movimentação vinda do journal local ({@code journal.JournalMovimentacoes}).
+     * <p>
+     * A sequência do journal é gravada na coluna única {@code journal_seq}; se a
+     * mesma sequência já tiver sido gravada (reprocessamento após uma queda), o
+     * comando não tem efeito, assim como uma chave de idempotência repetida. Diferente de {@link #inserir(Movimentacao)}, os
+     * erros são propagados para que o aplicador do journal possa distinguir
+     * falhas transitórias de registros inválidos.
+     * </p>
+     *
+     * @param mov objeto {@link Movimentacao} contendo os dados da movimentação
+     * @param sequencia número de sequência do registro no journal
+     * @throws SQLException caso não haja conexão ou ocorra erro na gravação
+     */
+    public void inserirDoJournal(Movimentacao mov, long sequencia) throws SQLException {
+        String sql = """
+            INSERT INTO movimentacao (produto_id, tipo, quantidade, data_movimentacao, journal_seq, chave_idempotencia)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE journal_seq = journal_seq
+        """;
+
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, mov.getProduto().getId());
+            stmt.setString(2, mov.getTipo());
+            stmt.setInt(3, mov.getQuantidade());
+            stmt.setTimestamp(4, new java.sql.Timestamp(mov.getDataMovimentacao().getTime()));
+            stmt.setLong(5, sequencia);
+            stmt.setString(6, mov.getChaveIdempotencia());
+            stmt.executeUpdate();
+        }
+    }
+
     /**
      * Retorna uma lista contendo todas as movimentações registradas no banco de dados.
      * <p>
@@ -115,7 +172,7 @@ public class MovimentacaoDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao listar movimentações", e);
         }
 
         return lista;
@@ -149,7 +206,7 @@ public class MovimentacaoDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao listar movimentações do produto", e, "produto", produtoId);
         }
 
         return lista;
@@ -186,9 +243,98 @@ public class MovimentacaoDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao listar movimentações por tipo", e, "tipo", tipo);
         }
 
         return lista;
     }
+
+    /**
+     * Retorna o maior ID de movimentação registrado.
+     * <p>
+     * Serve como marca d'água (high-water mark) na recarga incremental dos
+     * totais movimentados por produto.
+     * </p>
+     *
+     * @return maior ID existente, ou {@code 0} se não houver movimentações
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public long maiorId() throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM movimentacao")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Soma as quantidades de entrada e saída por produto, considerando apenas
+     * as movimentações com ID no intervalo {@code (aposId, ateId]}.
+     *
+     * @param aposId maior ID já contabilizado (exclusivo)
+     * @param ateId maior ID a contabilizar (inclusivo)
+     * @return mapa de ID do produto para {@code {entradas, saidas}}
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public Map<Integer, long[]> totaisPorProduto(long aposId, long ateId) throws SQLException {
+        Map<Integer, long[]> totais = new HashMap<>();
+        String sql = """
+            SELECT produto_id,
+                   SUM(CASE WHEN tipo = 'ENTRADA' THEN quantidade ELSE 0 END) AS entradas,
+                   SUM(CASE WHEN tipo = 'SAIDA' THEN quantidade ELSE 0 END) AS saidas
+            FROM movimentacao
+            WHERE id > ? AND id <= ?
+            GROUP BY produto_id
+        """;
+
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, aposId);
+            stmt.setLong(2, ateId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totais.put(rs.getInt("produto_id"), new long[]{rs.getLong("entradas"), rs.getLong("saidas")});
+                }
+            }
+        }
+        return totais;
+    }
+
+    /**
+     * Soma todas as entradas e saídas gravadas de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return {@code {entradas, saidas}}
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public long[] totaisDoProduto(int produtoId) throws SQLException {
+        String sql = """
+            SELECT COALESCE(SUM(CASE WHEN tipo = 'ENTRADA' THEN quantidade ELSE 0 END), 0) AS entradas,
+                   COALESCE(SUM(CASE WHEN tipo = 'SAIDA' THEN quantidade ELSE 0 END), 0) AS saidas
+            FROM movimentacao
+            WHERE produto_id = ?
+        """;
+
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, produtoId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new long[]{rs.getLong("entradas"), rs.getLong("saidas")};
+            }
+        }
+    }
 }
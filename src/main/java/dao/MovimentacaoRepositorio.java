@@ -0,0 +1,97 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import model.Movimentacao;
+
+/**
+ * Operações de persistência da entidade {@link Movimentacao}.
+ * <p>
+ * A implementação padrão é o {@link MovimentacaoDAO} (JDBC); a implementação
+ * em memória ({@code memoria.MovimentacaoMemoria}) é escolhida por
+ * {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface MovimentacaoRepositorio {
+
+    /**
+     * Resposta de {@link #inserir} quando a chave de idempotência da
+     * movimentação já foi gravada: vale a movimentação original, e nada é
+     * gravado de novo.
+     */
+    String JA_REGISTRADA = "Movimentação já registrada com sucesso!";
+
+    /**
+     * Registra uma movimentação. Se ela tiver chave de idempotência e a chave
+     * já tiver sido gravada, retorna {@link #JA_REGISTRADA} sem gravar.
+     *
+     * @param mov movimentação com produto, tipo, quantidade e data
+     * @return mensagem de sucesso ou erro
+     */
+    String inserir(Movimentacao mov);
+
+    /**
+     * Registra uma movimentação vinda do journal local; uma sequência ou
+     * chave de idempotência já gravada não tem efeito.
+     *
+     * @param mov movimentação
+     * @param sequencia sequência do registro no journal
+     * @throws SQLException em falha de gravação
+     */
+    void inserirDoJournal(Movimentacao mov, long sequencia) throws SQLException;
+
+    /**
+     * Lista todas as movimentações com produto e categoria, da mais recente
+     * para a mais antiga.
+     *
+     * @return lista de movimentações
+     */
+    List<Movimentacao> listar();
+
+    /**
+     * Lista as movimentações de um produto, da mais recente para a mais antiga.
+     *
+     * @param produtoId identificador do produto
+     * @return movimentações do produto (sem o produto preenchido)
+     */
+    List<Movimentacao> listarPorProduto(int produtoId);
+
+    /**
+     * Lista as movimentações de um tipo, da mais recente para a mais antiga.
+     *
+     * @param tipo {@code ENTRADA} ou {@code SAIDA}
+     * @return movimentações do tipo (sem o produto preenchido)
+     */
+    List<Movimentacao> listarPorTipo(String tipo);
+
+    /**
+     * Retorna o maior ID de movimentação.
+     *
+     * @return maior ID, ou {@code 0} se não houver movimentações
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    long maiorId() throws SQLException;
+
+    /**
+     * Soma entradas e saídas por produto no intervalo de IDs {@code (aposId, ateId]}.
+     *
+     * @param aposId maior ID já contabilizado (exclusivo)
+     * @param ateId maior ID a contabilizar (inclusivo)
+     * @return mapa de ID do produto para {@code {entradas, saidas}}
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    Map<Integer, long[]> totaisPorProduto(long aposId, long ateId) throws SQLException;
+
+    /**
+     * Soma todas as entradas e saídas gravadas de um produto.
+     *
+     * @param produtoId ID do produto
+     * @return {@code {entradas, saidas}}
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    long[] totaisDoProduto(int produtoId) throws SQLException;
+}
@@ -1,5 +1,6 @@
 package dao;
 
+import log.Log;
 import model.Produto;
 import model.Categoria;
 import model.EmbalagemProduto;
@@ -7,7 +8,12 @@ import model.TamanhoProduto;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Classe responsável por executar operações de acesso e manipulação dos dados
@@ -24,18 +30,40 @@ import java.util.List;
  * <li>Inserção de novos produtos</li>
  * <li>Listagem de produtos com suas categorias associadas</li>
  * <li>Atualização de informações de produtos existentes</li>
+ * <li>Busca de vários produtos por ID em uma única consulta</li>
  * </ul>
  *
  * @author Luiz
  * @version 1.0
  */
-public class ProdutoDAO {
+public class ProdutoDAO implements ProdutoRepositorio {
+
+    /**
+     * Quantidade máxima de IDs por consulta {@code IN (...)}. Conjuntos maiores
+     * são divididos em blocos, mantendo o comando SQL e a quantidade de
+     * parâmetros dentro de limites razoáveis para o MySQL.
+     */
+    private static final int TAMANHO_BLOCO_IN = 1000;
+
+    /** Colunas e junções comuns às consultas de produtos com categoria. */
+    private static final String SELECT_PRODUTO = """
+            SELECT
+                p.id, p.nome, p.preco, p.tipo_unidade,
+                p.quantidade_atual, p.quantidade_minima, p.quantidade_maxima,
+                c.id AS categoria_id,
+                c.nome AS categoria_nome,
+                c.embalagem AS categoria_embalagem,
+                c.tamanho AS categoria_tamanho
+            FROM produto p
+            JOIN categoria c ON p.categoria_id = c.id
+        """;
 
     /**
      * Insere um novo produto no banco de dados.
      * <p>
      * O método registra um novo produto com seus respectivos atributos e a
-     * categoria vinculada. Em caso de sucesso, retorna uma mensagem descritiva;
+     * categoria vinculada. Em caso de sucesso, o ID gerado pelo banco é
+     * atribuído ao próprio objeto e uma mensagem descritiva é retornada;
      * caso contrário, retorna o erro ocorrido.
      * </p>
      *
@@ -50,7 +78,7 @@ public class ProdutoDAO {
             VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
 
-        try (Connection conn = ConexaoDAO.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConexaoDAO.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, produto.getNome());
             stmt.setDouble(2, produto.getPreco());
@@ -61,10 +89,17 @@ public class ProdutoDAO {
             stmt.setInt(7, produto.getCategoria().getId());
 
             stmt.executeUpdate();
+
+            // Captura o ID gerado automaticamente pelo banco
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    produto.setId(rs.getInt(1));
+                }
+            }
             return "Produto inserido com sucesso!";
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao inserir produto", e, "nome", produto.getNome());
             return "Erro ao inserir produto: " + e.getMessage();
         }
     }
@@ -78,61 +113,42 @@ public class ProdutoDAO {
      * produto.
      * </p>
      *
+     * <p>
+     * Em caso de falha, o erro é registrado no log e a lista vem vazia; use
+     * {@link #carregar()} quando a falha precisar ser tratada.
+     * </p>
+     *
      * @return lista de objetos {@link Produto} com seus respectivos dados e
      * categorias
-     * @throws SQLException caso ocorra erro de comunicação com o banco de dados
      */
     public List<Produto> listar() {
-        List<Produto> lista = new ArrayList<>();
+        try {
+            return carregar();
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao listar produtos", e);
+            return new ArrayList<>();
+        }
+    }
 
-        String sql = """
-            SELECT 
-                p.id, p.nome, p.preco, p.tipo_unidade,
-                p.quantidade_atual, p.quantidade_minima, p.quantidade_maxima,
-                c.id AS categoria_id, 
-                c.nome AS categoria_nome,
-                c.embalagem AS categoria_embalagem,
-                c.tamanho AS categoria_tamanho
-            FROM produto p
-            JOIN categoria c ON p.categoria_id = c.id
-        """;
+    /**
+     * Retorna todos os produtos com suas categorias, propagando a falha do
+     * banco.
+     *
+     * @return lista de objetos {@link Produto}
+     * @throws SQLException caso ocorra erro de comunicação com o banco de dados
+     */
+    public List<Produto> carregar() throws SQLException {
+        List<Produto> lista = new ArrayList<>();
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
 
-        try (Connection conn = ConexaoDAO.getConnection(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+        try (conn; Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(SELECT_PRODUTO)) {
 
             while (rs.next()) {
-                Categoria cat = new Categoria();
-                cat.setId(rs.getInt("categoria_id"));
-                cat.setNome(rs.getString("categoria_nome"));
-
-                // Conversão segura de strings em enums
-                try {
-                    cat.setEmbalagem(EmbalagemProduto.valueOf(rs.getString("categoria_embalagem")));
-                } catch (Exception ex) {
-                    cat.setEmbalagem(null);
-                }
-
-                try {
-                    cat.setTamanho(TamanhoProduto.valueOf(rs.getString("categoria_tamanho")));
-                } catch (Exception ex) {
-                    cat.setTamanho(null);
-                }
-
-                Produto p = new Produto(
-                        rs.getInt("id"),
-                        rs.getString("nome"),
-                        rs.getDouble("preco"),
-                        rs.getString("tipo_unidade"),
-                        rs.getInt("quantidade_atual"),
-                        rs.getInt("quantidade_minima"),
-                        rs.getInt("quantidade_maxima"),
-                        cat
-                );
-
-                lista.add(p);
+                lista.add(mapearProduto(rs));
             }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
 
         return lista;
@@ -146,9 +162,9 @@ public class ProdutoDAO {
      * </p>
      *
      * @param produto objeto {@link Produto} contendo os novos dados
-     * @throws SQLException caso ocorra erro de comunicação com o banco de dados
+     * @return mensagem de sucesso ou erro
      */
-    public void atualizar(Produto produto) {
+    public String atualizar(Produto produto) {
         String sql = """
             UPDATE produto
             SET nome=?, preco=?, tipo_unidade=?, quantidade_atual=?, 
@@ -167,12 +183,18 @@ public class ProdutoDAO {
             stmt.setInt(7, produto.getCategoria().getId());
             stmt.setInt(8, produto.getId());
 
-            stmt.executeUpdate();
-            System.out.println("Produto atualizado com sucesso!");
+            int linhasAfetadas = stmt.executeUpdate();
+
+            if (linhasAfetadas > 0) {
+                Log.debug("Produto atualizado com sucesso!", "produto", produto.getId());
+                return "Produto atualizado com sucesso!";
+            } else {
+                return "Nenhum produto encontrado com o ID informado.";
+            }
 
         } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Erro ao atualizar produto: " + e.getMessage());
+            Log.erro("💥 Erro ao atualizar produto", e, "produto", produto.getId());
+            return "Erro ao atualizar produto: " + e.getMessage();
         }
     }
 
@@ -197,9 +219,147 @@ public class ProdutoDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao excluir produto", e, "produto", id);
             return "Erro ao excluir produto: " + e.getMessage();
         }
     }
 
+    /**
+     * Busca vários produtos pelos seus IDs em uma única ida ao banco.
+     * <p>
+     * Os IDs são consultados com {@code WHERE p.id IN (...)}; conjuntos com
+     * mais de {@value #TAMANHO_BLOCO_IN} IDs são divididos em blocos, todos
+     * executados na mesma conexão.
+     * </p>
+     *
+     * @param ids identificadores dos produtos (sem repetição)
+     * @return mapa de ID para {@link Produto}, contendo apenas os encontrados
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public Map<Integer, Produto> buscarPorIds(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Produto> encontrados = new HashMap<>();
+        if (ids.isEmpty()) {
+            return encontrados;
+        }
+
+        List<Integer> lista = new ArrayList<>(ids);
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn) {
+            for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_BLOCO_IN) {
+                List<Integer> bloco = lista.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IN, lista.size()));
+                String sql = SELECT_PRODUTO + " WHERE p.id IN (" + "?,".repeat(bloco.size() - 1) + "?)";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < bloco.size(); i++) {
+                        stmt.setInt(i + 1, bloco.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            Produto p = mapearProduto(rs);
+                            encontrados.put(p.getId(), p);
+                        }
+                    }
+                }
+            }
+        }
+
+        return encontrados;
+    }
+
+    /**
+     * Retorna os produtos inseridos ou alterados a partir do instante informado.
+     * <p>
+     * Usado na recarga incremental do catálogo em memória, com base na coluna
+     * {@code atualizado_em}.
+     * </p>
+     *
+     * @param desde instante de referência (inclusivo)
+     * @return lista de produtos alterados desde o instante informado
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public List<Produto> listarAlteradosDesde(Timestamp desde) throws SQLException {
+        List<Produto> lista = new ArrayList<>();
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; PreparedStatement stmt = conn.prepareStatement(SELECT_PRODUTO + " WHERE p.atualizado_em >= ?")) {
+            stmt.setTimestamp(1, desde);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(mapearProduto(rs));
+                }
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna os IDs de todos os produtos cadastrados.
+     * <p>
+     * Consulta leve (apenas a chave primária), usada para detectar exclusões
+     * na recarga incremental do catálogo em memória.
+     * </p>
+     *
+     * @return conjunto de IDs existentes
+     * @throws SQLException caso não haja conexão ou ocorra erro na consulta
+     */
+    public Set<Integer> listarIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+
+        try (conn; Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT id FROM produto")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} (no formato de
+     * {@link #SELECT_PRODUTO}) em um {@link Produto} com sua {@link Categoria}.
+     *
+     * @param rs conjunto de resultados posicionado na linha a converter
+     * @return produto preenchido
+     * @throws SQLException caso ocorra erro na leitura das colunas
+     */
+    private Produto mapearProduto(ResultSet rs) throws SQLException {
+        Categoria cat = new Categoria();
+        cat.setId(rs.getInt("categoria_id"));
+        cat.setNome(rs.getString("categoria_nome"));
+
+        // Conversão segura de strings em enums
+        try {
+            cat.setEmbalagem(EmbalagemProduto.valueOf(rs.getString("categoria_embalagem")));
+        } catch (Exception ex) {
+            cat.setEmbalagem(null);
+        }
+
+        try {
+            cat.setTamanho(TamanhoProduto.valueOf(rs.getString("categoria_tamanho")));
+        } catch (Exception ex) {
+            cat.setTamanho(null);
+        }
+
+        return new Produto(
+                rs.getInt("id"),
+                rs.getString("nome"),
+                rs.getDouble("preco"),
+                rs.getString("tipo_unidade"),
+                rs.getInt("quantidade_atual"),
+                rs.getInt("quantidade_minima"),
+                rs.getInt("quantidade_maxima"),
+                cat
+        );
+    }
+
 }
@@ -0,0 +1,90 @@
+package dao;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.Produto;
+
+/**
+ * Operações de persistência da entidade {@link Produto}.
+ * <p>
+ * A implementação padrão é o {@link ProdutoDAO} (JDBC); a implementação em
+ * memória ({@code memoria.ProdutoMemoria}) é escolhida por
+ * {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface ProdutoRepositorio {
+
+    /**
+     * Insere um novo produto, atribuindo o ID gerado ao próprio objeto.
+     *
+     * @param produto produto a inserir, com a categoria preenchida
+     * @return mensagem de sucesso ou erro
+     */
+    String inserir(Produto produto);
+
+    /**
+     * Lista todos os produtos com suas categorias.
+     *
+     * @return lista de produtos
+     */
+    List<Produto> listar();
+
+    /**
+     * Lista todos os produtos com suas categorias, propagando a falha do
+     * armazenamento (ao contrário de {@link #listar()}, que devolve a lista
+     * vazia).
+     *
+     * @return lista de produtos
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    List<Produto> carregar() throws SQLException;
+
+    /**
+     * Atualiza um produto existente.
+     *
+     * @param produto produto com os novos dados
+     * @return mensagem de sucesso ou erro (inclusive quando o ID não existe)
+     */
+    String atualizar(Produto produto);
+
+    /**
+     * Exclui um produto pelo ID.
+     *
+     * @param id identificador do produto
+     * @return mensagem de sucesso ou erro
+     */
+    String excluir(Integer id);
+
+    /**
+     * Busca vários produtos pelos IDs.
+     *
+     * @param ids identificadores (sem repetição)
+     * @return mapa de ID para produto, apenas com os encontrados
+     * @throws SQLException se a consulta falhar
+     */
+    Map<Integer, Produto> buscarPorIds(Collection<Integer> ids) throws SQLException;
+
+    /**
+     * Lista os produtos inseridos ou alterados a partir do instante informado.
+     *
+     * @param desde instante de referência (inclusivo)
+     * @return produtos alterados
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    List<Produto> listarAlteradosDesde(Timestamp desde) throws SQLException;
+
+    /**
+     * Lista os IDs de todos os produtos.
+     *
+     * @return conjunto de IDs existentes
+     * @throws SQLException caso o armazenamento esteja indisponível
+     */
+    Set<Integer> listarIds() throws SQLException;
+}
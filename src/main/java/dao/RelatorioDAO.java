@@ -1,13 +1,18 @@
 package dao;
 
+import log.Log;
 import model.Produto;
 import model.Categoria;
 import model.EmbalagemProduto;
 import model.TamanhoProduto;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Classe responsável por gerar relatórios de produtos e categorias no sistema de estoque.
@@ -26,12 +31,15 @@ import java.util.List;
  *     <li>Listar produtos acima da quantidade máxima.</li>
  *     <li>Listar todos os produtos cadastrados.</li>
  *     <li>Gerar relatório de quantidade de produtos por categoria.</li>
+ *     <li>Gerar os relatórios enviados ao cliente (lista de preços, balanço,
+ *     abaixo do mínimo, quantidade por categoria e mais movimentado),
+ *     escrevendo os valores de cada linha direto em uma {@link SaidaRelatorio}.</li>
  * </ul>
  *
  * @author Luiz
  * @version 1.0
  */
-public class RelatorioDAO {
+public class RelatorioDAO implements RelatorioRepositorio {
 
     /**
      * Retorna uma lista de produtos cuja quantidade atual está abaixo da quantidade mínima definida.
@@ -107,13 +115,224 @@ public class RelatorioDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Erro ao gerar relatório de quantidade por categoria: " + e.getMessage());
+            Log.erro("💥 Erro ao gerar relatório de quantidade por categoria", e);
         }
 
         return lista;
     }
 
+    // ========================= RELATÓRIOS EM LINHAS =========================
+
+    /** Lista de preços. */
+    private static final String SQL_LISTA_PRECOS = """
+            SELECT p.nome AS produto, c.nome AS categoria, 
+                   p.preco, p.tipo_unidade
+            FROM produto p
+            JOIN categoria c ON p.categoria_id = c.id
+            ORDER BY p.nome
+        """;
+
+    /** Balanço físico/financeiro. */
+    private static final String SQL_BALANCO = """
+            SELECT p.nome AS produto, c.nome AS categoria, 
+                   p.quantidade_atual, p.preco
+            FROM produto p
+            JOIN categoria c ON p.categoria_id = c.id
+            ORDER BY p.nome
+        """;
+
+    /** Produtos abaixo do mínimo. */
+    private static final String SQL_ABAIXO_MINIMO = """
+            SELECT p.nome AS produto, c.nome AS categoria,
+                   p.quantidade_atual, p.quantidade_minima
+            FROM produto p
+            JOIN categoria c ON p.categoria_id = c.id
+            WHERE p.quantidade_atual < p.quantidade_minima
+            ORDER BY p.nome
+        """;
+
+    /** Quantidade de produtos por categoria. */
+    private static final String SQL_QTD_POR_CATEGORIA = """
+            SELECT 
+                c.nome AS categoria, 
+                COALESCE(COUNT(p.id), 0) AS quantidade
+            FROM categoria c
+            LEFT JOIN produto p ON p.categoria_id = c.id
+            GROUP BY c.nome
+            ORDER BY c.nome
+        """;
+
+    /** Produto mais movimentado. */
+    private static final String SQL_MAIS_MOVIMENTADO = """
+            SELECT p.nome AS produto, c.nome AS categoria,
+                   SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END) AS entradas,
+                   SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END) AS saidas
+            FROM movimentacao m
+            JOIN produto p ON m.produto_id = p.id
+            JOIN categoria c ON p.categoria_id = c.id
+            GROUP BY p.nome, c.nome
+            ORDER BY (SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END) +
+                      SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END)) DESC
+        """;
+
+    @Override
+    public void transmitir(Relatorio relatorio, SaidaRelatorio saida) throws SQLException {
+        switch (relatorio) {
+            case LISTA_PRECOS -> executarConsulta(SQL_LISTA_PRECOS, saida, rs -> saida
+                    .texto(rs.getString("produto"))
+                    .texto(rs.getString("categoria"))
+                    .decimal(rs.getDouble("preco"))
+                    .texto(rs.getString("tipo_unidade")));
+            case BALANCO -> executarConsulta(SQL_BALANCO, saida, rs -> {
+                int qtd = rs.getInt("quantidade_atual");
+                double preco = rs.getDouble("preco");
+                saida.texto(rs.getString("produto"))
+                        .texto(rs.getString("categoria"))
+                        .inteiro(qtd)
+                        .decimal(preco)
+                        .decimal(qtd * preco);
+            });
+            case ABAIXO_MINIMO -> executarConsulta(SQL_ABAIXO_MINIMO, saida, rs -> saida
+                    .texto(rs.getString("produto"))
+                    .texto(rs.getString("categoria"))
+                    .inteiro(rs.getInt("quantidade_atual"))
+                    .inteiro(rs.getInt("quantidade_minima")));
+            case QTD_POR_CATEGORIA -> executarConsulta(SQL_QTD_POR_CATEGORIA, saida, rs -> saida
+                    .texto(rs.getString("categoria"))
+                    .inteiro(rs.getInt("quantidade")));
+            case MAIS_MOVIMENTADO -> executarConsulta(SQL_MAIS_MOVIMENTADO, saida, rs -> {
+                long entradas = rs.getLong("entradas");
+                long saidas = rs.getLong("saidas");
+                saida.texto(rs.getString("produto"))
+                        .texto(rs.getString("categoria"))
+                        .inteiro(entradas)
+                        .inteiro(saidas)
+                        .inteiro(entradas + saidas);
+            });
+        }
+    }
+
+    /** Valor em estoque por categoria, em centavos ({@code preco} é {@code DECIMAL(10,2)}: a conta é exata). */
+    private static final String SQL_VALOR_POR_CATEGORIA = """
+            SELECT categoria_id, CAST(SUM(quantidade_atual * preco * 100) AS SIGNED) AS centavos
+            FROM produto
+            GROUP BY categoria_id
+        """;
+
+    @Override
+    public Map<Integer, Long> valorEmEstoquePorCategoria() throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        Map<Integer, Long> valores = new HashMap<>();
+        try (conn; Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(SQL_VALOR_POR_CATEGORIA)) {
+            while (rs.next()) {
+                valores.put(rs.getInt("categoria_id"), rs.getLong("centavos"));
+            }
+        }
+        return valores;
+    }
+
+    /** Saídas por produto a partir de um instante (cobertura de estoque). */
+    private static final String SQL_SAIDAS_POR_PRODUTO = """
+            SELECT produto_id, SUM(quantidade) AS saidas
+            FROM movimentacao
+            WHERE tipo = 'SAIDA' AND data_movimentacao >= ?
+            GROUP BY produto_id
+        """;
+
+    @Override
+    public Map<Integer, Long> saidasPorProduto(long desde) throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        Map<Integer, Long> saidas = new HashMap<>();
+        try (conn; PreparedStatement stmt = conn.prepareStatement(SQL_SAIDAS_POR_PRODUTO)) {
+            stmt.setTimestamp(1, new Timestamp(desde));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    saidas.put(rs.getInt("produto_id"), rs.getLong("saidas"));
+                }
+            }
+        }
+        return saidas;
+    }
+
+    /** Movimentações a partir de um instante, para a valorização pelo preço da época. */
+    private static final String SQL_MOVIMENTACOES_DESDE = """
+            SELECT produto_id, tipo, quantidade, data_movimentacao
+            FROM movimentacao
+            WHERE data_movimentacao >= ?
+        """;
+
+    @Override
+    public void percorrerMovimentacoes(long desde, MovimentacaoLida destino) throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        try (conn; PreparedStatement stmt = conn.prepareStatement(SQL_MOVIMENTACOES_DESDE)) {
+            // Em fluxo, como nos relatórios: a janela pode ter milhões de movimentações
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setTimestamp(1, new Timestamp(desde));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    destino.ler(rs.getInt("produto_id"), "ENTRADA".equals(rs.getString("tipo")),
+                            rs.getInt("quantidade"), rs.getTimestamp("data_movimentacao").getTime());
+                }
+            }
+        }
+    }
+
+    /**
+     * Executa uma consulta SQL e escreve cada linha do resultado na saída do
+     * relatório, à medida que as linhas chegam.
+     * <p>
+     * O comando pede o resultado em fluxo ({@code setFetchSize(Integer.MIN_VALUE)},
+     * a convenção do Connector/J): o driver entrega uma linha por vez em vez de
+     * carregar o resultado inteiro antes do primeiro {@code next()}, e cada
+     * bloco enviado ao cliente sai enquanto a consulta ainda está sendo lida.
+     * </p>
+     *
+     * @param sql comando SQL a ser executado
+     * @param saida destino das linhas
+     * @param leitor escreve os valores da linha atual do {@link ResultSet}
+     * @throws SQLException se não houver conexão ou a consulta falhar
+     */
+    private void executarConsulta(String sql, SaidaRelatorio saida, LeitorLinha leitor) throws SQLException {
+        Connection conn = ConexaoDAO.getConnection();
+        if (conn == null) {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }
+        try (conn; Statement st = conn.createStatement()) {
+            st.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    leitor.ler(rs);
+                    saida.fimLinha();
+                }
+            }
+        }
+    }
+
+    /**
+     * Interface funcional interna responsável por escrever os valores de uma
+     * linha de {@link ResultSet} na saída do relatório.
+     */
+    @FunctionalInterface
+    private interface LeitorLinha {
+        /**
+         * Escreve os valores da linha atual, na ordem das colunas do relatório.
+         *
+         * @param rs conjunto de resultados da consulta SQL, posicionado na linha
+         * @throws SQLException caso ocorra erro na leitura dos dados
+         */
+        void ler(ResultSet rs) throws SQLException;
+    }
+
     /**
      * Executa a consulta SQL com base em uma condição informada, retornando uma lista
      * de produtos que atendem ao critério especificado.
@@ -179,8 +398,7 @@ public class RelatorioDAO {
             }
 
         } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Erro ao gerar relatório: " + e.getMessage());
+            Log.erro("💥 Erro ao gerar relatório", e);
         }
 
         return lista;
@@ -0,0 +1,181 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import log.Log;
+import model.Produto;
+import relatorios.ColetorLinhas;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Consultas dos relatórios de estoque.
+ * <p>
+ * Os relatórios enviados ao cliente por {@code service.RelatorioService} são
+ * escritos valor a valor por {@link #transmitir(Relatorio, SaidaRelatorio)},
+ * com as colunas definidas em {@link Relatorio}; as versões em linhas
+ * ({@code List<Map<String, Object>>}) são montadas a partir dele. A
+ * implementação padrão é o {@link RelatorioDAO} (JDBC); a implementação em
+ * memória ({@code memoria.RelatorioMemoria}) é escolhida por
+ * {@link Repositorios} com {@code -Destoque.armazenamento=memoria}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface RelatorioRepositorio {
+
+    /**
+     * Lista os produtos com quantidade atual abaixo da mínima.
+     *
+     * @return produtos com categoria
+     */
+    List<Produto> listarProdutosAbaixoDoMinimo();
+
+    /**
+     * Lista os produtos com quantidade atual acima da máxima.
+     *
+     * @return produtos com categoria
+     */
+    List<Produto> listarProdutosAcimaDoMaximo();
+
+    /**
+     * Lista todos os produtos.
+     *
+     * @return produtos com categoria
+     */
+    List<Produto> listarTodos();
+
+    /**
+     * Conta os produtos de cada categoria.
+     *
+     * @return linhas {@code {nome, quantidade}}, ordenadas pelo nome
+     */
+    List<Object[]> listarQuantidadePorCategoria();
+
+    /**
+     * Escreve as linhas de um relatório, na ordem do relatório e com os
+     * valores na ordem das colunas de {@link Relatorio}. Não chama
+     * {@link SaidaRelatorio#iniciar(Relatorio)} nem
+     * {@link SaidaRelatorio#concluir()}, que ficam com quem pediu o relatório.
+     *
+     * @param relatorio relatório desejado
+     * @param saida destino das linhas
+     * @throws SQLException se a consulta falhar ou for cancelada
+     */
+    void transmitir(Relatorio relatorio, SaidaRelatorio saida) throws SQLException;
+
+    /**
+     * Soma o valor em estoque ({@code quantidade_atual × preco}) dos produtos
+     * de cada categoria, em centavos e sem arredondamentos de ponto flutuante.
+     * Usado na conciliação do {@code avaliacao.AvaliacaoEstoque}.
+     *
+     * @return centavos por ID de categoria (só categorias com produtos)
+     * @throws SQLException se a consulta falhar
+     */
+    Map<Integer, Long> valorEmEstoquePorCategoria() throws SQLException;
+
+    /**
+     * Soma as saídas de cada produto a partir de um instante, em uma única
+     * consulta agrupada. Usado na cobertura de estoque quando a janela pedida
+     * não cabe nos totais diários de {@code consolidacao.ConsolidacaoMovimentacoes}.
+     *
+     * @param desde início da janela, em milissegundos desde a época
+     * @return unidades saídas por ID de produto (só produtos com saídas)
+     * @throws SQLException se a consulta falhar
+     */
+    Map<Integer, Long> saidasPorProduto(long desde) throws SQLException;
+
+    /**
+     * Percorre as movimentações a partir de um instante, em uma única
+     * consulta lida em fluxo. Usado nos relatórios que valorizam cada
+     * movimentação pelo preço da época ({@code precos.HistoricoPrecos}).
+     *
+     * @param desde início da janela, em milissegundos desde a época
+     * @param destino recebe cada movimentação
+     * @throws SQLException se a consulta falhar
+     */
+    void percorrerMovimentacoes(long desde, MovimentacaoLida destino) throws SQLException;
+
+    /**
+     * Recebe uma movimentação lida por {@link #percorrerMovimentacoes}.
+     */
+    @FunctionalInterface
+    interface MovimentacaoLida {
+
+        /**
+         * @param produtoId ID do produto
+         * @param entrada {@code true} para entrada, {@code false} para saída
+         * @param quantidade unidades movimentadas
+         * @param instante data da movimentação, em milissegundos desde a época
+         */
+        void ler(int produtoId, boolean entrada, int quantidade, long instante);
+    }
+
+    /**
+     * Lista de preços, ordenada pelo nome do produto.
+     *
+     * @return linhas com {@code produto}, {@code categoria}, {@code preco} e {@code tipo_unidade}
+     */
+    default List<Map<String, Object>> listarPrecos() {
+        return coletar(Relatorio.LISTA_PRECOS);
+    }
+
+    /**
+     * Balanço físico e financeiro, ordenado pelo nome do produto.
+     *
+     * @return linhas com {@code produto}, {@code categoria}, {@code quantidade},
+     *         {@code preco} e {@code valor_total}
+     */
+    default List<Map<String, Object>> balancoFisicoFinanceiro() {
+        return coletar(Relatorio.BALANCO);
+    }
+
+    /**
+     * Produtos abaixo do estoque mínimo, ordenados pelo nome.
+     *
+     * @return linhas com {@code produto}, {@code categoria},
+     *         {@code quantidade_atual} e {@code quantidade_minima}
+     */
+    default List<Map<String, Object>> produtosAbaixoDoMinimo() {
+        return coletar(Relatorio.ABAIXO_MINIMO);
+    }
+
+    /**
+     * Quantidade de produtos por categoria, ordenada pelo nome da categoria.
+     *
+     * @return linhas com {@code categoria} e {@code quantidade}
+     */
+    default List<Map<String, Object>> quantidadePorCategoria() {
+        return coletar(Relatorio.QTD_POR_CATEGORIA);
+    }
+
+    /**
+     * Totais movimentados por produto, do mais para o menos movimentado.
+     *
+     * @return linhas com {@code produto}, {@code categoria}, {@code entradas},
+     *         {@code saidas} e {@code total_movimentado}
+     */
+    default List<Map<String, Object>> produtoMaisMovimentado() {
+        return coletar(Relatorio.MAIS_MOVIMENTADO);
+    }
+
+    /**
+     * Reúne um relatório em linhas {@code Map}. Se a consulta falhar, a falha
+     * é registrada no log e as linhas lidas até ali são devolvidas.
+     */
+    private List<Map<String, Object>> coletar(Relatorio relatorio) {
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(relatorio);
+        try {
+            transmitir(relatorio, coletor);
+            coletor.concluir();
+            Log.debug("📊 Relatório gerado com sucesso", "relatorio", relatorio.getTitulo(),
+                    "registros", coletor.getLinhas().size());
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao gerar relatório", e, "relatorio", relatorio.getTitulo());
+        }
+        return coletor.getLinhas();
+    }
+}
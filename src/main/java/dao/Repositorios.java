@@ -0,0 +1,88 @@
+package dao;
+
+import log.Log;
+import memoria.CategoriaMemoria;
+import memoria.ConsolidacaoMemoria;
+import memoria.HistoricoPrecoMemoria;
+import memoria.MovimentacaoMemoria;
+import memoria.ProdutoMemoria;
+import memoria.RelatorioMemoria;
+
+/**
+ * Ponto único de escolha do armazenamento usado pelos serviços.
+ * <p>
+ * A escolha é feita uma vez, na inicialização, pela propriedade
+ * {@code estoque.armazenamento}:
+ * </p>
+ * <ul>
+ *     <li>{@code jdbc} (padrão) — os DAOs JDBC, sobre o MySQL de {@link ConexaoDAO};</li>
+ *     <li>{@code memoria} — mapas concorrentes no próprio processo, sem E/S e
+ *     sem persistência. Serve de linha de base: a diferença de latência entre
+ *     os dois modos, sob a mesma carga, é o custo do banco.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class Repositorios {
+
+    /** Indica se o armazenamento em memória foi escolhido. */
+    private static final boolean MEMORIA =
+            "memoria".equalsIgnoreCase(System.getProperty("estoque.armazenamento", "jdbc"));
+
+    private static final CategoriaRepositorio CATEGORIAS = MEMORIA ? new CategoriaMemoria() : new CategoriaDAO();
+    private static final ProdutoRepositorio PRODUTOS = MEMORIA ? new ProdutoMemoria() : new ProdutoDAO();
+    private static final MovimentacaoRepositorio MOVIMENTACOES =
+            MEMORIA ? new MovimentacaoMemoria() : new MovimentacaoDAO();
+    private static final RelatorioRepositorio RELATORIOS = MEMORIA ? new RelatorioMemoria() : new RelatorioDAO();
+    private static final ConsolidacaoRepositorio CONSOLIDACOES =
+            MEMORIA ? new ConsolidacaoMemoria() : new ConsolidacaoDAO();
+    private static final HistoricoPrecoRepositorio HISTORICO_PRECOS =
+            MEMORIA ? new HistoricoPrecoMemoria() : new HistoricoPrecoDAO();
+
+    static {
+        if (MEMORIA) {
+            Log.aviso("🧪 Armazenamento em memória: os dados serão perdidos ao encerrar o servidor");
+        }
+    }
+
+    private Repositorios() {
+    }
+
+    /**
+     * @return {@code true} se o armazenamento em memória estiver ativo
+     */
+    public static boolean isMemoria() {
+        return MEMORIA;
+    }
+
+    /** @return repositório de categorias */
+    public static CategoriaRepositorio categorias() {
+        return CATEGORIAS;
+    }
+
+    /** @return repositório de produtos */
+    public static ProdutoRepositorio produtos() {
+        return PRODUTOS;
+    }
+
+    /** @return repositório de movimentações */
+    public static MovimentacaoRepositorio movimentacoes() {
+        return MOVIMENTACOES;
+    }
+
+    /** @return repositório dos relatórios */
+    public static RelatorioRepositorio relatorios() {
+        return RELATORIOS;
+    }
+
+    /** @return repositório das movimentações consolidadas */
+    public static ConsolidacaoRepositorio consolidacoes() {
+        return CONSOLIDACOES;
+    }
+
+    /** @return repositório do histórico de preços */
+    public static HistoricoPrecoRepositorio historicoPrecos() {
+        return HISTORICO_PRECOS;
+    }
+}
@@ -16,7 +16,10 @@ CREATE TABLE categoria (
     id INT AUTO_INCREMENT PRIMARY KEY,
     nome VARCHAR(100) NOT NULL,
     embalagem ENUM('VIDRO', 'PLASTICO', 'LATA') NOT NULL,
-    tamanho ENUM('PEQUENO', 'MEDIO', 'GRANDE') NOT NULL
+    tamanho ENUM('PEQUENO', 'MEDIO', 'GRANDE') NOT NULL,
+    atualizado_em TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+        ON UPDATE CURRENT_TIMESTAMP(3),   -- usado na recarga incremental do catálogo
+    INDEX idx_categoria_atualizado_em (atualizado_em)
 );
 
 -- ====================================================
@@ -31,6 +34,9 @@ CREATE TABLE produto (
     quantidade_minima INT DEFAULT 0,
     quantidade_maxima INT DEFAULT 0,
     categoria_id INT NOT NULL,
+    atualizado_em TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+        ON UPDATE CURRENT_TIMESTAMP(3),   -- usado na recarga incremental do catálogo
+    INDEX idx_produto_atualizado_em (atualizado_em),
     FOREIGN KEY (categoria_id) REFERENCES categoria(id)
         ON UPDATE CASCADE
         ON DELETE RESTRICT
@@ -45,8 +51,49 @@ CREATE TABLE movimentacao (
     tipo ENUM('ENTRADA', 'SAIDA') NOT NULL,
     quantidade INT NOT NULL,
     data_movimentacao DATETIME NOT NULL,
+    journal_seq BIGINT NULL UNIQUE,   -- sequência do journal local (reaplicação idempotente)
+    chave_idempotencia VARCHAR(64) NULL UNIQUE,   -- chave do cliente (reenvios não gravam de novo)
     FOREIGN KEY (produto_id) REFERENCES produto(id)
         ON UPDATE CASCADE
         ON DELETE CASCADE
 );
 
+
+-- ====================================================
+-- TABELA: movimentacao_consolidada
+-- ====================================================
+-- Entradas e saídas por produto ou categoria, por hora ou por dia
+-- (consolidacao.ConsolidacaoMovimentacoes); período = horas ou dias locais desde 1970-01-01
+CREATE TABLE movimentacao_consolidada (
+    granularidade ENUM('HORA', 'DIA') NOT NULL,
+    escopo ENUM('PRODUTO', 'CATEGORIA') NOT NULL,
+    chave INT NOT NULL,
+    periodo INT NOT NULL,
+    entradas BIGINT NOT NULL DEFAULT 0,
+    saidas BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularidade, escopo, chave, periodo),
+    INDEX idx_consolidada_periodo (granularidade, periodo)   -- descarte dos períodos fora da janela
+);
+
+-- Maior ID de movimentação já somado aos baldes (linha única, id = 1), gravado
+-- na mesma transação: na inicialização, soma-se o que veio depois dele
+CREATE TABLE movimentacao_consolidada_marca (
+    id TINYINT PRIMARY KEY,
+    ultima_movimentacao BIGINT NOT NULL
+);
+
+
+-- ====================================================
+-- TABELA: preco_historico
+-- ====================================================
+-- Preço de cada produto a partir de cada mudança (precos.HistoricoPrecos);
+-- vale até a próxima vigência do mesmo produto
+CREATE TABLE preco_historico (
+    produto_id INT NOT NULL,
+    vigente_desde DATETIME(3) NOT NULL,
+    preco DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (produto_id, vigente_desde),
+    FOREIGN KEY (produto_id) REFERENCES produto(id)
+        ON UPDATE CASCADE
+        ON DELETE CASCADE
+);
@@ -0,0 +1,215 @@
+package eventos;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Resume uma gravação do Java Flight Recorder ({@code .jfr}) com os eventos
+ * do servidor de estoque.
+ * <p>
+ * Para cada comando ({@link EventoComando}), os eventos registrados na mesma
+ * thread durante o atendimento são atribuídos a ele, e o tempo é dividido em:
+ * </p>
+ * <ul>
+ *     <li><b>conexão</b> — espera por conexões JDBC ({@link EventoObterConexao});</li>
+ *     <li><b>sql</b> — execução e leitura de comandos SQL ({@link EventoSql});</li>
+ *     <li><b>conversão</b> — conversão de relatórios para texto (evento
+ *     {@code listaComoTexto} menos o {@code writeObject} aninhado);</li>
+ *     <li><b>serialização</b> — {@code writeObject} e {@code flush} ({@link EventoSerializacao});</li>
+ *     <li><b>outros</b> — o restante (leitura do pedido, regras de negócio, etc.).</li>
+ * </ul>
+ * <p>
+ * Em seguida, lista os comandos SQL com maior tempo total. Os eventos abaixo
+ * do limite configurado na gravação não aparecem e entram em "outros".
+ * </p>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     java -XX:StartFlightRecording=settings=src/main/resources/estoque.jfc,filename=estoque.jfr ... server.Server
+ *     java -cp target/classes eventos.AnalisadorJfr estoque.jfr
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class AnalisadorJfr {
+
+    /** Quantidade de comandos SQL listados no ranking. */
+    private static final int TOP_SQL = 10;
+
+    /**
+     * Ponto de entrada do analisador.
+     *
+     * @param args caminho do arquivo {@code .jfr}
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: AnalisadorJfr <arquivo.jfr>");
+            System.exit(1);
+        }
+        Path arquivo = Paths.get(args[0]);
+        try {
+            analisar(RecordingFile.readAllEvents(arquivo));
+        } catch (IOException e) {
+            System.err.println("💥 Erro ao ler a gravação: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void analisar(List<RecordedEvent> eventos) {
+        List<RecordedEvent> comandos = new ArrayList<>();
+        Map<Long, List<RecordedEvent>> filhosPorThread = new HashMap<>();
+        Map<String, long[]> sqls = new HashMap<>();
+
+        for (RecordedEvent e : eventos) {
+            String tipo = e.getEventType().getName();
+            switch (tipo) {
+                case "estoque.Comando" -> comandos.add(e);
+                case "estoque.Sql", "estoque.Serializacao", "estoque.ObterConexao" -> {
+                    if (e.getThread() != null) {
+                        filhosPorThread.computeIfAbsent(e.getThread().getJavaThreadId(), k -> new ArrayList<>()).add(e);
+                    }
+                    if (tipo.equals("estoque.Sql")) {
+                        long[] s = sqls.computeIfAbsent(e.getString("sql"), k -> new long[3]);
+                        s[0]++;
+                        s[1] += e.getDuration().toNanos();
+                        s[2] += e.getLong("linhas");
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        for (List<RecordedEvent> lista : filhosPorThread.values()) {
+            lista.sort(Comparator.comparing(RecordedEvent::getStartTime));
+        }
+
+        System.out.printf("📼 %d comandos, %d comandos SQL%n%n", comandos.size(),
+                sqls.values().stream().mapToLong(s -> s[0]).sum());
+        imprimirComandos(comandos, filhosPorThread);
+        imprimirSqls(sqls);
+    }
+
+    private static void imprimirComandos(List<RecordedEvent> comandos, Map<Long, List<RecordedEvent>> filhosPorThread) {
+        Map<String, Resumo> resumos = new TreeMap<>();
+        for (RecordedEvent c : comandos) {
+            Resumo r = resumos.computeIfAbsent(c.getString("comando"), k -> new Resumo());
+            long total = c.getDuration().toNanos();
+            r.duracoes.add(total);
+            r.bytesEnviados += c.getLong("bytesEnviados");
+            if (c.getBoolean("erro")) {
+                r.erros++;
+            }
+
+            List<RecordedEvent> filhos = c.getThread() == null ? List.of()
+                    : filhosPorThread.getOrDefault(c.getThread().getJavaThreadId(), List.of());
+            long conexao = 0, sql = 0, serializacao = 0, listas = 0, escritasEmListas = 0;
+            Instant fimLista = Instant.MIN;
+            for (RecordedEvent f : dentroDe(filhos, c.getStartTime(), c.getEndTime())) {
+                long d = f.getDuration().toNanos();
+                switch (f.getEventType().getName()) {
+                    case "estoque.ObterConexao" -> conexao += d;
+                    case "estoque.Sql" -> sql += d;
+                    default -> {
+                        if ("listaComoTexto".equals(f.getString("operacao"))) {
+                            listas += d;
+                            fimLista = f.getEndTime();
+                        } else {
+                            serializacao += d;
+                            if (!f.getEndTime().isAfter(fimLista)) {
+                                escritasEmListas += d;
+                            }
+                        }
+                    }
+                }
+            }
+            // O writeObject aninhado termina antes do listaComoTexto que o contém
+            long conversao = Math.max(0, listas - escritasEmListas);
+            r.conexao += conexao;
+            r.sql += sql;
+            r.serializacao += serializacao;
+            r.conversao += conversao;
+            r.outros += Math.max(0, total - conexao - sql - serializacao - conversao);
+        }
+
+        System.out.println("⏱️ Tempo por comando (ms) e divisão do tempo total");
+        System.out.printf("%-28s %7s %8s %8s %8s %6s %10s %7s %7s %7s %7s %7s%n",
+                "comando", "qtd", "média", "p99", "máx", "erros", "KB env.",
+                "conex%", "sql%", "conv%", "ser%", "outros%");
+        for (Map.Entry<String, Resumo> e : resumos.entrySet()) {
+            Resumo r = e.getValue();
+            r.duracoes.sort(null);
+            long soma = r.duracoes.stream().mapToLong(Long::longValue).sum();
+            int n = r.duracoes.size();
+            System.out.printf("%-28s %7d %8.2f %8.2f %8.2f %6d %10.1f %7.1f %7.1f %7.1f %7.1f %7.1f%n",
+                    e.getKey(), n, soma / 1e6 / n,
+                    r.duracoes.get(Math.min(n - 1, (int) Math.ceil(n * 0.99) - 1)) / 1e6,
+                    r.duracoes.get(n - 1) / 1e6, r.erros, r.bytesEnviados / 1024.0 / n,
+                    pct(r.conexao, soma), pct(r.sql, soma), pct(r.conversao, soma),
+                    pct(r.serializacao, soma), pct(r.outros, soma));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Retorna os eventos da lista (ordenada pelo início) contidos no intervalo.
+     */
+    private static List<RecordedEvent> dentroDe(List<RecordedEvent> ordenados, Instant inicio, Instant fim) {
+        int baixo = 0, alto = ordenados.size();
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (ordenados.get(meio).getStartTime().isBefore(inicio)) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        List<RecordedEvent> resultado = new ArrayList<>();
+        for (int i = baixo; i < ordenados.size() && !ordenados.get(i).getStartTime().isAfter(fim); i++) {
+            if (!ordenados.get(i).getEndTime().isAfter(fim)) {
+                resultado.add(ordenados.get(i));
+            }
+        }
+        return resultado;
+    }
+
+    private static void imprimirSqls(Map<String, long[]> sqls) {
+        List<Map.Entry<String, long[]>> ordenados = new ArrayList<>(sqls.entrySet());
+        ordenados.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed());
+
+        System.out.println("🗄️ Comandos SQL com maior tempo total");
+        System.out.printf("%7s %10s %9s %10s  %s%n", "qtd", "total ms", "média ms", "linhas/ex", "sql");
+        for (Map.Entry<String, long[]> e : ordenados.subList(0, Math.min(TOP_SQL, ordenados.size()))) {
+            long[] s = e.getValue();
+            String sql = e.getKey() == null ? "(desconhecido)" : e.getKey();
+            System.out.printf("%7d %10.1f %9.2f %10.1f  %s%n", s[0], s[1] / 1e6, s[1] / 1e6 / s[0],
+                    (double) s[2] / s[0], sql.length() > 120 ? sql.substring(0, 117) + "..." : sql);
+        }
+    }
+
+    private static double pct(long parte, long total) {
+        return total == 0 ? 0 : 100.0 * parte / total;
+    }
+
+    /** Acumulado de um comando. */
+    private static final class Resumo {
+        final List<Long> duracoes = new ArrayList<>();
+        long bytesEnviados;
+        long erros;
+        long conexao;
+        long sql;
+        long serializacao;
+        long conversao;
+        long outros;
+    }
+}
@@ -0,0 +1,46 @@
+package eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder para cada comando atendido pelo servidor.
+ * <p>
+ * A duração do evento vai da leitura do comando até o fim da resposta, o mesmo
+ * intervalo usado pelas métricas de latência. Os bytes são os trafegados na
+ * conexão inteira (a conexão atende um único comando).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@Name("estoque.Comando")
+@Label("Comando")
+@Category({"Estoque", "Servidor"})
+@Description("Comando recebido de um cliente e atendido pelo servidor")
+@StackTrace(false)
+public class EventoComando extends Event {
+
+    /** Nome do comando. */
+    @Label("Comando")
+    public String comando;
+
+    /** Bytes recebidos do cliente. */
+    @Label("Bytes recebidos")
+    @DataAmount
+    public long bytesRecebidos;
+
+    /** Bytes enviados ao cliente. */
+    @Label("Bytes enviados")
+    @DataAmount
+    public long bytesEnviados;
+
+    /** Se o comando terminou em erro. */
+    @Label("Erro")
+    public boolean erro;
+}
@@ -0,0 +1,27 @@
+package eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder para a espera por uma conexão com o banco em
+ * {@link dao.ConexaoDAO#getConnection()}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@Name("estoque.ObterConexao")
+@Label("Obter conexão")
+@Category({"Estoque", "Banco de dados"})
+@Description("Tempo gasto para obter uma conexão JDBC")
+@StackTrace(false)
+public class EventoObterConexao extends Event {
+
+    /** Se a conexão foi obtida. */
+    @Label("Sucesso")
+    public boolean sucesso;
+}
@@ -0,0 +1,42 @@
+package eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder para o envio de respostas serializadas.
+ * <p>
+ * Duas operações são registradas:
+ * </p>
+ * <ul>
+ *     <li>{@code writeObject} — {@code ObjectOutputStream.writeObject} seguido de {@code flush};</li>
+ *     <li>{@code listaComoTexto} — conversão de um relatório para texto mais o
+ *     {@code writeObject}, que aparece como evento aninhado.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@Name("estoque.Serializacao")
+@Label("Serialização")
+@Category({"Estoque", "Servidor"})
+@Description("Serialização e envio de uma resposta ao cliente")
+@StackTrace(false)
+public class EventoSerializacao extends Event {
+
+    /** Operação medida. */
+    @Label("Operação")
+    public String operacao;
+
+    /** Tipo do objeto enviado. */
+    @Label("Tipo")
+    public String tipo;
+
+    /** Quantidade de elementos, para listas e mapas ({@code -1} caso contrário). */
+    @Label("Elementos")
+    public int elementos;
+}
@@ -0,0 +1,51 @@
+package eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do Java Flight Recorder para cada comando SQL executado pelos DAOs.
+ * <p>
+ * Emitido pelo {@link dao.MonitorJdbc}. Em consultas, a duração inclui a
+ * execução e a leitura do {@link java.sql.ResultSet}; em atualizações, apenas
+ * a execução. A pilha de chamadas é gravada para identificar o DAO de origem.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+@Name("estoque.Sql")
+@Label("Comando SQL")
+@Category({"Estoque", "Banco de dados"})
+@Description("Execução de um comando SQL, com texto normalizado e linhas lidas ou afetadas")
+public class EventoSql extends Event {
+
+    /** Texto SQL normalizado (literais trocados por {@code ?}). */
+    @Label("SQL")
+    public String sql;
+
+    /** Linhas lidas (consultas) ou afetadas (atualizações). */
+    @Label("Linhas")
+    public long linhas;
+
+    /** Duração da execução, sem a leitura, em nanossegundos. */
+    @Label("Execução (ns)")
+    public long nanosExecucao;
+
+    /** Tipo do evento, usado para consultar se está habilitado sem criar instâncias. */
+    private static final EventType TIPO = EventType.getEventType(EventoSql.class);
+
+    /**
+     * Indica se a gravação está coletando este evento. Usado por
+     * {@link dao.ConexaoDAO} para decidir se instrumenta a conexão.
+     *
+     * @return {@code true} se há uma gravação com o evento habilitado
+     */
+    public static boolean ativo() {
+        return TIPO.isEnabled();
+    }
+}
@@ -0,0 +1,253 @@
+package faixas;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Faixas de execução do servidor: cada comando é classificado em uma faixa,
+ * que tem seu próprio limite de requisições simultâneas e sua própria cota de
+ * conexões com o banco.
+ * <p>
+ * Assim, um fechamento de mês com vários {@code RELATORIO_MAIS_MOVIMENTADO} e
+ * {@code LISTAR_MOVIMENTACOES} esgota apenas a faixa {@link #RELATORIO}: as
+ * requisições excedentes esperam na fila da própria faixa (ou são recusadas
+ * após {@code estoque.faixa.esperaMs}), enquanto as movimentações do
+ * depósito continuam com suas permissões e conexões reservadas na faixa
+ * {@link #ESCRITA}.
+ * </p>
+ *
+ * <p><b>Configuração</b> (por faixa, com o nome em minúsculas):</p>
+ * <ul>
+ *     <li>{@code -Destoque.faixa.<faixa>.limite} — requisições simultâneas;</li>
+ *     <li>{@code -Destoque.faixa.<faixa>.conexoes} — conexões simultâneas com o banco;</li>
+ *     <li>{@code -Destoque.faixa.<faixa>.prazoMs} — prazo padrão das requisições
+ *     (veja {@code requisicoes.Requisicao});</li>
+ *     <li>{@code -Destoque.faixa.esperaMs} — espera máxima por uma vaga ou
+ *     conexão, em todas as faixas (padrão 2000).</li>
+ * </ul>
+ *
+ * <p>
+ * A faixa da requisição fica associada à thread que a atende, de modo que
+ * {@code dao.ConexaoDAO} aplica a cota de conexões sem que os DAOs precisem
+ * saber da faixa. Threads criadas durante o atendimento não a herdam; as
+ * tarefas paralelas do painel a recebem por {@link #associar()}. Conexões
+ * abertas fora de uma requisição (journal, catálogo, agendadores) não são
+ * limitadas.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum Faixa {
+
+    /** Escritas transacionais: inserções, alterações e exclusões. */
+    ESCRITA(64, 16, 5_000),
+
+    /** Consultas pontuais e listagens leves. */
+    CONSULTA(32, 8, 10_000),
+
+    /** Relatórios e listagens pesadas. */
+    RELATORIO(4, 6, 60_000);
+
+    /** Espera máxima por uma vaga ou por uma conexão, em milissegundos. */
+    private static final long ESPERA_MS = Long.getLong("estoque.faixa.esperaMs", 2000);
+
+    /** Faixa da requisição em andamento na thread que a atende. */
+    private static final ThreadLocal<Faixa> ATUAL = new ThreadLocal<>();
+
+    private final int limite;
+    private final int limiteConexoes;
+    private final long prazoMs;
+    private final Semaphore vagas;
+    private final Semaphore conexoes;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final LongAdder atendidas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder semConexao = new LongAdder();
+    private final LongAdder esperaNanos = new LongAdder();
+
+    Faixa(int limitePadrao, int conexoesPadrao, long prazoPadraoMs) {
+        String prefixo = "estoque.faixa." + name().toLowerCase(Locale.ROOT);
+        this.limite = Integer.getInteger(prefixo + ".limite", limitePadrao);
+        this.limiteConexoes = Integer.getInteger(prefixo + ".conexoes", conexoesPadrao);
+        this.prazoMs = Long.getLong(prefixo + ".prazoMs", prazoPadraoMs);
+        this.vagas = new Semaphore(limite, true);
+        this.conexoes = new Semaphore(limiteConexoes, true);
+    }
+
+    /**
+     * Classifica um comando do protocolo.
+     *
+     * @param comando comando recebido
+     * @return faixa do comando; comandos desconhecidos vão para {@link #CONSULTA}
+     */
+    public static Faixa classificar(String comando) {
+        if (comando.startsWith("RELATORIO_") || comando.equals("LISTAR_MOVIMENTACOES")) {
+            return RELATORIO;
+        }
+        if (comando.startsWith("INSERIR_") || comando.startsWith("ATUALIZAR_")
+                || comando.startsWith("ALTERAR_") || comando.startsWith("EXCLUIR_")
+                || comando.equals("RESERVAR") || comando.equals("CONFIRMAR") || comando.equals("LIBERAR")) {
+            return ESCRITA;
+        }
+        return CONSULTA;
+    }
+
+    /**
+     * @return prazo padrão das requisições da faixa, em milissegundos
+     */
+    public long getPrazoMs() {
+        return prazoMs;
+    }
+
+    /**
+     * @return faixa da requisição atendida pela thread atual, ou {@code null}
+     */
+    public static Faixa atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Associa a faixa à thread atual, que executa parte de uma requisição já
+     * admitida por {@link #entrar()} (as tarefas paralelas do painel), sem
+     * ocupar outra vaga. A tarefa deve chamar {@link #desassociar()} ao terminar.
+     */
+    public void associar() {
+        ATUAL.set(this);
+    }
+
+    /**
+     * Desassocia da thread atual a faixa associada por {@link #associar()}.
+     */
+    public static void desassociar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Ocupa uma vaga da faixa, esperando até {@code estoque.faixa.esperaMs},
+     * e associa a faixa à thread atual.
+     *
+     * @return {@code false} se não houve vaga no prazo (a requisição deve ser recusada)
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public boolean entrar() throws InterruptedException {
+        long inicio = System.nanoTime();
+        aguardando.incrementAndGet();
+        boolean obtida;
+        try {
+            obtida = vagas.tryAcquire(ESPERA_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+        esperaNanos.add(System.nanoTime() - inicio);
+        if (!obtida) {
+            recusadas.increment();
+            return false;
+        }
+        atendidas.increment();
+        ATUAL.set(this);
+        return true;
+    }
+
+    /**
+     * Libera a vaga ocupada por {@link #entrar()} e desassocia a thread.
+     */
+    public void sair() {
+        ATUAL.remove();
+        vagas.release();
+    }
+
+    /**
+     * Reserva uma conexão da cota da faixa, esperando até
+     * {@code estoque.faixa.esperaMs}.
+     *
+     * @return {@code true} se a conexão foi reservada
+     */
+    public boolean reservarConexao() {
+        try {
+            if (conexoes.tryAcquire(ESPERA_MS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        semConexao.increment();
+        return false;
+    }
+
+    /**
+     * Devolve uma conexão à cota sem vinculá-la (usado quando a abertura falha).
+     */
+    public void liberarConexao() {
+        conexoes.release();
+    }
+
+    /**
+     * Envolve uma conexão já reservada de modo que o {@code close()} devolva
+     * a reserva à cota da faixa (uma única vez).
+     *
+     * @param conexao conexão aberta
+     * @return conexão que libera a cota ao ser fechada
+     */
+    public Connection vincular(Connection conexao) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Faixa.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            return metodo.invoke(conexao, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            conexoes.release();
+                        }
+                    }
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Monta o estado das faixas, uma linha por faixa, para o comando
+     * {@code METRICAS_FAIXAS}.
+     *
+     * @return linhas com limites, ocupação, fila e contadores
+     */
+    public static List<Map<String, Object>> resumir() {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        for (Faixa f : values()) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            long atendidas = f.atendidas.sum();
+            long recusadas = f.recusadas.sum();
+            linha.put("faixa", f.name());
+            linha.put("limite", f.limite);
+            linha.put("em_execucao", f.limite - f.vagas.availablePermits());
+            linha.put("aguardando", f.aguardando.get());
+            linha.put("limite_conexoes", f.limiteConexoes);
+            linha.put("prazo_ms", f.prazoMs);
+            linha.put("conexoes_em_uso", f.limiteConexoes - f.conexoes.availablePermits());
+            linha.put("atendidas", atendidas);
+            linha.put("recusadas", recusadas);
+            linha.put("sem_conexao", f.semConexao.sum());
+            long tentativas = atendidas + recusadas;
+            linha.put("espera_media_ms", tentativas == 0 ? 0.0
+                    : Math.round(f.esperaNanos.sum() / (double) tentativas / 1_000) / 1_000.0);
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,241 @@
+package idempotencia;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import log.Log;
+
+/**
+ * Cache de deduplicação para requisições com chave de idempotência, como o
+ * {@code INSERIR_MOVIMENTACAO} reenviado por um cliente que não recebeu a
+ * resposta a tempo.
+ * <p>
+ * A primeira requisição com uma chave é executada e a resposta fica
+ * guardada; as repetições recebem a mesma resposta, sem executar de novo.
+ * Uma repetição que chega enquanto a primeira ainda está em andamento espera
+ * por ela. Respostas de erro não ficam guardadas: a próxima tentativa com a
+ * mesma chave é executada normalmente. Junto com a chave fica o conteúdo da
+ * requisição: a mesma chave com outro conteúdo é um erro do cliente e recebe
+ * {@link #CHAVE_REUTILIZADA}, em vez da resposta de outra requisição.
+ * </p>
+ *
+ * <p><b>Limites:</b> as chaves valem por {@code -Destoque.idempotencia.validadeSeg}
+ * segundos (padrão 600) e o cache guarda no máximo
+ * {@code -Destoque.idempotencia.maxChaves} chaves (padrão 100000); acima
+ * disso, as mais antigas saem primeiro. A validade é a mesma para todas as
+ * chaves, então a ordem de chegada é também a de vencimento, e a limpeza é
+ * feita na própria inserção, retirando as chaves do início da fila, sem
+ * thread própria. Uma chave que saiu do cache ainda é barrada pela coluna
+ * única do banco ({@code movimentacao.chave_idempotencia}); com o journal
+ * ativo, pelo índice de chaves do journal antes do aceite.</p>
+ *
+ * <p>Requisições sem chave passam direto, e a consulta de uma chave custa
+ * uma busca no {@link ConcurrentHashMap}.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CacheIdempotencia {
+
+    /** Tamanho máximo de uma chave (o da coluna {@code chave_idempotencia}). */
+    public static final int TAMANHO_MAXIMO_CHAVE = 64;
+
+    /** Resposta para uma chave já usada com outro conteúdo. */
+    public static final String CHAVE_REUTILIZADA = "Erro: chave de idempotência já usada com outro conteúdo.";
+
+    /** Validade padrão de uma chave ({@code -Destoque.idempotencia.validadeSeg}). */
+    private static final long VALIDADE_NS = TimeUnit.SECONDS.toNanos(
+            Math.max(1, Integer.getInteger("estoque.idempotencia.validadeSeg", 600)));
+
+    /** Quantidade máxima padrão de chaves guardadas ({@code -Destoque.idempotencia.maxChaves}). */
+    private static final int MAX_CHAVES = Math.max(1, Integer.getInteger("estoque.idempotencia.maxChaves", 100_000));
+
+    /** Instância compartilhada pelo servidor; declarada depois dos valores padrão, que o construtor lê. */
+    private static final CacheIdempotencia INSTANCIA = new CacheIdempotencia();
+
+    /** Validade de uma chave, em nanossegundos. */
+    private final long validadeNs;
+
+    /** Quantidade máxima de chaves guardadas. */
+    private final int maxChaves;
+
+    /** Entradas por chave. */
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    /** Entradas na ordem de chegada (e de vencimento), para a limpeza. */
+    private final Queue<Entrada> fila = new ConcurrentLinkedQueue<>();
+
+    /** Quantidade de entradas no mapa. */
+    private final AtomicInteger tamanho = new AtomicInteger();
+
+    /** Repetições respondidas pelo cache. */
+    private final LongAdder repetidas = new LongAdder();
+
+    /** Chaves recusadas por chegarem com outro conteúdo. */
+    private final LongAdder reutilizadas = new LongAdder();
+
+    private CacheIdempotencia() {
+        this(VALIDADE_NS, MAX_CHAVES);
+    }
+
+    /**
+     * @param validadeNs validade de uma chave, em nanossegundos
+     * @param maxChaves quantidade máxima de chaves guardadas
+     */
+    CacheIdempotencia(long validadeNs, int maxChaves) {
+        this.validadeNs = validadeNs;
+        this.maxChaves = maxChaves;
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return cache de idempotência do servidor
+     */
+    public static CacheIdempotencia getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Execução de uma requisição, que retorna a resposta enviada ao cliente.
+     *
+     * @param <E> exceção que a execução pode lançar
+     */
+    @FunctionalInterface
+    public interface Execucao<E extends Exception> {
+
+        /**
+         * @return resposta da requisição ({@code "Erro..."} em caso de falha)
+         * @throws E se a execução falhar
+         */
+        String executar() throws E;
+    }
+
+    /**
+     * Chave guardada, com o conteúdo e a resposta da primeira execução
+     * (completada com {@code null} se ela falhou).
+     */
+    private record Entrada(String chave, Object conteudo, long venceEm, CompletableFuture<String> resposta) {
+
+        boolean vencida(long agora) {
+            return agora - venceEm > 0;
+        }
+    }
+
+    /**
+     * Executa a requisição uma única vez por chave: se a chave já foi vista
+     * e não venceu, retorna a resposta guardada (esperando a primeira
+     * execução terminar, se preciso), desde que o conteúdo seja o mesmo.
+     *
+     * @param <E> exceção que a execução pode lançar
+     * @param chave chave de idempotência, ou {@code null} para executar sempre
+     * @param conteudo resumo do conteúdo da requisição, comparado com {@code equals}
+     * @param execucao requisição a executar
+     * @return resposta da primeira execução com a chave, ou
+     *         {@link #CHAVE_REUTILIZADA} se ela veio com outro conteúdo
+     * @throws E se a execução falhar
+     * @throws IllegalArgumentException se a chave for vazia ou maior que {@value #TAMANHO_MAXIMO_CHAVE} caracteres
+     */
+    public <E extends Exception> String executar(String chave, Object conteudo, Execucao<E> execucao) throws E {
+        if (chave == null) {
+            return execucao.executar();
+        }
+        if (chave.isEmpty() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    "chave de idempotência deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+
+        while (true) {
+            long agora = System.nanoTime();
+            Entrada atual = entradas.get(chave);
+            if (atual != null && !atual.vencida(agora)) {
+                if (!Objects.equals(atual.conteudo(), conteudo)) {
+                    reutilizadas.increment();
+                    Log.aviso("⚠️ Chave de idempotência reutilizada com outro conteúdo", "chave", chave);
+                    return CHAVE_REUTILIZADA;
+                }
+                String resposta = atual.resposta().join();
+                if (resposta != null) {
+                    repetidas.increment();
+                    Log.debug("🔁 Requisição repetida respondida pelo cache", "chave", chave);
+                    return resposta;
+                }
+                // A primeira execução falhou e já saiu do cache: tenta de novo
+                continue;
+            }
+
+            Entrada nova = new Entrada(chave, conteudo, agora + validadeNs, new CompletableFuture<>());
+            boolean inserida = atual == null
+                    ? entradas.putIfAbsent(chave, nova) == null
+                    : entradas.replace(chave, atual, nova);
+            if (!inserida) {
+                continue;
+            }
+            if (atual == null) {
+                tamanho.incrementAndGet();
+            }
+            fila.add(nova);
+            limpar(agora);
+            return executarPrimeira(nova, execucao);
+        }
+    }
+
+    /** Executa a primeira requisição de uma chave e guarda a resposta, se não for erro. */
+    private <E extends Exception> String executarPrimeira(Entrada entrada, Execucao<E> execucao) throws E {
+        String resposta = null;
+        try {
+            resposta = execucao.executar();
+            return resposta;
+        } finally {
+            if (resposta == null || resposta.regionMatches(true, 0, "ERRO", 0, 4)) {
+                remover(entrada);
+                entrada.resposta().complete(null);
+            } else {
+                entrada.resposta().complete(resposta);
+            }
+        }
+    }
+
+    /**
+     * Retira do início da fila as entradas vencidas, as que já saíram do mapa
+     * (erro ou substituídas) e as que passam do limite de chaves.
+     */
+    private void limpar(long agora) {
+        Entrada primeira;
+        while ((primeira = fila.peek()) != null
+                && (tamanho.get() > maxChaves || primeira.vencida(agora)
+                    || entradas.get(primeira.chave()) != primeira)) {
+            Entrada retirada = fila.poll();
+            if (retirada != null) {
+                remover(retirada);
+            }
+        }
+    }
+
+    private void remover(Entrada entrada) {
+        if (entradas.remove(entrada.chave(), entrada)) {
+            tamanho.decrementAndGet();
+        }
+    }
+
+    /** @return quantidade de chaves guardadas */
+    public int getTamanho() {
+        return tamanho.get();
+    }
+
+    /** @return repetições respondidas pelo cache desde o início */
+    public long getRepetidas() {
+        return repetidas.sum();
+    }
+
+    /** @return chaves recusadas por chegarem com outro conteúdo, desde o início */
+    public long getReutilizadas() {
+        return reutilizadas.sum();
+    }
+}
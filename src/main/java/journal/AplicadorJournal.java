@@ -0,0 +1,341 @@
+package journal;
+
+import dao.MovimentacaoDAO;
+import dao.MovimentacaoRepositorio;
+import dao.Repositorios;
+import log.Log;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * Thread de fundo que aplica no MySQL, em ordem, as movimentações gravadas no
+ * {@link JournalMovimentacoes}.
+ * <p>
+ * Cada registro é gravado por {@link MovimentacaoDAO#inserirDoJournal}, que usa
+ * a sequência do journal como chave única: reaplicar um registro já gravado
+ * não gera duplicidade. Isso torna seguro o reprocessamento após uma queda
+ * entre a gravação no banco e a atualização do checkpoint.
+ * </p>
+ *
+ * <p><b>Tratamento de erros:</b></p>
+ * <ul>
+ *     <li>Falhas transitórias (banco fora do ar, conexão recusada) — o mesmo
+ *     registro é tentado novamente, com espera crescente, preservando a ordem;</li>
+ *     <li>Violações de integridade (ex.: produto excluído depois do aceite) —
+ *     o registro vai para o arquivo de rejeitadas ({@value #ARQUIVO_REJEITADAS}),
+ *     para não travar os seguintes;</li>
+ *     <li>Demais erros — o registro é tentado até {@value #TENTATIVAS_MAXIMAS}
+ *     vezes e, se continuar falhando, também vai para as rejeitadas.</li>
+ * </ul>
+ *
+ * <p>O arquivo de rejeitadas guarda uma linha por registro (sequência,
+ * produto, tipo, quantidade, data, chave e motivo, separados por tabulação),
+ * gravada em disco antes de o aplicador passar ao próximo: o cliente já
+ * recebeu sucesso, e a movimentação precisa ser conferida e lançada à mão. A
+ * quantidade de rejeitadas aparece na métrica {@code journal_rejeitadas}.</p>
+ *
+ * <p>O checkpoint ({@value #ARQUIVO_CHECKPOINT}) guarda a maior sequência já
+ * aplicada e é gravado de forma atômica (arquivo temporário + renomeação).
+ * Após cada checkpoint, os segmentos já aplicados são removidos.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class AplicadorJournal {
+
+    /** Nome do arquivo de checkpoint dentro do diretório do journal. */
+    static final String ARQUIVO_CHECKPOINT = "aplicado.chk";
+
+    /** Quantidade de registros aplicados entre gravações do checkpoint. */
+    private static final int REGISTROS_POR_CHECKPOINT = 256;
+
+    /** Nome do arquivo de registros rejeitados dentro do diretório do journal. */
+    static final String ARQUIVO_REJEITADAS = "rejeitadas.tsv";
+
+    /** Espera máxima entre tentativas quando o banco está indisponível, em milissegundos. */
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    /** Tentativas de um registro com erro não transitório antes de rejeitá-lo. */
+    static final int TENTATIVAS_MAXIMAS = 5;
+
+    /** Registros rejeitados desde o início do processo. */
+    private static final LongAdder REJEITADAS = new LongAdder();
+
+    /** Journal de origem dos registros. */
+    private final JournalMovimentacoes journal;
+
+    /** DAO usado para gravar as movimentações. */
+    private final MovimentacaoRepositorio movimentacaoDAO = Repositorios.movimentacoes();
+
+    /** Maior sequência já aplicada no banco (ou rejeitada). */
+    private volatile long aplicado;
+
+    /**
+     * Trava de cada tentativa de gravação: quem a segura vê o banco e
+     * {@link #aplicado} parados ({@link #lerSemAplicar}).
+     */
+    private final Object gravacao = new Object();
+
+    /**
+     * Leitura do banco que precisa saber até que sequência o journal já foi
+     * aplicado.
+     *
+     * @param <T> resultado da leitura
+     * @param <E> exceção que a leitura pode lançar
+     */
+    @FunctionalInterface
+    public interface LeituraAplicada<T, E extends Exception> {
+
+        /**
+         * @param aplicadoAte maior sequência do journal já refletida no banco
+         * @return resultado da leitura
+         * @throws E se a leitura falhar
+         */
+        T ler(long aplicadoAte) throws E;
+    }
+
+    /**
+     * Cria o aplicador para o journal informado, retomando do checkpoint.
+     *
+     * @param journal journal de origem
+     * @throws IOException se o checkpoint não puder ser lido
+     */
+    public AplicadorJournal(JournalMovimentacoes journal) throws IOException {
+        this.journal = journal;
+        this.aplicado = lerCheckpoint(journal.getDiretorio());
+    }
+
+    /**
+     * Inicia a thread de aplicação (daemon).
+     */
+    public void iniciar() {
+        Thread t = new Thread(this::executar, "journal-aplicador");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Laço principal: lê os registros em ordem e os grava no banco.
+     */
+    private void executar() {
+        JournalMovimentacoes.Cursor cursor = journal.abrirCursor(aplicado);
+        int desdeCheckpoint = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                RegistroJournal registro = cursor.proximo();
+                if (registro == null) {
+                    if (desdeCheckpoint > 0) {
+                        salvarCheckpoint();
+                        desdeCheckpoint = 0;
+                    }
+                    journal.aguardarNovos(aplicado, 200);
+                    continue;
+                }
+
+                aplicar(registro);
+
+                if (++desdeCheckpoint >= REGISTROS_POR_CHECKPOINT) {
+                    salvarCheckpoint();
+                    desdeCheckpoint = 0;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                Log.erro("💥 Erro ao gravar checkpoint do journal", e);
+            }
+        }
+    }
+
+    /**
+     * Grava um registro no banco, repetindo enquanto a falha for transitória.
+     * Um registro que o banco recusa vai para as rejeitadas.
+     *
+     * @param registro registro a aplicar
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    private void aplicar(RegistroJournal registro) throws InterruptedException {
+        long espera = 100;
+        int tentativas = 0;
+        while (true) {
+            String motivo;
+            try {
+                synchronized (gravacao) {
+                    movimentacaoDAO.inserirDoJournal(registro.paraMovimentacao(), registro.sequencia());
+                    aplicado = registro.sequencia();
+                }
+                return;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                motivo = e.getMessage();
+            } catch (SQLException e) {
+                if (transitoria(e)) {
+                    Log.aviso("⏳ Banco indisponível ao aplicar journal", "seq", registro.sequencia(),
+                            "nova_tentativa_ms", espera, "motivo", e.getMessage());
+                    Thread.sleep(espera);
+                    espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+                    continue;
+                }
+                if (++tentativas < TENTATIVAS_MAXIMAS) {
+                    Log.aviso("⏳ Erro ao aplicar journal", "seq", registro.sequencia(),
+                            "tentativa", tentativas, "motivo", e.getMessage());
+                    Thread.sleep(espera);
+                    espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+                    continue;
+                }
+                motivo = e.getMessage();
+            }
+
+            try {
+                synchronized (gravacao) {
+                    rejeitar(journal.getDiretorio(), registro, motivo);
+                    aplicado = registro.sequencia();
+                }
+                return;
+            } catch (IOException e) {
+                // Sem a linha em disco, o registro não pode ser pulado
+                Log.erro("💥 Erro ao gravar movimentação rejeitada do journal", e);
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+    }
+
+    /**
+     * Indica se a falha é de conexão ou de concorrência, e passa sozinha:
+     * exceções transitórias do JDBC, {@code SQLState} das classes {@code 08}
+     * (conexão) e {@code 40} (transação desfeita), ou sem {@code SQLState}
+     * ({@code "Sem conexão com o banco de dados."}).
+     */
+    static boolean transitoria(SQLException e) {
+        if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+            return true;
+        }
+        String estado = e.getSQLState();
+        return estado == null || estado.startsWith("08") || estado.startsWith("40");
+    }
+
+    /**
+     * Acrescenta um registro ao arquivo de rejeitadas, com gravação síncrona,
+     * e conta a rejeição.
+     *
+     * @param diretorio diretório do journal
+     * @param registro registro rejeitado
+     * @param motivo mensagem do erro
+     * @throws IOException se a linha não puder ser gravada
+     */
+    static void rejeitar(Path diretorio, RegistroJournal registro, String motivo) throws IOException {
+        String linha = registro.sequencia() + "\t" + registro.produtoId() + "\t" + registro.tipo()
+                + "\t" + registro.quantidade() + "\t" + Instant.ofEpochMilli(registro.dataMillis())
+                + "\t" + (registro.chaveIdempotencia() == null ? "" : registro.chaveIdempotencia())
+                + "\t" + (motivo == null ? "" : motivo.replace('\t', ' ').replace('\n', ' ')) + "\n";
+        Files.writeString(diretorio.resolve(ARQUIVO_REJEITADAS), linha, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        REJEITADAS.increment();
+        Log.erro("💥 Movimentação do journal rejeitada", "seq", registro.sequencia(),
+                "produto", registro.produtoId(), "arquivo", ARQUIVO_REJEITADAS, "motivo", motivo);
+    }
+
+    /**
+     * Retorna quantos registros do journal foram para as rejeitadas desde o
+     * início do processo.
+     *
+     * @return total de rejeitadas
+     */
+    public static long getRejeitadas() {
+        return REJEITADAS.sum();
+    }
+
+    /**
+     * Grava o checkpoint de forma atômica e remove os segmentos que ficaram
+     * totalmente aplicados.
+     *
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    private void salvarCheckpoint() throws IOException {
+        salvarCheckpoint(journal.getDiretorio(), aplicado);
+        journal.truncarAplicados(aplicado);
+    }
+
+    /**
+     * Executa uma leitura do banco entre duas gravações do aplicador: a
+     * sequência informada é exatamente a última refletida no que a leitura
+     * vê, e os registros posteriores ainda estão só no journal
+     * ({@link JournalMovimentacoes#totaisApos}). O aplicador espera a leitura
+     * terminar.
+     *
+     * @param <T> resultado da leitura
+     * @param <E> exceção que a leitura pode lançar
+     * @param leitura leitura a executar
+     * @return resultado da leitura
+     * @throws E se a leitura falhar
+     */
+    public <T, E extends Exception> T lerSemAplicar(LeituraAplicada<T, E> leitura) throws E {
+        synchronized (gravacao) {
+            return leitura.ler(aplicado);
+        }
+    }
+
+    /**
+     * Retorna a maior sequência já aplicada no banco.
+     *
+     * @return sequência aplicada
+     */
+    public long getAplicado() {
+        return aplicado;
+    }
+
+    /**
+     * Lê o checkpoint do diretório do journal.
+     *
+     * @param diretorio diretório do journal
+     * @return maior sequência aplicada, ou {@code 0} se não houver checkpoint válido
+     * @throws IOException se o arquivo existir mas não puder ser lido
+     */
+    public static long lerCheckpoint(Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve(ARQUIVO_CHECKPOINT);
+        if (!Files.exists(arquivo)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(arquivo);
+        if (bytes.length != 12) {
+            return 0;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long sequencia = buf.getLong();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, 8);
+        return (int) crc.getValue() == buf.getInt() ? sequencia : 0;
+    }
+
+    /**
+     * Grava o checkpoint no diretório do journal.
+     *
+     * @param diretorio diretório do journal
+     * @param sequencia maior sequência aplicada
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    static void salvarCheckpoint(Path diretorio, long sequencia) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(12);
+        buf.putLong(sequencia);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), 0, 8);
+        buf.putInt((int) crc.getValue());
+
+        Path temporario = diretorio.resolve(ARQUIVO_CHECKPOINT + ".tmp");
+        Files.write(temporario, buf.array());
+        Files.move(temporario, diretorio.resolve(ARQUIVO_CHECKPOINT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
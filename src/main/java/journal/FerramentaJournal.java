@@ -0,0 +1,131 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ferramenta de linha de comando para inspecionar e manter o diretório do
+ * {@link JournalMovimentacoes}.
+ *
+ * <p><b>Comandos:</b></p>
+ * <ul>
+ *     <li>{@code inspecionar <dir> [--registros]} — lista os segmentos (sequências,
+ *     quantidade de registros, ocupação, cauda corrompida) e o checkpoint do
+ *     aplicador; com {@code --registros}, imprime também cada registro;</li>
+ *     <li>{@code truncar <dir>} — remove os segmentos cujos registros já foram
+ *     todos aplicados no banco, segundo o checkpoint.</li>
+ * </ul>
+ *
+ * <p>Os segmentos são abertos somente para leitura na inspeção. O truncamento
+ * nunca remove o último segmento (o ativo) e pode ser executado com o
+ * servidor parado ou em funcionamento, pois só remove arquivos que o
+ * aplicador já ultrapassou.</p>
+ *
+ * <p>Exemplo:</p>
+ * <pre>{@code
+ *     java -cp target/classes journal.FerramentaJournal inspecionar /var/estoque/journal
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class FerramentaJournal {
+
+    /**
+     * Ponto de entrada da ferramenta.
+     *
+     * @param args comando e diretório do journal
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Uso: FerramentaJournal inspecionar <dir> [--registros] | truncar <dir>");
+            System.exit(1);
+        }
+
+        Path diretorio = Paths.get(args[1]);
+        try {
+            switch (args[0]) {
+                case "inspecionar" -> inspecionar(diretorio, args.length > 2 && args[2].equals("--registros"));
+                case "truncar" -> truncar(diretorio);
+                default -> {
+                    System.err.println("❌ Comando desconhecido: " + args[0]);
+                    System.exit(1);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("💥 Erro ao acessar o journal: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Imprime o resumo de cada segmento e, opcionalmente, seus registros.
+     *
+     * @param diretorio diretório do journal
+     * @param registros se {@code true}, imprime cada registro
+     * @throws IOException se algum segmento não puder ser lido
+     */
+    private static void inspecionar(Path diretorio, boolean registros) throws IOException {
+        long aplicado = AplicadorJournal.lerCheckpoint(diretorio);
+        List<Path> arquivos = JournalMovimentacoes.listarArquivos(diretorio);
+
+        System.out.println("📒 Journal: " + diretorio.toAbsolutePath());
+        System.out.println("   Checkpoint (aplicado até): " + aplicado);
+        System.out.println("   Segmentos: " + arquivos.size());
+
+        long pendentes = 0;
+        for (Path arquivo : arquivos) {
+            SegmentoJournal s = SegmentoJournal.abrir(arquivo, true);
+            try {
+                double ocupacao = 100.0 * s.getLimiteLeitura() / s.getCapacidade();
+                System.out.printf("   %s | seq %d..%d | %d registros | %.1f%% ocupado%s%n",
+                        arquivo.getFileName(), s.getPrimeiraSequencia(), s.getUltimaSequencia(),
+                        s.getRegistros(), ocupacao,
+                        s.isCaudaCorrompida() ? " | ⚠️ cauda corrompida (gravação interrompida)" : "");
+
+                pendentes += Math.max(0, s.getUltimaSequencia() - Math.max(aplicado, s.getPrimeiraSequencia() - 1));
+
+                if (registros) {
+                    for (int pos = SegmentoJournal.TAMANHO_CABECALHO; pos < s.getLimiteLeitura(); pos = s.proximaPosicao(pos)) {
+                        RegistroJournal r = s.ler(pos);
+                        System.out.printf("      #%d %s produto=%d qtd=%d data=%s%s%n",
+                                r.sequencia(), r.tipo(), r.produtoId(), r.quantidade(),
+                                Instant.ofEpochMilli(r.dataMillis()),
+                                r.sequencia() <= aplicado ? "" : " (pendente)");
+                    }
+                }
+            } finally {
+                s.fechar();
+            }
+        }
+        System.out.println("   Registros pendentes de aplicação: " + pendentes);
+    }
+
+    /**
+     * Remove os segmentos já aplicados, preservando o último.
+     *
+     * @param diretorio diretório do journal
+     * @throws IOException se algum arquivo não puder ser lido ou removido
+     */
+    private static void truncar(Path diretorio) throws IOException {
+        long aplicado = AplicadorJournal.lerCheckpoint(diretorio);
+        List<Path> arquivos = JournalMovimentacoes.listarArquivos(diretorio);
+
+        int removidos = 0;
+        for (int i = 0; i < arquivos.size() - 1; i++) {
+            SegmentoJournal s = SegmentoJournal.abrir(arquivos.get(i), true);
+            if (s.getUltimaSequencia() > aplicado) {
+                s.fechar();
+                break;
+            }
+            s.excluir();
+            removidos++;
+            System.out.println("🗑️ Segmento removido: " + arquivos.get(i).getFileName());
+        }
+        System.out.println("✅ Truncamento concluído. Segmentos removidos: " + removidos
+                + " (checkpoint: " + aplicado + ")");
+    }
+}
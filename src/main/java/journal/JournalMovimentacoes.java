@@ -0,0 +1,506 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import model.Movimentacao;
+import model.TipoMovimentacao;
+
+/**
+ * Journal local, somente de acréscimo, das movimentações recebidas pelo
+ * servidor.
+ * <p>
+ * Com o journal ativo, o comando {@code INSERIR_MOVIMENTACAO} apenas grava a
+ * movimentação em um arquivo mapeado em memória e responde ao cliente; a
+ * gravação no MySQL é feita depois, em ordem, pelo {@link AplicadorJournal}.
+ * Assim, a latência de aceite de uma movimentação não depende do banco.
+ * </p>
+ *
+ * <p><b>Características:</b></p>
+ * <ul>
+ *     <li>Registros com número de sequência crescente e CRC32C;</li>
+ *     <li>Arquivos divididos em segmentos de tamanho fixo ({@link SegmentoJournal});</li>
+ *     <li>Política de {@code fsync} configurável ({@link PoliticaFsync});</li>
+ *     <li>Recuperação automática de gravações interrompidas na reabertura;</li>
+ *     <li>Índice em memória das chaves de idempotência dos segmentos abertos,
+ *     refeito na reabertura, para recusar um reenvio sem consultar o banco.</li>
+ * </ul>
+ *
+ * <p><b>Configuração</b> (propriedades de sistema, ex.: {@code -Destoque.journal.dir=/var/estoque/journal}):</p>
+ * <ul>
+ *     <li>{@code estoque.journal.dir} — diretório do journal; sem ela, o journal fica desativado;</li>
+ *     <li>{@code estoque.journal.fsync} — {@code SEMPRE}, {@code INTERVALO} (padrão) ou {@code NUNCA};</li>
+ *     <li>{@code estoque.journal.fsyncIntervaloMs} — intervalo da política {@code INTERVALO} (padrão 100);</li>
+ *     <li>{@code estoque.journal.segmentoMb} — tamanho de cada segmento em MB (padrão 64).</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class JournalMovimentacoes {
+
+    /** Instância configurada por {@link #iniciarSeConfigurado()}, ou {@code null} se desativado. */
+    private static volatile JournalMovimentacoes instancia;
+
+    /** Diretório onde ficam os segmentos e o checkpoint. */
+    private final Path diretorio;
+
+    /** Política de sincronização com o disco. */
+    private final PoliticaFsync politica;
+
+    /** Tamanho de cada segmento, em bytes. */
+    private final int tamanhoSegmento;
+
+    /** Segmentos abertos, do mais antigo para o mais recente (o último é o ativo). */
+    private final List<SegmentoJournal> segmentos = new ArrayList<>();
+
+    /** Próxima sequência a ser atribuída. */
+    private long proximaSequencia;
+
+    /** Agendador do {@code fsync} periódico (apenas na política {@link PoliticaFsync#INTERVALO}). */
+    private ScheduledExecutorService agendador;
+
+    /** Registros com chave de idempotência nos segmentos abertos, por chave. */
+    private final Map<String, RegistroJournal> chaves = new HashMap<>();
+
+    /** Os mesmos registros em ordem de sequência, para tirá-los do índice com o segmento. */
+    private final ArrayDeque<RegistroJournal> registrosComChave = new ArrayDeque<>();
+
+    /** Aplicador do journal ativo ({@code null} em journals abertos por ferramentas e testes). */
+    private AplicadorJournal aplicador;
+
+    /** Objeto usado para avisar leitores (o aplicador) de novos registros. */
+    private final Object novosRegistros = new Object();
+
+    /**
+     * Abre (ou cria) o journal no diretório informado.
+     *
+     * O {@code fsync} periódico da política {@link PoliticaFsync#INTERVALO}
+     * só começa com {@link #iniciarFsync(long)}, chamado depois da construção.
+     *
+     * @param diretorio diretório do journal
+     * @param politica política de {@code fsync}
+     * @param tamanhoSegmento tamanho de cada segmento, em bytes
+     * @throws IOException se o diretório ou os segmentos não puderem ser abertos
+     */
+    public JournalMovimentacoes(Path diretorio, PoliticaFsync politica, int tamanhoSegmento) throws IOException {
+        this.diretorio = diretorio;
+        this.politica = politica;
+        this.tamanhoSegmento = tamanhoSegmento;
+
+        Files.createDirectories(diretorio);
+        for (Path arquivo : listarArquivos(diretorio)) {
+            SegmentoJournal s = SegmentoJournal.abrir(arquivo, false);
+            if (!segmentos.isEmpty()) {
+                segmentos.get(segmentos.size() - 1).marcarSelado();
+            }
+            segmentos.add(s);
+            indexarChaves(s);
+        }
+
+        if (segmentos.isEmpty()) {
+            long inicio = AplicadorJournal.lerCheckpoint(diretorio) + 1;
+            segmentos.add(SegmentoJournal.criar(diretorio, inicio, tamanhoSegmento));
+        }
+        proximaSequencia = ativo().getUltimaSequencia() + 1;
+    }
+
+    /**
+     * Inicia o {@code fsync} periódico, se a política for
+     * {@link PoliticaFsync#INTERVALO}.
+     *
+     * @param intervaloFsyncMs intervalo do {@code fsync} periódico, em milissegundos
+     */
+    public synchronized void iniciarFsync(long intervaloFsyncMs) {
+        if (politica != PoliticaFsync.INTERVALO || agendador != null) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-fsync");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleAtFixedRate(this::forcar, intervaloFsyncMs, intervaloFsyncMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ativa o journal e seu aplicador caso a propriedade
+     * {@code estoque.journal.dir} esteja definida.
+     *
+     * @return o journal ativo, ou {@code null} se não configurado
+     * @throws IOException se o journal não puder ser aberto
+     */
+    public static synchronized JournalMovimentacoes iniciarSeConfigurado() throws IOException {
+        String dir = System.getProperty("estoque.journal.dir");
+        if (dir == null || dir.isBlank() || instancia != null) {
+            return instancia;
+        }
+
+        PoliticaFsync politica = PoliticaFsync.valueOf(
+                System.getProperty("estoque.journal.fsync", PoliticaFsync.INTERVALO.name()).toUpperCase());
+        long intervalo = Long.getLong("estoque.journal.fsyncIntervaloMs", 100);
+        int segmentoMb = Integer.getInteger("estoque.journal.segmentoMb", 64);
+
+        JournalMovimentacoes journal = new JournalMovimentacoes(Paths.get(dir), politica, segmentoMb * 1024 * 1024);
+        journal.iniciarFsync(intervalo);
+        journal.aplicador = new AplicadorJournal(journal);
+        journal.aplicador.iniciar();
+        instancia = journal;
+        return journal;
+    }
+
+    /**
+     * @return aplicador do journal ativo, ou {@code null} se este journal não
+     *         tiver sido aberto por {@link #iniciarSeConfigurado()}
+     */
+    public AplicadorJournal getAplicador() {
+        return aplicador;
+    }
+
+    /**
+     * Retorna o journal ativo.
+     *
+     * @return journal ativo, ou {@code null} se o journal estiver desativado
+     */
+    public static JournalMovimentacoes getInstancia() {
+        return instancia;
+    }
+
+    /**
+     * Grava uma movimentação no journal.
+     * <p>
+     * Ao retornar, o registro já está visível para o aplicador e, conforme a
+     * política {@link PoliticaFsync#SEMPRE}, gravado em disco.
+     * </p>
+     *
+     * @param mov movimentação recebida do cliente
+     * @return número de sequência atribuído ao registro
+     * @throws IOException se não for possível criar um novo segmento
+     */
+    public long anexar(Movimentacao mov) throws IOException {
+        RegistroJournal registro;
+        synchronized (this) {
+            registro = gravar(mov);
+        }
+        avisarNovos();
+        return registro.sequencia();
+    }
+
+    /**
+     * Grava uma movimentação no journal, a menos que a chave de idempotência
+     * dela já esteja em um segmento aberto. A consulta e a gravação são
+     * feitas sob a mesma trava: dois envios com a mesma chave não gravam
+     * ambos.
+     * <p>
+     * Uma chave cujo segmento já foi aplicado e removido não está mais no
+     * índice; nesse caso, a coluna única {@code chave_idempotencia} do banco
+     * impede a segunda gravação quando o aplicador chega ao registro.
+     * </p>
+     *
+     * @param mov movimentação recebida do cliente
+     * @return registro anterior com a mesma chave (nada foi gravado), ou
+     *         {@code null} se a movimentação foi gravada agora
+     * @throws IOException se não for possível criar um novo segmento
+     */
+    public RegistroJournal anexarSeChaveNova(Movimentacao mov) throws IOException {
+        synchronized (this) {
+            RegistroJournal anterior = mov.getChaveIdempotencia() == null
+                    ? null
+                    : chaves.get(mov.getChaveIdempotencia());
+            if (anterior != null) {
+                return anterior;
+            }
+            gravar(mov);
+        }
+        avisarNovos();
+        return null;
+    }
+
+    /**
+     * Procura uma chave de idempotência nos segmentos abertos.
+     *
+     * @param chave chave de idempotência
+     * @return registro gravado com a chave, ou {@code null}
+     */
+    public synchronized RegistroJournal buscarChave(String chave) {
+        return chaves.get(chave);
+    }
+
+    /**
+     * Soma as entradas e saídas de um produto gravadas no journal após uma
+     * sequência: as que o aplicador ainda não levou ao banco, se a sequência
+     * for a aplicada. Percorre só os segmentos com registros posteriores.
+     *
+     * @param produtoId ID do produto
+     * @param aposSequencia maior sequência já contabilizada (exclusiva)
+     * @return {@code {entradas, saidas}}
+     */
+    public synchronized long[] totaisApos(int produtoId, long aposSequencia) {
+        long[] soma = new long[2];
+        for (SegmentoJournal segmento : segmentos) {
+            if (segmento.getUltimaSequencia() <= aposSequencia) {
+                continue;
+            }
+            for (int posicao = SegmentoJournal.TAMANHO_CABECALHO; posicao < segmento.getLimiteLeitura();
+                    posicao = segmento.proximaPosicao(posicao)) {
+                RegistroJournal r = segmento.ler(posicao);
+                if (r.sequencia() > aposSequencia && r.produtoId() == produtoId) {
+                    soma[TipoMovimentacao.ENTRADA.name().equals(r.tipo()) ? 0 : 1] += r.quantidade();
+                }
+            }
+        }
+        return soma;
+    }
+
+    /** Grava o registro no segmento ativo; chamado com a trava do journal. */
+    private RegistroJournal gravar(Movimentacao mov) throws IOException {
+        long sequencia = proximaSequencia;
+        RegistroJournal registro = RegistroJournal.de(sequencia, mov);
+
+        SegmentoJournal ativo = ativo();
+        if (!ativo.anexar(registro)) {
+            ativo.selar();
+            ativo = SegmentoJournal.criar(diretorio, sequencia, tamanhoSegmento);
+            segmentos.add(ativo);
+            if (!ativo.anexar(registro)) {
+                throw new IOException("Registro maior que o segmento do journal.");
+            }
+        }
+        if (politica == PoliticaFsync.SEMPRE) {
+            ativo.forcar();
+        }
+        proximaSequencia++;
+        indexarChave(registro);
+        return registro;
+    }
+
+    /** Avisa os leitores (o aplicador) de novos registros; chamado sem a trava do journal. */
+    private void avisarNovos() {
+        synchronized (novosRegistros) {
+            novosRegistros.notifyAll();
+        }
+    }
+
+    /** Acrescenta ao índice as chaves de um segmento aberto na reabertura. */
+    private void indexarChaves(SegmentoJournal segmento) {
+        for (int posicao = SegmentoJournal.TAMANHO_CABECALHO; posicao < segmento.getLimiteLeitura();
+                posicao = segmento.proximaPosicao(posicao)) {
+            indexarChave(segmento.ler(posicao));
+        }
+    }
+
+    private void indexarChave(RegistroJournal registro) {
+        if (registro.chaveIdempotencia() != null) {
+            chaves.put(registro.chaveIdempotencia(), registro);
+            registrosComChave.add(registro);
+        }
+    }
+
+    /**
+     * Aguarda a chegada de novos registros por até {@code timeoutMs}.
+     *
+     * @param aposSequencia última sequência já conhecida pelo leitor
+     * @param timeoutMs tempo máximo de espera, em milissegundos
+     * @throws InterruptedException se a thread for interrompida
+     */
+    void aguardarNovos(long aposSequencia, long timeoutMs) throws InterruptedException {
+        synchronized (novosRegistros) {
+            if (getUltimaSequencia() <= aposSequencia) {
+                novosRegistros.wait(timeoutMs);
+            }
+        }
+    }
+
+    /**
+     * Abre um cursor posicionado logo após a sequência informada.
+     *
+     * @param aposSequencia última sequência já processada pelo leitor
+     * @return cursor de leitura
+     */
+    public synchronized Cursor abrirCursor(long aposSequencia) {
+        return new Cursor(aposSequencia);
+    }
+
+    /**
+     * Remove os segmentos selados cujos registros já foram todos aplicados,
+     * junto com as chaves deles no índice. O segmento ativo nunca é removido.
+     *
+     * @param aplicadoAte maior sequência já aplicada no banco
+     * @return quantidade de segmentos removidos
+     * @throws IOException se algum arquivo não puder ser removido
+     */
+    public synchronized int truncarAplicados(long aplicadoAte) throws IOException {
+        int removidos = 0;
+        while (segmentos.size() > 1
+                && segmentos.get(0).isSelado()
+                && segmentos.get(0).getUltimaSequencia() <= aplicadoAte) {
+            SegmentoJournal removido = segmentos.remove(0);
+            removido.excluir();
+            while (!registrosComChave.isEmpty()
+                    && registrosComChave.peek().sequencia() <= removido.getUltimaSequencia()) {
+                RegistroJournal r = registrosComChave.poll();
+                chaves.remove(r.chaveIdempotencia(), r);
+            }
+            removidos++;
+        }
+        return removidos;
+    }
+
+    /**
+     * Força a gravação em disco do segmento ativo.
+     */
+    public void forcar() {
+        SegmentoJournal ativo;
+        synchronized (this) {
+            ativo = ativo();
+        }
+        ativo.forcar();
+    }
+
+    /**
+     * Retorna a maior sequência gravada no journal.
+     *
+     * @return última sequência, ou a sequência anterior à primeira se vazio
+     */
+    public synchronized long getUltimaSequencia() {
+        return proximaSequencia - 1;
+    }
+
+    /**
+     * Retorna o diretório do journal.
+     *
+     * @return diretório dos segmentos e do checkpoint
+     */
+    public Path getDiretorio() {
+        return diretorio;
+    }
+
+    /**
+     * Retorna uma cópia da lista de segmentos abertos.
+     *
+     * @return segmentos do mais antigo para o mais recente
+     */
+    public synchronized List<SegmentoJournal> getSegmentos() {
+        return new ArrayList<>(segmentos);
+    }
+
+    /**
+     * Fecha o journal, forçando a gravação em disco.
+     *
+     * @throws IOException se ocorrer erro ao fechar os arquivos
+     */
+    public synchronized void fechar() throws IOException {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        for (SegmentoJournal s : segmentos) {
+            s.forcar();
+            s.fechar();
+        }
+    }
+
+    private SegmentoJournal ativo() {
+        return segmentos.get(segmentos.size() - 1);
+    }
+
+    /**
+     * Lista os arquivos de segmento de um diretório, em ordem de sequência.
+     *
+     * @param diretorio diretório do journal
+     * @return arquivos de segmento ordenados
+     * @throws IOException se o diretório não puder ser lido
+     */
+    static List<Path> listarArquivos(Path diretorio) throws IOException {
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(diretorio,
+                SegmentoJournal.PREFIXO_ARQUIVO + "*" + SegmentoJournal.EXTENSAO_ARQUIVO)) {
+            for (Path p : ds) {
+                arquivos.add(p);
+            }
+        }
+        arquivos.sort(null);
+        return arquivos;
+    }
+
+    /**
+     * Cursor de leitura sequencial dos registros do journal.
+     * <p>
+     * Usado por uma única thread. Ao chegar ao fim de um segmento selado, passa
+     * automaticamente para o seguinte; no segmento ativo, retorna {@code null}
+     * até que novos registros sejam gravados.
+     * </p>
+     */
+    public class Cursor {
+
+        private SegmentoJournal segmento;
+        private int posicao;
+        private long ultimaLida;
+
+        private Cursor(long aposSequencia) {
+            ultimaLida = aposSequencia;
+            segmento = segmentos.get(0);
+            for (SegmentoJournal s : segmentos) {
+                if (s.getPrimeiraSequencia() <= aposSequencia + 1) {
+                    segmento = s;
+                }
+            }
+            posicao = SegmentoJournal.TAMANHO_CABECALHO;
+        }
+
+        /**
+         * Retorna o próximo registro ainda não lido.
+         *
+         * @return próximo registro, ou {@code null} se não houver registros novos
+         */
+        public RegistroJournal proximo() {
+            while (true) {
+                // O selo é lido antes do limite: se já estiver selado, o limite lido é o final
+                boolean selado = segmento.isSelado();
+                if (posicao < segmento.getLimiteLeitura()) {
+                    RegistroJournal r = segmento.ler(posicao);
+                    posicao = segmento.proximaPosicao(posicao);
+                    if (r.sequencia() > ultimaLida) {
+                        ultimaLida = r.sequencia();
+                        return r;
+                    }
+                    continue;
+                }
+                if (!selado) {
+                    return null;
+                }
+                SegmentoJournal seguinte = seguinte(segmento);
+                if (seguinte == null) {
+                    return null;
+                }
+                segmento = seguinte;
+                posicao = SegmentoJournal.TAMANHO_CABECALHO;
+            }
+        }
+
+        /**
+         * Localiza o segmento seguinte pela sequência, e não pela posição na
+         * lista: o segmento atual pode já ter sido removido por
+         * {@link #truncarAplicados} (todos os seus registros aplicados).
+         */
+        private SegmentoJournal seguinte(SegmentoJournal atual) {
+            synchronized (JournalMovimentacoes.this) {
+                for (SegmentoJournal s : segmentos) {
+                    if (s.getPrimeiraSequencia() > atual.getPrimeiraSequencia()) {
+                        return s;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package journal;
+
+/**
+ * Enumeração que define quando o journal de movimentações força a gravação
+ * dos dados em disco ({@code fsync}).
+ * <p>
+ * Quanto mais frequente o {@code fsync}, menor a janela de perda em caso de
+ * queda de energia — e maior a latência de cada registro.
+ * </p>
+ *
+ * <ul>
+ *     <li>{@link #SEMPRE} — força o disco a cada registro (nenhuma perda);</li>
+ *     <li>{@link #INTERVALO} — força o disco periodicamente (perde no máximo o intervalo);</li>
+ *     <li>{@link #NUNCA} — deixa a gravação a cargo do sistema operacional.</li>
+ * </ul>
+ *
+ * <p>Em todos os casos, uma queda apenas do processo (sem queda da máquina)
+ * não perde registros, pois as páginas mapeadas pertencem ao sistema
+ * operacional.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum PoliticaFsync {
+
+    /** Força a gravação em disco a cada registro. */
+    SEMPRE,
+
+    /** Força a gravação em disco em intervalos fixos, numa thread separada. */
+    INTERVALO,
+
+    /** Nunca força a gravação; o sistema operacional decide quando gravar. */
+    NUNCA
+}
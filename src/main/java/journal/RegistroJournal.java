@@ -0,0 +1,56 @@
+package journal;
+
+import java.util.Date;
+import model.Movimentacao;
+import model.Produto;
+
+/**
+ * Registro de uma movimentação gravada no journal.
+ * <p>
+ * Contém apenas os campos necessários para reaplicar a movimentação no banco:
+ * o número de sequência atribuído pelo journal, o produto, o tipo, a
+ * quantidade, a data e a chave de idempotência do cliente, se houver.
+ * </p>
+ *
+ * @param sequencia número de sequência do registro (crescente, sem lacunas)
+ * @param produtoId identificador do produto movimentado
+ * @param tipo tipo da movimentação ("ENTRADA" ou "SAIDA")
+ * @param quantidade quantidade movimentada
+ * @param dataMillis data da movimentação em milissegundos desde a época
+ * @param chaveIdempotencia chave de idempotência do cliente, ou {@code null}
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public record RegistroJournal(long sequencia, int produtoId, String tipo, int quantidade, long dataMillis,
+                              String chaveIdempotencia) {
+
+    /**
+     * Cria o registro a partir de uma {@link Movimentacao} recebida do cliente.
+     *
+     * @param sequencia número de sequência atribuído pelo journal
+     * @param mov movimentação recebida
+     * @return registro correspondente
+     */
+    public static RegistroJournal de(long sequencia, Movimentacao mov) {
+        long data = mov.getDataMovimentacao() != null
+                ? mov.getDataMovimentacao().getTime()
+                : System.currentTimeMillis();
+        return new RegistroJournal(sequencia, mov.getProduto().getId(), mov.getTipo(), mov.getQuantidade(), data,
+                mov.getChaveIdempotencia());
+    }
+
+    /**
+     * Converte o registro de volta em uma {@link Movimentacao}, com um
+     * {@link Produto} contendo apenas o id.
+     *
+     * @return movimentação pronta para ser gravada pelo DAO
+     */
+    public Movimentacao paraMovimentacao() {
+        Produto produto = new Produto();
+        produto.setId(produtoId);
+        Movimentacao mov = new Movimentacao(produto, tipo, quantidade, new Date(dataMillis));
+        mov.setChaveIdempotencia(chaveIdempotencia);
+        return mov;
+    }
+}
@@ -0,0 +1,376 @@
+package journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import model.TipoMovimentacao;
+
+/**
+ * Segmento do journal de movimentações: um arquivo de tamanho fixo mapeado em
+ * memória, onde os registros são apenas acrescentados ao final.
+ *
+ * <p><b>Formato do arquivo:</b></p>
+ * <pre>
+ * cabeçalho (32 bytes): MAGICO (int) | VERSAO (int) | primeira sequência (long) | reservado
+ * registro:             tamanho do conteúdo (int) | CRC32C do conteúdo (int) | conteúdo
+ * conteúdo (v1):        sequência (long) | produto (int) | tipo (byte) | quantidade (int) | data (long)
+ * conteúdo (v2):        conteúdo v1 [ | tamanho da chave (short) | chave de idempotência (UTF-8) ]
+ * </pre>
+ *
+ * <p>Na versão 2, a chave de idempotência só é gravada quando existe; um
+ * registro sem chave é idêntico ao da versão 1, então segmentos antigos
+ * continuam legíveis.</p>
+ *
+ * <p>O arquivo é criado já com o tamanho final e preenchido com zeros; um
+ * tamanho igual a zero marca o fim dos dados. Na reabertura, os registros são
+ * percorridos até o primeiro tamanho zero ou CRC inválido (gravação
+ * interrompida), e a escrita continua a partir desse ponto.</p>
+ *
+ * <p>Escritas são feitas por uma única thread (o {@link JournalMovimentacoes}
+ * serializa os acréscimos). Leituras usam apenas acessos absolutos ao buffer,
+ * que não alteram seu estado, e podem ocorrer em paralelo até
+ * {@link #getLimiteLeitura()}.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class SegmentoJournal {
+
+    /** Número mágico ("MOVJ") que identifica um segmento do journal. */
+    static final int MAGICO = 0x4D4F564A;
+
+    /** Versão do formato do arquivo (a 1 também é lida). */
+    static final int VERSAO = 2;
+
+    /** Tamanho do cabeçalho do segmento, em bytes. */
+    static final int TAMANHO_CABECALHO = 32;
+
+    /** Tamanho do prefixo de cada registro (tamanho + CRC), em bytes. */
+    static final int TAMANHO_PREFIXO = 8;
+
+    /** Tamanho do conteúdo de um registro sem chave de idempotência (o da versão 1). */
+    static final int TAMANHO_CONTEUDO = 8 + 4 + 1 + 4 + 8;
+
+    /** Prefixo do nome dos arquivos de segmento. */
+    static final String PREFIXO_ARQUIVO = "movimentacoes-";
+
+    /** Extensão dos arquivos de segmento. */
+    static final String EXTENSAO_ARQUIVO = ".seg";
+
+    /** Arquivo do segmento. */
+    private final Path arquivo;
+
+    /** Canal do arquivo, mantido aberto enquanto o segmento estiver em uso. */
+    private final FileChannel canal;
+
+    /** Região do arquivo mapeada em memória. */
+    private final MappedByteBuffer mapa;
+
+    /** Sequência do primeiro registro do segmento. */
+    private final long primeiraSequencia;
+
+    /** Sequência do último registro gravado, ou {@code primeiraSequencia - 1} se vazio. */
+    private volatile long ultimaSequencia;
+
+    /** Posição (offset) até onde os registros estão completos e podem ser lidos. */
+    private volatile int limiteLeitura;
+
+    /** Quantidade de registros válidos no segmento. */
+    private int registros;
+
+    /** Indica se o segmento foi lido até um registro corrompido na abertura. */
+    private boolean caudaCorrompida;
+
+    /** Indica se o segmento foi selado (não recebe mais registros). */
+    private volatile boolean selado;
+
+    private SegmentoJournal(Path arquivo, FileChannel canal, MappedByteBuffer mapa, long primeiraSequencia) {
+        this.arquivo = arquivo;
+        this.canal = canal;
+        this.mapa = mapa;
+        this.primeiraSequencia = primeiraSequencia;
+        this.ultimaSequencia = primeiraSequencia - 1;
+        this.limiteLeitura = TAMANHO_CABECALHO;
+    }
+
+    /**
+     * Cria um novo segmento vazio no diretório informado.
+     *
+     * @param diretorio diretório do journal
+     * @param primeiraSequencia sequência do primeiro registro que será gravado
+     * @param tamanho tamanho total do arquivo, em bytes
+     * @return segmento pronto para receber registros
+     * @throws IOException se o arquivo não puder ser criado ou mapeado
+     */
+    static SegmentoJournal criar(Path diretorio, long primeiraSequencia, int tamanho) throws IOException {
+        Path arquivo = diretorio.resolve(nomeArquivo(primeiraSequencia));
+        FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+
+        mapa.putInt(0, MAGICO);
+        mapa.putInt(4, VERSAO);
+        mapa.putLong(8, primeiraSequencia);
+        mapa.force(0, TAMANHO_CABECALHO);
+
+        return new SegmentoJournal(arquivo, canal, mapa, primeiraSequencia);
+    }
+
+    /**
+     * Abre um segmento existente, localizando o fim dos dados válidos.
+     *
+     * @param arquivo arquivo do segmento
+     * @param somenteLeitura se {@code true}, o arquivo é mapeado apenas para leitura
+     * @return segmento aberto
+     * @throws IOException se o arquivo não puder ser lido ou não for um segmento válido
+     */
+    static SegmentoJournal abrir(Path arquivo, boolean somenteLeitura) throws IOException {
+        FileChannel canal = somenteLeitura
+                ? FileChannel.open(arquivo, StandardOpenOption.READ)
+                : FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapa = canal.map(
+                somenteLeitura ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+                0, canal.size());
+
+        if (mapa.capacity() < TAMANHO_CABECALHO || mapa.getInt(0) != MAGICO) {
+            canal.close();
+            throw new IOException("Arquivo não é um segmento de journal: " + arquivo);
+        }
+        if (mapa.getInt(4) < 1 || mapa.getInt(4) > VERSAO) {
+            canal.close();
+            throw new IOException("Versão de segmento não suportada (" + mapa.getInt(4) + "): " + arquivo);
+        }
+
+        SegmentoJournal segmento = new SegmentoJournal(arquivo, canal, mapa, mapa.getLong(8));
+        segmento.recuperar();
+        if (segmento.caudaCorrompida && !somenteLeitura) {
+            segmento.limparCauda();
+        }
+        return segmento;
+    }
+
+    /**
+     * Percorre os registros a partir do cabeçalho até o fim dos dados válidos.
+     */
+    private void recuperar() {
+        int posicao = TAMANHO_CABECALHO;
+        while (true) {
+            RegistroJournal r = ler(posicao);
+            if (r == null) {
+                int tamanho = posicao + 4 <= mapa.capacity() ? mapa.getInt(posicao) : 0;
+                caudaCorrompida = tamanho != 0;
+                break;
+            }
+            ultimaSequencia = r.sequencia();
+            registros++;
+            posicao += TAMANHO_PREFIXO + mapa.getInt(posicao);
+        }
+        limiteLeitura = posicao;
+    }
+
+    /**
+     * Zera a região após o último registro válido, descartando os restos de uma
+     * gravação interrompida para que não sejam confundidos com registros.
+     */
+    private void limparCauda() {
+        byte[] zeros = new byte[8192];
+        for (int posicao = limiteLeitura; posicao < mapa.capacity(); posicao += zeros.length) {
+            mapa.put(posicao, zeros, 0, Math.min(zeros.length, mapa.capacity() - posicao));
+        }
+        mapa.force();
+    }
+
+    /**
+     * Acrescenta um registro ao final do segmento.
+     *
+     * @param registro registro a gravar
+     * @return {@code false} se não houver espaço no segmento
+     * @throws IllegalArgumentException se o tipo não for entrada nem saída
+     */
+    boolean anexar(RegistroJournal registro) {
+        TipoMovimentacao tipo = TipoMovimentacao.porNome(registro.tipo());
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de movimentação inválido: " + registro.tipo());
+        }
+        byte[] chave = registro.chaveIdempotencia() == null
+                ? null
+                : registro.chaveIdempotencia().getBytes(StandardCharsets.UTF_8);
+        byte[] conteudo = new byte[TAMANHO_CONTEUDO + (chave == null ? 0 : 2 + chave.length)];
+        ByteBuffer buf = ByteBuffer.wrap(conteudo);
+        buf.putLong(registro.sequencia());
+        buf.putInt(registro.produtoId());
+        buf.put(tipo == TipoMovimentacao.SAIDA ? (byte) 1 : (byte) 0);
+        buf.putInt(registro.quantidade());
+        buf.putLong(registro.dataMillis());
+        if (chave != null) {
+            buf.putShort((short) chave.length);
+            buf.put(chave);
+        }
+
+        int posicao = limiteLeitura;
+        // Reserva 4 bytes ao final para o marcador de fim (tamanho zero)
+        if (posicao + TAMANHO_PREFIXO + conteudo.length + 4 > mapa.capacity()) {
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo);
+
+        // Conteúdo e CRC primeiro; o tamanho por último "publica" o registro
+        mapa.put(posicao + TAMANHO_PREFIXO, conteudo);
+        mapa.putInt(posicao + 4, (int) crc.getValue());
+        mapa.putInt(posicao, conteudo.length);
+
+        registros++;
+        ultimaSequencia = registro.sequencia();
+        limiteLeitura = posicao + TAMANHO_PREFIXO + conteudo.length;
+        return true;
+    }
+
+    /**
+     * Lê o registro que começa na posição informada.
+     *
+     * @param posicao offset do registro no arquivo
+     * @return o registro, ou {@code null} se não houver registro válido na posição
+     */
+    RegistroJournal ler(int posicao) {
+        if (posicao + TAMANHO_PREFIXO > mapa.capacity()) {
+            return null;
+        }
+        int tamanho = mapa.getInt(posicao);
+        if (tamanho < TAMANHO_CONTEUDO || posicao + TAMANHO_PREFIXO + tamanho > mapa.capacity()) {
+            return null;
+        }
+
+        byte[] conteudo = new byte[tamanho];
+        mapa.get(posicao + TAMANHO_PREFIXO, conteudo);
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo);
+        if ((int) crc.getValue() != mapa.getInt(posicao + 4)) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(conteudo);
+        long sequencia = buf.getLong();
+        int produtoId = buf.getInt();
+        String tipo = buf.get() == 1 ? "SAIDA" : "ENTRADA";
+        int quantidade = buf.getInt();
+        long data = buf.getLong();
+        String chave = null;
+        if (buf.remaining() >= 2) {
+            byte[] bytes = new byte[Math.min(buf.getShort() & 0xFFFF, buf.remaining())];
+            buf.get(bytes);
+            chave = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new RegistroJournal(sequencia, produtoId, tipo, quantidade, data, chave);
+    }
+
+    /**
+     * Retorna a posição do registro seguinte ao que começa em {@code posicao}.
+     *
+     * @param posicao offset de um registro válido
+     * @return offset do próximo registro
+     */
+    int proximaPosicao(int posicao) {
+        return posicao + TAMANHO_PREFIXO + mapa.getInt(posicao);
+    }
+
+    /**
+     * Força a gravação em disco dos registros ainda não sincronizados.
+     */
+    void forcar() {
+        mapa.force();
+    }
+
+    /**
+     * Sela o segmento: força a gravação em disco e impede novos registros.
+     */
+    void selar() {
+        forcar();
+        selado = true;
+    }
+
+    /**
+     * Fecha o canal do arquivo. O mapeamento é liberado pela coleta de lixo.
+     *
+     * @throws IOException se ocorrer erro ao fechar o canal
+     */
+    void fechar() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Remove o arquivo do segmento do disco.
+     *
+     * @throws IOException se o arquivo não puder ser removido
+     */
+    void excluir() throws IOException {
+        fechar();
+        Files.deleteIfExists(arquivo);
+    }
+
+    /**
+     * Monta o nome do arquivo de um segmento a partir da sua primeira sequência,
+     * com zeros à esquerda para que a ordem alfabética coincida com a numérica.
+     *
+     * @param primeiraSequencia sequência do primeiro registro
+     * @return nome do arquivo
+     */
+    static String nomeArquivo(long primeiraSequencia) {
+        return String.format("%s%020d%s", PREFIXO_ARQUIVO, primeiraSequencia, EXTENSAO_ARQUIVO);
+    }
+
+    /** @return arquivo do segmento */
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /** @return sequência do primeiro registro do segmento */
+    public long getPrimeiraSequencia() {
+        return primeiraSequencia;
+    }
+
+    /** @return sequência do último registro gravado, ou {@code primeiraSequencia - 1} se vazio */
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /** @return offset até onde os registros estão completos */
+    public int getLimiteLeitura() {
+        return limiteLeitura;
+    }
+
+    /** @return tamanho total do arquivo */
+    public int getCapacidade() {
+        return mapa.capacity();
+    }
+
+    /** @return quantidade de registros válidos */
+    public int getRegistros() {
+        return registros;
+    }
+
+    /** @return {@code true} se a abertura encontrou um registro corrompido após os válidos */
+    public boolean isCaudaCorrompida() {
+        return caudaCorrompida;
+    }
+
+    /** @return {@code true} se o segmento não recebe mais registros */
+    public boolean isSelado() {
+        return selado;
+    }
+
+    /**
+     * Marca o segmento como selado sem forçar o disco (usado na abertura de
+     * segmentos antigos).
+     */
+    void marcarSelado() {
+        selado = true;
+    }
+}
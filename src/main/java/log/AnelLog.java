@@ -0,0 +1,103 @@
+package log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular limitada, sem bloqueios, com vários produtores e um único
+ * consumidor.
+ * <p>
+ * Cada posição guarda um número de sequência que indica de quem é a vez: o
+ * produtor só escreve quando a sequência é igual à sua posição, e o
+ * consumidor só lê quando ela é a posição + 1. Produtores disputam apenas um
+ * {@code compareAndSet} no contador de cauda; quando a fila está cheia,
+ * {@link #oferecer(RegistroLog)} retorna {@code false} em vez de esperar.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class AnelLog {
+
+    private final RegistroLog[] itens;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+
+    /** Próxima posição a ser reservada pelos produtores. */
+    private final AtomicLong cauda = new AtomicLong();
+
+    /** Próxima posição a ser lida (apenas o consumidor altera). */
+    private long cabeca;
+
+    /**
+     * Cria a fila com capacidade arredondada para potência de dois.
+     *
+     * @param capacidade capacidade mínima
+     */
+    AnelLog(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        itens = new RegistroLog[tamanho];
+        sequencias = new AtomicLongArray(tamanho);
+        mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Enfileira um registro sem bloquear.
+     *
+     * @param registro registro a enfileirar
+     * @return {@code false} se a fila estiver cheia
+     */
+    boolean oferecer(RegistroLog registro) {
+        long posicao = cauda.get();
+        while (true) {
+            int i = (int) posicao & mascara;
+            long diferenca = sequencias.getAcquire(i) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    itens[i] = registro;
+                    sequencias.setRelease(i, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * Retira o próximo registro. Deve ser chamado por uma única thread.
+     *
+     * @return registro, ou {@code null} se a fila estiver vazia
+     */
+    RegistroLog retirar() {
+        int i = (int) cabeca & mascara;
+        if (sequencias.getAcquire(i) != cabeca + 1) {
+            return null;
+        }
+        RegistroLog registro = itens[i];
+        itens[i] = null;
+        sequencias.setRelease(i, cabeca + itens.length);
+        cabeca++;
+        return registro;
+    }
+
+    /**
+     * Indica se não há registro pronto para ser retirado.
+     *
+     * @return {@code true} se a fila estiver vazia
+     */
+    boolean vazia() {
+        return sequencias.getAcquire((int) cabeca & mascara) != cabeca + 1;
+    }
+
+    /** @return capacidade da fila */
+    int capacidade() {
+        return itens.length;
+    }
+}
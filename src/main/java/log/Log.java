@@ -0,0 +1,355 @@
+package log;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log estruturado assíncrono do servidor.
+ * <p>
+ * As threads de atendimento apenas montam um {@link RegistroLog} e o colocam
+ * em uma fila circular sem bloqueios ({@link AnelLog}); uma thread de fundo
+ * ({@code log-escritor}) formata e grava as linhas, esvaziando o buffer de
+ * saída quando a fila fica vazia. Assim, uma requisição nunca espera pelo
+ * console. Se a fila estiver cheia, a linha é descartada e contada em
+ * {@link #getDescartados()}.
+ * </p>
+ *
+ * <p>Cada linha tem instante, nível, thread, mensagem e campos chave/valor,
+ * informados como pares alternados:</p>
+ * <pre>{@code
+ *     Log.info("📥 Comando recebido", "comando", comando, "cliente", endereco);
+ *     Log.erro("💥 Erro ao listar produtos", e);
+ * }</pre>
+ *
+ * <p><b>Configuração</b> (propriedades de sistema):</p>
+ * <ul>
+ *     <li>{@code estoque.log.nivel} — nível mínimo: DEBUG, INFO (padrão; também usado para valores inválidos), AVISO ou ERRO;</li>
+ *     <li>{@code estoque.log.formato} — {@code texto} (padrão, {@code chave=valor}) ou {@code json} (uma linha JSON por registro);</li>
+ *     <li>{@code estoque.log.arquivo} — arquivo de saída (acrescenta ao final); sem ela, a saída padrão;</li>
+ *     <li>{@code estoque.log.capacidade} — tamanho da fila (padrão 8192).</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class Log {
+
+    private static final String NIVEL_CONFIGURADO = System.getProperty("estoque.log.nivel", "INFO");
+
+    private static final Nivel NIVEL_MINIMO = nivel(NIVEL_CONFIGURADO);
+
+    private static final boolean JSON = "json".equalsIgnoreCase(System.getProperty("estoque.log.formato"));
+
+    private static final AnelLog FILA = new AnelLog(Integer.getInteger("estoque.log.capacidade", 8192));
+
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    private static final Object[] SEM_CAMPOS = new Object[0];
+
+    /** Trava usada para que a descarga final e o escritor não gravem ao mesmo tempo. */
+    private static final Object TRAVA_SAIDA = new Object();
+
+    private static final Writer SAIDA = abrirSaida();
+
+    private static final Thread ESCRITOR;
+
+    /** Indica que o escritor está parado esperando novos registros. */
+    private static volatile boolean escritorDormindo;
+
+    static {
+        ESCRITOR = new Thread(Log::escrever, "log-escritor");
+        ESCRITOR.setDaemon(true);
+        ESCRITOR.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::descarregar, "log-descarga"));
+        if (!NIVEL_MINIMO.name().equalsIgnoreCase(NIVEL_CONFIGURADO.trim())) {
+            aviso("⚠️ Nível de log inválido, usando INFO", "nivel", NIVEL_CONFIGURADO);
+        }
+    }
+
+    private Log() {
+    }
+
+    // ======================================================================
+    // REGISTRO
+    // ======================================================================
+
+    /**
+     * Registra uma mensagem de diagnóstico.
+     *
+     * @param mensagem mensagem
+     * @param campos pares chave/valor
+     */
+    public static void debug(String mensagem, Object... campos) {
+        registrar(Nivel.DEBUG, mensagem, null, campos);
+    }
+
+    /**
+     * Registra uma mensagem informativa.
+     *
+     * @param mensagem mensagem
+     * @param campos pares chave/valor
+     */
+    public static void info(String mensagem, Object... campos) {
+        registrar(Nivel.INFO, mensagem, null, campos);
+    }
+
+    /**
+     * Registra um aviso.
+     *
+     * @param mensagem mensagem
+     * @param campos pares chave/valor
+     */
+    public static void aviso(String mensagem, Object... campos) {
+        registrar(Nivel.AVISO, mensagem, null, campos);
+    }
+
+    /**
+     * Registra um erro sem exceção associada.
+     *
+     * @param mensagem mensagem
+     * @param campos pares chave/valor
+     */
+    public static void erro(String mensagem, Object... campos) {
+        registrar(Nivel.ERRO, mensagem, null, campos);
+    }
+
+    /**
+     * Registra um erro com a exceção que o causou (a pilha é gravada no log).
+     *
+     * @param mensagem mensagem
+     * @param causa exceção
+     * @param campos pares chave/valor
+     */
+    public static void erro(String mensagem, Throwable causa, Object... campos) {
+        registrar(Nivel.ERRO, mensagem, causa, campos);
+    }
+
+    /**
+     * Indica se um nível está habilitado, para evitar montar campos caros à toa.
+     *
+     * @param nivel nível
+     * @return {@code true} se registros desse nível são gravados
+     */
+    public static boolean habilitado(Nivel nivel) {
+        return nivel.compareTo(NIVEL_MINIMO) >= 0;
+    }
+
+    /**
+     * Retorna quantos registros foram descartados por fila cheia.
+     *
+     * @return total de descartes desde a inicialização
+     */
+    public static long getDescartados() {
+        return DESCARTADOS.sum();
+    }
+
+    private static void registrar(Nivel nivel, String mensagem, Throwable causa, Object[] campos) {
+        if (!habilitado(nivel)) {
+            return;
+        }
+        RegistroLog registro = new RegistroLog(System.currentTimeMillis(), nivel,
+                Thread.currentThread().getName(), mensagem, campos == null ? SEM_CAMPOS : campos, causa);
+        if (!FILA.oferecer(registro)) {
+            DESCARTADOS.increment();
+            return;
+        }
+        if (escritorDormindo) {
+            LockSupport.unpark(ESCRITOR);
+        }
+    }
+
+    // ======================================================================
+    // ESCRITOR
+    // ======================================================================
+
+    private static Writer abrirSaida() {
+        String arquivo = System.getProperty("estoque.log.arquivo");
+        try {
+            FileOutputStream fluxo = arquivo == null || arquivo.isBlank()
+                    ? new FileOutputStream(FileDescriptor.out)
+                    : new FileOutputStream(arquivo, true);
+            return new BufferedWriter(new OutputStreamWriter(fluxo, StandardCharsets.UTF_8), 1 << 16);
+        } catch (IOException e) {
+            System.err.println("💥 Não foi possível abrir o arquivo de log, usando a saída padrão: " + e.getMessage());
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16);
+        }
+    }
+
+    private static void escrever() {
+        long descartadosInformados = 0;
+        while (true) {
+            drenar();
+            long descartados = DESCARTADOS.sum();
+            if (descartados != descartadosInformados
+                    && FILA.oferecer(new RegistroLog(System.currentTimeMillis(), Nivel.AVISO, "log-escritor",
+                    "⚠️ Linhas de log descartadas por fila cheia",
+                    new Object[]{"descartados", descartados - descartadosInformados}, null))) {
+                // Informa os descartes pela própria fila assim que houver espaço
+                descartadosInformados = descartados;
+                continue;
+            }
+            escritorDormindo = true;
+            // Confere de novo para não dormir com um registro recém-enfileirado
+            if (FILA.vazia()) {
+                LockSupport.parkNanos(50_000_000);
+            }
+            escritorDormindo = false;
+        }
+    }
+
+    /**
+     * Grava todos os registros disponíveis e esvazia o buffer de saída.
+     *
+     * @return {@code true} se algum registro foi gravado
+     */
+    private static boolean drenar() {
+        synchronized (TRAVA_SAIDA) {
+            boolean gravou = false;
+            RegistroLog r;
+            while ((r = FILA.retirar()) != null) {
+                gravar(r);
+                gravou = true;
+            }
+            if (gravou) {
+                try {
+                    SAIDA.flush();
+                } catch (IOException ignored) {
+                }
+            }
+            return gravou;
+        }
+    }
+
+    /**
+     * Grava imediatamente os registros pendentes (usado no encerramento).
+     */
+    public static void descarregar() {
+        for (int i = 0; i < 100 && !FILA.vazia(); i++) {
+            drenar();
+        }
+    }
+
+    private static void gravar(RegistroLog r) {
+        try {
+            SAIDA.write(JSON ? formatarJson(r) : formatarTexto(r));
+            SAIDA.write('\n');
+        } catch (IOException ignored) {
+            // Sem onde registrar a falha do próprio log
+        }
+    }
+
+    // ======================================================================
+    // FORMATAÇÃO
+    // ======================================================================
+
+    /** Nível configurado; INFO se o valor não for um nível conhecido. */
+    private static Nivel nivel(String nome) {
+        try {
+            return Nivel.valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Nivel.INFO;
+        }
+    }
+
+    static String formatarTexto(RegistroLog r) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(Instant.ofEpochMilli(r.instanteMillis())).append(' ');
+        sb.append(String.format("%-5s", r.nivel())).append(" [").append(r.thread()).append("] ");
+        sb.append(r.mensagem());
+        Object[] c = r.campos();
+        for (int i = 0; i + 1 < c.length; i += 2) {
+            sb.append(' ').append(c[i]).append('=');
+            String valor = String.valueOf(c[i + 1]);
+            if (precisaAspas(valor)) {
+                // Mesmo escape do JSON: quebras de linha no valor não abrem um registro falso
+                json(sb, valor);
+            } else {
+                sb.append(valor);
+            }
+        }
+        if (r.causa() != null) {
+            sb.append('\n').append(pilha(r.causa()).stripTrailing());
+        }
+        return sb.toString();
+    }
+
+    /** Indica se o valor precisa de aspas: vazio, com espaço, aspas, barra invertida ou caractere de controle. */
+    private static boolean precisaAspas(String valor) {
+        if (valor.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char ch = valor.charAt(i);
+            if (ch <= ' ' || ch == '"' || ch == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String formatarJson(RegistroLog r) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"ts\":\"").append(Instant.ofEpochMilli(r.instanteMillis())).append('"');
+        sb.append(",\"nivel\":\"").append(r.nivel()).append('"');
+        sb.append(",\"thread\":");
+        json(sb, r.thread());
+        sb.append(",\"msg\":");
+        json(sb, r.mensagem());
+        Object[] c = r.campos();
+        for (int i = 0; i + 1 < c.length; i += 2) {
+            sb.append(',');
+            json(sb, String.valueOf(c[i]));
+            sb.append(':');
+            Object valor = c[i + 1];
+            if (valor instanceof Number || valor instanceof Boolean) {
+                sb.append(valor);
+            } else {
+                json(sb, String.valueOf(valor));
+            }
+        }
+        if (r.causa() != null) {
+            sb.append(",\"erro\":");
+            json(sb, pilha(r.causa()));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void json(StringBuilder sb, String texto) {
+        sb.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char ch = texto.charAt(i);
+            switch (ch) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (ch < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        sb.append(ch);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String pilha(Throwable t) {
+        StringWriter texto = new StringWriter();
+        t.printStackTrace(new PrintWriter(texto));
+        return texto.toString();
+    }
+}
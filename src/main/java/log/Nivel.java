@@ -0,0 +1,22 @@
+package log;
+
+/**
+ * Níveis de severidade do {@link Log}, do menos ao mais grave.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum Nivel {
+
+    /** Detalhes para diagnóstico, desligados por padrão. */
+    DEBUG,
+
+    /** Funcionamento normal (comandos atendidos, inicialização). */
+    INFO,
+
+    /** Situações inesperadas das quais o servidor se recupera. */
+    AVISO,
+
+    /** Falhas de operação. */
+    ERRO
+}
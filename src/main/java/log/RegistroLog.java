@@ -0,0 +1,20 @@
+package log;
+
+/**
+ * Linha de log enfileirada para o escritor em segundo plano.
+ * <p>
+ * A formatação é feita pelo escritor; por isso, os valores dos campos devem
+ * ser imutáveis (textos, números, enums) ou não ser alterados depois do
+ * registro.
+ * </p>
+ *
+ * @param instanteMillis momento do registro (epoch, ms)
+ * @param nivel severidade
+ * @param thread nome da thread que registrou
+ * @param mensagem mensagem principal
+ * @param campos pares chave/valor alternados
+ * @param causa exceção associada, ou {@code null}
+ */
+record RegistroLog(long instanteMillis, Nivel nivel, String thread, String mensagem,
+                   Object[] campos, Throwable causa) {
+}
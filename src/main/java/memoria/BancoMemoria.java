@@ -0,0 +1,126 @@
+package memoria;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Categoria;
+import model.EmbalagemProduto;
+import model.Movimentacao;
+import model.Produto;
+import model.TamanhoProduto;
+
+/**
+ * Estado compartilhado pelos repositórios em memória: as três tabelas, seus
+ * índices e os geradores de ID.
+ * <p>
+ * As linhas são registros imutáveis, substituídos inteiros a cada alteração,
+ * de modo que as leituras não precisam de trava. As regras que no MySQL vêm
+ * das chaves estrangeiras são garantidas pela trava de bin do
+ * {@link ConcurrentHashMap} da tabela pai: quem grava um produto o faz
+ * dentro de um {@code compute} sobre a categoria, quem grava uma
+ * movimentação o faz dentro de um {@code compute} sobre o produto, e as
+ * exclusões verificam os filhos dentro do {@code compute} do próprio pai. A
+ * ordem das travas é sempre produto → categoria, evitando impasses.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class BancoMemoria {
+
+    private static final BancoMemoria INSTANCIA = new BancoMemoria();
+
+    /** Ordenação dos relatórios por nome, próxima do {@code ORDER BY} do MySQL (sem distinção de caixa). */
+    static final Comparator<String> POR_NOME = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+
+    final ConcurrentHashMap<Integer, LinhaCategoria> categorias = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, LinhaProduto> produtos = new ConcurrentHashMap<>();
+    final ConcurrentSkipListMap<Integer, LinhaMovimentacao> movimentacoes = new ConcurrentSkipListMap<>();
+
+    /** Índice: categoria → IDs de seus produtos. */
+    final ConcurrentHashMap<Integer, Set<Integer>> produtosPorCategoria = new ConcurrentHashMap<>();
+
+    /** Índice: produto → IDs de suas movimentações, em ordem crescente. */
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Integer>> movimentacoesPorProduto = new ConcurrentHashMap<>();
+
+    /** Sequências do journal já gravadas (equivalente à coluna única {@code journal_seq}). */
+    final Set<Long> sequenciasJournal = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Chaves de idempotência já gravadas (equivalente à coluna única
+     * {@code chave_idempotencia}) e o ID da movimentação de cada uma
+     * ({@code 0} enquanto a gravação não termina).
+     */
+    final ConcurrentHashMap<String, Integer> chavesIdempotencia = new ConcurrentHashMap<>();
+
+    final AtomicInteger proximaCategoria = new AtomicInteger(1);
+    final AtomicInteger proximoProduto = new AtomicInteger(1);
+    final AtomicInteger proximaMovimentacao = new AtomicInteger(1);
+
+    private BancoMemoria() {
+    }
+
+    static BancoMemoria getInstancia() {
+        return INSTANCIA;
+    }
+
+    /** Linha da tabela {@code categoria}. */
+    record LinhaCategoria(int id, String nome, EmbalagemProduto embalagem, TamanhoProduto tamanho,
+                          long atualizadoEm) {
+
+        Categoria paraCategoria() {
+            return new Categoria(id, nome, embalagem, tamanho);
+        }
+    }
+
+    /** Linha da tabela {@code produto}. */
+    record LinhaProduto(int id, String nome, double preco, String tipoUnidade, int quantidadeAtual,
+                        int quantidadeMinima, int quantidadeMaxima, int categoriaId, long atualizadoEm) {
+
+        static LinhaProduto de(int id, Produto p, long agora) {
+            return new LinhaProduto(id, p.getNome(), p.getPreco(), p.getTipoUnidade(), p.getQuantidadeAtual(),
+                    p.getQuantidadeMinima(), p.getQuantidadeMaxima(), p.getCategoria().getId(), agora);
+        }
+
+        Produto paraProduto(Categoria categoria) {
+            return new Produto(id, nome, preco, tipoUnidade, quantidadeAtual, quantidadeMinima,
+                    quantidadeMaxima, categoria);
+        }
+    }
+
+    /**
+     * Linha da tabela {@code movimentacao}, com as colunas únicas
+     * ({@code journal_seq} e {@code chave_idempotencia}, {@code null} se vazias)
+     * para liberá-las quando a linha é excluída.
+     */
+    record LinhaMovimentacao(int id, int produtoId, String tipo, int quantidade, long data, Long sequenciaJournal,
+                             String chaveIdempotencia) {
+
+        Movimentacao paraMovimentacao(Produto produto) {
+            return new Movimentacao(id, produto, tipo, quantidade, new Date(data));
+        }
+
+        boolean isEntrada() {
+            return "ENTRADA".equalsIgnoreCase(tipo);
+        }
+
+        boolean isSaida() {
+            return "SAIDA".equalsIgnoreCase(tipo);
+        }
+    }
+
+    /**
+     * Monta o produto com sua categoria completa, como o {@code JOIN} dos DAOs.
+     *
+     * @param linha linha do produto
+     * @return produto, ou {@code null} se a categoria não existir mais
+     */
+    Produto produtoComCategoria(LinhaProduto linha) {
+        LinhaCategoria categoria = categorias.get(linha.categoriaId());
+        return categoria == null ? null : linha.paraProduto(categoria.paraCategoria());
+    }
+}
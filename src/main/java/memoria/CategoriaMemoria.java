@@ -0,0 +1,118 @@
+package memoria;
+
+import dao.CategoriaRepositorio;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import log.Log;
+import model.Categoria;
+
+/**
+ * Repositório de categorias em memória, sobre o {@link BancoMemoria}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CategoriaMemoria implements CategoriaRepositorio {
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    @Override
+    public void inserir(Categoria categoria) {
+        int id = banco.proximaCategoria.getAndIncrement();
+        banco.categorias.put(id, new BancoMemoria.LinhaCategoria(id, categoria.getNome(), categoria.getEmbalagem(),
+                categoria.getTamanho(), System.currentTimeMillis()));
+        categoria.setId(id);
+    }
+
+    @Override
+    public List<Categoria> listar() {
+        List<Categoria> lista = new ArrayList<>(banco.categorias.size());
+        for (BancoMemoria.LinhaCategoria linha : banco.categorias.values()) {
+            lista.add(linha.paraCategoria());
+        }
+        return lista;
+    }
+
+    @Override
+    public List<Categoria> carregar() {
+        return listar();
+    }
+
+    @Override
+    public void atualizar(Categoria categoria) {
+        banco.categorias.computeIfPresent(categoria.getId(), (id, atual) -> new BancoMemoria.LinhaCategoria(id,
+                categoria.getNome(), categoria.getEmbalagem(), categoria.getTamanho(), System.currentTimeMillis()));
+        Log.debug("Categoria atualizada com sucesso!", "categoria", categoria.getId());
+    }
+
+    @Override
+    public void excluir(int id) throws Exception {
+        boolean[] bloqueada = {false};
+        BancoMemoria.LinhaCategoria[] removida = {null};
+        banco.categorias.computeIfPresent(id, (k, atual) -> {
+            Set<Integer> produtos = banco.produtosPorCategoria.get(k);
+            if (produtos != null && !produtos.isEmpty()) {
+                bloqueada[0] = true;
+                return atual;
+            }
+            removida[0] = atual;
+            return null;
+        });
+
+        if (bloqueada[0]) {
+            throw new Exception("Não é possível excluir a categoria: existem produtos associados.");
+        }
+        if (removida[0] != null) {
+            Log.info("🗑️ Categoria excluída com sucesso!", "categoria", id);
+        } else {
+            Log.aviso("⚠️ Nenhuma categoria encontrada para exclusão.", "categoria", id);
+        }
+    }
+
+    @Override
+    public Categoria buscarPorId(int id) {
+        BancoMemoria.LinhaCategoria linha = banco.categorias.get(id);
+        return linha == null ? null : linha.paraCategoria();
+    }
+
+    @Override
+    public List<Categoria> listarAlteradasDesde(Timestamp desde) {
+        List<Categoria> lista = new ArrayList<>();
+        for (BancoMemoria.LinhaCategoria linha : banco.categorias.values()) {
+            if (linha.atualizadoEm() >= desde.getTime()) {
+                lista.add(linha.paraCategoria());
+            }
+        }
+        return lista;
+    }
+
+    @Override
+    public Set<Integer> listarIds() {
+        return new HashSet<>(banco.categorias.keySet());
+    }
+
+    @Override
+    public List<Object[]> quantidadePorCategoria() {
+        return contarPorNome(banco);
+    }
+
+    /**
+     * Conta os produtos de cada categoria, agrupando pelo nome como o
+     * {@code GROUP BY c.nome} dos DAOs.
+     */
+    static List<Object[]> contarPorNome(BancoMemoria banco) {
+        Map<String, Integer> contagem = new TreeMap<>(BancoMemoria.POR_NOME);
+        for (BancoMemoria.LinhaCategoria c : banco.categorias.values()) {
+            Set<Integer> produtos = banco.produtosPorCategoria.get(c.id());
+            contagem.merge(c.nome(), produtos == null ? 0 : produtos.size(), Integer::sum);
+        }
+        List<Object[]> lista = new ArrayList<>(contagem.size());
+        contagem.forEach((nome, qtd) -> lista.add(new Object[]{nome, qtd}));
+        return lista;
+    }
+}
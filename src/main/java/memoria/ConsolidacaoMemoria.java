@@ -0,0 +1,69 @@
+package memoria;
+
+import consolidacao.Balde;
+import consolidacao.Granularidade;
+import dao.ConsolidacaoRepositorio;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Movimentações consolidadas em memória, sobre o {@link BancoMemoria}: os
+ * baldes gravados ficam em um mapa indexado por granularidade, escopo, chave
+ * e período.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ConsolidacaoMemoria implements ConsolidacaoRepositorio {
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    /** Baldes gravados; a chave é o próprio balde com os totais zerados. */
+    private final Map<Balde, Balde> baldes = new ConcurrentHashMap<>();
+
+    /** Marca d'água gravada com os baldes. */
+    private volatile long marca;
+
+    @Override
+    public List<Balde> carregar() {
+        return new ArrayList<>(baldes.values());
+    }
+
+    @Override
+    public long carregarMarca() {
+        return marca;
+    }
+
+    @Override
+    public synchronized void gravar(List<Balde> novos, long marca) {
+        for (Balde b : novos) {
+            baldes.put(new Balde(b.granularidade(), b.escopo(), b.chave(), b.periodo(), 0, 0), b);
+        }
+        this.marca = marca;
+    }
+
+    @Override
+    public void descartarAnteriores(Granularidade granularidade, int periodo) {
+        baldes.keySet().removeIf(b -> b.granularidade() == granularidade && b.periodo() < periodo);
+    }
+
+    @Override
+    public void somarMovimentacoesPorHora(long desde, long aposId, long ateId, TotalHora destino) {
+        if (ateId <= aposId) {
+            return;
+        }
+        int de = (int) Math.min(aposId, Integer.MAX_VALUE);
+        int ate = (int) Math.min(ateId, Integer.MAX_VALUE);
+        for (BancoMemoria.LinhaMovimentacao m : banco.movimentacoes.subMap(de, false, ate, true).values()) {
+            BancoMemoria.LinhaProduto produto = banco.produtos.get(m.produtoId());
+            if (produto == null || m.data() < desde) {
+                continue;
+            }
+            // Um grupo por movimentação: quem recebe soma, como somaria grupos por hora
+            destino.somar(m.produtoId(), produto.categoriaId(), m.data(),
+                    m.isEntrada() ? m.quantidade() : 0, m.isSaida() ? m.quantidade() : 0);
+        }
+    }
+}
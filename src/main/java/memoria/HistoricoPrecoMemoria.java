@@ -0,0 +1,49 @@
+package memoria;
+
+import avaliacao.AvaliacaoEstoque;
+import dao.HistoricoPrecoRepositorio;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import precos.VigenciaPreco;
+
+/**
+ * Histórico de preços em memória, sobre o {@link BancoMemoria}: as vigências
+ * ficam em um mapa indexado por produto e início.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class HistoricoPrecoMemoria implements HistoricoPrecoRepositorio {
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    /** Vigências gravadas; a chave é a própria vigência com o preço zerado. */
+    private final Map<VigenciaPreco, VigenciaPreco> vigencias = new ConcurrentHashMap<>();
+
+    @Override
+    public List<VigenciaPreco> carregar() {
+        List<VigenciaPreco> lista = new ArrayList<>(vigencias.values());
+        lista.sort(Comparator.comparingInt(VigenciaPreco::produtoId).thenComparingLong(VigenciaPreco::desde));
+        return lista;
+    }
+
+    @Override
+    public void gravar(VigenciaPreco vigencia) {
+        vigencias.put(new VigenciaPreco(vigencia.produtoId(), vigencia.desde(), 0), vigencia);
+    }
+
+    @Override
+    public int semear(long desde) {
+        int gravadas = 0;
+        for (BancoMemoria.LinhaProduto p : banco.produtos.values()) {
+            VigenciaPreco chave = new VigenciaPreco(p.id(), desde, 0);
+            if (vigencias.putIfAbsent(chave, new VigenciaPreco(p.id(), desde, AvaliacaoEstoque.centavos(p.preco()))) == null) {
+                gravadas++;
+            }
+        }
+        return gravadas;
+    }
+}
@@ -0,0 +1,203 @@
+package memoria;
+
+import dao.MovimentacaoRepositorio;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import model.Categoria;
+import model.Movimentacao;
+import model.Produto;
+
+/**
+ * Repositório de movimentações em memória, sobre o {@link BancoMemoria}.
+ * <p>
+ * As movimentações ficam em um mapa ordenado por ID, o que atende às
+ * consultas por faixa de ID ({@link #totaisPorProduto}) e ao maior ID sem
+ * percorrer a tabela; o índice por produto atende a
+ * {@link #listarPorProduto(int)}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class MovimentacaoMemoria implements MovimentacaoRepositorio {
+
+    /** Mais recente primeiro, como o {@code ORDER BY data_movimentacao DESC} dos DAOs. */
+    private static final Comparator<BancoMemoria.LinhaMovimentacao> MAIS_RECENTE =
+            Comparator.comparingLong(BancoMemoria.LinhaMovimentacao::data)
+                    .thenComparingInt(BancoMemoria.LinhaMovimentacao::id).reversed();
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    @Override
+    public String inserir(Movimentacao mov) {
+        if (mov.getProduto() == null) {
+            return "Erro ao registrar movimentação: produto não informado.";
+        }
+        String chave = mov.getChaveIdempotencia();
+        if (chave != null && banco.chavesIdempotencia.putIfAbsent(chave, 0) != null) {
+            return JA_REGISTRADA;
+        }
+        if (!gravar(mov, null)) {
+            if (chave != null) {
+                banco.chavesIdempotencia.remove(chave);
+            }
+            return "Erro ao registrar movimentação: produto inexistente (ID " + mov.getProduto().getId() + ").";
+        }
+        return "Movimentação registrada com sucesso!";
+    }
+
+    @Override
+    public void inserirDoJournal(Movimentacao mov, long sequencia) throws SQLIntegrityConstraintViolationException {
+        String chave = mov.getChaveIdempotencia();
+        if (!banco.sequenciasJournal.add(sequencia)
+                || (chave != null && banco.chavesIdempotencia.putIfAbsent(chave, 0) != null)) {
+            return;
+        }
+        if (mov.getProduto() == null || !gravar(mov, sequencia)) {
+            banco.sequenciasJournal.remove(sequencia);
+            if (chave != null) {
+                banco.chavesIdempotencia.remove(chave);
+            }
+            throw new SQLIntegrityConstraintViolationException("Produto inexistente na movimentação do journal.");
+        }
+    }
+
+    /**
+     * Grava a movimentação com a trava do produto, para que ele não seja
+     * excluído ao mesmo tempo.
+     *
+     * @param sequencia sequência do journal, ou {@code null} fora do journal
+     * @return {@code false} se o produto não existir
+     */
+    private boolean gravar(Movimentacao mov, Long sequencia) {
+        long data = mov.getDataMovimentacao() != null ? mov.getDataMovimentacao().getTime() : System.currentTimeMillis();
+        boolean[] gravada = {false};
+        banco.produtos.computeIfPresent(mov.getProduto().getId(), (produtoId, produto) -> {
+            int id = banco.proximaMovimentacao.getAndIncrement();
+            banco.movimentacoes.put(id, new BancoMemoria.LinhaMovimentacao(id, produtoId, mov.getTipo(),
+                    mov.getQuantidade(), data, sequencia, mov.getChaveIdempotencia()));
+            banco.movimentacoesPorProduto.computeIfAbsent(produtoId, k -> new ConcurrentSkipListSet<>()).add(id);
+            if (mov.getChaveIdempotencia() != null) {
+                banco.chavesIdempotencia.put(mov.getChaveIdempotencia(), id);
+            }
+            gravada[0] = true;
+            return produto;
+        });
+        return gravada[0];
+    }
+
+    @Override
+    public List<Movimentacao> listar() {
+        List<BancoMemoria.LinhaMovimentacao> linhas = new ArrayList<>(banco.movimentacoes.values());
+        linhas.sort(MAIS_RECENTE);
+
+        // Produto com a categoria resumida (ID e nome), como a consulta do MovimentacaoDAO
+        Map<Integer, Produto> produtos = new HashMap<>();
+        List<Movimentacao> lista = new ArrayList<>(linhas.size());
+        for (BancoMemoria.LinhaMovimentacao linha : linhas) {
+            Produto produto = produtos.computeIfAbsent(linha.produtoId(), this::produtoResumido);
+            if (produto != null) {
+                lista.add(linha.paraMovimentacao(produto));
+            }
+        }
+        return lista;
+    }
+
+    private Produto produtoResumido(int produtoId) {
+        BancoMemoria.LinhaProduto linha = banco.produtos.get(produtoId);
+        BancoMemoria.LinhaCategoria categoria = linha == null ? null : banco.categorias.get(linha.categoriaId());
+        if (categoria == null) {
+            return null;
+        }
+        Categoria resumo = new Categoria();
+        resumo.setId(categoria.id());
+        resumo.setNome(categoria.nome());
+        return linha.paraProduto(resumo);
+    }
+
+    @Override
+    public List<Movimentacao> listarPorProduto(int produtoId) {
+        Set<Integer> ids = banco.movimentacoesPorProduto.get(produtoId);
+        List<BancoMemoria.LinhaMovimentacao> linhas = new ArrayList<>();
+        if (ids != null) {
+            for (Integer id : ids) {
+                BancoMemoria.LinhaMovimentacao linha = banco.movimentacoes.get(id);
+                if (linha != null) {
+                    linhas.add(linha);
+                }
+            }
+        }
+        return semProduto(linhas);
+    }
+
+    @Override
+    public List<Movimentacao> listarPorTipo(String tipo) {
+        List<BancoMemoria.LinhaMovimentacao> linhas = new ArrayList<>();
+        for (BancoMemoria.LinhaMovimentacao linha : banco.movimentacoes.values()) {
+            if (linha.tipo() != null && linha.tipo().equalsIgnoreCase(tipo)) {
+                linhas.add(linha);
+            }
+        }
+        return semProduto(linhas);
+    }
+
+    private static List<Movimentacao> semProduto(List<BancoMemoria.LinhaMovimentacao> linhas) {
+        linhas.sort(MAIS_RECENTE);
+        List<Movimentacao> lista = new ArrayList<>(linhas.size());
+        for (BancoMemoria.LinhaMovimentacao linha : linhas) {
+            lista.add(linha.paraMovimentacao(null));
+        }
+        return lista;
+    }
+
+    @Override
+    public long maiorId() {
+        return banco.movimentacoes.isEmpty() ? 0 : banco.movimentacoes.lastKey();
+    }
+
+    @Override
+    public Map<Integer, long[]> totaisPorProduto(long aposId, long ateId) {
+        Map<Integer, long[]> totais = new HashMap<>();
+        if (ateId <= aposId) {
+            return totais;
+        }
+        int de = (int) Math.min(aposId, Integer.MAX_VALUE);
+        int ate = (int) Math.min(ateId, Integer.MAX_VALUE);
+        for (BancoMemoria.LinhaMovimentacao linha : banco.movimentacoes.subMap(de, false, ate, true).values()) {
+            long[] soma = totais.computeIfAbsent(linha.produtoId(), k -> new long[2]);
+            if (linha.isEntrada()) {
+                soma[0] += linha.quantidade();
+            } else if (linha.isSaida()) {
+                soma[1] += linha.quantidade();
+            }
+        }
+        return totais;
+    }
+
+    @Override
+    public long[] totaisDoProduto(int produtoId) {
+        long[] soma = new long[2];
+        Set<Integer> ids = banco.movimentacoesPorProduto.get(produtoId);
+        if (ids == null) {
+            return soma;
+        }
+        for (Integer id : ids) {
+            BancoMemoria.LinhaMovimentacao linha = banco.movimentacoes.get(id);
+            if (linha == null) {
+                continue;
+            }
+            if (linha.isEntrada()) {
+                soma[0] += linha.quantidade();
+            } else if (linha.isSaida()) {
+                soma[1] += linha.quantidade();
+            }
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,170 @@
+package memoria;
+
+import dao.ProdutoRepositorio;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import log.Log;
+import model.Produto;
+
+/**
+ * Repositório de produtos em memória, sobre o {@link BancoMemoria}.
+ * <p>
+ * Inserções e alterações só são aceitas se a categoria existir, e a exclusão
+ * remove também as movimentações do produto ({@code ON DELETE CASCADE}),
+ * como as chaves estrangeiras do banco fariam.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ProdutoMemoria implements ProdutoRepositorio {
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    @Override
+    public String inserir(Produto produto) {
+        if (produto.getCategoria() == null) {
+            return "Erro ao inserir produto: categoria não informada.";
+        }
+        int id = banco.proximoProduto.getAndIncrement();
+        int categoriaId = produto.getCategoria().getId();
+        long agora = System.currentTimeMillis();
+
+        BancoMemoria.LinhaProduto linha = banco.produtos.compute(id, (k, atual) ->
+                vincularCategoria(k, categoriaId) ? BancoMemoria.LinhaProduto.de(k, produto, agora) : null);
+        if (linha == null) {
+            return "Erro ao inserir produto: categoria inexistente (ID " + categoriaId + ").";
+        }
+        produto.setId(id);
+        return "Produto inserido com sucesso!";
+    }
+
+    @Override
+    public List<Produto> listar() {
+        return listarFiltrados(null);
+    }
+
+    @Override
+    public List<Produto> carregar() {
+        return listar();
+    }
+
+    @Override
+    public String atualizar(Produto produto) {
+        if (produto.getCategoria() == null) {
+            Log.erro("💥 Erro ao atualizar produto: categoria não informada", "produto", produto.getId());
+            return "Erro ao atualizar produto: categoria não informada.";
+        }
+        int novaCategoria = produto.getCategoria().getId();
+        String[] resposta = {"Nenhum produto encontrado com o ID informado."};
+        banco.produtos.computeIfPresent(produto.getId(), (id, atual) -> {
+            if (atual.categoriaId() != novaCategoria) {
+                if (!vincularCategoria(id, novaCategoria)) {
+                    resposta[0] = "Erro ao atualizar produto: categoria inexistente (ID " + novaCategoria + ").";
+                    return atual;
+                }
+                desvincularCategoria(id, atual.categoriaId());
+            }
+            resposta[0] = "Produto atualizado com sucesso!";
+            return BancoMemoria.LinhaProduto.de(id, produto, System.currentTimeMillis());
+        });
+
+        if (resposta[0].startsWith("Erro")) {
+            Log.erro("💥 Erro ao atualizar produto: categoria inexistente", "produto", produto.getId(),
+                    "categoria", novaCategoria);
+        } else {
+            Log.debug(resposta[0], "produto", produto.getId());
+        }
+        return resposta[0];
+    }
+
+    @Override
+    public String excluir(Integer id) {
+        String[] resposta = {"Nenhum produto encontrado com o ID informado."};
+        banco.produtos.computeIfPresent(id, (k, atual) -> {
+            // Com a trava do produto: nenhuma movimentação nova entra durante a exclusão
+            Set<Integer> movimentacoes = banco.movimentacoesPorProduto.remove(k);
+            if (movimentacoes != null) {
+                for (Integer movimentacaoId : movimentacoes) {
+                    BancoMemoria.LinhaMovimentacao linha = banco.movimentacoes.remove(movimentacaoId);
+                    if (linha != null && linha.sequenciaJournal() != null) {
+                        banco.sequenciasJournal.remove(linha.sequenciaJournal());
+                    }
+                    if (linha != null && linha.chaveIdempotencia() != null) {
+                        banco.chavesIdempotencia.remove(linha.chaveIdempotencia());
+                    }
+                }
+            }
+            desvincularCategoria(k, atual.categoriaId());
+            resposta[0] = "Produto excluído com sucesso!";
+            return null;
+        });
+        return resposta[0];
+    }
+
+    @Override
+    public Map<Integer, Produto> buscarPorIds(Collection<Integer> ids) {
+        Map<Integer, Produto> encontrados = new HashMap<>();
+        for (Integer id : ids) {
+            BancoMemoria.LinhaProduto linha = banco.produtos.get(id);
+            Produto p = linha == null ? null : banco.produtoComCategoria(linha);
+            if (p != null) {
+                encontrados.put(id, p);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public List<Produto> listarAlteradosDesde(Timestamp desde) {
+        return listarFiltrados(desde);
+    }
+
+    @Override
+    public Set<Integer> listarIds() {
+        return new HashSet<>(banco.produtos.keySet());
+    }
+
+    private List<Produto> listarFiltrados(Timestamp desde) {
+        List<Produto> lista = new ArrayList<>(banco.produtos.size());
+        for (BancoMemoria.LinhaProduto linha : banco.produtos.values()) {
+            if (desde == null || linha.atualizadoEm() >= desde.getTime()) {
+                Produto p = banco.produtoComCategoria(linha);
+                if (p != null) {
+                    lista.add(p);
+                }
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Registra o produto no índice da categoria, com a trava da categoria,
+     * para que ela não seja excluída ao mesmo tempo.
+     *
+     * @return {@code false} se a categoria não existir
+     */
+    private boolean vincularCategoria(int produtoId, int categoriaId) {
+        boolean[] existe = {false};
+        banco.categorias.computeIfPresent(categoriaId, (k, categoria) -> {
+            banco.produtosPorCategoria.computeIfAbsent(k, c -> ConcurrentHashMap.newKeySet()).add(produtoId);
+            existe[0] = true;
+            return categoria;
+        });
+        return existe[0];
+    }
+
+    private void desvincularCategoria(int produtoId, int categoriaId) {
+        Set<Integer> produtos = banco.produtosPorCategoria.get(categoriaId);
+        if (produtos != null) {
+            produtos.remove(produtoId);
+        }
+    }
+}
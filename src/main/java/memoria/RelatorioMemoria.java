@@ -0,0 +1,171 @@
+package memoria;
+
+import avaliacao.AvaliacaoEstoque;
+import dao.RelatorioRepositorio;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import model.Produto;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Relatórios montados a partir do {@link BancoMemoria}, com as mesmas
+ * linhas, colunas e ordenação das consultas do {@code dao.RelatorioDAO}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class RelatorioMemoria implements RelatorioRepositorio {
+
+    private final BancoMemoria banco = BancoMemoria.getInstancia();
+
+    @Override
+    public List<Produto> listarProdutosAbaixoDoMinimo() {
+        return produtos(p -> p.quantidadeAtual() < p.quantidadeMinima());
+    }
+
+    @Override
+    public List<Produto> listarProdutosAcimaDoMaximo() {
+        return produtos(p -> p.quantidadeAtual() > p.quantidadeMaxima());
+    }
+
+    @Override
+    public List<Produto> listarTodos() {
+        return produtos(p -> true);
+    }
+
+    @Override
+    public List<Object[]> listarQuantidadePorCategoria() {
+        return CategoriaMemoria.contarPorNome(banco);
+    }
+
+    @Override
+    public void transmitir(Relatorio relatorio, SaidaRelatorio saida) {
+        switch (relatorio) {
+            case LISTA_PRECOS -> {
+                for (Produto p : produtosPorNome(listarTodos())) {
+                    saida.texto(p.getNome())
+                            .texto(p.getCategoria().getNome())
+                            .decimal(p.getPreco())
+                            .texto(p.getTipoUnidade());
+                    saida.fimLinha();
+                }
+            }
+            case BALANCO -> {
+                for (Produto p : produtosPorNome(listarTodos())) {
+                    saida.texto(p.getNome())
+                            .texto(p.getCategoria().getNome())
+                            .inteiro(p.getQuantidadeAtual())
+                            .decimal(p.getPreco())
+                            .decimal(p.getQuantidadeAtual() * p.getPreco());
+                    saida.fimLinha();
+                }
+            }
+            case ABAIXO_MINIMO -> {
+                for (Produto p : produtosPorNome(listarProdutosAbaixoDoMinimo())) {
+                    saida.texto(p.getNome())
+                            .texto(p.getCategoria().getNome())
+                            .inteiro(p.getQuantidadeAtual())
+                            .inteiro(p.getQuantidadeMinima());
+                    saida.fimLinha();
+                }
+            }
+            case QTD_POR_CATEGORIA -> {
+                for (Object[] grupo : CategoriaMemoria.contarPorNome(banco)) {
+                    saida.texto((String) grupo[0]).inteiro(((Number) grupo[1]).longValue());
+                    saida.fimLinha();
+                }
+            }
+            case MAIS_MOVIMENTADO -> transmitirMaisMovimentado(saida);
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> valorEmEstoquePorCategoria() {
+        Map<Integer, Long> valores = new HashMap<>();
+        for (BancoMemoria.LinhaProduto p : banco.produtos.values()) {
+            valores.merge(p.categoriaId(), p.quantidadeAtual() * AvaliacaoEstoque.centavos(p.preco()), Long::sum);
+        }
+        return valores;
+    }
+
+    @Override
+    public Map<Integer, Long> saidasPorProduto(long desde) {
+        Map<Integer, Long> saidas = new HashMap<>();
+        for (BancoMemoria.LinhaMovimentacao m : banco.movimentacoes.values()) {
+            if (m.isSaida() && m.data() >= desde) {
+                saidas.merge(m.produtoId(), (long) m.quantidade(), Long::sum);
+            }
+        }
+        return saidas;
+    }
+
+    @Override
+    public void percorrerMovimentacoes(long desde, MovimentacaoLida destino) {
+        for (BancoMemoria.LinhaMovimentacao m : banco.movimentacoes.values()) {
+            if (m.data() >= desde && (m.isEntrada() || m.isSaida())) {
+                destino.ler(m.produtoId(), m.isEntrada(), m.quantidade(), m.data());
+            }
+        }
+    }
+
+    private void transmitirMaisMovimentado(SaidaRelatorio saida) {
+        // Totais por produto em uma passada; depois agrupa por (nome do produto, nome da categoria)
+        Map<Integer, long[]> porProduto = new HashMap<>();
+        for (BancoMemoria.LinhaMovimentacao m : banco.movimentacoes.values()) {
+            long[] soma = porProduto.computeIfAbsent(m.produtoId(), k -> new long[2]);
+            if (m.isEntrada()) {
+                soma[0] += m.quantidade();
+            } else if (m.isSaida()) {
+                soma[1] += m.quantidade();
+            }
+        }
+
+        Map<List<String>, long[]> grupos = new HashMap<>();
+        for (Map.Entry<Integer, long[]> e : porProduto.entrySet()) {
+            BancoMemoria.LinhaProduto produto = banco.produtos.get(e.getKey());
+            BancoMemoria.LinhaCategoria categoria = produto == null ? null : banco.categorias.get(produto.categoriaId());
+            if (categoria == null) {
+                continue;
+            }
+            long[] soma = grupos.computeIfAbsent(Arrays.asList(produto.nome(), categoria.nome()), k -> new long[2]);
+            soma[0] += e.getValue()[0];
+            soma[1] += e.getValue()[1];
+        }
+
+        List<Map.Entry<List<String>, long[]>> ordenados = new ArrayList<>(grupos.entrySet());
+        ordenados.sort((a, b) -> Long.compare(b.getValue()[0] + b.getValue()[1], a.getValue()[0] + a.getValue()[1]));
+        for (Map.Entry<List<String>, long[]> g : ordenados) {
+            long[] soma = g.getValue();
+            saida.texto(g.getKey().get(0))
+                    .texto(g.getKey().get(1))
+                    .inteiro(soma[0])
+                    .inteiro(soma[1])
+                    .inteiro(soma[0] + soma[1]);
+            saida.fimLinha();
+        }
+    }
+
+    private List<Produto> produtos(Predicate<BancoMemoria.LinhaProduto> filtro) {
+        List<Produto> lista = new ArrayList<>();
+        for (BancoMemoria.LinhaProduto linha : banco.produtos.values()) {
+            if (filtro.test(linha)) {
+                Produto p = banco.produtoComCategoria(linha);
+                if (p != null) {
+                    lista.add(p);
+                }
+            }
+        }
+        return lista;
+    }
+
+    private static List<Produto> produtosPorNome(List<Produto> produtos) {
+        produtos.sort(Comparator.comparing(Produto::getNome, BancoMemoria.POR_NOME));
+        return produtos;
+    }
+}
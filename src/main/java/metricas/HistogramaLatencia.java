@@ -0,0 +1,163 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências sem bloqueios, com faixas logarítmico-lineares.
+ * <p>
+ * Valores menores que {@value #SUBFAIXAS} ns têm faixa própria; acima disso,
+ * cada potência de dois é dividida em {@value #SUBFAIXAS} subfaixas iguais, o
+ * que limita o erro relativo de qualquer percentil a 1/{@value #SUBFAIXAS}
+ * (6,25%) em toda a escala, de nanossegundos a horas, com poucos kilobytes por
+ * histograma.
+ * </p>
+ *
+ * <p>O registro de uma amostra é um incremento atômico em um
+ * {@link AtomicLongArray} mais, raramente, uma troca do máximo — seguro para
+ * várias threads e sem alocação. A leitura ({@link #copiarPara(long[])}) não
+ * é atômica em relação aos registros concorrentes, o que é aceitável para
+ * métricas: no pior caso, amostras registradas durante a cópia aparecem na
+ * próxima leitura.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class HistogramaLatencia {
+
+    /** Bits de subfaixa por potência de dois. */
+    private static final int BITS_SUBFAIXA = 4;
+
+    /** Subfaixas por potência de dois. */
+    static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+
+    /** Maior deslocamento representado; valores acima são agrupados na última faixa (~4,9 h). */
+    private static final int DESLOCAMENTO_MAXIMO = 40;
+
+    /** Quantidade total de faixas. */
+    static final int FAIXAS = (DESLOCAMENTO_MAXIMO + 2) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos latência em nanossegundos
+     */
+    public void registrar(long nanos) {
+        contagens.incrementAndGet(faixa(nanos));
+        long atual = maximo.get();
+        while (nanos > atual && !maximo.compareAndSet(atual, nanos)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * Soma as contagens deste histograma ao vetor informado.
+     *
+     * @param destino vetor com {@link #FAIXAS} posições
+     * @return maior valor registrado
+     */
+    long copiarPara(long[] destino) {
+        for (int i = 0; i < FAIXAS; i++) {
+            destino[i] += contagens.get(i);
+        }
+        return maximo.get();
+    }
+
+    /**
+     * Calcula percentis sobre as amostras registradas até o momento.
+     *
+     * @param percentis percentis desejados, entre 0 e 100
+     * @return valores correspondentes em nanossegundos ({@code 0} se vazio)
+     */
+    public long[] percentis(double... percentis) {
+        long[] copia = new long[FAIXAS];
+        long max = copiarPara(copia);
+        long total = 0;
+        for (long c : copia) {
+            total += c;
+        }
+        long[] valores = new long[percentis.length];
+        for (int i = 0; i < percentis.length; i++) {
+            valores[i] = percentil(copia, total, percentis[i], max);
+        }
+        return valores;
+    }
+
+    /**
+     * Retorna o maior valor registrado.
+     *
+     * @return máximo em nanossegundos
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /** Zera o histograma. */
+    void zerar() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        maximo.set(0);
+    }
+
+    /**
+     * Calcula a faixa de um valor.
+     *
+     * @param valor valor em nanossegundos
+     * @return índice da faixa
+     */
+    static int faixa(long valor) {
+        if (valor < SUBFAIXAS) {
+            return valor <= 0 ? 0 : (int) valor;
+        }
+        int deslocamento = (63 - Long.numberOfLeadingZeros(valor)) - BITS_SUBFAIXA;
+        if (deslocamento > DESLOCAMENTO_MAXIMO) {
+            return FAIXAS - 1;
+        }
+        int sub = (int) (valor >>> deslocamento) & (SUBFAIXAS - 1);
+        return (deslocamento + 1) * SUBFAIXAS + sub;
+    }
+
+    /**
+     * Retorna o maior valor representado por uma faixa (estimativa
+     * conservadora usada nos percentis).
+     *
+     * @param faixa índice da faixa
+     * @return limite superior da faixa, em nanossegundos
+     */
+    static long limiteSuperior(int faixa) {
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int deslocamento = faixa / SUBFAIXAS - 1;
+        long sub = faixa % SUBFAIXAS;
+        return ((SUBFAIXAS + sub + 1) << deslocamento) - 1;
+    }
+
+    /**
+     * Calcula um percentil a partir de contagens copiadas.
+     *
+     * @param contagens contagens por faixa
+     * @param total soma das contagens
+     * @param percentil percentil entre 0 e 100
+     * @param maximo maior valor registrado, usado como teto da estimativa
+     * @return valor do percentil em nanossegundos, ou {@code 0} se não houver amostras
+     */
+    static long percentil(long[] contagens, long total, double percentil, long maximo) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+}
@@ -0,0 +1,319 @@
+package metricas;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import journal.AplicadorJournal;
+import log.Log;
+
+/**
+ * Registro de métricas do servidor: latência e erros por comando, bytes
+ * trafegados e conexões ativas.
+ * <p>
+ * Cada comando tem um {@link HistogramaLatencia} acumulado desde a
+ * inicialização e uma janela deslizante de {@value #FATIAS_JANELA} fatias de
+ * {@value #SEGUNDOS_FATIA} segundos. Uma thread de fundo gira a janela: zera a
+ * próxima fatia e passa a registrar nela. O caminho de registro
+ * ({@link #registrar(String, long, boolean)}) é uma consulta a um
+ * {@link ConcurrentHashMap} e dois incrementos atômicos, sem bloqueios nem
+ * alocação depois da primeira requisição de cada comando.
+ * </p>
+ *
+ * <p>O resumo ({@link #resumir()}) traz, por comando, percentis p50/p90/p99,
+ * máximo e vazão (requisições por segundo) desde a inicialização e na janela
+ * recente, além de uma linha {@code SERVIDOR} com os contadores globais.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class RegistroMetricas {
+
+    /** Quantidade de fatias da janela deslizante. */
+    static final int FATIAS_JANELA = 6;
+
+    /** Duração de cada fatia, em segundos. */
+    static final int SEGUNDOS_FATIA = 10;
+
+    /** Instância compartilhada pelo servidor. */
+    private static final RegistroMetricas INSTANCIA = new RegistroMetricas();
+
+    private final Map<String, MetricasComando> comandos = new ConcurrentHashMap<>();
+
+    private final LongAdder bytesRecebidos = new LongAdder();
+    private final LongAdder bytesEnviados = new LongAdder();
+    private final AtomicInteger conexoesAtivas = new AtomicInteger();
+    private final LongAdder conexoesTotais = new LongAdder();
+
+    private final long inicioNanos = System.nanoTime();
+
+    /** Fatia da janela que recebe os registros. */
+    private volatile int fatiaAtual;
+
+    /** Instante em que a fatia atual começou. */
+    private volatile long inicioFatiaNanos = inicioNanos;
+
+    private RegistroMetricas() {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metricas-janela");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleAtFixedRate(this::girarJanela, SEGUNDOS_FATIA, SEGUNDOS_FATIA, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return registro de métricas
+     */
+    public static RegistroMetricas getInstancia() {
+        return INSTANCIA;
+    }
+
+    // ======================================================================
+    // REGISTRO
+    // ======================================================================
+
+    /**
+     * Registra uma requisição atendida.
+     *
+     * @param comando nome do comando (deve vir de um conjunto fechado)
+     * @param nanos duração do atendimento
+     * @param erro se a requisição terminou em erro
+     */
+    public void registrar(String comando, long nanos, boolean erro) {
+        MetricasComando m = comandos.get(comando);
+        if (m == null) {
+            m = comandos.computeIfAbsent(comando, k -> new MetricasComando());
+        }
+        m.total.registrar(nanos);
+        m.fatias[fatiaAtual].registrar(nanos);
+        if (erro) {
+            m.erros.increment();
+        }
+    }
+
+    /** Contabiliza uma conexão aberta. */
+    public void conexaoAberta() {
+        conexoesAtivas.incrementAndGet();
+        conexoesTotais.increment();
+    }
+
+    /** Contabiliza uma conexão encerrada. */
+    public void conexaoEncerrada() {
+        conexoesAtivas.decrementAndGet();
+    }
+
+    /**
+     * Envolve o fluxo de entrada de um socket, contando os bytes recebidos.
+     *
+     * @param in fluxo original
+     * @return fluxo que contabiliza os bytes lidos
+     */
+    public EntradaContada contarEntrada(InputStream in) {
+        return new EntradaContada(in, bytesRecebidos);
+    }
+
+    /**
+     * Envolve o fluxo de saída de um socket, contando os bytes enviados.
+     *
+     * @param out fluxo original
+     * @return fluxo que contabiliza os bytes escritos
+     */
+    public SaidaContada contarSaida(OutputStream out) {
+        return new SaidaContada(out, bytesEnviados);
+    }
+
+    private void girarJanela() {
+        int proxima = (fatiaAtual + 1) % FATIAS_JANELA;
+        for (MetricasComando m : comandos.values()) {
+            m.fatias[proxima].zerar();
+        }
+        inicioFatiaNanos = System.nanoTime();
+        fatiaAtual = proxima;
+    }
+
+    // ======================================================================
+    // RESUMO
+    // ======================================================================
+
+    /**
+     * Monta o resumo das métricas, uma linha por comando (em ordem alfabética)
+     * seguida da linha {@code SERVIDOR}.
+     * <p>
+     * Latências em microssegundos; vazão em requisições por segundo. As
+     * colunas {@code janela_*} consideram apenas os últimos
+     * {@code janela_s} segundos.
+     * </p>
+     *
+     * @return linhas do resumo
+     */
+    public List<Map<String, Object>> resumir() {
+        long agora = System.nanoTime();
+        double segundosTotal = Math.max(1e-9, (agora - inicioNanos) / 1e9);
+        double segundosJanela = Math.min(segundosTotal,
+                (FATIAS_JANELA - 1) * SEGUNDOS_FATIA + (agora - inicioFatiaNanos) / 1e9);
+
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        for (Map.Entry<String, MetricasComando> e : new TreeMap<>(comandos).entrySet()) {
+            MetricasComando m = e.getValue();
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("comando", e.getKey());
+
+            long[] contagens = new long[HistogramaLatencia.FAIXAS];
+            long maximo = m.total.copiarPara(contagens);
+            long total = somar(contagens);
+            linha.put("requisicoes", total);
+            linha.put("erros", m.erros.sum());
+            preencher(linha, "", contagens, total, maximo, segundosTotal);
+
+            long[] janela = new long[HistogramaLatencia.FAIXAS];
+            long maximoJanela = 0;
+            for (HistogramaLatencia fatia : m.fatias) {
+                maximoJanela = Math.max(maximoJanela, fatia.copiarPara(janela));
+            }
+            long totalJanela = somar(janela);
+            linha.put("janela_requisicoes", totalJanela);
+            preencher(linha, "janela_", janela, totalJanela, maximoJanela, segundosJanela);
+            linhas.add(linha);
+        }
+
+        Map<String, Object> servidor = new LinkedHashMap<>();
+        servidor.put("comando", "SERVIDOR");
+        servidor.put("ativo_s", Math.round(segundosTotal));
+        servidor.put("janela_s", Math.round(segundosJanela));
+        servidor.put("conexoes_ativas", conexoesAtivas.get());
+        servidor.put("conexoes_totais", conexoesTotais.sum());
+        servidor.put("bytes_recebidos", bytesRecebidos.sum());
+        servidor.put("bytes_enviados", bytesEnviados.sum());
+        servidor.put("logs_descartados", Log.getDescartados());
+        servidor.put("journal_rejeitadas", AplicadorJournal.getRejeitadas());
+        linhas.add(servidor);
+        return linhas;
+    }
+
+    private static void preencher(Map<String, Object> linha, String prefixo, long[] contagens,
+                                  long total, long maximo, double segundos) {
+        linha.put(prefixo + "p50_us", microssegundos(HistogramaLatencia.percentil(contagens, total, 50, maximo)));
+        linha.put(prefixo + "p90_us", microssegundos(HistogramaLatencia.percentil(contagens, total, 90, maximo)));
+        linha.put(prefixo + "p99_us", microssegundos(HistogramaLatencia.percentil(contagens, total, 99, maximo)));
+        linha.put(prefixo + "max_us", microssegundos(maximo));
+        linha.put(prefixo + "vazao_rps", Math.round(total / segundos * 100) / 100.0);
+    }
+
+    private static long somar(long[] contagens) {
+        long total = 0;
+        for (long c : contagens) {
+            total += c;
+        }
+        return total;
+    }
+
+    private static double microssegundos(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+    /**
+     * Fluxo de entrada que conta os bytes lidos na conexão e no total do servidor.
+     */
+    public static final class EntradaContada extends FilterInputStream {
+
+        private final LongAdder total;
+        private long bytes;
+
+        EntradaContada(InputStream in, LongAdder total) {
+            super(in);
+            this.total = total;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytes++;
+                total.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                bytes += n;
+                total.add(n);
+            }
+            return n;
+        }
+
+        /** @return bytes lidos nesta conexão */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Fluxo de saída que conta os bytes escritos na conexão e no total do servidor.
+     */
+    public static final class SaidaContada extends FilterOutputStream {
+
+        private final LongAdder total;
+        private long bytes;
+
+        SaidaContada(OutputStream out, LongAdder total) {
+            super(out);
+            this.total = total;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+            total.increment();
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) throws IOException {
+            out.write(buf, off, len);
+            bytes += len;
+            total.add(len);
+        }
+
+        /** @return bytes escritos nesta conexão */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    /** Métricas de um comando. */
+    private static final class MetricasComando {
+
+        /** Latências desde a inicialização. */
+        final HistogramaLatencia total = new HistogramaLatencia();
+
+        /** Latências por fatia da janela deslizante. */
+        final HistogramaLatencia[] fatias = new HistogramaLatencia[FATIAS_JANELA];
+
+        /** Requisições que terminaram em erro. */
+        final LongAdder erros = new LongAdder();
+
+        MetricasComando() {
+            for (int i = 0; i < fatias.length; i++) {
+                fatias[i] = new HistogramaLatencia();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * Bloco de linhas de um relatório enviado em quadros, organizado por coluna.
+ * <p>
+ * Cada coluna é um vetor primitivo conforme o {@link TipoColuna} do
+ * {@link CabecalhoRelatorio} ({@code long[]}, {@code double[]} ou
+ * {@code String[]}), com um elemento por linha. Os nomes das colunas não se
+ * repetem e os números chegam como números.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class BlocoRelatorio implements Serializable {
+
+    /** Identificador de versão da classe para serialização. */
+    private static final long serialVersionUID = 1L;
+
+    private final int linhas;
+    private final Serializable[] colunas;
+    private final boolean ultimo;
+
+    /**
+     * Cria o bloco.
+     *
+     * @param linhas quantidade de linhas do bloco
+     * @param colunas um vetor por coluna, com {@code linhas} elementos
+     * @param ultimo se é o último bloco do relatório
+     */
+    public BlocoRelatorio(int linhas, Serializable[] colunas, boolean ultimo) {
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.ultimo = ultimo;
+    }
+
+    /**
+     * @return quantidade de linhas do bloco
+     */
+    public int getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * @return {@code true} se não há mais blocos depois deste
+     */
+    public boolean isUltimo() {
+        return ultimo;
+    }
+
+    /**
+     * @param coluna posição de uma coluna {@link TipoColuna#INTEIRO}
+     * @return valores da coluna
+     */
+    public long[] getInteiros(int coluna) {
+        return (long[]) colunas[coluna];
+    }
+
+    /**
+     * @param coluna posição de uma coluna {@link TipoColuna#DECIMAL}
+     * @return valores da coluna
+     */
+    public double[] getDecimais(int coluna) {
+        return (double[]) colunas[coluna];
+    }
+
+    /**
+     * @param coluna posição de uma coluna {@link TipoColuna#TEXTO}
+     * @return valores da coluna
+     */
+    public String[] getTextos(int coluna) {
+        return (String[]) colunas[coluna];
+    }
+}
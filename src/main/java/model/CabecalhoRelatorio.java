@@ -0,0 +1,68 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * Primeiro quadro de um relatório enviado em quadros
+ * ({@code RELATORIO_QUADROS}): nome do relatório e nomes e tipos das colunas,
+ * enviados uma única vez.
+ * <p>
+ * Depois do cabeçalho o servidor envia um ou mais {@link BlocoRelatorio},
+ * com as colunas na mesma ordem, até o bloco marcado como último.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class CabecalhoRelatorio implements Serializable {
+
+    /** Identificador de versão da classe para serialização. */
+    private static final long serialVersionUID = 1L;
+
+    private final String relatorio;
+    private final String[] colunas;
+    private final TipoColuna[] tipos;
+
+    /**
+     * Cria o cabeçalho.
+     *
+     * @param relatorio nome do relatório
+     * @param colunas nomes das colunas
+     * @param tipos tipos das colunas, na mesma ordem
+     */
+    public CabecalhoRelatorio(String relatorio, String[] colunas, TipoColuna[] tipos) {
+        this.relatorio = relatorio;
+        this.colunas = colunas.clone();
+        this.tipos = tipos.clone();
+    }
+
+    /**
+     * @return nome do relatório
+     */
+    public String getRelatorio() {
+        return relatorio;
+    }
+
+    /**
+     * @return quantidade de colunas
+     */
+    public int getQuantidadeColunas() {
+        return colunas.length;
+    }
+
+    /**
+     * @param coluna posição da coluna
+     * @return nome da coluna
+     */
+    public String getColuna(int coluna) {
+        return colunas[coluna];
+    }
+
+    /**
+     * @param coluna posição da coluna
+     * @return tipo da coluna
+     */
+    public TipoColuna getTipo(int coluna) {
+        return tipos[coluna];
+    }
+}
@@ -2,6 +2,7 @@ package model;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.Locale;
 
 /**
  * Representa uma movimentação de estoque no sistema.
@@ -40,6 +41,12 @@ public class Movimentacao implements Serializable {
     /** Data e hora em que a movimentação foi registrada. */
     private Date dataMovimentacao;
 
+    /**
+     * Chave de idempotência opcional, gerada pelo cliente: um reenvio com a
+     * mesma chave não grava a movimentação de novo.
+     */
+    private String chaveIdempotencia;
+
     /**
      * Construtor padrão sem parâmetros.
      * <p>
@@ -172,6 +179,37 @@ public class Movimentacao implements Serializable {
         this.dataMovimentacao = dataMovimentacao;
     }
 
+    /**
+     * Retorna a chave de idempotência informada pelo cliente.
+     *
+     * @return chave de idempotência, ou {@code null} se não houver
+     */
+    public String getChaveIdempotencia() {
+        return chaveIdempotencia;
+    }
+
+    /**
+     * Define a chave de idempotência da movimentação (até 64 caracteres).
+     * Reenvios da mesma movimentação devem usar a mesma chave.
+     *
+     * @param chaveIdempotencia chave gerada pelo cliente, ou {@code null}
+     */
+    public void setChaveIdempotencia(String chaveIdempotencia) {
+        this.chaveIdempotencia = chaveIdempotencia;
+    }
+
+    /**
+     * Resume o que a movimentação grava (produto, tipo e quantidade), para
+     * comparar reenvios com a mesma chave de idempotência: a data e a própria
+     * chave ficam de fora.
+     *
+     * @return resumo comparável com {@code equals}
+     */
+    public String resumirConteudo() {
+        return (produto != null ? produto.getId() : 0) + " "
+                + (tipo != null ? tipo.trim().toUpperCase(Locale.ROOT) : null) + " " + quantidade;
+    }
+
     /**
      * Retorna uma representação textual da movimentação.
      * <p>
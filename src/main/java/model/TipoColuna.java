@@ -0,0 +1,28 @@
+package model;
+
+/**
+ * Tipo de uma coluna de relatório no formato em quadros
+ * ({@link CabecalhoRelatorio} e {@link BlocoRelatorio}).
+ * <p>
+ * Cada tipo define o vetor em que os valores da coluna são transmitidos:
+ * </p>
+ * <ul>
+ *     <li>{@link #INTEIRO} — {@code long[]} (quantidades e totais);</li>
+ *     <li>{@link #DECIMAL} — {@code double[]} (preços e valores);</li>
+ *     <li>{@link #TEXTO} — {@code String[]} (nomes).</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum TipoColuna {
+
+    /** Número inteiro, transmitido em {@code long[]}. */
+    INTEIRO,
+
+    /** Número decimal, transmitido em {@code double[]}. */
+    DECIMAL,
+
+    /** Texto, transmitido em {@code String[]}. */
+    TEXTO
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Locale;
+
 /**
  * Enumeração que define os tipos de movimentação de estoque.
  * <p>
@@ -32,5 +34,22 @@ public enum TipoMovimentacao {
     ENTRADA,
 
     /** Saída de produtos do estoque. */
-    SAIDA
+    SAIDA;
+
+    /**
+     * Localiza o tipo pelo nome, sem distinguir maiúsculas.
+     *
+     * @param nome nome informado pelo cliente
+     * @return tipo, ou {@code null} se o nome não corresponde a nenhum
+     */
+    public static TipoMovimentacao porNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        try {
+            return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
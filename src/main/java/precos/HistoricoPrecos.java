@@ -0,0 +1,175 @@
+package precos;
+
+import avaliacao.AvaliacaoEstoque;
+import dao.HistoricoPrecoRepositorio;
+import dao.Repositorios;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import log.Log;
+import model.Produto;
+
+/**
+ * Histórico de preços dos produtos, para valorizar movimentações passadas
+ * pelo preço da época em vez do preço atual.
+ * <p>
+ * Cada mudança de preço feita pelo {@code service.ProdutoService} grava uma
+ * vigência na tabela {@code preco_historico} e a acrescenta ao índice em
+ * memória: por produto, as vigências ordenadas pelo início
+ * ({@link IntervalosPreco}), em que o preço em um instante é achado por
+ * busca binária. Os relatórios históricos consultam o índice para cada
+ * movimentação, sem {@code JOIN} com a tabela de histórico.
+ * </p>
+ *
+ * <p><b>Inicialização:</b> as vigências são lidas da tabela. Na primeira
+ * execução (tabela vazia), o preço atual de cada produto é gravado como
+ * vigente desde sempre, em um único comando. Antes da primeira vigência de
+ * um produto vale o preço dela, o mais antigo conhecido.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class HistoricoPrecos {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final HistoricoPrecos INSTANCIA = new HistoricoPrecos();
+
+    /** Início das vigências de preços anteriores ao histórico ("desde sempre"). */
+    private static final long DESDE_SEMPRE = 0;
+
+    /** Vigências por produto. */
+    private final Map<Integer, IntervalosPreco> porProduto = new ConcurrentHashMap<>();
+
+    /** Indica se as vigências foram carregadas; antes disso, as mudanças não são registradas. */
+    private volatile boolean iniciado;
+
+    private final HistoricoPrecoRepositorio repositorio = Repositorios.historicoPrecos();
+
+    private HistoricoPrecos() {
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return histórico de preços
+     */
+    public static HistoricoPrecos getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Carrega as vigências gravadas (semeando a tabela na primeira execução).
+     * Chamado uma vez, na inicialização do servidor, antes de aceitar conexões.
+     */
+    public static void iniciar() {
+        HistoricoPrecos historico = getInstancia();
+        long inicio = System.nanoTime();
+        try {
+            List<VigenciaPreco> vigencias = historico.repositorio.carregar();
+            if (vigencias.isEmpty()) {
+                int semeadas = historico.repositorio.semear(DESDE_SEMPRE);
+                if (semeadas > 0) {
+                    Log.info("🏷️ Histórico de preços iniciado com os preços atuais", "produtos", semeadas);
+                    vigencias = historico.repositorio.carregar();
+                }
+            }
+            for (VigenciaPreco v : vigencias) {
+                historico.porProduto.merge(v.produtoId(), IntervalosPreco.de(v.desde(), v.precoCentavos()),
+                        (atual, novo) -> atual.com(v.desde(), v.precoCentavos()));
+            }
+            historico.iniciado = true;
+            Log.info("🏷️ Histórico de preços carregado", "produtos", historico.porProduto.size(),
+                    "vigencias", vigencias.size(), "duracao_ms", (System.nanoTime() - inicio) / 1_000_000);
+        } catch (SQLException e) {
+            // Sem índice: os relatórios históricos usam o preço atual
+            Log.aviso("⚠️ Histórico de preços indisponível", "motivo", e.getMessage());
+        }
+    }
+
+    // ======================================================================
+    // MUDANÇAS DE PREÇO
+    // ======================================================================
+
+    /**
+     * Garante que o preço anterior a uma alteração esteja no histórico: se o
+     * produto ainda não tem vigências (criado por fora do servidor, por
+     * exemplo), grava o preço atual do banco como vigente desde sempre.
+     * Chamado antes de gravar a alteração.
+     *
+     * @param produtoId ID do produto que será alterado
+     */
+    public void registrarPrecoAnterior(int produtoId) {
+        if (!iniciado || porProduto.containsKey(produtoId)) {
+            return;
+        }
+        Produto atual;
+        try {
+            atual = Repositorios.produtos().buscarPorIds(List.of(produtoId)).get(produtoId);
+        } catch (SQLException e) {
+            Log.aviso("⚠️ Preço anterior fora do histórico", "produto", produtoId, "motivo", e.getMessage());
+            return;
+        }
+        if (atual != null) {
+            gravar(new VigenciaPreco(produtoId, DESDE_SEMPRE, AvaliacaoEstoque.centavos(atual.getPreco())));
+        }
+    }
+
+    /**
+     * Registra o preço de um produto inserido ou alterado, se ele mudou: grava
+     * uma vigência a partir de agora.
+     *
+     * @param produto produto com o preço gravado
+     */
+    public void registrarPreco(Produto produto) {
+        if (!iniciado || produto == null) {
+            return;
+        }
+        long centavos = AvaliacaoEstoque.centavos(produto.getPreco());
+        IntervalosPreco atual = porProduto.get(produto.getId());
+        if (atual == null || atual.atual() != centavos) {
+            gravar(new VigenciaPreco(produto.getId(), System.currentTimeMillis(), centavos));
+        }
+    }
+
+    /**
+     * Remove do índice um produto excluído (na tabela, as vigências saem com
+     * o produto, por {@code ON DELETE CASCADE}).
+     *
+     * @param produtoId ID do produto
+     */
+    public void remover(int produtoId) {
+        porProduto.remove(produtoId);
+    }
+
+    /** Grava a vigência e, se deu certo, a acrescenta ao índice. */
+    private void gravar(VigenciaPreco v) {
+        try {
+            repositorio.gravar(v);
+        } catch (SQLException e) {
+            Log.aviso("⚠️ Mudança de preço fora do histórico", "produto", v.produtoId(),
+                    "motivo", e.getMessage());
+            return;
+        }
+        porProduto.merge(v.produtoId(), IntervalosPreco.de(v.desde(), v.precoCentavos()),
+                (atual, novo) -> atual.com(v.desde(), v.precoCentavos()));
+        Log.debug("🏷️ Preço registrado no histórico", "produto", v.produtoId(),
+                "preco", v.precoCentavos() / 100.0, "desde", v.desde());
+    }
+
+    // ======================================================================
+    // CONSULTAS
+    // ======================================================================
+
+    /**
+     * Preço de um produto em um instante, em O(log n) nas vigências do produto.
+     *
+     * @param produtoId ID do produto
+     * @param instante milissegundos desde a época
+     * @return preço em centavos, ou {@code -1} se o produto não tem histórico
+     */
+    public long centavosEm(int produtoId, long instante) {
+        IntervalosPreco intervalos = porProduto.get(produtoId);
+        return intervalos == null ? -1 : intervalos.centavosEm(instante);
+    }
+}
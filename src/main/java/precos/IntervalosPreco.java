@@ -0,0 +1,78 @@
+package precos;
+
+import java.util.Arrays;
+
+/**
+ * Vigências de preço de um produto, ordenadas pelo início: o preço em um
+ * instante é achado por busca binária, em O(log n).
+ * <p>
+ * Imutável: uma vigência nova gera uma cópia com ela inserida na posição
+ * certa, e quem está consultando continua com a versão anterior, sem travas
+ * (mudanças de preço são raras perto das consultas).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class IntervalosPreco {
+
+    private final long[] desde;
+    private final long[] centavos;
+
+    private IntervalosPreco(long[] desde, long[] centavos) {
+        this.desde = desde;
+        this.centavos = centavos;
+    }
+
+    /**
+     * @return intervalos com uma única vigência
+     */
+    static IntervalosPreco de(long desde, long precoCentavos) {
+        return new IntervalosPreco(new long[]{desde}, new long[]{precoCentavos});
+    }
+
+    /**
+     * Preço em um instante: o da última vigência iniciada até ele. Antes da
+     * primeira vigência, vale o preço dela (o mais antigo conhecido).
+     *
+     * @param instante milissegundos desde a época
+     * @return preço em centavos
+     */
+    long centavosEm(long instante) {
+        int i = Arrays.binarySearch(desde, instante);
+        if (i < 0) {
+            i = Math.max(0, -i - 2);
+        }
+        return centavos[i];
+    }
+
+    /**
+     * @return preço da vigência mais recente, em centavos
+     */
+    long atual() {
+        return centavos[centavos.length - 1];
+    }
+
+    /**
+     * Cópia com uma vigência a mais; uma vigência com o mesmo início substitui
+     * a existente.
+     */
+    IntervalosPreco com(long inicio, long precoCentavos) {
+        int i = Arrays.binarySearch(desde, inicio);
+        if (i >= 0) {
+            long[] novosCentavos = centavos.clone();
+            novosCentavos[i] = precoCentavos;
+            return new IntervalosPreco(desde, novosCentavos);
+        }
+        int pos = -i - 1;
+        long[] novosDesde = new long[desde.length + 1];
+        long[] novosCentavos = new long[desde.length + 1];
+        System.arraycopy(desde, 0, novosDesde, 0, pos);
+        System.arraycopy(centavos, 0, novosCentavos, 0, pos);
+        novosDesde[pos] = inicio;
+        novosCentavos[pos] = precoCentavos;
+        System.arraycopy(desde, pos, novosDesde, pos + 1, desde.length - pos);
+        System.arraycopy(centavos, pos, novosCentavos, pos + 1, desde.length - pos);
+        return new IntervalosPreco(novosDesde, novosCentavos);
+    }
+}
@@ -0,0 +1,113 @@
+package precos;
+
+import avaliacao.AvaliacaoEstoque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Valor movimentado por produto a preço da época
+ * ({@link Relatorio#VALOR_MOVIMENTADO}): cada movimentação dos últimos
+ * {@code -Destoque.valorMovimentado.dias} dias (padrão 30) é valorizada pelo
+ * preço vigente no instante em que ocorreu, consultado no
+ * {@link HistoricoPrecos}; o valor das saídas ao preço atual acompanha, para
+ * comparação. Produtos sem histórico são valorizados pelo preço atual.
+ * <p>
+ * Uso: {@link #somar} para cada movimentação lida, {@link #produto} para
+ * cada produto e, por fim, {@link #escrever}. Não é thread-safe.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class ValorMovimentado {
+
+    /** Janela das movimentações valorizadas, em dias ({@code -Destoque.valorMovimentado.dias}). */
+    public static final int JANELA_DIAS = Math.max(1, Integer.getInteger("estoque.valorMovimentado.dias", 30));
+
+    /** Ordem das linhas: maior valor de saídas primeiro; empates pelo nome. */
+    private static final Comparator<Linha> POR_VALOR_SAIDAS = Comparator
+            .comparingLong(Linha::valorSaidas).reversed()
+            .thenComparing(Linha::produto, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+    // Posições dos totais de cada produto
+    private static final int ENTRADAS = 0;
+    private static final int SAIDAS = 1;
+    private static final int VALOR_ENTRADAS = 2;
+    private static final int VALOR_SAIDAS = 3;
+    private static final int ENTRADAS_SEM_PRECO = 4;
+    private static final int SAIDAS_SEM_PRECO = 5;
+
+    private final HistoricoPrecos historico = HistoricoPrecos.getInstancia();
+
+    /** Totais por produto: quantidades, valores em centavos e quantidades ainda sem preço. */
+    private final Map<Integer, long[]> totais = new HashMap<>();
+
+    private final List<Linha> linhas = new ArrayList<>();
+
+    /** Linha do relatório (valores em centavos). */
+    private record Linha(String produto, String categoria, long entradas, long saidas,
+                         long valorEntradas, long valorSaidas, long valorSaidasPrecoAtual) {
+    }
+
+    /**
+     * Soma uma movimentação, valorizada pelo preço vigente no instante dela.
+     *
+     * @param produtoId ID do produto
+     * @param entrada {@code true} para entrada, {@code false} para saída
+     * @param quantidade unidades movimentadas
+     * @param instante data da movimentação, em milissegundos desde a época
+     */
+    public void somar(int produtoId, boolean entrada, int quantidade, long instante) {
+        long[] t = totais.computeIfAbsent(produtoId, k -> new long[6]);
+        long preco = historico.centavosEm(produtoId, instante);
+        t[entrada ? ENTRADAS : SAIDAS] += quantidade;
+        if (preco < 0) {
+            t[entrada ? ENTRADAS_SEM_PRECO : SAIDAS_SEM_PRECO] += quantidade;
+        } else {
+            t[entrada ? VALOR_ENTRADAS : VALOR_SAIDAS] += quantidade * preco;
+        }
+    }
+
+    /**
+     * Monta a linha de um produto, se ele teve movimentações (produtos sem
+     * categoria ficam de fora, como nos outros relatórios).
+     *
+     * @param id ID do produto
+     * @param nome nome do produto
+     * @param categoria nome da categoria
+     * @param precoAtual preço atual do produto
+     */
+    public void produto(int id, String nome, String categoria, double precoAtual) {
+        long[] t = totais.get(id);
+        if (t == null) {
+            return;
+        }
+        long atual = AvaliacaoEstoque.centavos(precoAtual);
+        linhas.add(new Linha(nome, categoria, t[ENTRADAS], t[SAIDAS],
+                t[VALOR_ENTRADAS] + t[ENTRADAS_SEM_PRECO] * atual, t[VALOR_SAIDAS] + t[SAIDAS_SEM_PRECO] * atual,
+                t[SAIDAS] * atual));
+    }
+
+    /**
+     * Escreve as linhas montadas, do maior para o menor valor de saídas (sem
+     * {@code iniciar}/{@code concluir}).
+     *
+     * @param saida destino das linhas
+     * @return quantidade de linhas escritas
+     */
+    public int escrever(SaidaRelatorio saida) {
+        linhas.sort(POR_VALOR_SAIDAS);
+        for (Linha l : linhas) {
+            saida.texto(l.produto()).texto(l.categoria()).inteiro(l.entradas()).inteiro(l.saidas())
+                    .decimal(l.valorEntradas() / 100.0).decimal(l.valorSaidas() / 100.0)
+                    .decimal(l.valorSaidasPrecoAtual() / 100.0);
+            saida.fimLinha();
+        }
+        return linhas.size();
+    }
+}
@@ -0,0 +1,14 @@
+package precos;
+
+/**
+ * Preço de um produto a partir de um instante, como gravado na tabela
+ * {@code preco_historico}: vale até a próxima vigência do mesmo produto.
+ *
+ * @param produtoId ID do produto
+ * @param desde início da vigência, em milissegundos desde a época
+ * @param precoCentavos preço unitário, em centavos
+ * @version 1.0
+ * @since 2025
+ */
+public record VigenciaPreco(int produtoId, long desde, long precoCentavos) {
+}
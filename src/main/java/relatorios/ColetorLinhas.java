@@ -0,0 +1,73 @@
+package relatorios;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reúne as linhas de um relatório em mapas ({@code Map<String, Object>}),
+ * com os nomes das colunas como chaves: o formato dos comandos
+ * {@code RELATORIO_*} e do {@code RELATORIO_DASHBOARD}.
+ * <p>
+ * Colunas {@code INTEIRO} viram {@link Long} e {@code DECIMAL} viram
+ * {@link Double}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ColetorLinhas implements SaidaRelatorio {
+
+    private final List<Map<String, Object>> linhas = new ArrayList<>();
+
+    private Relatorio relatorio;
+    private Map<String, Object> atual;
+    private int coluna;
+
+    @Override
+    public void iniciar(Relatorio relatorio) {
+        this.relatorio = relatorio;
+    }
+
+    @Override
+    public SaidaRelatorio texto(String valor) {
+        return valor(valor);
+    }
+
+    @Override
+    public SaidaRelatorio inteiro(long valor) {
+        return valor(valor);
+    }
+
+    @Override
+    public SaidaRelatorio decimal(double valor) {
+        return valor(valor);
+    }
+
+    private SaidaRelatorio valor(Object valor) {
+        if (atual == null) {
+            atual = new HashMap<>();
+        }
+        atual.put(relatorio.getColuna(coluna++), valor);
+        return this;
+    }
+
+    @Override
+    public void fimLinha() {
+        linhas.add(atual == null ? new HashMap<>() : atual);
+        atual = null;
+        coluna = 0;
+    }
+
+    @Override
+    public void concluir() {
+    }
+
+    /**
+     * @return linhas reunidas até agora
+     */
+    public List<Map<String, Object>> getLinhas() {
+        return linhas;
+    }
+}
@@ -0,0 +1,153 @@
+package relatorios;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import model.BlocoRelatorio;
+import model.CabecalhoRelatorio;
+import model.TipoColuna;
+
+/**
+ * Envia um relatório ao cliente em quadros: o {@link CabecalhoRelatorio} e,
+ * em seguida, {@link BlocoRelatorio blocos} de até
+ * {@code -Destoque.relatorio.linhasPorBloco} linhas (padrão 512), enviados à
+ * medida que as linhas são escritas — isto é, enquanto o {@code ResultSet}
+ * ainda está sendo lido.
+ * <p>
+ * Os valores vão direto para vetores primitivos por coluna, reaproveitados
+ * de um bloco para o outro: depois de cada bloco o fluxo é esvaziado e
+ * recebe {@link ObjectOutputStream#reset()}, de modo que o próximo envio
+ * serializa o conteúdo novo em vez de uma referência ao vetor já enviado.
+ * </p>
+ * <p>
+ * Falhas de rede são relançadas como {@link UncheckedIOException}, para
+ * atravessar a leitura do repositório e interromper a consulta.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class EscritorQuadros implements SaidaRelatorio {
+
+    /** Linhas por bloco. */
+    private static final int LINHAS_POR_BLOCO = Math.max(1, Integer.getInteger("estoque.relatorio.linhasPorBloco", 512));
+
+    private final ObjectOutputStream out;
+
+    private TipoColuna[] tipos;
+    private Serializable[] colunas;
+    private int linha;
+    private int coluna;
+    private long totalLinhas;
+    private int blocos;
+
+    /**
+     * Cria o escritor.
+     *
+     * @param out fluxo de objetos da conexão com o cliente
+     */
+    public EscritorQuadros(ObjectOutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void iniciar(Relatorio relatorio) {
+        tipos = new TipoColuna[relatorio.getQuantidadeColunas()];
+        colunas = new Serializable[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            tipos[i] = relatorio.getTipo(i);
+            colunas[i] = switch (tipos[i]) {
+                case INTEIRO -> new long[LINHAS_POR_BLOCO];
+                case DECIMAL -> new double[LINHAS_POR_BLOCO];
+                case TEXTO -> new String[LINHAS_POR_BLOCO];
+            };
+        }
+        enviar(relatorio.cabecalho());
+    }
+
+    @Override
+    public SaidaRelatorio texto(String valor) {
+        ((String[]) proximaColuna(TipoColuna.TEXTO))[linha] = valor;
+        return this;
+    }
+
+    @Override
+    public SaidaRelatorio inteiro(long valor) {
+        ((long[]) proximaColuna(TipoColuna.INTEIRO))[linha] = valor;
+        return this;
+    }
+
+    @Override
+    public SaidaRelatorio decimal(double valor) {
+        ((double[]) proximaColuna(TipoColuna.DECIMAL))[linha] = valor;
+        return this;
+    }
+
+    private Object proximaColuna(TipoColuna tipo) {
+        if (coluna >= tipos.length || tipos[coluna] != tipo) {
+            throw new IllegalStateException("Coluna " + coluna + " não é do tipo " + tipo);
+        }
+        return colunas[coluna++];
+    }
+
+    @Override
+    public void fimLinha() {
+        if (coluna != tipos.length) {
+            throw new IllegalStateException("Linha com " + coluna + " de " + tipos.length + " colunas");
+        }
+        coluna = 0;
+        totalLinhas++;
+        if (++linha == LINHAS_POR_BLOCO) {
+            enviarBloco(false);
+        }
+    }
+
+    @Override
+    public void concluir() {
+        enviarBloco(true);
+    }
+
+    private void enviarBloco(boolean ultimo) {
+        Serializable[] dados = colunas;
+        if (linha < LINHAS_POR_BLOCO) {
+            // Bloco incompleto (o último): envia só as linhas preenchidas
+            dados = new Serializable[colunas.length];
+            for (int i = 0; i < colunas.length; i++) {
+                dados[i] = switch (tipos[i]) {
+                    case INTEIRO -> Arrays.copyOf((long[]) colunas[i], linha);
+                    case DECIMAL -> Arrays.copyOf((double[]) colunas[i], linha);
+                    case TEXTO -> Arrays.copyOf((String[]) colunas[i], linha);
+                };
+            }
+        }
+        enviar(new BlocoRelatorio(linha, dados, ultimo));
+        blocos++;
+        linha = 0;
+    }
+
+    private void enviar(Object quadro) {
+        try {
+            out.writeObject(quadro);
+            out.reset();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return linhas escritas até agora
+     */
+    public long getTotalLinhas() {
+        return totalLinhas;
+    }
+
+    /**
+     * @return blocos enviados até agora
+     */
+    public int getBlocos() {
+        return blocos;
+    }
+}
@@ -0,0 +1,157 @@
+package relatorios;
+
+import java.util.Locale;
+import model.CabecalhoRelatorio;
+import model.TipoColuna;
+
+/**
+ * Relatórios de estoque enviados ao cliente, com suas colunas.
+ * <p>
+ * A definição das colunas (nome, tipo e ordem) fica aqui, uma única vez; as
+ * implementações de {@code dao.RelatorioRepositorio} escrevem os valores de
+ * cada linha nessa ordem em uma {@link SaidaRelatorio}. Os nomes das colunas
+ * são as mesmas chaves das linhas em {@code Map} dos comandos
+ * {@code RELATORIO_*}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public enum Relatorio {
+
+    /** Lista de preços, ordenada pelo nome do produto. */
+    LISTA_PRECOS("Lista de preços",
+            texto("produto"), texto("categoria"), decimal("preco"), texto("tipo_unidade")),
+
+    /** Balanço físico e financeiro, ordenado pelo nome do produto. */
+    BALANCO("Balanço físico/financeiro",
+            texto("produto"), texto("categoria"), inteiro("quantidade"), decimal("preco"), decimal("valor_total")),
+
+    /** Produtos abaixo do estoque mínimo, ordenados pelo nome. */
+    ABAIXO_MINIMO("Produtos abaixo do mínimo",
+            texto("produto"), texto("categoria"), inteiro("quantidade_atual"), inteiro("quantidade_minima")),
+
+    /** Quantidade de produtos por categoria, ordenada pelo nome da categoria. */
+    QTD_POR_CATEGORIA("Quantidade por categoria",
+            texto("categoria"), inteiro("quantidade")),
+
+    /** Totais movimentados por produto, do mais para o menos movimentado. */
+    MAIS_MOVIMENTADO("Produto mais movimentado",
+            texto("produto"), texto("categoria"), inteiro("entradas"), inteiro("saidas"), inteiro("total_movimentado")),
+
+    /**
+     * Cobertura de estoque e ponto de pedido por produto, do mais para o
+     * menos urgente. Calculado por {@code service.RelatorioService} a partir
+     * dos produtos e das saídas da janela ({@code reposicao.CoberturaEstoque}),
+     * não pelos repositórios.
+     */
+    COBERTURA_ESTOQUE("Cobertura e ponto de pedido",
+            texto("produto"), texto("categoria"), inteiro("quantidade_atual"), inteiro("quantidade_minima"),
+            inteiro("quantidade_maxima"), decimal("saida_media_diaria"), decimal("dias_cobertura"),
+            inteiro("ponto_pedido"), inteiro("sugestao_compra")),
+
+    /**
+     * Curva ABC pelo valor das saídas, do maior para o menor valor. Calculada
+     * por {@code service.RelatorioService} ({@code classificacao.CurvaAbc}),
+     * não pelos repositórios.
+     */
+    CURVA_ABC("Curva ABC",
+            texto("produto"), texto("categoria"), inteiro("quantidade_saida"), decimal("valor"),
+            decimal("participacao"), decimal("participacao_acumulada"), texto("classe")),
+
+    /**
+     * Valor movimentado por produto a preço da época, do maior para o menor
+     * valor de saídas. Calculado por {@code service.RelatorioService}
+     * ({@code precos.ValorMovimentado}), não pelos repositórios.
+     */
+    VALOR_MOVIMENTADO("Valor movimentado a preço da época",
+            texto("produto"), texto("categoria"), inteiro("entradas"), inteiro("saidas"),
+            decimal("valor_entradas"), decimal("valor_saidas"), decimal("valor_saidas_preco_atual"));
+
+    private final String titulo;
+    private final String[] colunas;
+    private final TipoColuna[] tipos;
+
+    Relatorio(String titulo, Coluna... colunas) {
+        this.titulo = titulo;
+        this.colunas = new String[colunas.length];
+        this.tipos = new TipoColuna[colunas.length];
+        for (int i = 0; i < colunas.length; i++) {
+            this.colunas[i] = colunas[i].nome();
+            this.tipos[i] = colunas[i].tipo();
+        }
+    }
+
+    /** Coluna de um relatório: nome e tipo. */
+    private record Coluna(String nome, TipoColuna tipo) {
+    }
+
+    private static Coluna texto(String nome) {
+        return new Coluna(nome, TipoColuna.TEXTO);
+    }
+
+    private static Coluna inteiro(String nome) {
+        return new Coluna(nome, TipoColuna.INTEIRO);
+    }
+
+    private static Coluna decimal(String nome) {
+        return new Coluna(nome, TipoColuna.DECIMAL);
+    }
+
+    /**
+     * Localiza um relatório pelo nome, com ou sem o prefixo {@code RELATORIO_}
+     * dos comandos ({@code "BALANCO"} ou {@code "RELATORIO_BALANCO"}).
+     *
+     * @param nome nome informado pelo cliente
+     * @return relatório, ou {@code null} se o nome não corresponde a nenhum
+     */
+    public static Relatorio porNome(String nome) {
+        String chave = nome.trim().toUpperCase(Locale.ROOT);
+        if (chave.startsWith("RELATORIO_")) {
+            chave = chave.substring("RELATORIO_".length());
+        }
+        for (Relatorio r : values()) {
+            if (r.name().equals(chave)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return nome do relatório para logs e mensagens
+     */
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /**
+     * @return quantidade de colunas
+     */
+    public int getQuantidadeColunas() {
+        return colunas.length;
+    }
+
+    /**
+     * @param coluna posição da coluna
+     * @return nome da coluna
+     */
+    public String getColuna(int coluna) {
+        return colunas[coluna];
+    }
+
+    /**
+     * @param coluna posição da coluna
+     * @return tipo da coluna
+     */
+    public TipoColuna getTipo(int coluna) {
+        return tipos[coluna];
+    }
+
+    /**
+     * @return cabeçalho enviado no início do relatório em quadros
+     */
+    public CabecalhoRelatorio cabecalho() {
+        return new CabecalhoRelatorio(name(), colunas, tipos);
+    }
+}
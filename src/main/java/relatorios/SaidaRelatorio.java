@@ -0,0 +1,62 @@
+package relatorios;
+
+/**
+ * Destino das linhas de um relatório, escritas valor a valor na ordem das
+ * colunas do {@link Relatorio}, sem objetos intermediários por linha.
+ * <p>
+ * Sequência de uso: {@link #iniciar(Relatorio)}; para cada linha, um valor
+ * por coluna seguido de {@link #fimLinha()}; por fim {@link #concluir()}.
+ * Quem inicia e conclui é o serviço; os repositórios só escrevem as linhas.
+ * </p>
+ * <p>
+ * Implementações: {@link EscritorQuadros} (envio ao cliente em blocos) e
+ * {@link ColetorLinhas} (linhas em {@code Map}, para os comandos
+ * {@code RELATORIO_*} e o painel).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public interface SaidaRelatorio {
+
+    /**
+     * Começa um relatório.
+     *
+     * @param relatorio relatório cujas colunas serão escritas
+     */
+    void iniciar(Relatorio relatorio);
+
+    /**
+     * Escreve o valor de uma coluna {@code TEXTO}.
+     *
+     * @param valor texto (pode ser {@code null})
+     * @return esta saída, para encadear as colunas da linha
+     */
+    SaidaRelatorio texto(String valor);
+
+    /**
+     * Escreve o valor de uma coluna {@code INTEIRO}.
+     *
+     * @param valor número inteiro
+     * @return esta saída, para encadear as colunas da linha
+     */
+    SaidaRelatorio inteiro(long valor);
+
+    /**
+     * Escreve o valor de uma coluna {@code DECIMAL}.
+     *
+     * @param valor número decimal
+     * @return esta saída, para encadear as colunas da linha
+     */
+    SaidaRelatorio decimal(double valor);
+
+    /**
+     * Fecha a linha atual; todas as colunas devem ter sido escritas.
+     */
+    void fimLinha();
+
+    /**
+     * Termina o relatório.
+     */
+    void concluir();
+}
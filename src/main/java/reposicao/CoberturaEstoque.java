@@ -0,0 +1,124 @@
+package reposicao;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+
+/**
+ * Cobertura de estoque e ponto de pedido de cada produto, para as compras
+ * ({@link Relatorio#COBERTURA_ESTOQUE}).
+ * <p>
+ * Para cada produto, a partir das saídas dos últimos
+ * {@code -Destoque.cobertura.dias} dias (padrão 30):
+ * </p>
+ * <ul>
+ *   <li><b>saída média diária:</b> saídas da janela ÷ dias da janela;</li>
+ *   <li><b>dias de cobertura:</b> quantidade atual ÷ saída média diária
+ *   ({@code -1} se não houve saídas na janela);</li>
+ *   <li><b>ponto de pedido:</b> quantidade mínima + consumo previsto durante o
+ *   prazo de reposição ({@code -Destoque.cobertura.prazoDias}, padrão 7),
+ *   arredondado para cima;</li>
+ *   <li><b>sugestão de compra:</b> com a quantidade atual no ponto de pedido
+ *   ou abaixo dele, o que falta para chegar à quantidade máxima (ou ao
+ *   ponto de pedido, se a máxima for menor); acima dele, zero.</li>
+ * </ul>
+ * <p>
+ * O cálculo é independente entre produtos e roda em paralelo (stream
+ * paralelo no pool comum de fork/join), assim como a ordenação por
+ * urgência: primeiro os produtos com sugestão de compra, depois os de menor
+ * cobertura, e por fim pelo nome.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class CoberturaEstoque {
+
+    /** Janela das saídas consideradas, em dias ({@code -Destoque.cobertura.dias}). */
+    public static final int JANELA_DIAS = Math.max(1, Integer.getInteger("estoque.cobertura.dias", 30));
+
+    /** Prazo de reposição, em dias ({@code -Destoque.cobertura.prazoDias}). */
+    public static final int PRAZO_REPOSICAO_DIAS = Math.max(0, Integer.getInteger("estoque.cobertura.prazoDias", 7));
+
+    /** Ordem de urgência das linhas. */
+    private static final Comparator<Linha> URGENCIA = Comparator
+            .comparing((Linha l) -> l.sugestaoCompra() == 0)
+            .thenComparingDouble(Linha::diasCobertura)
+            .thenComparing(Linha::produto, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+
+    private CoberturaEstoque() {
+    }
+
+    /**
+     * Produto avaliado: estoque atual e limites cadastrados.
+     *
+     * @param id ID do produto (chave das saídas)
+     * @param produto nome do produto
+     * @param categoria nome da categoria
+     * @param quantidadeAtual quantidade em estoque
+     * @param quantidadeMinima estoque mínimo
+     * @param quantidadeMaxima estoque máximo
+     */
+    public record Posicao(int id, String produto, String categoria, int quantidadeAtual,
+                          int quantidadeMinima, int quantidadeMaxima) {
+    }
+
+    /**
+     * Linha do relatório, na ordem das colunas de {@link Relatorio#COBERTURA_ESTOQUE}
+     * ({@code diasCobertura} é {@link Double#POSITIVE_INFINITY} quando não houve saídas).
+     */
+    public record Linha(String produto, String categoria, int quantidadeAtual, int quantidadeMinima,
+                        int quantidadeMaxima, double saidaMediaDiaria, double diasCobertura,
+                        long pontoPedido, long sugestaoCompra) {
+    }
+
+    /**
+     * Calcula a cobertura de cada produto, em paralelo, e ordena o resultado
+     * por urgência.
+     *
+     * @param posicoes produtos avaliados
+     * @param saidas unidades saídas na janela por ID de produto (ausente: nenhuma)
+     * @param dias tamanho da janela das saídas
+     * @param prazoReposicao prazo de reposição, em dias
+     * @return linhas do relatório, da mais para a menos urgente
+     */
+    public static Linha[] calcular(List<Posicao> posicoes, Map<Integer, Long> saidas, int dias, int prazoReposicao) {
+        Linha[] linhas = posicoes.parallelStream()
+                .map(p -> calcular(p, saidas.getOrDefault(p.id(), 0L), dias, prazoReposicao))
+                .toArray(Linha[]::new);
+        Arrays.parallelSort(linhas, URGENCIA);
+        return linhas;
+    }
+
+    private static Linha calcular(Posicao p, long saidas, int dias, int prazoReposicao) {
+        double media = (double) saidas / dias;
+        double cobertura = media > 0 ? Math.max(p.quantidadeAtual(), 0) / media : Double.POSITIVE_INFINITY;
+        long pontoPedido = p.quantidadeMinima() + (long) Math.ceil(media * prazoReposicao);
+        long sugestao = 0;
+        if (p.quantidadeAtual() <= pontoPedido) {
+            sugestao = Math.max(0, Math.max(p.quantidadeMaxima(), pontoPedido) - p.quantidadeAtual());
+        }
+        return new Linha(p.produto(), p.categoria(), p.quantidadeAtual(), p.quantidadeMinima(),
+                p.quantidadeMaxima(), media, cobertura, pontoPedido, sugestao);
+    }
+
+    /**
+     * Escreve as linhas na saída do relatório (sem {@code iniciar}/{@code concluir}).
+     *
+     * @param linhas linhas calculadas
+     * @param saida destino das linhas
+     */
+    public static void escrever(Linha[] linhas, SaidaRelatorio saida) {
+        for (Linha l : linhas) {
+            saida.texto(l.produto()).texto(l.categoria())
+                    .inteiro(l.quantidadeAtual()).inteiro(l.quantidadeMinima()).inteiro(l.quantidadeMaxima())
+                    .decimal(l.saidaMediaDiaria())
+                    .decimal(Double.isInfinite(l.diasCobertura()) ? -1 : l.diasCobertura())
+                    .inteiro(l.pontoPedido()).inteiro(l.sugestaoCompra());
+            saida.fimLinha();
+        }
+    }
+}
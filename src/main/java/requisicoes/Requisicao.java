@@ -0,0 +1,286 @@
+package requisicoes;
+
+import faixas.Faixa;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import log.Log;
+
+/**
+ * Requisição em atendimento no servidor: identificador, prazo e comandos SQL
+ * em execução, para que o trabalho possa ser interrompido.
+ * <p>
+ * Cada requisição recebe um prazo conforme o comando — o padrão da
+ * {@link Faixa} ({@code -Destoque.faixa.<faixa>.prazoMs}) ou um valor próprio
+ * em {@code -Destoque.prazoMs.<COMANDO>} — que {@code dao.ConexaoDAO} aplica
+ * a cada comando SQL com {@link Statement#setQueryTimeout(int)}.
+ * </p>
+ * <p>
+ * Uma requisição é cancelada quando o cliente desconecta no meio do
+ * atendimento ou pelo comando {@code CANCELAR} (os identificadores em
+ * andamento aparecem em {@code LISTAR_REQUISICOES} e no log). O cancelamento
+ * chama {@link Statement#cancel()} nos comandos em execução — o MySQL
+ * interrompe a consulta e o DAO fecha a conexão ao receber o erro — e as
+ * leituras de {@code ResultSet} seguintes falham na próxima linha.
+ * </p>
+ * <p>
+ * Como a {@link Faixa}, a requisição fica associada apenas à thread que a
+ * atende. Threads criadas durante o atendimento não a herdam — um agendador
+ * iniciado por uma requisição viveria além dela; as tarefas que fazem parte
+ * do atendimento ({@code RELATORIO_DASHBOARD}) recebem a requisição
+ * explicitamente, por {@link #associar()}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class Requisicao {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    /** Requisições em andamento, por identificador. */
+    private static final Map<Long, Requisicao> ATIVAS = new ConcurrentHashMap<>();
+
+    /** Requisição em andamento na thread que a atende. */
+    private static final ThreadLocal<Requisicao> ATUAL = new ThreadLocal<>();
+
+    private final long id;
+    private final String comando;
+    private final String cliente;
+    private final long inicioNanos;
+    private final long limiteNanos;
+
+    /** Comandos SQL em execução neste momento. */
+    private final Set<Statement> emExecucao = ConcurrentHashMap.newKeySet();
+
+    private volatile String motivoCancelamento;
+    private volatile boolean encerrada;
+
+    private Requisicao(long id, String comando, String cliente, long prazoMs) {
+        this.id = id;
+        this.comando = comando;
+        this.cliente = cliente;
+        this.inicioNanos = System.nanoTime();
+        this.limiteNanos = inicioNanos + prazoMs * 1_000_000;
+    }
+
+    /**
+     * Prazo de um comando: {@code -Destoque.prazoMs.<COMANDO>} ou, sem ele, o
+     * prazo padrão da faixa.
+     *
+     * @param comando comando do protocolo
+     * @param faixa faixa em que o comando foi classificado
+     * @return prazo em milissegundos
+     */
+    public static long prazoPara(String comando, Faixa faixa) {
+        return Long.getLong("estoque.prazoMs." + comando, faixa.getPrazoMs());
+    }
+
+    /**
+     * Registra uma nova requisição e a associa à thread atual.
+     *
+     * @param comando comando do protocolo
+     * @param cliente endereço do cliente
+     * @param prazoMs prazo total do atendimento, em milissegundos
+     * @return requisição iniciada
+     */
+    public static Requisicao iniciar(String comando, String cliente, long prazoMs) {
+        Requisicao r = new Requisicao(SEQUENCIA.incrementAndGet(), comando, cliente, prazoMs);
+        ATIVAS.put(r.id, r);
+        ATUAL.set(r);
+        return r;
+    }
+
+    /**
+     * Encerra a requisição: retira do registro e desassocia a thread.
+     */
+    public void encerrar() {
+        encerrada = true;
+        ATIVAS.remove(id);
+        ATUAL.remove();
+    }
+
+    /**
+     * Associa a requisição à thread atual, que executa parte do atendimento
+     * (as tarefas paralelas do painel). A tarefa deve chamar
+     * {@link #desassociar()} ao terminar.
+     */
+    public void associar() {
+        ATUAL.set(this);
+    }
+
+    /**
+     * Desassocia da thread atual a requisição associada por {@link #associar()}.
+     */
+    public static void desassociar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * @return requisição atendida pela thread atual, ou {@code null}
+     */
+    public static Requisicao atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * @param id identificador da requisição
+     * @return requisição em andamento com o identificador, ou {@code null}
+     */
+    public static Requisicao buscar(long id) {
+        return ATIVAS.get(id);
+    }
+
+    /**
+     * Cancela a requisição e interrompe os comandos SQL em execução.
+     * Apenas o primeiro cancelamento tem efeito.
+     *
+     * @param motivo motivo registrado e devolvido ao cliente
+     * @return {@code true} se a requisição foi cancelada por esta chamada
+     */
+    public boolean cancelar(String motivo) {
+        synchronized (this) {
+            if (motivoCancelamento != null || encerrada) {
+                return false;
+            }
+            motivoCancelamento = motivo;
+        }
+        Log.aviso("🛑 Requisição cancelada", "requisicao", id, "comando", comando, "cliente", cliente,
+                "motivo", motivo, "sql_em_execucao", emExecucao.size());
+        for (Statement comandoSql : emExecucao) {
+            interromper(comandoSql);
+        }
+        return true;
+    }
+
+    /**
+     * Indica que a resposta vai ser enviada: a partir daqui a requisição não
+     * é mais cancelada (o cliente que fecha a conexão depois de ler a
+     * resposta não conta como desconexão).
+     *
+     * @return {@code false} se a requisição já foi cancelada e a resposta
+     * deve ser substituída pelo erro de cancelamento
+     */
+    public synchronized boolean responder() {
+        if (motivoCancelamento != null) {
+            return false;
+        }
+        encerrada = true;
+        return true;
+    }
+
+    /**
+     * Marca um comando SQL como em execução. Se a requisição já foi cancelada,
+     * o comando é interrompido de imediato.
+     *
+     * @param comandoSql comando prestes a executar
+     */
+    public void registrar(Statement comandoSql) {
+        emExecucao.add(comandoSql);
+        if (motivoCancelamento != null) {
+            interromper(comandoSql);
+        }
+    }
+
+    /**
+     * Retira um comando SQL do registro: concluído ou, se devolveu um
+     * resultado, com o resultado já fechado.
+     *
+     * @param comandoSql comando executado
+     */
+    public void desregistrar(Statement comandoSql) {
+        emExecucao.remove(comandoSql);
+    }
+
+    private void interromper(Statement comandoSql) {
+        try {
+            comandoSql.cancel();
+        } catch (SQLException e) {
+            Log.aviso("⚠️ Falha ao cancelar comando SQL", "requisicao", id, "motivo", e.getMessage());
+        }
+    }
+
+    /**
+     * Verifica se a requisição pode continuar.
+     *
+     * @throws SQLException se foi cancelada ou se o prazo terminou (o que
+     * também cancela a requisição)
+     */
+    public void verificar() throws SQLException {
+        if (motivoCancelamento == null && nanosRestantes() <= 0) {
+            prazoEsgotado();
+        }
+        if (motivoCancelamento != null) {
+            throw new SQLException("Requisição " + id + " cancelada: " + motivoCancelamento);
+        }
+    }
+
+    /**
+     * Cancela a requisição por prazo esgotado (também quando o próprio banco
+     * interrompe o comando pelo {@code setQueryTimeout}). Os DAOs tratam o
+     * erro e devolvem listas vazias; com a requisição cancelada, o cliente
+     * recebe o erro em vez de um resultado incompleto.
+     */
+    public void prazoEsgotado() {
+        cancelar("prazo de " + (limiteNanos - inicioNanos) / 1_000_000 + " ms esgotado");
+    }
+
+    /**
+     * @return tempo restante até o prazo, em nanossegundos (negativo se esgotado)
+     */
+    public long nanosRestantes() {
+        return limiteNanos - System.nanoTime();
+    }
+
+    /**
+     * @return {@code true} se a requisição foi cancelada
+     */
+    public boolean isCancelada() {
+        return motivoCancelamento != null;
+    }
+
+    /**
+     * @return motivo do cancelamento, ou {@code null}
+     */
+    public String getMotivoCancelamento() {
+        return motivoCancelamento;
+    }
+
+    /**
+     * @return identificador da requisição
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Monta a lista de requisições em andamento para o comando
+     * {@code LISTAR_REQUISICOES}.
+     *
+     * @return uma linha por requisição, em ordem de identificador
+     */
+    public static List<Map<String, Object>> listarAtivas() {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        long agora = System.nanoTime();
+        ATIVAS.values().stream()
+                .sorted((a, b) -> Long.compare(a.id, b.id))
+                .forEach(r -> {
+                    Map<String, Object> linha = new LinkedHashMap<>();
+                    linha.put("id", r.id);
+                    linha.put("comando", r.comando);
+                    linha.put("cliente", r.cliente);
+                    linha.put("duracao_ms", (agora - r.inicioNanos) / 1_000_000);
+                    linha.put("restante_ms", (r.limiteNanos - agora) / 1_000_000);
+                    linha.put("sql_em_execucao", r.emExecucao.size());
+                    linha.put("cancelada", r.isCancelada());
+                    linhas.add(linha);
+                });
+        return linhas;
+    }
+}
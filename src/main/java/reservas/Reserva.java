@@ -0,0 +1,69 @@
+package reservas;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reserva pendente de um produto.
+ * <p>
+ * Uma reserva é encerrada uma única vez, por confirmação, liberação ou
+ * vencimento: quem encerra primeiro ({@link #encerrar()}) ajusta o saldo, e
+ * os demais caminhos desistem.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public final class Reserva {
+
+    private final long id;
+    private final int produtoId;
+    private final int quantidade;
+    private final long venceEm;
+    private final AtomicBoolean encerrada = new AtomicBoolean();
+
+    Reserva(long id, int produtoId, int quantidade, long venceEm) {
+        this.id = id;
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.venceEm = venceEm;
+    }
+
+    /**
+     * Encerra a reserva.
+     *
+     * @return {@code false} se ela já tinha sido encerrada
+     */
+    boolean encerrar() {
+        return encerrada.compareAndSet(false, true);
+    }
+
+    /** @return {@code true} se a reserva já foi confirmada, liberada ou vencida */
+    boolean isEncerrada() {
+        return encerrada.get();
+    }
+
+    /** @return identificador da reserva */
+    public long getId() {
+        return id;
+    }
+
+    /** @return produto reservado */
+    public int getProdutoId() {
+        return produtoId;
+    }
+
+    /** @return unidades reservadas */
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /** @return vencimento, em milissegundos desde a época */
+    public long getVenceEm() {
+        return venceEm;
+    }
+
+    @Override
+    public String toString() {
+        return "Reserva{id=" + id + ", produto=" + produtoId + ", quantidade=" + quantidade + '}';
+    }
+}
@@ -0,0 +1,426 @@
+package reservas;
+
+import catalogo.CatalogoEstoque;
+import dao.MovimentacaoRepositorio;
+import dao.Repositorios;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import journal.AplicadorJournal;
+import journal.JournalMovimentacoes;
+import log.Log;
+import model.Movimentacao;
+import model.Produto;
+import model.TipoMovimentacao;
+
+/**
+ * Reservas de estoque para pedidos de venda: separam unidades do estoque
+ * disponível antes da saída física, sem registrar movimentação.
+ * <p>
+ * {@link #reservar} reduz o disponível (físico − reservado) do produto;
+ * {@link #confirmar} transforma a reserva na movimentação de saída;
+ * {@link #liberar} devolve as unidades. A reserva que não for confirmada
+ * nem liberada vence sozinha após {@code -Destoque.reservas.validadeSeg}
+ * segundos (padrão 900, ou o prazo pedido, até
+ * {@code -Destoque.reservas.validadeMaxSeg}, padrão 86400). Os vencimentos
+ * ficam em uma {@link RodaTemporizadores} com ticks de
+ * {@code -Destoque.reservas.tickMs} (padrão 1000) e
+ * {@code -Destoque.reservas.posicoes} posições (padrão 4096): cada tick
+ * percorre só as reservas que vencem nele, mesmo com milhões pendentes. Uma
+ * reserva confirmada ou liberada sai da roda na próxima visita à sua posição.
+ * </p>
+ *
+ * <p><b>Saldo:</b> um produto entra no controle na primeira reserva. O
+ * estoque físico parte da {@code quantidade_atual} do cadastro mais as
+ * entradas e menos as saídas já gravadas — no banco e, com o journal ativo,
+ * as que o aplicador ainda não levou ao banco. A partir daí, as movimentações
+ * registradas pelo servidor ({@link #movimentar}) somam e baixam o físico, e
+ * uma alteração do cadastro o muda pela mesma diferença. Reservas e
+ * movimentações do mesmo produto passam pelo mesmo {@link Saldo}
+ * sincronizado: uma saída avulsa não usa unidades reservadas, e uma reserva
+ * não usa o que uma saída simultânea já levou. Quando a última reserva do
+ * produto termina, o saldo é descartado e o produto sai do controle.</p>
+ *
+ * <p>As reservas ficam só em memória: um reinício do servidor libera as
+ * pendentes.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class ReservasEstoque {
+
+    /** Instância compartilhada pelo servidor. */
+    private static final ReservasEstoque INSTANCIA = new ReservasEstoque();
+
+    /** Validade padrão de uma reserva ({@code -Destoque.reservas.validadeSeg}). */
+    private static final int VALIDADE_PADRAO_SEG = Math.max(1, Integer.getInteger("estoque.reservas.validadeSeg", 900));
+
+    /** Validade máxima de uma reserva ({@code -Destoque.reservas.validadeMaxSeg}). */
+    private static final int VALIDADE_MAXIMA_SEG = Math.max(VALIDADE_PADRAO_SEG,
+            Integer.getInteger("estoque.reservas.validadeMaxSeg", 86_400));
+
+    /** Saldos dos produtos com reservas pendentes (ou movimentações em gravação). */
+    private final Map<Integer, Saldo> saldos = new ConcurrentHashMap<>();
+
+    /** Reservas pendentes por ID. */
+    private final Map<Long, Reserva> pendentes = new ConcurrentHashMap<>();
+
+    private final AtomicLong proximoId = new AtomicLong(1);
+    private final LongAdder vencidas = new LongAdder();
+
+    private final RodaTemporizadores<Reserva> roda = new RodaTemporizadores<>("reservas-vencimento",
+            Long.getLong("estoque.reservas.tickMs", 1000), Integer.getInteger("estoque.reservas.posicoes", 4096),
+            this::vencer, Reserva::isEncerrada);
+
+    private ReservasEstoque() {
+    }
+
+    /**
+     * Retorna a instância compartilhada.
+     *
+     * @return reservas do servidor
+     */
+    public static ReservasEstoque getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Grava uma movimentação (no journal ou no repositório): a saída de uma
+     * reserva confirmada ou uma movimentação avulsa.
+     *
+     * @param <E> exceção que a gravação pode lançar
+     */
+    @FunctionalInterface
+    public interface GravacaoMovimentacao<E extends Exception> {
+
+        /**
+         * @param movimentacao movimentação a gravar
+         * @return mensagem de sucesso ou erro da gravação
+         * @throws E se a gravação falhar
+         */
+        String gravar(Movimentacao movimentacao) throws E;
+    }
+
+    // ======================================================================
+    // RESERVAS
+    // ======================================================================
+
+    /**
+     * Reserva unidades de um produto, se houver disponível.
+     *
+     * @param produtoId ID do produto
+     * @param quantidade unidades a reservar
+     * @param validadeSeg validade em segundos; zero ou negativo usa a padrão
+     * @return mensagem de sucesso (com o ID da reserva) ou erro
+     */
+    public String reservar(int produtoId, int quantidade, int validadeSeg) {
+        if (quantidade <= 0) {
+            return "Erro ao reservar: a quantidade deve ser positiva.";
+        }
+        while (true) {
+            Saldo saldo;
+            try {
+                saldo = saldo(produtoId);
+            } catch (SQLException e) {
+                Log.erro("💥 Erro ao ler o estoque do produto", e, "produto", produtoId);
+                return "Erro ao reservar: " + e.getMessage();
+            }
+            if (saldo == null) {
+                return "Erro ao reservar: produto inexistente (ID " + produtoId + ").";
+            }
+            if (saldo.reservar(quantidade)) {
+                break;
+            }
+            if (!saldo.isDescartado()) {
+                return "Erro ao reservar: estoque disponível insuficiente (disponível: " + saldo.ler()[2] + ").";
+            }
+            // Descartado entre a consulta e a reserva: um novo saldo é criado
+        }
+
+        int validade = validadeSeg <= 0 ? VALIDADE_PADRAO_SEG : Math.min(validadeSeg, VALIDADE_MAXIMA_SEG);
+        Reserva reserva = new Reserva(proximoId.getAndIncrement(), produtoId, quantidade,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(validade));
+        pendentes.put(reserva.getId(), reserva);
+        roda.agendar(reserva, System.nanoTime() + TimeUnit.SECONDS.toNanos(validade));
+
+        Log.debug("🔖 Reserva registrada", "reserva", reserva.getId(), "produto", produtoId,
+                "quantidade", quantidade, "validade_s", validade);
+        return "Reserva " + reserva.getId() + " registrada com sucesso! Vence em "
+                + Instant.ofEpochMilli(reserva.getVenceEm()) + ".";
+    }
+
+    /**
+     * Confirma uma reserva: grava a saída das unidades reservadas e as baixa
+     * do estoque físico. Se a gravação falhar, a reserva é liberada.
+     *
+     * @param <E> exceção que a gravação pode lançar
+     * @param reservaId ID da reserva
+     * @param gravacao gravação da movimentação de saída
+     * @return mensagem de sucesso ou erro
+     * @throws E se a gravação falhar (a reserva já foi liberada)
+     */
+    public <E extends Exception> String confirmar(long reservaId, GravacaoMovimentacao<E> gravacao) throws E {
+        Reserva reserva = encerrar(reservaId);
+        if (reserva == null) {
+            return "Erro ao confirmar: reserva " + reservaId + " inexistente, vencida ou já encerrada.";
+        }
+        Saldo saldo = saldos.get(reserva.getProdutoId());
+        if (saldo != null) {
+            saldo.confirmar(reserva.getQuantidade());
+        }
+
+        Produto produto = new Produto();
+        produto.setId(reserva.getProdutoId());
+        Movimentacao saida = new Movimentacao(produto, TipoMovimentacao.SAIDA.name(), reserva.getQuantidade(),
+                new Date());
+        String resposta = null;
+        try {
+            resposta = gravacao.gravar(saida);
+        } finally {
+            if (saldo != null) {
+                // Sem a saída gravada, as unidades voltam ao físico e ao disponível
+                saldo.concluir(falhou(resposta) ? reserva.getQuantidade() : 0);
+                descartarSeLivre(reserva.getProdutoId(), saldo);
+            }
+            if (falhou(resposta)) {
+                Log.aviso("⚠️ Reserva liberada sem saída", "reserva", reservaId, "motivo", resposta);
+            }
+        }
+        if (falhou(resposta)) {
+            return "Erro ao confirmar reserva " + reservaId + " (a reserva foi liberada): " + resposta;
+        }
+        Log.debug("🔖 Reserva confirmada", "reserva", reservaId, "produto", reserva.getProdutoId(),
+                "quantidade", reserva.getQuantidade());
+        return "Reserva " + reservaId + " confirmada com sucesso!";
+    }
+
+    /**
+     * Libera uma reserva, devolvendo as unidades ao disponível.
+     *
+     * @param reservaId ID da reserva
+     * @return mensagem de sucesso ou erro
+     */
+    public String liberar(long reservaId) {
+        Reserva reserva = encerrar(reservaId);
+        if (reserva == null) {
+            return "Erro ao liberar: reserva " + reservaId + " inexistente, vencida ou já encerrada.";
+        }
+        devolver(reserva);
+        Log.debug("🔖 Reserva liberada", "reserva", reservaId, "produto", reserva.getProdutoId(),
+                "quantidade", reserva.getQuantidade());
+        return "Reserva " + reservaId + " liberada com sucesso!";
+    }
+
+    /** Vencimento de uma reserva, chamado pela roda; as já encerradas são ignoradas. */
+    private void vencer(Reserva reserva) {
+        if (!reserva.encerrar()) {
+            return;
+        }
+        pendentes.remove(reserva.getId());
+        devolver(reserva);
+        vencidas.increment();
+        Log.debug("⌛ Reserva vencida", "reserva", reserva.getId(), "produto", reserva.getProdutoId(),
+                "quantidade", reserva.getQuantidade());
+    }
+
+    /** Retira uma reserva das pendentes, se ninguém a encerrou antes. */
+    private Reserva encerrar(long reservaId) {
+        Reserva reserva = pendentes.get(reservaId);
+        if (reserva == null || !reserva.encerrar()) {
+            return null;
+        }
+        pendentes.remove(reservaId);
+        return reserva;
+    }
+
+    private void devolver(Reserva reserva) {
+        Saldo saldo = saldos.get(reserva.getProdutoId());
+        if (saldo != null) {
+            saldo.liberar(reserva.getQuantidade());
+            descartarSeLivre(reserva.getProdutoId(), saldo);
+        }
+    }
+
+    /**
+     * Tira do controle um saldo sem reservas nem gravações em andamento: o
+     * próximo uso refaz o físico a partir do que está gravado.
+     */
+    private void descartarSeLivre(int produtoId, Saldo saldo) {
+        saldos.computeIfPresent(produtoId, (id, atual) -> atual == saldo && saldo.descartarSeLivre() ? null : atual);
+    }
+
+    // ======================================================================
+    // MOVIMENTAÇÕES E PRODUTOS
+    // ======================================================================
+
+    /**
+     * Grava uma movimentação avulsa, aplicando-a ao saldo do produto: uma
+     * saída que usaria unidades reservadas é recusada sem gravar, e o saldo é
+     * corrigido se a movimentação não for gravada (ou já tinha sido).
+     * Produtos sem reservas não são controlados e passam direto.
+     *
+     * @param <E> exceção que a gravação pode lançar
+     * @param mov movimentação recebida
+     * @param gravacao gravação da movimentação
+     * @return mensagem de sucesso ou erro
+     * @throws E se a gravação falhar (o saldo já foi corrigido)
+     */
+    public <E extends Exception> String movimentar(Movimentacao mov, GravacaoMovimentacao<E> gravacao) throws E {
+        boolean saida = TipoMovimentacao.SAIDA.name().equalsIgnoreCase(mov.getTipo());
+        Saldo saldo;
+        while (true) {
+            saldo = mov.getProduto() == null ? null : saldos.get(mov.getProduto().getId());
+            if (saldo == null || (saida ? saldo.saida(mov.getQuantidade()) : saldo.entrada(mov.getQuantidade()))) {
+                break;
+            }
+            if (!saldo.isDescartado()) {
+                return "Erro ao registrar movimentação: estoque disponível insuficiente (unidades reservadas).";
+            }
+        }
+
+        String resposta = null;
+        try {
+            resposta = gravacao.gravar(mov);
+        } finally {
+            if (saldo != null) {
+                boolean gravada = !falhou(resposta) && !MovimentacaoRepositorio.JA_REGISTRADA.equals(resposta);
+                saldo.concluir(gravada ? 0 : saida ? mov.getQuantidade() : -mov.getQuantidade());
+                descartarSeLivre(mov.getProduto().getId(), saldo);
+            }
+        }
+        return resposta;
+    }
+
+    /**
+     * Aplica ao físico a alteração da quantidade do cadastro de um produto.
+     *
+     * @param produto produto gravado
+     */
+    public void produtoAlterado(Produto produto) {
+        Saldo saldo = saldos.get(produto.getId());
+        if (saldo != null) {
+            saldo.recontar(produto.getQuantidadeAtual());
+        }
+    }
+
+    /**
+     * Deixa de controlar um produto excluído; as reservas pendentes dele
+     * vencem sem efeito.
+     *
+     * @param produtoId ID do produto
+     */
+    public void produtoRemovido(int produtoId) {
+        saldos.remove(produtoId);
+    }
+
+    /**
+     * Saldo de um produto, criado na primeira reserva com o estoque gravado.
+     *
+     * @return saldo, ou {@code null} se o produto não existir
+     * @throws SQLException se a leitura do banco falhar
+     */
+    private Saldo saldo(int produtoId) throws SQLException {
+        Saldo saldo = saldos.get(produtoId);
+        if (saldo != null) {
+            return saldo;
+        }
+        int[] estoque = estoqueGravado(produtoId);
+        return estoque == null ? null : saldos.computeIfAbsent(produtoId, id -> new Saldo(estoque[0], estoque[1]));
+    }
+
+    /**
+     * Estoque de um produto fora do controle: a quantidade do cadastro e o
+     * físico (cadastro mais entradas e menos saídas gravadas). Com o journal
+     * ativo, a leitura do banco é feita entre duas gravações do aplicador, e
+     * os registros que ele ainda não aplicou são somados do journal.
+     *
+     * @return {@code {cadastro, fisico}}, ou {@code null} se o produto não existir
+     * @throws SQLException se a leitura do banco falhar
+     */
+    private static int[] estoqueGravado(int produtoId) throws SQLException {
+        int cadastro = quantidadeCadastrada(produtoId);
+        if (cadastro == Integer.MIN_VALUE) {
+            return null;
+        }
+        MovimentacaoRepositorio movimentacoes = Repositorios.movimentacoes();
+        JournalMovimentacoes journal = JournalMovimentacoes.getInstancia();
+        AplicadorJournal aplicador = journal == null ? null : journal.getAplicador();
+        long[] movimentado = aplicador == null
+                ? movimentacoes.totaisDoProduto(produtoId)
+                : aplicador.lerSemAplicar(aplicadoAte -> {
+                    long[] gravado = movimentacoes.totaisDoProduto(produtoId);
+                    long[] pendente = journal.totaisApos(produtoId, aplicadoAte);
+                    return new long[]{gravado[0] + pendente[0], gravado[1] + pendente[1]};
+                });
+        return new int[]{cadastro, (int) (cadastro + movimentado[0] - movimentado[1])};
+    }
+
+    /**
+     * Quantidade atual do produto no catálogo (ou no banco, sem catálogo).
+     *
+     * @return quantidade, ou {@link Integer#MIN_VALUE} se o produto não existir
+     * @throws SQLException se a leitura do banco falhar
+     */
+    private static int quantidadeCadastrada(int produtoId) throws SQLException {
+        CatalogoEstoque catalogo = CatalogoEstoque.getInstancia();
+        if (catalogo.isCarregado()) {
+            return catalogo.getQuantidadeAtual(produtoId);
+        }
+        Produto produto = Repositorios.produtos().buscarPorIds(List.of(produtoId)).get(produtoId);
+        return produto == null ? Integer.MIN_VALUE : produto.getQuantidadeAtual();
+    }
+
+    private static boolean falhou(String resposta) {
+        return resposta == null || resposta.regionMatches(true, 0, "ERRO", 0, 4);
+    }
+
+    // ======================================================================
+    // CONSULTAS
+    // ======================================================================
+
+    /**
+     * Estoque físico, reservado e disponível de um produto. Um produto sem
+     * reservas aparece com o estoque gravado, sem entrar no controle.
+     *
+     * @param produtoId ID do produto
+     * @return uma linha com os saldos, ou lista vazia se o produto não existir
+     * @throws SQLException se o produto não estiver em memória e a leitura do
+     * banco falhar
+     */
+    public List<Map<String, Object>> disponivel(int produtoId) throws SQLException {
+        Saldo saldo = saldos.get(produtoId);
+        int[] s;
+        if (saldo != null) {
+            s = saldo.ler();
+        } else {
+            int[] estoque = estoqueGravado(produtoId);
+            if (estoque == null) {
+                return List.of();
+            }
+            s = new int[]{estoque[1], 0, estoque[1]};
+        }
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("produto", produtoId);
+        linha.put("fisico", s[0]);
+        linha.put("reservado", s[1]);
+        linha.put("disponivel", s[2]);
+        return List.of(linha);
+    }
+
+    /** @return reservas pendentes em todo o servidor */
+    public int getPendentes() {
+        return pendentes.size();
+    }
+
+    /** @return reservas vencidas desde o início */
+    public long getVencidas() {
+        return vencidas.sum();
+    }
+}
@@ -0,0 +1,179 @@
+package reservas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import log.Log;
+
+/**
+ * Roda de temporizadores com hash ("hashed timer wheel"): um vetor circular
+ * de posições, cada uma com a lista dos itens que vencem nos ticks que caem
+ * nela; uma thread própria avança uma posição por tick.
+ * <p>
+ * Agendar custa O(1): o item entra em uma fila sem trava e a thread o
+ * coloca na posição {@code tick do vencimento mod posições}, com o número de
+ * voltas completas que faltam. A cada tick, só a lista da posição atual é
+ * percorrida: os itens sem voltas pendentes vencem e os demais perdem uma
+ * volta. Com a roda maior que o prazo dos itens (o caso comum), cada item é
+ * visitado uma única vez, quando vence, e o custo do tick não depende de
+ * quantos itens estão pendentes nas outras posições.
+ * </p>
+ * <p>
+ * Não há cancelamento direto: um item encerrado por outro caminho continua na
+ * lista da sua posição até a próxima vez que ela for percorrida. Nessa
+ * visita, que pode ser antes do prazo quando faltam voltas, o item é retirado
+ * sem vencer. Assim, um item encerrado fica na roda no máximo uma volta, e não
+ * até o fim do prazo. Um item vence até um tick depois do prazo.
+ * </p>
+ *
+ * @param <T> tipo dos itens agendados
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class RodaTemporizadores<T> {
+
+    /** Item agendado, encadeado na lista da sua posição. */
+    private static final class No<T> {
+        final T item;
+        final long prazoNanos;
+        long voltas;
+        No<T> proximo;
+
+        No(T item, long prazoNanos) {
+            this.item = item;
+            this.prazoNanos = prazoNanos;
+        }
+    }
+
+    private final No<T>[] posicoes;
+    private final int mascara;
+    private final long tickNanos;
+    private final long inicio = System.nanoTime();
+
+    /** Itens agendados que a thread ainda não colocou na roda. */
+    private final Queue<No<T>> novos = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final Consumer<T> aoVencer;
+    private final Predicate<T> encerrado;
+
+    /** Tick atual; só a thread da roda o altera. */
+    private long tick;
+
+    /**
+     * Cria a roda e inicia sua thread (daemon).
+     *
+     * @param nome nome da thread
+     * @param tickMs duração de um tick, em milissegundos
+     * @param quantidadePosicoes posições da roda (arredondada para potência de 2)
+     * @param aoVencer ação executada, na thread da roda, para cada item vencido
+     * @param encerrado indica os itens já encerrados por outro caminho, que
+     * saem da roda sem vencer
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    RodaTemporizadores(String nome, long tickMs, int quantidadePosicoes, Consumer<T> aoVencer,
+            Predicate<T> encerrado) {
+        int tamanho = Integer.highestOneBit(Math.max(2, quantidadePosicoes - 1)) << 1;
+        this.posicoes = (No<T>[]) new No[tamanho];
+        this.mascara = tamanho - 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.aoVencer = aoVencer;
+        this.encerrado = encerrado;
+
+        Thread t = new Thread(this::executar, nome);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Agenda um item.
+     *
+     * @param item item a agendar
+     * @param prazoNanos instante do vencimento, na escala de {@link System#nanoTime()}
+     */
+    void agendar(T item, long prazoNanos) {
+        pendentes.incrementAndGet();
+        novos.add(new No<>(item, prazoNanos));
+    }
+
+    /** @return itens agendados que ainda não venceram nem foram retirados */
+    int getPendentes() {
+        return pendentes.get();
+    }
+
+    /** @return duração de uma volta completa da roda, em milissegundos */
+    long getVoltaMs() {
+        return TimeUnit.NANOSECONDS.toMillis(tickNanos * posicoes.length);
+    }
+
+    private void executar() {
+        List<T> vencidos = new ArrayList<>();
+        while (true) {
+            esperarTick();
+            transferirNovos();
+            vencer(posicoes[(int) (tick & mascara)], (int) (tick & mascara), vencidos);
+            for (T item : vencidos) {
+                try {
+                    aoVencer.accept(item);
+                } catch (RuntimeException e) {
+                    Log.erro("💥 Erro ao vencer temporizador", e, "item", item);
+                }
+            }
+            vencidos.clear();
+            tick++;
+        }
+    }
+
+    /** Espera até o fim do tick atual. */
+    private void esperarTick() {
+        long fim = inicio + (tick + 1) * tickNanos;
+        long falta;
+        while ((falta = fim - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(falta);
+        }
+    }
+
+    /** Coloca os itens agendados desde o último tick nas suas posições. */
+    private void transferirNovos() {
+        No<T> no;
+        while ((no = novos.poll()) != null) {
+            long tickVencimento = Math.max(tick, (no.prazoNanos - inicio) / tickNanos);
+            no.voltas = (tickVencimento - tick) / posicoes.length;
+            int i = (int) (tickVencimento & mascara);
+            no.proximo = posicoes[i];
+            posicoes[i] = no;
+        }
+    }
+
+    /**
+     * Retira da lista de uma posição os itens sem voltas pendentes, que
+     * vencem, e os já encerrados, que saem sem vencer.
+     */
+    private void vencer(No<T> primeiro, int posicao, List<T> vencidos) {
+        No<T> anterior = null;
+        for (No<T> no = primeiro; no != null; no = no.proximo) {
+            boolean descartar = encerrado.test(no.item);
+            if (!descartar && no.voltas > 0) {
+                no.voltas--;
+                anterior = no;
+                continue;
+            }
+            if (anterior == null) {
+                posicoes[posicao] = no.proximo;
+            } else {
+                anterior.proximo = no.proximo;
+            }
+            pendentes.decrementAndGet();
+            if (!descartar) {
+                vencidos.add(no.item);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package reservas;
+
+/**
+ * Saldo de um produto com reservas: o estoque físico e o total reservado. O
+ * disponível é a diferença.
+ * <p>
+ * As operações são sincronizadas no próprio saldo, de modo que reservas,
+ * confirmações e movimentações do mesmo produto veem e alteram o disponível
+ * de forma atômica; produtos diferentes não disputam.
+ * </p>
+ * <p>
+ * O saldo é descartado quando não há reservas nem gravações em andamento
+ * ({@link #descartarSeLivre()}): o físico pode ser refeito do cadastro e das
+ * movimentações gravadas. Um saldo descartado não aceita novas reservas;
+ * quem o obteve antes do descarte procura de novo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+final class Saldo {
+
+    private int cadastro;
+    private int fisico;
+    private int reservado;
+
+    /** Movimentações aplicadas ao físico e ainda não gravadas (nem desfeitas). */
+    private int gravando;
+
+    private boolean descartado;
+
+    /**
+     * @param cadastro {@code quantidade_atual} do cadastro
+     * @param fisico cadastro mais as movimentações gravadas
+     */
+    Saldo(int cadastro, int fisico) {
+        this.cadastro = cadastro;
+        this.fisico = fisico;
+    }
+
+    /**
+     * Reserva unidades, se houver disponível.
+     *
+     * @return {@code false} se o disponível não cobre a quantidade ou se o
+     *         saldo foi descartado
+     */
+    synchronized boolean reservar(int quantidade) {
+        if (descartado || fisico - reservado < quantidade) {
+            return false;
+        }
+        reservado += quantidade;
+        return true;
+    }
+
+    /** Devolve ao disponível unidades reservadas. */
+    synchronized void liberar(int quantidade) {
+        reservado -= quantidade;
+    }
+
+    /**
+     * Baixa unidades reservadas do estoque físico (a saída da reserva), até
+     * {@link #concluir(int)}.
+     */
+    synchronized void confirmar(int quantidade) {
+        reservado -= quantidade;
+        fisico -= quantidade;
+        gravando++;
+    }
+
+    /**
+     * Registra uma saída avulsa, até {@link #concluir(int)}. Com unidades
+     * reservadas, a saída não pode usar o que está reservado; sem reservas,
+     * passa como antes.
+     *
+     * @return {@code false} se a saída usaria unidades reservadas ou se o
+     *         saldo foi descartado
+     */
+    synchronized boolean saida(int quantidade) {
+        if (descartado || (reservado > 0 && fisico - reservado < quantidade)) {
+            return false;
+        }
+        fisico -= quantidade;
+        gravando++;
+        return true;
+    }
+
+    /**
+     * Soma uma entrada avulsa ao estoque físico, até {@link #concluir(int)}.
+     *
+     * @return {@code false} se o saldo foi descartado
+     */
+    synchronized boolean entrada(int quantidade) {
+        if (descartado) {
+            return false;
+        }
+        fisico += quantidade;
+        gravando++;
+        return true;
+    }
+
+    /**
+     * Encerra uma movimentação registrada por {@link #saida}, {@link #entrada}
+     * ou {@link #confirmar}.
+     *
+     * @param correcao unidades a devolver ao físico se a movimentação não foi
+     *                 gravada (zero se foi)
+     */
+    synchronized void concluir(int correcao) {
+        fisico += correcao;
+        gravando--;
+    }
+
+    /**
+     * Aplica uma alteração da quantidade do cadastro: o físico muda pela
+     * mesma diferença, mantendo as movimentações já contadas.
+     */
+    synchronized void recontar(int cadastro) {
+        fisico += cadastro - this.cadastro;
+        this.cadastro = cadastro;
+    }
+
+    /**
+     * Descarta o saldo se não houver unidades reservadas nem movimentações em
+     * gravação.
+     *
+     * @return {@code true} se o saldo foi descartado
+     */
+    synchronized boolean descartarSeLivre() {
+        if (reservado == 0 && gravando == 0) {
+            descartado = true;
+        }
+        return descartado;
+    }
+
+    /** @return {@code true} se o saldo foi descartado e não deve mais ser usado */
+    synchronized boolean isDescartado() {
+        return descartado;
+    }
+
+    /** @return estoque físico, reservado e disponível, lidos juntos */
+    synchronized int[] ler() {
+        return new int[]{fisico, reservado, fisico - reservado};
+    }
+}
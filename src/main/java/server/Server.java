@@ -1,15 +1,39 @@
 package server;
 
-import dao.MovimentacaoDAO;
+import avaliacao.AvaliacaoEstoque;
+import catalogo.CatalogoEstoque;
+import consolidacao.ConsolidacaoMovimentacoes;
+import consolidacao.Escopo;
+import consolidacao.Granularidade;
+import dao.MonitorJdbc;
+import eventos.EventoComando;
+import eventos.EventoSerializacao;
+import faixas.Faixa;
+import idempotencia.CacheIdempotencia;
+import dao.Repositorios;
 import java.io.*;
 import java.net.*;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import journal.JournalMovimentacoes;
+import log.Log;
+import metricas.RegistroMetricas;
 import model.Categoria;
 import model.Movimentacao;
 import model.Produto;
+import precos.HistoricoPrecos;
 import service.CategoriaService;
+import service.MovimentacaoService;
 import service.ProdutoService;
+import relatorios.EscritorQuadros;
+import relatorios.Relatorio;
+import requisicoes.Requisicao;
+import reservas.ReservasEstoque;
 import service.RelatorioService;
 
 /**
@@ -27,8 +51,32 @@ import service.RelatorioService;
  * <ul>
  * <li>Gerenciamento de categorias (CRUD)</li>
  * <li>Gerenciamento de produtos (CRUD)</li>
- * <li>Registro e listagem de movimentações de estoque</li>
- * <li>Geração de relatórios de controle e análise</li>
+ * <li>Registro e listagem de movimentações de estoque; um reenvio com a
+ * mesma chave de idempotência recebe a resposta original sem gravar de novo
+ * ({@link CacheIdempotencia})</li>
+ * <li>Reservas de estoque para pedidos, que reduzem o disponível sem
+ * movimentar o físico e vencem sozinhas ({@code RESERVAR}, {@code CONFIRMAR},
+ * {@code LIBERAR} e {@code ESTOQUE_DISPONIVEL})</li>
+ * <li>Tendência de entradas e saídas por produto ou categoria, por hora ou
+ * por dia, a partir de totais consolidados ({@code TENDENCIA_MOVIMENTACOES})</li>
+ * <li>Geração de relatórios de controle e análise, inclusive todos de uma
+ * vez, em paralelo ({@code RELATORIO_DASHBOARD}), ou em quadros com colunas
+ * tipadas enviados durante a consulta ({@code RELATORIO_QUADROS})</li>
+ * <li>Cobertura de estoque e ponto de pedido por produto, ordenados por
+ * urgência, para as compras ({@code RELATORIO_COBERTURA_ESTOQUE})</li>
+ * <li>Curva ABC dos produtos pelo valor das saídas, mantida em cache entre
+ * mudanças significativas ({@code RELATORIO_CURVA_ABC})</li>
+ * <li>Valor movimentado a preço da época, a partir do histórico de preços
+ * ({@code RELATORIO_VALOR_MOVIMENTADO})</li>
+ * <li>Valor total do estoque e por categoria, em centavos exatos e mantido
+ * a cada alteração de produto ({@code VALOR_ESTOQUE})</li>
+ * <li>Métricas de latência, erros e tráfego por comando ({@code METRICAS})</li>
+ * <li>Estatísticas por comando SQL, quando ativadas ({@code METRICAS_SQL})</li>
+ * <li>Faixas de execução com limites próprios para escritas, consultas e
+ * relatórios ({@link Faixa}), com estado em {@code METRICAS_FAIXAS}</li>
+ * <li>Prazo por comando e cancelamento de requisições em andamento
+ * ({@link Requisicao}), por desconexão do cliente ou pelo comando
+ * {@code CANCELAR}; as ativas aparecem em {@code LISTAR_REQUISICOES}</li>
  * </ul>
  *
  * <p>
@@ -52,6 +100,9 @@ public class Server {
      */
     private static final int PORTA = 1234;
 
+    /** Prazo total do {@code RELATORIO_DASHBOARD}, em milissegundos ({@code -Destoque.dashboard.prazoMs}). */
+    private static final long PRAZO_DASHBOARD_MS = Long.getLong("estoque.dashboard.prazoMs", 5000);
+
     /**
      * Método principal responsável por inicializar o servidor e aceitar
      * conexões.
@@ -63,20 +114,36 @@ public class Server {
      */
     public static void main(String[] args) {
         try (ServerSocket server = new ServerSocket(PORTA)) {
-            System.out.println("✅ Servidor iniciado na porta " + PORTA);
+            Log.info("✅ Servidor iniciado", "porta", PORTA,
+                    "armazenamento", Repositorios.isMemoria() ? "memoria" : "jdbc");
+
+            // Ativa o journal de movimentações, se configurado (-Destoque.journal.dir=...)
+            JournalMovimentacoes journal = JournalMovimentacoes.iniciarSeConfigurado();
+            if (journal != null) {
+                Log.info("📒 Journal de movimentações ativo", "diretorio", journal.getDiretorio(),
+                        "ultima_sequencia", journal.getUltimaSequencia());
+            }
+
+            // Carrega o catálogo em memória a partir do snapshot, se configurado (-Destoque.snapshot.arquivo=...)
+            CatalogoEstoque.iniciarSeConfigurado();
+
+            // Carrega os totais consolidados por hora e por dia (tendências de consumo)
+            ConsolidacaoMovimentacoes.iniciar();
+
+            // Carrega o histórico de preços (valorização pelo preço da época)
+            HistoricoPrecos.iniciar();
 
             // Aceita conexões indefinidamente
             while (true) {
                 Socket cliente = server.accept();
-                System.out.println("🔗 Cliente conectado: " + cliente.getInetAddress());
+                Log.debug("🔗 Cliente conectado", "cliente", cliente.getInetAddress());
 
                 // Cria uma nova thread para atender o cliente
                 new Thread(() -> atenderCliente(cliente)).start();
             }
 
         } catch (IOException e) {
-            System.err.println("💥 Erro ao iniciar o servidor: " + e.getMessage());
-            e.printStackTrace();
+            Log.erro("💥 Erro ao iniciar o servidor", e, "porta", PORTA);
         }
     }
 
@@ -100,19 +167,59 @@ public class Server {
     private static void atenderCliente(Socket socket) {
         ObjectOutputStream out = null;
         ObjectInputStream in = null;
+
+        // Métricas da requisição: nome do comando, início do atendimento e erro
+        RegistroMetricas metricas = RegistroMetricas.getInstancia();
+        metricas.conexaoAberta();
+        String nomeMetrica = null;
+        long inicio = 0;
+        boolean erro = false;
+        EventoComando evento = null;
+        RegistroMetricas.EntradaContada entrada = null;
+        RegistroMetricas.SaidaContada saida = null;
+        String cliente = String.valueOf(socket.getInetAddress());
+        Faixa faixa = null;
+        Requisicao requisicao = null;
+
         try {
-            out = new ObjectOutputStream(socket.getOutputStream());
+            saida = metricas.contarSaida(socket.getOutputStream());
+            out = new ObjectOutputStream(saida);
             out.flush();
-            in = new ObjectInputStream(socket.getInputStream());
+            entrada = metricas.contarEntrada(socket.getInputStream());
+            in = new ObjectInputStream(entrada);
 
             // Instancia os serviços necessários
             CategoriaService categoriaService = new CategoriaService();
             ProdutoService produtoService = new ProdutoService();
+            MovimentacaoService movimentacaoService = new MovimentacaoService();
             RelatorioService relatorioService = new RelatorioService();
 
             // Lê o comando textual enviado pelo cliente
             String comando = in.readUTF();
-            System.out.println("📥 Comando recebido: " + comando);
+            Log.debug("📥 Comando recebido", "comando", comando, "cliente", cliente);
+            inicio = System.nanoTime();
+            nomeMetrica = comando;
+            evento = new EventoComando();
+            evento.begin();
+
+            // Ocupa uma vaga na faixa do comando; sem vaga no prazo, recusa sem tocar no banco
+            Faixa faixaComando = Faixa.classificar(comando);
+            if (!faixaComando.entrar()) {
+                erro = true;
+                out.writeUTF("ERRO: servidor ocupado na faixa " + faixaComando + ", tente novamente.");
+                out.flush();
+                Log.aviso("🚦 Requisição recusada: faixa lotada", "comando", comando, "faixa", faixaComando,
+                        "cliente", cliente);
+                return;
+            }
+            faixa = faixaComando;
+
+            // Prazo do comando, aplicado a cada SQL; relatórios são cancelados se o cliente desconectar
+            requisicao = Requisicao.iniciar(comando, cliente, Requisicao.prazoPara(comando, faixa));
+            // (RELATORIO_QUADROS ainda lê o nome do relatório; a vigia começa depois, no próprio caso)
+            if (faixa == Faixa.RELATORIO && !comando.equals("RELATORIO_QUADROS")) {
+                vigiarDesconexao(socket, requisicao);
+            }
 
             // ===================================================================
             //                  INTERPRETAÇÃO E EXECUÇÃO DOS COMANDOS
@@ -125,9 +232,10 @@ public class Server {
                 case "INSERIR_CATEGORIA" -> {
                     Categoria c = (Categoria) in.readObject();
                     String resposta = categoriaService.inserir(c);
+                    erro = falhou(resposta);
                     out.writeUTF(resposta);
                     out.flush();
-                    System.out.println("🟢 Categoria inserida: " + c.getNome());
+                    Log.debug("🟢 Categoria inserida", "categoria", c.getNome());
                 }
 
                 case "ATUALIZAR_CATEGORIA" -> {
@@ -136,9 +244,10 @@ public class Server {
                         categoriaService.atualizar(categoria);
                         out.writeUTF("Categoria atualizada com sucesso!");
                         out.flush();
-                        System.out.println("🟡 Categoria atualizada: " + categoria.getNome());
+                        Log.debug("🟡 Categoria atualizada", "categoria", categoria.getNome());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao atualizar categoria", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao atualizar categoria: " + e.getMessage());
                         out.flush();
                     }
@@ -147,11 +256,11 @@ public class Server {
                 case "LISTAR_CATEGORIAS" -> {
                     try {
                         List<Categoria> lista = categoriaService.listar();
-                        out.writeObject(lista);
-                        out.flush();
-                        System.out.println("📤 Lista de categorias enviada! Total: " + lista.size());
+                        enviarObjeto(out, lista);
+                        Log.debug("📤 Lista de categorias enviada", "registros", lista.size());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao listar categorias", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao listar categorias: " + e.getMessage());
                         out.flush();
                     }
@@ -162,17 +271,19 @@ public class Server {
                         Integer id = (Integer) in.readObject();
                         String resposta = categoriaService.excluir(id);
 
+                        erro = falhou(resposta);
                         out.writeUTF(resposta);
                         out.flush();
 
                         if (resposta.contains("sucesso")) {
-                            System.out.println("🗑️ Categoria excluída: ID " + id);
+                            Log.debug("🗑️ Categoria excluída", "categoria", id);
                         } else {
-                            System.out.println("❌ Falha ao excluir categoria: ID " + id);
+                            Log.aviso("❌ Falha ao excluir categoria", "categoria", id, "resposta", resposta);
                         }
 
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao excluir categoria", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao excluir categoria: " + e.getMessage());
                         out.flush();
                     }
@@ -184,9 +295,10 @@ public class Server {
                 case "INSERIR_PRODUTO" -> {
                     Produto p = (Produto) in.readObject();
                     String resposta = produtoService.inserir(p);
+                    erro = falhou(resposta);
                     out.writeUTF(resposta);
                     out.flush();
-                    System.out.println("🟢 Produto inserido: " + p.getNome());
+                    Log.debug("🟢 Produto inserido", "produto", p.getNome());
                 }
 
                 case "EXCLUIR_PRODUTO" -> {
@@ -196,12 +308,14 @@ public class Server {
 
                         String resposta = produtoService.excluir(idProduto);
 
+                        erro = falhou(resposta);
                         out.writeUTF(resposta);
                         out.flush();
 
-                        System.out.println("🗑️ Produto excluído: ID " + idProduto);
+                        Log.debug("🗑️ Produto excluído", "produto", idProduto);
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao excluir produto", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao excluir produto: " + e.getMessage());
                         out.flush();
                     }
@@ -211,11 +325,13 @@ public class Server {
                     try {
                         Produto produto = (Produto) in.readObject();
                         String resposta = produtoService.atualizar(produto);
+                        erro = falhou(resposta);
                         out.writeUTF(resposta);
                         out.flush();
-                        System.out.println("🟡 Produto atualizado: " + produto.getNome());
+                        Log.debug("🟡 Produto atualizado", "produto", produto.getNome());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao alterar produto", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao alterar produto: " + e.getMessage());
                         out.flush();
                     }
@@ -224,34 +340,64 @@ public class Server {
                 case "LISTAR_PRODUTOS" -> {
                     try {
                         List<Produto> lista = produtoService.listar();
-                        out.writeObject(lista);
-                        out.flush();
-                        System.out.println("📦 Lista de produtos enviada! Total: " + lista.size());
+                        enviarObjeto(out, lista);
+                        Log.debug("📦 Lista de produtos enviada", "registros", lista.size());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao listar produtos", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao listar produtos: " + e.getMessage());
                         out.flush();
                     }
                 }
 
+                case "BUSCAR_PRODUTO" -> {
+                    try {
+                        String termo = in.readUTF();
+                        int limite = in.readInt();
+                        List<Produto> lista = produtoService.buscarPorNome(termo, limite);
+                        enviarObjeto(out, lista);
+                        Log.debug("🔎 Busca enviada", "termo", termo, "registros", lista.size());
+                    } catch (Exception e) {
+                        erro = true;
+                        Log.erro("💥 Erro ao buscar produtos", e, "comando", comando, "cliente", cliente);
+                        out.writeUTF("Erro ao buscar produtos: " + e.getMessage());
+                        out.flush();
+                    }
+                }
+
+                case "BUSCAR_PRODUTOS_POR_IDS" -> {
+                    try {
+                        int[] ids = (int[]) in.readObject();
+                        Map<Integer, Produto> resultado = produtoService.buscarPorIds(ids);
+                        enviarObjeto(out, resultado);
+
+                        long ausentes = resultado.values().stream().filter(p -> p == null).count();
+                        Log.debug("📦 Produtos por ID enviados", "pedidos", resultado.size(), "ausentes", ausentes);
+                    } catch (Exception e) {
+                        erro = true;
+                        Log.erro("💥 Erro ao buscar produtos por ID", e, "comando", comando, "cliente", cliente);
+                        out.writeUTF("Erro ao buscar produtos por ID: " + e.getMessage());
+                        out.flush();
+                    }
+                }
+
                 // ===============================================================
                 // ------------------------ MOVIMENTAÇÕES ------------------------
                 // ===============================================================
                 case "INSERIR_MOVIMENTACAO" -> {
                     try {
                         Movimentacao movimentacao = (Movimentacao) in.readObject();
-                        MovimentacaoDAO movimentacaoDAO = new MovimentacaoDAO();
-
-                        String resposta = movimentacaoDAO.inserir(movimentacao);
+                        String resposta = movimentacaoService.registrar(movimentacao);
+                        erro = falhou(resposta);
                         out.writeUTF(resposta);
                         out.flush();
 
-                        System.out.println("📦 Movimentação registrada: "
-                                + movimentacao.getTipo() + " - "
-                                + movimentacao.getQuantidade()
-                                + " (Produto ID: " + movimentacao.getProduto().getId() + ")");
+                        Log.debug("📦 Movimentação registrada", "tipo", movimentacao.getTipo(),
+                                "quantidade", movimentacao.getQuantidade(),
+                                "produto", movimentacao.getProduto().getId());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao registrar movimentação", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao registrar movimentação: " + e.getMessage());
                         out.flush();
                     }
@@ -259,18 +405,76 @@ public class Server {
 
                 case "LISTAR_MOVIMENTACOES" -> {
                     try {
-                        MovimentacaoDAO movimentacaoDAO = new MovimentacaoDAO();
-                        List<Movimentacao> lista = movimentacaoDAO.listar();
-                        out.writeObject(lista);
-                        out.flush();
-                        System.out.println("Lista de movimentações enviada com sucesso. Total: " + lista.size());
+                        List<Movimentacao> lista = movimentacaoService.listar();
+                        enviarObjeto(out, lista);
+                        Log.debug("Lista de movimentações enviada com sucesso", "registros", lista.size());
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        erro = true;
+                        Log.erro("💥 Erro ao listar movimentações", e, "comando", comando, "cliente", cliente);
                         out.writeUTF("Erro ao listar movimentações: " + e.getMessage());
                         out.flush();
                     }
                 }
 
+                // ===============================================================
+                // --------------------------- RESERVAS --------------------------
+                // ===============================================================
+                case "RESERVAR" -> {
+                    // Produto, quantidade e validade em segundos (0: padrão)
+                    int produtoId = in.readInt();
+                    int quantidade = in.readInt();
+                    int validadeSeg = in.readInt();
+                    String resposta = ReservasEstoque.getInstancia().reservar(produtoId, quantidade, validadeSeg);
+                    erro = falhou(resposta);
+                    out.writeUTF(resposta);
+                    out.flush();
+                }
+
+                case "CONFIRMAR" -> {
+                    long reservaId = in.readLong();
+                    String resposta = ReservasEstoque.getInstancia().confirmar(reservaId,
+                            movimentacaoService::registrarSaidaReservada);
+                    erro = falhou(resposta);
+                    out.writeUTF(resposta);
+                    out.flush();
+                }
+
+                case "LIBERAR" -> {
+                    long reservaId = in.readLong();
+                    String resposta = ReservasEstoque.getInstancia().liberar(reservaId);
+                    erro = falhou(resposta);
+                    out.writeUTF(resposta);
+                    out.flush();
+                }
+
+                case "ESTOQUE_DISPONIVEL" -> {
+                    int produtoId = in.readInt();
+                    try {
+                        enviarListaComoTexto(out, ReservasEstoque.getInstancia().disponivel(produtoId));
+                    } catch (SQLException e) {
+                        erro = true;
+                        Log.erro("💥 Erro ao consultar estoque disponível", e, "produto", produtoId, "cliente", cliente);
+                        out.writeUTF("Erro ao consultar estoque disponível: " + e.getMessage());
+                        out.flush();
+                    }
+                }
+
+                case "TENDENCIA_MOVIMENTACOES" -> {
+                    // Escopo (PRODUTO ou CATEGORIA), ID, granularidade (HORA ou DIA) e quantidade de períodos
+                    Escopo escopo = Escopo.porNome(in.readUTF());
+                    int chave = in.readInt();
+                    Granularidade granularidade = Granularidade.porNome(in.readUTF());
+                    int periodos = in.readInt();
+                    if (escopo == null || granularidade == null) {
+                        erro = true;
+                        out.writeUTF("ERRO: use escopo PRODUTO ou CATEGORIA e granularidade HORA ou DIA.");
+                        out.flush();
+                    } else {
+                        enviarListaComoTexto(out, ConsolidacaoMovimentacoes.getInstancia()
+                                .tendencia(escopo, chave, granularidade, periodos));
+                    }
+                }
+
                 // ===============================================================
                 // -------------------------- RELATÓRIOS -------------------------
                 // ===============================================================
@@ -299,17 +503,154 @@ public class Server {
                     enviarListaComoTexto(out, lista);
                 }
 
+                case "RELATORIO_COBERTURA_ESTOQUE", "RELATORIO_COBERTURA" -> {
+                    List<Map<String, Object>> lista = relatorioService.coberturaEstoque();
+                    enviarListaComoTexto(out, lista);
+                }
+
+                case "RELATORIO_CURVA_ABC" -> {
+                    List<Map<String, Object>> lista = relatorioService.curvaAbc();
+                    enviarListaComoTexto(out, lista);
+                }
+
+                case "RELATORIO_VALOR_MOVIMENTADO" -> {
+                    List<Map<String, Object>> lista = relatorioService.valorMovimentado();
+                    enviarListaComoTexto(out, lista);
+                }
+
+                case "RELATORIO_DASHBOARD" -> {
+                    // Os cinco relatórios da tela de gestão em uma só requisição, em paralelo
+                    try {
+                        Map<String, List<Map<String, Object>>> painel = relatorioService.gerarDashboard(PRAZO_DASHBOARD_MS);
+                        Map<String, List<Map<String, String>>> resposta = new LinkedHashMap<>();
+                        painel.forEach((nome, lista) -> resposta.put(nome, paraTexto(lista)));
+                        enviarObjeto(out, resposta);
+                    } catch (TimeoutException e) {
+                        erro = true;
+                        Log.aviso("⏱️ Painel de relatórios não concluído", "cliente", cliente, "motivo", e.getMessage());
+                        out.writeUTF("ERRO: painel de relatórios não concluído: " + e.getMessage());
+                        out.flush();
+                    } catch (ExecutionException e) {
+                        erro = true;
+                        out.writeUTF("ERRO: painel de relatórios falhou: " + e.getCause());
+                        out.flush();
+                    }
+                }
+
+                case "RELATORIO_QUADROS" -> {
+                    // Nome do relatório (ex.: "BALANCO"); resposta: cabeçalho e blocos de colunas tipadas
+                    String nome = in.readUTF();
+                    Relatorio relatorio = Relatorio.porNome(nome);
+                    if (relatorio == null) {
+                        erro = true;
+                        out.writeUTF("ERRO: relatório desconhecido: " + nome);
+                        out.flush();
+                    } else {
+                        vigiarDesconexao(socket, requisicao);
+                        EscritorQuadros escritor = new EscritorQuadros(out);
+                        try {
+                            relatorioService.transmitir(relatorio, escritor);
+                            Log.debug("📊 Relatório enviado em quadros", "relatorio", relatorio.getTitulo(),
+                                    "registros", escritor.getTotalLinhas(), "blocos", escritor.getBlocos());
+                        } catch (SQLException e) {
+                            // Pode chegar depois de alguns blocos: o cliente recebe o texto no lugar do próximo bloco
+                            erro = true;
+                            if (!requisicao.isCancelada()) {
+                                Log.erro("💥 Erro ao gerar relatório", e, "relatorio", relatorio.getTitulo(),
+                                        "cliente", cliente);
+                            }
+                            out.writeUTF(requisicao.isCancelada()
+                                    ? "ERRO: requisição " + requisicao.getId() + " cancelada: "
+                                    + requisicao.getMotivoCancelamento()
+                                    : "ERRO: falha ao gerar o relatório: " + e.getMessage());
+                            out.flush();
+                        }
+                    }
+                }
+
+                case "VALOR_ESTOQUE" -> {
+                    // Totais mantidos em memória: não percorre os produtos
+                    enviarListaComoTexto(out, AvaliacaoEstoque.getInstancia().resumir());
+                }
+
+                // ===============================================================
+                // --------------------------- MÉTRICAS --------------------------
+                // ===============================================================
+                case "METRICAS" -> {
+                    enviarListaComoTexto(out, metricas.resumir());
+                }
+
+                case "METRICAS_FAIXAS" -> {
+                    enviarListaComoTexto(out, Faixa.resumir());
+                }
+
+                case "LISTAR_REQUISICOES" -> {
+                    enviarListaComoTexto(out, Requisicao.listarAtivas());
+                }
+
+                case "CANCELAR" -> {
+                    long id = in.readLong();
+                    Requisicao alvo = Requisicao.buscar(id);
+                    String resposta;
+                    if (alvo != null && alvo.cancelar("cancelada por " + cliente)) {
+                        resposta = "OK: requisição " + id + " cancelada.";
+                    } else {
+                        erro = true;
+                        resposta = "ERRO: requisição " + id + " não encontrada ou já concluída.";
+                    }
+                    out.writeUTF(resposta);
+                    out.flush();
+                }
+
+                case "METRICAS_SQL" -> {
+                    // Vazio quando a instrumentação JDBC está desativada (-Destoque.jdbc.monitorar)
+                    enviarListaComoTexto(out, MonitorJdbc.resumir());
+                }
+
                 default -> {
+                    // Agrupa comandos desconhecidos para não criar uma métrica por texto recebido
+                    nomeMetrica = "DESCONHECIDO";
+                    erro = true;
                     out.writeUTF("ERRO: comando desconhecido");
                     out.flush();
-                    System.err.println("❌ Comando desconhecido recebido: " + comando);
+                    Log.aviso("❌ Comando desconhecido recebido", "comando", comando, "cliente", cliente);
                 }
             }
 
         } catch (Exception e) {
-            System.err.println("💥 Erro ao atender cliente: " + e.getMessage());
-            e.printStackTrace();
+            erro = true;
+            if (requisicao != null && requisicao.isCancelada()) {
+                // Já registrado no cancelamento; normalmente o cliente desconectou
+                Log.debug("🔌 Resposta de requisição cancelada não enviada", "comando", nomeMetrica,
+                        "cliente", cliente, "motivo", e.getMessage());
+            } else {
+                Log.erro("💥 Erro ao atender cliente", e, "comando", nomeMetrica, "cliente", cliente);
+            }
         } finally {
+            if (requisicao != null) {
+                requisicao.encerrar();
+                erro |= requisicao.isCancelada();
+            }
+            if (faixa != null) {
+                faixa.sair();
+            }
+            if (nomeMetrica != null) {
+                long duracao = System.nanoTime() - inicio;
+                metricas.registrar(nomeMetrica, duracao, erro);
+                // Uma linha por requisição: o que foi pedido, por quem, quanto tempo e se falhou
+                Log.info("🔒 Requisição atendida", "requisicao", requisicao == null ? null : requisicao.getId(),
+                        "comando", nomeMetrica, "faixa", faixa, "cliente", cliente,
+                        "duracao_ms", Math.round(duracao / 1_000.0) / 1_000.0, "erro", erro,
+                        "bytes_recebidos", entrada.getBytes(), "bytes_enviados", saida.getBytes());
+            }
+            if (evento != null && evento.shouldCommit()) {
+                evento.comando = nomeMetrica;
+                evento.erro = erro;
+                evento.bytesRecebidos = entrada.getBytes();
+                evento.bytesEnviados = saida.getBytes();
+                evento.commit();
+            }
+            metricas.conexaoEncerrada();
             try {
                 if (in != null) {
                     in.close();
@@ -320,30 +661,124 @@ public class Server {
                 if (socket != null) {
                     socket.close();
                 }
-                System.out.println("🔒 Conexão encerrada com o cliente.\n");
             } catch (IOException ignored) {
             }
         }
     }
 
+    /**
+     * Indica se a mensagem de status devolvida por um serviço representa uma
+     * falha (os serviços respondem com {@code "ERRO..."} ou {@code "Erro..."}).
+     *
+     * @param resposta mensagem de status
+     * @return {@code true} se a operação falhou
+     */
+    private static boolean falhou(String resposta) {
+        return resposta == null || resposta.regionMatches(true, 0, "ERRO", 0, 4);
+    }
+
+    /**
+     * Vigia a conexão de um comando sem argumentos enquanto ele é atendido:
+     * o cliente não envia mais nada, então o fim do fluxo (ou um erro de
+     * leitura) significa que ele desconectou, e a requisição é cancelada para
+     * liberar a consulta e a conexão com o banco.
+     * <p>
+     * A leitura é feita direto no socket, em uma thread virtual, e termina
+     * quando o próprio servidor fecha a conexão ao fim do atendimento.
+     * </p>
+     *
+     * @param socket conexão com o cliente
+     * @param requisicao requisição em andamento
+     */
+    private static void vigiarDesconexao(Socket socket, Requisicao requisicao) {
+        Thread.ofVirtual().name("vigia-requisicao-" + requisicao.getId()).start(() -> {
+            try {
+                InputStream bruto = socket.getInputStream();
+                while (bruto.read() != -1) {
+                    // Bytes inesperados são ignorados; só o fim da conexão interessa
+                }
+            } catch (IOException ignored) {
+            }
+            requisicao.cancelar("cliente desconectou");
+        });
+    }
+
+    /**
+     * Serializa um objeto para o cliente e esvazia o buffer, registrando o
+     * tempo gasto em um {@link EventoSerializacao}.
+     * <p>
+     * Se a requisição em andamento foi cancelada, envia a mensagem de
+     * cancelamento no lugar do objeto.
+     * </p>
+     *
+     * @param out o {@link ObjectOutputStream} usado para enviar dados ao
+     * cliente.
+     * @param objeto objeto a enviar.
+     * @throws IOException se ocorrer erro de I/O durante o envio.
+     */
+    private static void enviarObjeto(ObjectOutputStream out, Object objeto) throws IOException {
+        Requisicao requisicao = Requisicao.atual();
+        if (requisicao != null && !requisicao.responder()) {
+            out.writeUTF("ERRO: requisição " + requisicao.getId() + " cancelada: "
+                    + requisicao.getMotivoCancelamento());
+            out.flush();
+            return;
+        }
+        EventoSerializacao evento = new EventoSerializacao();
+        evento.begin();
+        out.writeObject(objeto);
+        out.flush();
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacao = "writeObject";
+            evento.tipo = objeto == null ? "null" : objeto.getClass().getSimpleName();
+            evento.elementos = objeto instanceof Collection<?> c ? c.size()
+                    : objeto instanceof Map<?, ?> m ? m.size() : -1;
+            evento.commit();
+        }
+    }
+
     /**
      * Envia uma lista de registros (normalmente de relatórios) convertendo seus
      * valores para texto antes de transmitir ao cliente.
+     * <p>
+     * Visível no pacote para o benchmark de conversão de relatórios
+     * (módulo {@code jmh}).
+     * </p>
      *
      * @param out o {@link ObjectOutputStream} usado para enviar dados ao
      * cliente.
      * @param lista a lista de mapas contendo os dados do relatório.
      * @throws IOException se ocorrer erro de I/O durante o envio.
      */
-    private static void enviarListaComoTexto(ObjectOutputStream out, List<Map<String, Object>> lista)
+    static void enviarListaComoTexto(ObjectOutputStream out, List<Map<String, Object>> lista)
             throws IOException {
-        out.writeObject(lista.stream()
+        EventoSerializacao evento = new EventoSerializacao();
+        evento.begin();
+        enviarObjeto(out, paraTexto(lista));
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacao = "listaComoTexto";
+            evento.tipo = "List<Map<String, String>>";
+            evento.elementos = lista.size();
+            evento.commit();
+        }
+        Log.debug("📊 Relatório enviado com sucesso", "registros", lista.size());
+    }
+
+    /**
+     * Converte os valores de cada linha de relatório para texto
+     * ({@code null} vira texto vazio), formato enviado ao cliente.
+     *
+     * @param lista linhas do relatório
+     * @return linhas com valores em texto
+     */
+    private static List<Map<String, String>> paraTexto(List<Map<String, Object>> lista) {
+        return lista.stream()
                 .map(map -> map.entrySet().stream()
                 .collect(java.util.stream.Collectors.toMap(
                         Map.Entry::getKey,
                         e -> (e.getValue() != null ? e.getValue().toString() : "")
-                ))).toList());
-        out.flush();
-        System.out.println("📊 Relatório enviado com sucesso! Total de registros: " + lista.size());
+                ))).toList();
     }
 }
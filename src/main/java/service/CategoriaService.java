@@ -1,6 +1,10 @@
 package service;
 
-import dao.CategoriaDAO;
+import catalogo.CatalogoEstoque;
+import classificacao.CurvaAbc;
+import dao.CategoriaRepositorio;
+import dao.Repositorios;
+import log.Log;
 import model.Categoria;
 import java.util.List;
 
@@ -32,14 +36,17 @@ import java.util.List;
  */
 public class CategoriaService {
 
-    /** Instância do {@link CategoriaDAO} usada para operações de persistência. */
-    private final CategoriaDAO categoriaDAO;
+    /** Repositório de categorias ({@link dao.CategoriaDAO} ou em memória, conforme {@link Repositorios}). */
+    private final CategoriaRepositorio categoriaDAO;
+
+    /** Catálogo em memória, mantido atualizado pelas operações deste serviço. */
+    private final CatalogoEstoque catalogo = CatalogoEstoque.getInstancia();
 
     /**
-     * Construtor padrão. Inicializa a instância do {@link CategoriaDAO}.
+     * Construtor padrão. Obtém o repositório configurado em {@link Repositorios}.
      */
     public CategoriaService() {
-        this.categoriaDAO = new CategoriaDAO();
+        this.categoriaDAO = Repositorios.categorias();
     }
 
     /**
@@ -66,11 +73,12 @@ public class CategoriaService {
 
         try {
             categoriaDAO.inserir(categoria);
+            catalogo.atualizarCategoria(categoria);
             return "OK: Categoria inserida com sucesso!";
         } catch (Exception e) {
 
-            // Imprime stack trace para debug, mas envia retorno limpo ao cliente
-            e.printStackTrace();
+            // Registra a pilha no log, mas envia retorno limpo ao cliente
+            Log.erro("💥 Erro ao inserir categoria", e, "nome", categoria.getNome());
             return "ERRO ao inserir categoria: " + e.getMessage();
         }
     }
@@ -84,8 +92,7 @@ public class CategoriaService {
         try {
             return categoriaDAO.listar();
         } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("ERRO ao listar categorias: " + e.getMessage());
+            Log.erro("ERRO ao listar categorias", e);
 
             // Evita null pointer no cliente retornando lista vazia
             return List.of();
@@ -102,7 +109,7 @@ public class CategoriaService {
 
         // Validação básica do ID
         if (id <= 0) {
-            System.out.println("ID inválido.");
+            Log.aviso("ID inválido.", "categoria", id);
             return null;
         }
 
@@ -116,10 +123,10 @@ public class CategoriaService {
                 }
             }
 
-            System.out.println("Nenhuma categoria encontrada com o ID: " + id);
+            Log.aviso("Nenhuma categoria encontrada com o ID informado", "categoria", id);
 
         } catch (Exception e) {
-            System.out.println("Erro ao buscar categoria: " + e.getMessage());
+            Log.erro("Erro ao buscar categoria", e, "categoria", id);
         }
 
         return null;
@@ -144,9 +151,11 @@ public class CategoriaService {
 
         try {
             categoriaDAO.atualizar(categoria);
+            catalogo.atualizarCategoria(categoria);
+            CurvaAbc.getInstancia().categoriaAlterada();
             return "OK: Categoria atualizada com sucesso!";
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao atualizar categoria", e, "categoria", categoria.getId());
             return "ERRO ao atualizar categoria: " + e.getMessage();
         }
     }
@@ -169,13 +178,14 @@ public class CategoriaService {
 
         try {
             categoriaDAO.excluir(id);
+            catalogo.removerCategoria(id);
             return "OK: Categoria excluída com sucesso!";
 
         } catch (Exception e) {
 
             // Aqui cai quando o DAO lança a Exception:
             // "Não é possível excluir a categoria: existem produtos associados."
-            e.printStackTrace();
+            Log.aviso("⚠️ Erro ao excluir categoria", "categoria", id, "motivo", e.getMessage());
             return "ERRO ao excluir categoria: " + e.getMessage();
         }
     }
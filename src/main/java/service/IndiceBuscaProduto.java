@@ -0,0 +1,747 @@
+package service;
+
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.Produto;
+
+/**
+ * Índice em memória dos nomes de {@link Produto}, usado pelo comando
+ * {@code BUSCAR_PRODUTO} para atender buscas parciais digitadas no balcão.
+ * <p>
+ * Os nomes são normalizados (minúsculas, sem acentos e sem pontuação) e
+ * indexados de duas formas:
+ * </p>
+ * <ul>
+ * <li><b>Trie de palavras</b> — responde buscas por prefixo ("arr bran" →
+ * "Arroz Branco");</li>
+ * <li><b>Trigramas</b> — responde buscas por trecho do nome e tolera erros de
+ * digitação ("feijao carioac" → "Feijão Carioca").</li>
+ * </ul>
+ *
+ * <p>
+ * Os resultados são ranqueados (prefixo do nome completo, prefixo de palavras,
+ * trecho contido e, por fim, similaridade de trigramas) e limitados ao número
+ * pedido pelo cliente. O índice é carregado sob demanda na primeira busca e
+ * mantido atualizado pelo {@link ProdutoService} a cada inserção, alteração ou
+ * exclusão.</p>
+ *
+ * <p>
+ * O acesso é protegido por um {@link ReentrantReadWriteLock}: várias buscas
+ * podem rodar em paralelo, enquanto as atualizações são exclusivas.</p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+public class IndiceBuscaProduto {
+
+    /** Instância única compartilhada pelas threads do servidor. */
+    private static final IndiceBuscaProduto INSTANCIA = new IndiceBuscaProduto();
+
+    /** Similaridade mínima (coeficiente de Dice) para aceitar um candidato por trigramas. */
+    private static final double SIMILARIDADE_MINIMA = 0.45;
+
+    /**
+     * Candidatos coletados da trie por resultado pedido. Prefixos muito curtos
+     * ("a") casam com boa parte do catálogo; coletar um múltiplo do limite
+     * evita varrer o índice inteiro.
+     */
+    private static final int CANDIDATOS_PREFIXO_POR_RESULTADO = 32;
+
+    /** Limite padrão de resultados quando o cliente não informa um valor válido. */
+    public static final int LIMITE_PADRAO = 20;
+
+    /** Limite máximo de resultados aceito por busca. */
+    public static final int LIMITE_MAXIMO = 200;
+
+    /**
+     * Fonte da carga inicial do índice.
+     */
+    @FunctionalInterface
+    public interface Fonte {
+
+        /**
+         * @return lista completa de produtos
+         * @throws SQLException se a leitura falhar
+         */
+        List<Produto> carregar() throws SQLException;
+    }
+
+    /** Trava de leitura/escrita que protege todas as estruturas do índice. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Posição (slot) de cada produto no vetor {@link #porSlot}, por id. */
+    private final Map<Integer, Integer> slotPorId = new HashMap<>();
+
+    /**
+     * Entradas indexadas, por slot. Os slots são inteiros densos reaproveitados
+     * após exclusões, o que permite usar vetores como contadores na consulta.
+     */
+    private Entrada[] porSlot = new Entrada[1024];
+
+    /** Slots liberados por exclusões, reaproveitados nas próximas inserções. */
+    private final ArrayDeque<Integer> slotsLivres = new ArrayDeque<>();
+
+    /** Próximo slot nunca utilizado. */
+    private int proximoSlot;
+
+    /** Raiz da trie de palavras normalizadas. */
+    private final NoTrie raiz = new NoTrie();
+
+    /** Listas de slots (ordenadas) por trigrama. */
+    private final Map<Long, ListaSlots> trigramas = new HashMap<>();
+
+    /** Vetores de rascunho reaproveitados pelas consultas de cada thread. */
+    private final ThreadLocal<Rascunho> rascunhos = ThreadLocal.withInitial(Rascunho::new);
+
+    /** Indica se o índice já foi carregado a partir do banco. */
+    private volatile boolean carregado;
+
+    /**
+     * O servidor usa {@link #getInstancia()}; os testes criam índices próprios.
+     */
+    IndiceBuscaProduto() {
+    }
+
+    /**
+     * Retorna a instância compartilhada do índice.
+     *
+     * @return índice de busca de produtos
+     */
+    public static IndiceBuscaProduto getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Indica se o índice já foi carregado.
+     *
+     * @return {@code true} se o índice estiver pronto para consultas
+     */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Carrega o índice na primeira chamada, usando a fonte informada.
+     * <p>
+     * A carga ocorre com a trava de escrita adquirida, de modo que inserções,
+     * alterações e exclusões concorrentes aguardam e são aplicadas em seguida,
+     * sem se perderem.
+     * </p>
+     *
+     * <p>
+     * Se a fonte falhar, o índice continua não carregado e a próxima chamada
+     * tenta de novo.
+     * </p>
+     *
+     * @param fonte fornecedor da lista completa de produtos (normalmente o DAO)
+     * @throws SQLException se a fonte não conseguir ler os produtos
+     */
+    public void garantirCarregado(Fonte fonte) throws SQLException {
+        if (carregado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!carregado) {
+                for (Produto p : fonte.carregar()) {
+                    indexar(p);
+                }
+                carregado = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insere ou substitui um produto no índice.
+     * <p>
+     * Se o índice ainda não foi carregado, a chamada é ignorada: o produto será
+     * lido do banco na carga inicial. A verificação é feita com a trava de
+     * escrita: durante uma carga em andamento, a chamada espera o fim dela e
+     * aplica a alteração, que a leitura do banco pode não ter visto.
+     * </p>
+     *
+     * @param produto produto com id já definido
+     */
+    public void atualizar(Produto produto) {
+        if (produto == null || produto.getId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (carregado) {
+                desindexar(produto.getId());
+                indexar(produto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto do índice. Como em {@link #atualizar(Produto)}, a
+     * chamada espera uma carga em andamento.
+     *
+     * @param id identificador do produto excluído
+     */
+    public void remover(int id) {
+        lock.writeLock().lock();
+        try {
+            if (carregado) {
+                desindexar(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca produtos cujo nome corresponda ao termo digitado.
+     *
+     * @param termo texto digitado pelo operador (parcial, com ou sem acentos)
+     * @param limite quantidade máxima de resultados
+     * @return lista de produtos ranqueada do mais relevante para o menos relevante
+     */
+    public List<Produto> buscar(String termo, int limite) {
+        String consulta = normalizar(termo);
+        if (consulta.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Rascunho r = rascunhos.get();
+            r.iniciar(proximoSlot);
+
+            // 1) Prefixos de palavras: todas as palavras digitadas devem iniciar alguma palavra do nome
+            buscarPorPrefixos(consulta, Math.max(256, limite * CANDIDATOS_PREFIXO_POR_RESULTADO), r);
+
+            // 2) Trigramas: trechos do nome e erros de digitação
+            if (r.quantidade < limite) {
+                buscarPorTrigramas(consulta, r);
+            }
+
+            return selecionarMelhores(r, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ======================================================================
+    // INDEXAÇÃO
+    // ======================================================================
+
+    /**
+     * Adiciona o produto à trie e às listas de trigramas. Deve ser chamado com
+     * a trava de escrita adquirida.
+     *
+     * @param produto produto a indexar
+     */
+    private void indexar(Produto produto) {
+        String nome = normalizar(produto.getNome());
+        Entrada entrada = new Entrada(produto, nome, gerarTrigramas(nome));
+
+        int slot = slotsLivres.isEmpty() ? proximoSlot++ : slotsLivres.pop();
+        if (slot == porSlot.length) {
+            porSlot = Arrays.copyOf(porSlot, slot * 2);
+        }
+        porSlot[slot] = entrada;
+        slotPorId.put(produto.getId(), slot);
+
+        for (String palavra : entrada.palavras) {
+            raiz.inserir(palavra, slot);
+        }
+        for (long t : entrada.trigramas) {
+            trigramas.computeIfAbsent(t, k -> new ListaSlots()).adicionar(slot);
+        }
+    }
+
+    /**
+     * Remove todas as referências ao produto. Deve ser chamado com a trava de
+     * escrita adquirida.
+     *
+     * @param id identificador do produto
+     */
+    private void desindexar(int id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        Entrada entrada = porSlot[slot];
+        for (String palavra : entrada.palavras) {
+            raiz.remover(palavra, slot);
+        }
+        for (long t : entrada.trigramas) {
+            ListaSlots lista = trigramas.get(t);
+            if (lista != null) {
+                lista.remover(slot);
+                if (lista.tamanho == 0) {
+                    trigramas.remove(t);
+                }
+            }
+        }
+        porSlot[slot] = null;
+        slotsLivres.push(slot);
+    }
+
+    // ======================================================================
+    // CONSULTA
+    // ======================================================================
+
+    /**
+     * Pontua os produtos cujos nomes têm, para cada palavra digitada, alguma
+     * palavra iniciada por ela.
+     * <p>
+     * Os candidatos são obtidos da palavra mais seletiva (menor subárvore da
+     * trie) e os demais prefixos são conferidos diretamente na entrada, sem
+     * intersecção de conjuntos.
+     * </p>
+     *
+     * @param consulta texto normalizado da busca
+     * @param maximo quantidade máxima de candidatos coletados da trie
+     * @param r rascunho da consulta, que recebe as notas
+     */
+    private void buscarPorPrefixos(String consulta, int maximo, Rascunho r) {
+        String[] prefixos = consulta.split(" ");
+        NoTrie guia = null;
+        for (String prefixo : prefixos) {
+            NoTrie no = raiz.localizar(prefixo);
+            if (no == null) {
+                return;
+            }
+            if (guia == null || no.total < guia.total) {
+                guia = no;
+            }
+        }
+
+        r.candidatos = 0;
+        guia.coletar(r, maximo);
+        for (int i = 0; i < r.candidatos; i++) {
+            int slot = r.listaCandidatos[i];
+            Entrada e = porSlot[slot];
+            if (e.iniciaTodas(prefixos)) {
+                r.pontuar(slot, e.nome.startsWith(consulta) ? 3.0 : 2.0);
+            }
+        }
+    }
+
+    /**
+     * Pontua candidatos pela quantidade de trigramas em comum com a consulta
+     * (coeficiente de Dice). Candidatos já pontuados por prefixo mantêm a nota
+     * maior; nomes que contêm a consulta inteira recebem um bônus.
+     * <p>
+     * Para atingir a similaridade mínima, um nome precisa compartilhar pelo
+     * menos {@code c} trigramas com a consulta; logo, ele aparece em ao menos
+     * uma das {@code |Q| - c + 1} listas mais curtas. Só essas listas geram
+     * candidatos — as listas dos trigramas mais comuns nunca são percorridas.
+     * Candidatos que não alcançam o mínimo nem somando as listas restantes são
+     * descartados; para os demais, a contagem exata é feita comparando os
+     * trigramas ordenados da entrada.
+     * </p>
+     *
+     * @param consulta texto normalizado da busca
+     * @param r rascunho da consulta, que recebe as notas
+     */
+    private void buscarPorTrigramas(String consulta, Rascunho r) {
+        long[] daConsulta = gerarTrigramas(consulta);
+        ListaSlots[] listas = new ListaSlots[daConsulta.length];
+        for (int i = 0; i < daConsulta.length; i++) {
+            listas[i] = trigramas.get(daConsulta[i]);
+        }
+        Arrays.sort(listas, Comparator.comparingInt(l -> l == null ? 0 : l.tamanho));
+
+        int minimoEmComum = (int) Math.ceil(SIMILARIDADE_MINIMA * (daConsulta.length + 1) / 2.0);
+        int listasGeradoras = daConsulta.length - minimoEmComum + 1;
+
+        r.candidatos = 0;
+        for (int i = 0; i < listasGeradoras; i++) {
+            ListaSlots lista = listas[i];
+            if (lista == null) {
+                continue;
+            }
+            for (int j = 0; j < lista.tamanho; j++) {
+                r.contar(lista.slots[j]);
+            }
+        }
+
+        int restantes = daConsulta.length - listasGeradoras;
+        for (int i = 0; i < r.candidatos; i++) {
+            int slot = r.listaCandidatos[i];
+            Entrada e = porSlot[slot];
+            int total = daConsulta.length + e.trigramas.length;
+
+            // Limite superior: nem somando as listas não percorridas o candidato alcança o mínimo
+            if (2.0 * (r.contagem[slot] + restantes) < SIMILARIDADE_MINIMA * total) {
+                continue;
+            }
+            double dice = 2.0 * emComum(daConsulta, e.trigramas) / total;
+            if (dice >= SIMILARIDADE_MINIMA) {
+                r.pontuar(slot, e.nome.contains(consulta) ? 1.0 + dice : dice);
+            }
+        }
+    }
+
+    /**
+     * Conta os elementos em comum entre dois vetores ordenados e sem repetição.
+     *
+     * @param a primeiro vetor
+     * @param b segundo vetor
+     * @return quantidade de valores presentes nos dois
+     */
+    private static int emComum(long[] a, long[] b) {
+        int i = 0, j = 0, comuns = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                comuns++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return comuns;
+    }
+
+    /**
+     * Seleciona os {@code limite} melhores candidatos, ordenados por nota,
+     * tamanho do nome e ordem alfabética.
+     *
+     * @param r rascunho com as notas por slot
+     * @param limite quantidade máxima de resultados
+     * @return produtos ordenados do mais relevante para o menos relevante
+     */
+    private List<Produto> selecionarMelhores(Rascunho r, int limite) {
+        Comparator<Integer> ordem = Comparator
+                .<Integer>comparingDouble(slot -> r.nota[slot])
+                .thenComparing(slot -> -porSlot[slot].nome.length())
+                .thenComparing(slot -> porSlot[slot].nome, Comparator.reverseOrder());
+
+        // Heap mínimo com os "limite" melhores: o pior fica no topo para ser descartado
+        PriorityQueue<Integer> melhores = new PriorityQueue<>(limite + 1, ordem);
+        for (int i = 0; i < r.quantidade; i++) {
+            melhores.offer(r.pontuados[i]);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<Produto> resultado = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            resultado.add(porSlot[melhores.poll()].produto);
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    // ======================================================================
+    // NORMALIZAÇÃO
+    // ======================================================================
+
+    /**
+     * Normaliza um texto para indexação: remove acentos (ç → c, ã → a),
+     * converte para minúsculas e troca pontuação por espaços.
+     *
+     * @param texto texto original
+     * @return texto normalizado, com palavras separadas por um único espaço
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(semAcentos.length());
+        boolean espaco = true;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                espaco = false;
+            } else if (!espaco) {
+                sb.append(' ');
+                espaco = true;
+            }
+        }
+        int fim = sb.length();
+        if (fim > 0 && sb.charAt(fim - 1) == ' ') {
+            sb.setLength(fim - 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gera os trigramas distintos do texto normalizado, com um espaço de
+     * preenchimento no início e no fim ({@code " cafe "} → " ca", "caf", ...).
+     *
+     * @param nome texto já normalizado
+     * @return trigramas codificados em {@code long}, ordenados e sem repetição
+     */
+    private static long[] gerarTrigramas(String nome) {
+        if (nome.isEmpty()) {
+            return new long[0];
+        }
+        String s = " " + nome + " ";
+        long[] ts = new long[s.length() - 2];
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        return Arrays.stream(ts).sorted().distinct().toArray();
+    }
+
+    // ======================================================================
+    // ESTRUTURAS INTERNAS
+    // ======================================================================
+
+    /**
+     * Produto indexado junto com as formas normalizadas usadas na busca.
+     */
+    private static final class Entrada {
+
+        /** Produto original, devolvido ao cliente. */
+        final Produto produto;
+
+        /** Nome normalizado. */
+        final String nome;
+
+        /** Palavras distintas do nome normalizado. */
+        final String[] palavras;
+
+        /** Trigramas distintos do nome normalizado. */
+        final long[] trigramas;
+
+        Entrada(Produto produto, String nome, long[] trigramas) {
+            this.produto = produto;
+            this.nome = nome;
+            this.palavras = nome.isEmpty() ? new String[0] : Arrays.stream(nome.split(" ")).distinct().toArray(String[]::new);
+            this.trigramas = trigramas;
+        }
+
+        /** Verifica se cada prefixo inicia alguma palavra do nome. */
+        boolean iniciaTodas(String[] prefixos) {
+            for (String prefixo : prefixos) {
+                boolean achou = false;
+                for (String palavra : palavras) {
+                    if (palavra.startsWith(prefixo)) {
+                        achou = true;
+                        break;
+                    }
+                }
+                if (!achou) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Vetores de trabalho de uma consulta. Em vez de zerar contadores a cada
+     * busca, cada consulta recebe uma "época" nova: posições marcadas com
+     * épocas antigas são tratadas como vazias.
+     */
+    private static final class Rascunho {
+
+        int epoca;
+        int[] epocaCandidato = new int[0];
+        int[] contagem = new int[0];
+        int[] epocaNota = new int[0];
+        double[] nota = new double[0];
+
+        /** Slots vistos na etapa atual (prefixo ou trigramas). */
+        int[] listaCandidatos = new int[64];
+        int candidatos;
+
+        /** Slots com nota atribuída. */
+        int[] pontuados = new int[64];
+        int quantidade;
+
+        void iniciar(int slots) {
+            if (nota.length < slots) {
+                int n = Math.max(slots, nota.length * 2);
+                epocaCandidato = new int[n];
+                contagem = new int[n];
+                epocaNota = new int[n];
+                nota = new double[n];
+                epoca = 0;
+            }
+            // Épocas ímpares para a etapa de prefixo e pares para a de trigramas
+            epoca += 2;
+            candidatos = 0;
+            quantidade = 0;
+        }
+
+        /** Registra um candidato da etapa de prefixos, ignorando repetições. */
+        void coletar(int slot) {
+            if (epocaCandidato[slot] != epoca - 1) {
+                epocaCandidato[slot] = epoca - 1;
+                listaCandidatos = adicionar(listaCandidatos, candidatos++, slot);
+            }
+        }
+
+        /** Soma um trigrama em comum para o slot na etapa de trigramas. */
+        void contar(int slot) {
+            if (epocaCandidato[slot] != epoca) {
+                epocaCandidato[slot] = epoca;
+                contagem[slot] = 0;
+                listaCandidatos = adicionar(listaCandidatos, candidatos++, slot);
+            }
+            contagem[slot]++;
+        }
+
+        /** Atribui a nota ao slot, mantendo a maior já atribuída. */
+        void pontuar(int slot, double valor) {
+            if (epocaNota[slot] != epoca) {
+                epocaNota[slot] = epoca;
+                nota[slot] = valor;
+                pontuados = adicionar(pontuados, quantidade++, slot);
+            } else if (valor > nota[slot]) {
+                nota[slot] = valor;
+            }
+        }
+
+        private static int[] adicionar(int[] vetor, int pos, int valor) {
+            if (pos == vetor.length) {
+                vetor = Arrays.copyOf(vetor, pos * 2);
+            }
+            vetor[pos] = valor;
+            return vetor;
+        }
+    }
+
+    /**
+     * Lista ordenada de slots, com inserção e remoção por busca binária.
+     */
+    private static final class ListaSlots {
+
+        int[] slots = new int[4];
+        int tamanho;
+
+        boolean adicionar(int slot) {
+            int pos = Arrays.binarySearch(slots, 0, tamanho, slot);
+            if (pos >= 0) {
+                return false;
+            }
+            pos = -pos - 1;
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+            }
+            System.arraycopy(slots, pos, slots, pos + 1, tamanho - pos);
+            slots[pos] = slot;
+            tamanho++;
+            return true;
+        }
+
+        boolean remover(int slot) {
+            int pos = Arrays.binarySearch(slots, 0, tamanho, slot);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(slots, pos + 1, slots, pos, tamanho - pos - 1);
+            tamanho--;
+            return true;
+        }
+    }
+
+    /**
+     * Nó da trie de palavras. Os filhos ficam em vetores ordenados pelo
+     * caractere, o que economiza memória em relação a um mapa por nó.
+     */
+    private static final class NoTrie {
+
+        char[] chaves = new char[0];
+        NoTrie[] filhos = new NoTrie[0];
+
+        /** Slots que possuem uma palavra terminando neste nó. */
+        ListaSlots slots;
+
+        /** Quantidade de pares (palavra, slot) nesta subárvore; mede a seletividade do prefixo. */
+        int total;
+
+        NoTrie filho(char c) {
+            int pos = Arrays.binarySearch(chaves, c);
+            return pos >= 0 ? filhos[pos] : null;
+        }
+
+        void inserir(String palavra, int slot) {
+            NoTrie[] caminho = new NoTrie[palavra.length() + 1];
+            NoTrie no = this;
+            caminho[0] = no;
+            for (int i = 0; i < palavra.length(); i++) {
+                char c = palavra.charAt(i);
+                int pos = Arrays.binarySearch(no.chaves, c);
+                if (pos < 0) {
+                    pos = -pos - 1;
+                    char[] chaves = new char[no.chaves.length + 1];
+                    NoTrie[] filhos = new NoTrie[no.filhos.length + 1];
+                    System.arraycopy(no.chaves, 0, chaves, 0, pos);
+                    System.arraycopy(no.filhos, 0, filhos, 0, pos);
+                    System.arraycopy(no.chaves, pos, chaves, pos + 1, no.chaves.length - pos);
+                    System.arraycopy(no.filhos, pos, filhos, pos + 1, no.filhos.length - pos);
+                    chaves[pos] = c;
+                    filhos[pos] = new NoTrie();
+                    no.chaves = chaves;
+                    no.filhos = filhos;
+                }
+                no = no.filhos[pos];
+                caminho[i + 1] = no;
+            }
+            if (no.slots == null) {
+                no.slots = new ListaSlots();
+            }
+            if (no.slots.adicionar(slot)) {
+                for (NoTrie n : caminho) {
+                    n.total++;
+                }
+            }
+        }
+
+        void remover(String palavra, int slot) {
+            NoTrie[] caminho = new NoTrie[palavra.length() + 1];
+            NoTrie no = this;
+            caminho[0] = no;
+            for (int i = 0; i < palavra.length() && no != null; i++) {
+                no = no.filho(palavra.charAt(i));
+                caminho[i + 1] = no;
+            }
+            if (no != null && no.slots != null && no.slots.remover(slot)) {
+                for (NoTrie n : caminho) {
+                    n.total--;
+                }
+            }
+        }
+
+        NoTrie localizar(String prefixo) {
+            NoTrie no = this;
+            for (int i = 0; i < prefixo.length() && no != null; i++) {
+                no = no.filho(prefixo.charAt(i));
+            }
+            return no;
+        }
+
+        void coletar(Rascunho r, int maximo) {
+            if (slots != null) {
+                for (int i = 0; i < slots.tamanho && r.candidatos < maximo; i++) {
+                    r.coletar(slots.slots[i]);
+                }
+            }
+            for (int i = 0; i < filhos.length && r.candidatos < maximo; i++) {
+                filhos[i].coletar(r, maximo);
+            }
+        }
+    }
+}
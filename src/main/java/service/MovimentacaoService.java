@@ -1,7 +1,18 @@
 package service;
 
-import dao.MovimentacaoDAO;
+import catalogo.CatalogoEstoque;
+import classificacao.CurvaAbc;
+import dao.MovimentacaoRepositorio;
+import dao.Repositorios;
+import idempotencia.CacheIdempotencia;
+import journal.JournalMovimentacoes;
+import journal.RegistroJournal;
+import log.Log;
 import model.Movimentacao;
+import model.TipoMovimentacao;
+import reservas.ReservasEstoque;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -13,9 +24,14 @@ import java.util.List;
  *
  * <p><b>Principais responsabilidades:</b></p>
  * <ul>
- *   <li>Registrar movimentações de entrada e saída de produtos;</li>
+ *   <li>Registrar movimentações de entrada e saída de produtos, no journal
+ *   local ({@link JournalMovimentacoes}), se ativo, ou direto no repositório;</li>
+ *   <li>Responder a reenvios com a mesma chave de idempotência sem gravar de
+ *   novo ({@link CacheIdempotencia});</li>
+ *   <li>Aplicar as movimentações avulsas ao saldo das reservas
+ *   ({@link ReservasEstoque});</li>
  *   <li>Listar movimentações por produto ou tipo;</li>
- *   <li>Delegar as operações de acesso ao banco de dados ao {@link MovimentacaoDAO}.</li>
+ *   <li>Delegar as operações de acesso ao banco de dados ao {@link MovimentacaoRepositorio}.</li>
  * </ul>
  *
  * @author Luiz
@@ -24,21 +40,178 @@ import java.util.List;
  */
 public class MovimentacaoService {
 
-    /** DAO responsável pelas operações de persistência da entidade {@link Movimentacao}. */
-    private final MovimentacaoDAO movimentacaoDAO = new MovimentacaoDAO();
+    /** Resposta de uma movimentação aceita pelo journal ou gravada no repositório. */
+    private static final String REGISTRADA = "Movimentação registrada com sucesso!";
+
+    /** Repositório responsável pelas operações de persistência da entidade {@link Movimentacao}. */
+    private final MovimentacaoRepositorio movimentacaoDAO = Repositorios.movimentacoes();
+
+    /** Reservas de estoque, que recusam saídas avulsas sobre unidades reservadas. */
+    private final ReservasEstoque reservas = ReservasEstoque.getInstancia();
 
     /**
-     * Registra uma nova movimentação (entrada ou saída) no banco de dados.
+     * Registra uma nova movimentação (entrada ou saída) recebida do cliente.
+     * <p>
+     * Com chave de idempotência, um reenvio recebe a resposta original sem
+     * gravar de novo ({@link CacheIdempotencia}); uma saída que usaria
+     * unidades reservadas é recusada ({@link ReservasEstoque}).
+     * </p>
      *
      * @param movimentacao objeto {@link Movimentacao} contendo os dados da operação.
      * @return uma {@link String} com o status da operação:
      *         <ul>
-     *             <li>{@code "OK: ..."} caso a movimentação seja registrada com sucesso;</li>
-     *             <li>{@code "ERRO: ..."} caso ocorra algum problema.</li>
+     *             <li>{@code "Movimentação registrada com sucesso!"} caso a movimentação seja registrada;</li>
+     *             <li>{@link MovimentacaoRepositorio#JA_REGISTRADA} para um reenvio já gravado;</li>
+     *             <li>{@code "Erro ..."} caso ocorra algum problema.</li>
      *         </ul>
+     * @throws IOException se o journal não puder gravar
+     */
+    public String registrar(Movimentacao movimentacao) throws IOException {
+        return CacheIdempotencia.getInstancia().executar(movimentacao.getChaveIdempotencia(),
+                movimentacao.resumirConteudo(), () -> gravar(movimentacao, true));
+    }
+
+    /**
+     * Registra a saída de uma reserva confirmada. As unidades já foram
+     * baixadas do saldo pela confirmação, então a saída não passa por ele.
+     *
+     * @param saida movimentação de saída da reserva
+     * @return mensagem de sucesso ou erro
+     * @throws IOException se o journal não puder gravar
+     */
+    public String registrarSaidaReservada(Movimentacao saida) throws IOException {
+        return gravar(saida, false);
+    }
+
+    /**
+     * Grava uma movimentação: no journal local, se ativo (o aplicador grava
+     * no banco em segundo plano), ou direto no repositório. Se gravada,
+     * atualiza a curva ABC; uma chave de idempotência que já tinha sido
+     * gravada não conta de novo. A consolidação lê as movimentações do banco.
+     * <p>
+     * O tipo é validado antes de tudo: o journal só grava entrada ou saída, e
+     * um tipo desconhecido volta ao cliente como erro.
+     * </p>
+     * <p>
+     * No journal, a coluna única do banco só barra uma chave de idempotência
+     * repetida quando o aplicador grava, depois da resposta e dos efeitos em
+     * memória. Por isso, com o journal ativo, a chave é procurada no índice
+     * de chaves do próprio journal, sem depender do banco: um reenvio que já
+     * saiu do {@link CacheIdempotencia} recebe
+     * {@link MovimentacaoRepositorio#JA_REGISTRADA} sem contar de novo. A
+     * coluna única continua barrando, no aplicador, as chaves de segmentos já
+     * removidos.
+     * </p>
+     * <p>
+     * Também antes do aceite no journal, o produto é conferido: depois da
+     * resposta, o aplicador não tem mais como avisar o cliente, e uma
+     * movimentação recusada pelo banco vai para as rejeitadas do journal.
+     * </p>
+     *
+     * @param movimentacao movimentação recebida do cliente ou saída de uma reserva
+     * @param avulsa {@code true} para aplicar a movimentação ao saldo das reservas
+     * @return mensagem de sucesso ou erro
+     * @throws IOException se o journal não puder gravar
      */
-    public String registrar(Movimentacao movimentacao) {
-        return movimentacaoDAO.inserir(movimentacao);
+    private String gravar(Movimentacao movimentacao, boolean avulsa) throws IOException {
+        TipoMovimentacao tipo = TipoMovimentacao.porNome(movimentacao.getTipo());
+        if (tipo == null) {
+            return "Erro ao registrar movimentação: tipo inválido (" + movimentacao.getTipo() + ").";
+        }
+        movimentacao.setTipo(tipo.name());
+
+        JournalMovimentacoes journal = JournalMovimentacoes.getInstancia();
+        if (journal != null && movimentacao.getChaveIdempotencia() != null) {
+            // Antes do saldo: a repetição de uma saída não deve esbarrar no disponível
+            String repetida = compararChave(journal.buscarChave(movimentacao.getChaveIdempotencia()), movimentacao);
+            if (repetida != null) {
+                return repetida;
+            }
+        }
+        if (journal != null && !produtoExiste(movimentacao)) {
+            return "Erro ao registrar movimentação: produto inexistente (ID "
+                    + (movimentacao.getProduto() == null ? null : movimentacao.getProduto().getId()) + ").";
+        }
+
+        String resposta = avulsa
+                ? reservas.movimentar(movimentacao, m -> gravarNoDestino(m, journal))
+                : gravarNoDestino(movimentacao, journal);
+        if (gravada(resposta) && !MovimentacaoRepositorio.JA_REGISTRADA.equals(resposta)) {
+            CurvaAbc.getInstancia().registrar(movimentacao);
+        }
+        return resposta;
+    }
+
+    /**
+     * Grava no journal, se ativo (aceite local: o aplicador grava no banco em
+     * segundo plano), ou direto no repositório.
+     *
+     * @param movimentacao movimentação validada
+     * @param journal journal ativo, ou {@code null}
+     * @return mensagem de sucesso ou erro
+     * @throws IOException se o journal não puder gravar
+     */
+    private String gravarNoDestino(Movimentacao movimentacao, JournalMovimentacoes journal) throws IOException {
+        if (journal == null) {
+            return movimentacaoDAO.inserir(movimentacao);
+        }
+        RegistroJournal anterior = journal.anexarSeChaveNova(movimentacao);
+        return anterior == null ? REGISTRADA : compararChave(anterior, movimentacao);
+    }
+
+    /**
+     * Compara uma movimentação com a que o journal já gravou com a mesma chave
+     * de idempotência.
+     *
+     * @param gravada registro do journal com a chave, ou {@code null}
+     * @param movimentacao movimentação com chave
+     * @return {@code null} se a chave ainda não foi gravada; senão, a resposta
+     *         ao cliente: {@link MovimentacaoRepositorio#JA_REGISTRADA}, ou
+     *         {@link CacheIdempotencia#CHAVE_REUTILIZADA} se o conteúdo gravado
+     *         é outro
+     */
+    private static String compararChave(RegistroJournal gravada, Movimentacao movimentacao) {
+        if (gravada == null) {
+            return null;
+        }
+        if (!gravada.paraMovimentacao().resumirConteudo().equals(movimentacao.resumirConteudo())) {
+            Log.aviso("⚠️ Chave de idempotência reutilizada com outro conteúdo",
+                    "chave", movimentacao.getChaveIdempotencia());
+            return CacheIdempotencia.CHAVE_REUTILIZADA;
+        }
+        Log.info("🔁 Movimentação repetida não gravada", "chave", movimentacao.getChaveIdempotencia(),
+                "seq", gravada.sequencia());
+        return MovimentacaoRepositorio.JA_REGISTRADA;
+    }
+
+    /**
+     * Confere se o produto da movimentação existe: no catálogo, se carregado,
+     * ou no banco. Com o banco fora do ar, a movimentação é aceita; se o
+     * produto não existir, o aplicador do journal a rejeita ao gravar.
+     *
+     * @param movimentacao movimentação a conferir
+     * @return {@code false} se o produto com certeza não existe
+     */
+    private static boolean produtoExiste(Movimentacao movimentacao) {
+        if (movimentacao.getProduto() == null) {
+            return false;
+        }
+        int id = movimentacao.getProduto().getId();
+        CatalogoEstoque catalogo = CatalogoEstoque.getInstancia();
+        if (catalogo.isCarregado()) {
+            return catalogo.getQuantidadeAtual(id) != Integer.MIN_VALUE;
+        }
+        try {
+            return Repositorios.produtos().buscarPorIds(List.of(id)).containsKey(id);
+        } catch (SQLException e) {
+            Log.aviso("⚠️ Produto da movimentação não conferido", "produto", id, "motivo", e.getMessage());
+            return true;
+        }
+    }
+
+    /** Indica se a resposta do repositório é de sucesso ({@code "...sucesso..."}). */
+    private static boolean gravada(String resposta) {
+        return resposta != null && resposta.contains("sucesso");
     }
 
     /**
@@ -1,8 +1,22 @@
 package service;
 
+import avaliacao.AvaliacaoEstoque;
+import catalogo.CatalogoEstoque;
+import classificacao.CurvaAbc;
 import dao.ProdutoDAO;
+import dao.ProdutoRepositorio;
+import dao.Repositorios;
+import log.Log;
 import model.Produto;
+import precos.HistoricoPrecos;
+import reservas.ReservasEstoque;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Classe {@code ProdutoService} responsável por gerenciar as regras de negócio
@@ -17,7 +31,9 @@ import java.util.List;
  * <ul>
  * <li>Inserir novos produtos no banco de dados;</li>
  * <li>Listar todos os produtos cadastrados;</li>
- * <li>Atualizar dados de produtos existentes.</li>
+ * <li>Atualizar dados de produtos existentes;</li>
+ * <li>Buscar produtos pelo nome, via {@link IndiceBuscaProduto};</li>
+ * <li>Buscar vários produtos por ID em uma única requisição.</li>
  * </ul>
  *
  * <p>
@@ -32,10 +48,32 @@ import java.util.List;
 public class ProdutoService {
 
     /**
-     * DAO responsável pelas operações de persistência da entidade
-     * {@link Produto}.
+     * Repositório responsável pelas operações de persistência da entidade
+     * {@link Produto} ({@link ProdutoDAO} ou em memória, conforme
+     * {@link Repositorios}).
      */
-    private final ProdutoDAO produtoDAO = new ProdutoDAO();
+    private final ProdutoRepositorio produtoDAO = Repositorios.produtos();
+
+    /**
+     * Índice em memória dos nomes dos produtos, compartilhado entre as
+     * conexões e mantido atualizado pelas operações deste serviço.
+     */
+    private final IndiceBuscaProduto indice = IndiceBuscaProduto.getInstancia();
+
+    /** Catálogo em memória, mantido atualizado pelas operações deste serviço. */
+    private final CatalogoEstoque catalogo = CatalogoEstoque.getInstancia();
+
+    /** Valor do estoque em centavos, mantido atualizado pelas operações deste serviço. */
+    private final AvaliacaoEstoque avaliacao = AvaliacaoEstoque.getInstancia();
+
+    /** Curva ABC em cache, vencida quando um produto é incluído, alterado ou excluído. */
+    private final CurvaAbc curvaAbc = CurvaAbc.getInstancia();
+
+    /** Histórico de preços, que recebe cada mudança de preço. */
+    private final HistoricoPrecos historicoPrecos = HistoricoPrecos.getInstancia();
+
+    /** Reservas de estoque: a alteração da quantidade de um produto muda o físico controlado. */
+    private final ReservasEstoque reservas = ReservasEstoque.getInstancia();
 
     /**
      * Insere um novo produto no banco de dados.
@@ -48,7 +86,15 @@ public class ProdutoService {
      * </ul>
      */
     public String inserir(Produto produto) {
-        return produtoDAO.inserir(produto);
+        String resposta = produtoDAO.inserir(produto);
+        if (resposta.contains("sucesso")) {
+            indice.atualizar(produto);
+            catalogo.atualizarProduto(produto);
+            avaliacao.atualizar(produto);
+            curvaAbc.produtoAlterado(produto.getId());
+            historicoPrecos.registrarPreco(produto);
+        }
+        return resposta;
     }
 
     /**
@@ -70,15 +116,28 @@ public class ProdutoService {
      * <ul>
      * <li>{@code "Produto atualizado com sucesso!"} caso a atualização seja
      * bem-sucedida;</li>
+     * <li>{@code "Nenhum produto encontrado com o ID informado."} se o ID não
+     * existir;</li>
      * <li>{@code "Erro ao atualizar produto: ..."} em caso de falha.</li>
      * </ul>
+     * Índice, catálogo, avaliação, curva ABC, histórico de preços e reservas
+     * só são atualizados se o repositório gravou a alteração.
      */
     public String atualizar(Produto produto) {
         try {
-            produtoDAO.atualizar(produto);
-            return "Produto atualizado com sucesso!";
+            historicoPrecos.registrarPrecoAnterior(produto.getId());
+            String resposta = produtoDAO.atualizar(produto);
+            if (resposta.contains("sucesso")) {
+                indice.atualizar(produto);
+                catalogo.atualizarProduto(produto);
+                avaliacao.atualizar(produto);
+                curvaAbc.produtoAlterado(produto.getId());
+                historicoPrecos.registrarPreco(produto);
+                reservas.produtoAlterado(produto);
+            }
+            return resposta;
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao atualizar produto", e, "produto", produto.getId());
             return "Erro ao atualizar produto: " + e.getMessage();
         }
     }
@@ -91,11 +150,81 @@ public class ProdutoService {
      */
     public String excluir(Integer id) {
         try {
-            return produtoDAO.excluir(id);
+            String resposta = produtoDAO.excluir(id);
+            if (resposta.contains("sucesso")) {
+                indice.remover(id);
+                catalogo.removerProduto(id);
+                avaliacao.remover(id);
+                curvaAbc.produtoAlterado(id);
+                historicoPrecos.remover(id);
+                reservas.produtoRemovido(id);
+            }
+            return resposta;
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.erro("💥 Erro ao excluir produto", e, "produto", id);
             return "Erro ao excluir produto: " + e.getMessage();
         }
     }
 
+    /**
+     * Busca produtos pelo nome, aceitando prefixos, trechos do nome, ausência
+     * de acentos e pequenos erros de digitação.
+     * <p>
+     * Na primeira chamada o índice é carregado a partir do banco de dados.
+     * </p>
+     *
+     * @param termo texto digitado pelo operador.
+     * @param limite quantidade máxima de resultados; valores inválidos usam
+     * {@value IndiceBuscaProduto#LIMITE_PADRAO}.
+     * @return uma {@link List} de {@link Produto} ranqueada por relevância.
+     * @throws SQLException se o índice ainda não estiver carregado e a leitura
+     * dos produtos falhar.
+     */
+    public List<Produto> buscarPorNome(String termo, int limite) throws SQLException {
+        if (limite <= 0) {
+            limite = IndiceBuscaProduto.LIMITE_PADRAO;
+        }
+        limite = Math.min(limite, IndiceBuscaProduto.LIMITE_MAXIMO);
+
+        indice.garantirCarregado(produtoDAO::carregar);
+        return indice.buscar(termo, limite);
+    }
+
+    /**
+     * Busca vários produtos pelos seus IDs em uma única requisição.
+     * <p>
+     * Com o {@link CatalogoEstoque} carregado, os produtos são obtidos dele
+     * sem acessar o banco, com a quantidade atualizada pelas movimentações;
+     * caso contrário, é feita uma única consulta {@code IN (...)} (dividida em
+     * blocos para conjuntos muito grandes). O índice de busca não serve de
+     * fonte: as cópias dele não acompanham as movimentações.
+     * </p>
+     *
+     * @param ids identificadores dos produtos, na ordem desejada (repetições
+     * são ignoradas).
+     * @return um {@link Map} com uma entrada por ID, na ordem recebida; o valor
+     * é {@code null} para os IDs não encontrados.
+     * @throws SQLException se a consulta ao banco falhar.
+     */
+    public Map<Integer, Produto> buscarPorIds(int[] ids) throws SQLException {
+        Set<Integer> pedidos = new LinkedHashSet<>();
+        for (int id : ids) {
+            pedidos.add(id);
+        }
+
+        Map<Integer, Produto> resultado = new LinkedHashMap<>();
+        if (catalogo.isCarregado()) {
+            for (Integer id : pedidos) {
+                resultado.put(id, catalogo.getProduto(id));
+            }
+            return resultado;
+        }
+
+        Map<Integer, Produto> encontrados = produtoDAO.buscarPorIds(new ArrayList<>(pedidos));
+        for (Integer id : pedidos) {
+            resultado.put(id, encontrados.get(id));
+        }
+        return resultado;
+    }
+
 }
@@ -1,14 +1,41 @@
 package service;
 
-import dao.ConexaoDAO;
-import java.sql.*;
+import catalogo.CatalogoEstoque;
+import catalogo.VersaoCatalogo;
+import classificacao.CurvaAbc;
+import consolidacao.ConsolidacaoMovimentacoes;
+import dao.RelatorioRepositorio;
+import dao.Repositorios;
+import faixas.Faixa;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import log.Log;
+import model.Produto;
+import precos.ValorMovimentado;
+import relatorios.ColetorLinhas;
+import relatorios.Relatorio;
+import relatorios.SaidaRelatorio;
+import reposicao.CoberturaEstoque;
+import requisicoes.Requisicao;
 
 /**
  * Classe de serviço responsável por gerar relatórios do sistema de estoque.
  * <p>
- * Cada relatório executa uma consulta SQL específica e retorna os resultados
- * como uma lista de mapas ({@code List<Map<String, Object>>}), onde cada mapa
+ * Cada relatório é obtido do {@link RelatorioRepositorio} configurado em
+ * {@link Repositorios} e retornado como uma lista de mapas ({@code List<Map<String, Object>>}), onde cada mapa
  * representa uma linha do resultado, associando nomes de colunas a valores.
  * </p>
  *
@@ -18,10 +45,27 @@ import java.util.*;
  *   <li>Balanço físico e financeiro;</li>
  *   <li>Produtos abaixo do estoque mínimo;</li>
  *   <li>Quantidade de produtos por categoria;</li>
- *   <li>Produto mais movimentado (entradas e saídas).</li>
+ *   <li>Produto mais movimentado (entradas e saídas);</li>
+ *   <li>Cobertura de estoque e ponto de pedido ({@link #coberturaEstoque()});</li>
+ *   <li>Curva ABC pelo valor das saídas ({@link #curvaAbc()});</li>
+ *   <li>Valor movimentado a preço da época ({@link #valorMovimentado()});</li>
+ *   <li>Painel ({@link #gerarDashboard(long)}), com os cinco relatórios acima
+ *   executados em paralelo.</li>
  * </ul>
  *
- * <p>Utiliza {@link ConexaoDAO} para obter conexões JDBC e executa consultas SQL diretamente.</p>
+ * <p>Os mesmos relatórios podem ser enviados em quadros
+ * ({@link #transmitir(Relatorio, SaidaRelatorio)}): colunas tipadas,
+ * sem um mapa por linha, em blocos enviados durante a leitura.</p>
+ *
+ * <p>As consultas SQL ficam em {@link dao.RelatorioDAO}; com
+ * {@code -Destoque.armazenamento=memoria}, os mesmos relatórios são montados
+ * a partir dos mapas em memória.</p>
+ *
+ * <p>Com o {@link CatalogoEstoque} carregado ({@code estoque.snapshot.arquivo}),
+ * os relatórios são montados a partir de uma única {@link VersaoCatalogo}:
+ * um estado consistente do estoque, obtido sem travas e sem consultar o
+ * banco, mesmo com movimentações sendo aplicadas ao mesmo tempo. O painel
+ * usa a mesma versão para os cinco relatórios.</p>
  *
  * @author Luiz
  * @version 1.0
@@ -29,6 +73,9 @@ import java.util.*;
  */
 public class RelatorioService {
 
+    /** Repositório de onde vêm as linhas dos relatórios. */
+    private final RelatorioRepositorio relatorios = Repositorios.relatorios();
+
     // ========================= LISTA DE PREÇOS =========================
 
     /**
@@ -43,22 +90,7 @@ public class RelatorioService {
      *         </ul>
      */
     public List<Map<String, Object>> listarPrecos() {
-        String sql = """
-            SELECT p.nome AS produto, c.nome AS categoria, 
-                   p.preco, p.tipo_unidade
-            FROM produto p
-            JOIN categoria c ON p.categoria_id = c.id
-            ORDER BY p.nome
-        """;
-
-        return executarConsulta(sql, rs -> {
-            Map<String, Object> linha = new HashMap<>();
-            linha.put("produto", rs.getString("produto"));
-            linha.put("categoria", rs.getString("categoria"));
-            linha.put("preco", rs.getDouble("preco"));
-            linha.put("tipo_unidade", rs.getString("tipo_unidade"));
-            return linha;
-        }, "Lista de preços");
+        return gerar(Relatorio.LISTA_PRECOS, relatorios::listarPrecos);
     }
 
     // ========================= BALANÇO FÍSICO / FINANCEIRO =========================
@@ -79,25 +111,7 @@ public class RelatorioService {
      *         </ul>
      */
     public List<Map<String, Object>> balancoFisicoFinanceiro() {
-        String sql = """
-            SELECT p.nome AS produto, c.nome AS categoria, 
-                   p.quantidade_atual, p.preco
-            FROM produto p
-            JOIN categoria c ON p.categoria_id = c.id
-            ORDER BY p.nome
-        """;
-
-        return executarConsulta(sql, rs -> {
-            int qtd = rs.getInt("quantidade_atual");
-            double preco = rs.getDouble("preco");
-            Map<String, Object> linha = new HashMap<>();
-            linha.put("produto", rs.getString("produto"));
-            linha.put("categoria", rs.getString("categoria"));
-            linha.put("quantidade", qtd);
-            linha.put("preco", preco);
-            linha.put("valor_total", qtd * preco);
-            return linha;
-        }, "Balanço físico/financeiro");
+        return gerar(Relatorio.BALANCO, relatorios::balancoFisicoFinanceiro);
     }
 
     // ========================= PRODUTOS ABAIXO DO MÍNIMO =========================
@@ -114,23 +128,7 @@ public class RelatorioService {
      *         </ul>
      */
     public List<Map<String, Object>> produtosAbaixoDoMinimo() {
-        String sql = """
-            SELECT p.nome AS produto, c.nome AS categoria,
-                   p.quantidade_atual, p.quantidade_minima
-            FROM produto p
-            JOIN categoria c ON p.categoria_id = c.id
-            WHERE p.quantidade_atual < p.quantidade_minima
-            ORDER BY p.nome
-        """;
-
-        return executarConsulta(sql, rs -> {
-            Map<String, Object> linha = new HashMap<>();
-            linha.put("produto", rs.getString("produto"));
-            linha.put("categoria", rs.getString("categoria"));
-            linha.put("quantidade_atual", rs.getInt("quantidade_atual"));
-            linha.put("quantidade_minima", rs.getInt("quantidade_minima"));
-            return linha;
-        }, "Produtos abaixo do mínimo");
+        return gerar(Relatorio.ABAIXO_MINIMO, relatorios::produtosAbaixoDoMinimo);
     }
 
     // ========================= QUANTIDADE POR CATEGORIA =========================
@@ -145,22 +143,7 @@ public class RelatorioService {
      *         </ul>
      */
     public List<Map<String, Object>> quantidadePorCategoria() {
-        String sql = """
-            SELECT 
-                c.nome AS categoria, 
-                COALESCE(COUNT(p.id), 0) AS quantidade
-            FROM categoria c
-            LEFT JOIN produto p ON p.categoria_id = c.id
-            GROUP BY c.nome
-            ORDER BY c.nome
-        """;
-
-        return executarConsulta(sql, rs -> {
-            Map<String, Object> linha = new HashMap<>();
-            linha.put("categoria", rs.getString("categoria"));
-            linha.put("quantidade", rs.getInt("quantidade"));
-            return linha;
-        }, "Quantidade por categoria");
+        return gerar(Relatorio.QTD_POR_CATEGORIA, relatorios::quantidadePorCategoria);
     }
 
     // ========================= PRODUTO MAIS MOVIMENTADO =========================
@@ -176,81 +159,388 @@ public class RelatorioService {
      *             <li>{@code saidas} — total de unidades que saíram;</li>
      *             <li>{@code total_movimentado} — soma total de entradas e saídas.</li>
      *         </ul>
+     *
+     * <p>Com o {@link CatalogoEstoque} carregado, o relatório é montado a partir dos
+     * totais em memória, após somar apenas as movimentações novas.</p>
      */
     public List<Map<String, Object>> produtoMaisMovimentado() {
-        String sql = """
-            SELECT p.nome AS produto, c.nome AS categoria,
-                   SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END) AS entradas,
-                   SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END) AS saidas
-            FROM movimentacao m
-            JOIN produto p ON m.produto_id = p.id
-            JOIN categoria c ON p.categoria_id = c.id
-            GROUP BY p.nome, c.nome
-            ORDER BY (SUM(CASE WHEN m.tipo = 'ENTRADA' THEN m.quantidade ELSE 0 END) +
-                      SUM(CASE WHEN m.tipo = 'SAIDA' THEN m.quantidade ELSE 0 END)) DESC
-        """;
-
-        return executarConsulta(sql, rs -> {
-            Map<String, Object> linha = new HashMap<>();
-            linha.put("produto", rs.getString("produto"));
-            linha.put("categoria", rs.getString("categoria"));
-            linha.put("entradas", rs.getInt("entradas"));
-            linha.put("saidas", rs.getInt("saidas"));
-            linha.put("total_movimentado", rs.getInt("entradas") + rs.getInt("saidas"));
-            return linha;
-        }, "Produto mais movimentado");
+        return gerar(Relatorio.MAIS_MOVIMENTADO, relatorios::produtoMaisMovimentado);
     }
 
-    // ======================================================================
-    // MÉTODO AUXILIAR GENÉRICO PARA EXECUTAR QUALQUER CONSULTA SQL
-    // ======================================================================
+    // ========================= COBERTURA DE ESTOQUE =========================
 
     /**
-     * Executa uma consulta SQL e transforma cada linha do resultado em um mapa ({@code Map<String, Object>}).
+     * Gera o relatório de cobertura de estoque e ponto de pedido, do produto
+     * mais urgente para o menos urgente (fórmulas em {@link CoberturaEstoque}).
+     * <p>
+     * As saídas da janela vêm dos totais diários de
+     * {@link ConsolidacaoMovimentacoes}, já em memória, ou, se a janela for
+     * maior que a mantida, de uma única consulta agrupada por produto. Os
+     * produtos vêm da versão atual do catálogo, se carregado, ou do
+     * repositório; o cálculo e a ordenação rodam em paralelo.
+     * </p>
      *
-     * @param sql comando SQL a ser executado
-     * @param mapper função que converte o {@link ResultSet} em um {@link Map}
-     * @param nomeRelatorio nome amigável usado para logs e mensagens
-     * @return uma lista de linhas ({@code List<Map<String, Object>>})
+     * @return lista de mapas contendo:
+     *         <ul>
+     *             <li>{@code produto} e {@code categoria} — nomes;</li>
+     *             <li>{@code quantidade_atual}, {@code quantidade_minima} e {@code quantidade_maxima};</li>
+     *             <li>{@code saida_media_diaria} — média de saídas por dia na janela;</li>
+     *             <li>{@code dias_cobertura} — dias de estoque restantes ({@code -1} sem saídas);</li>
+     *             <li>{@code ponto_pedido} — quantidade que dispara a reposição;</li>
+     *             <li>{@code sugestao_compra} — quantidade sugerida para repor (zero acima do ponto de pedido).</li>
+     *         </ul>
      */
-    private List<Map<String, Object>> executarConsulta(
-            String sql,
-            ResultMapper mapper,
-            String nomeRelatorio
-    ) {
-        List<Map<String, Object>> lista = new ArrayList<>();
-        try (Connection conn = ConexaoDAO.getConnection();
-             Statement st = conn.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
-
-            while (rs.next()) {
-                lista.add(mapper.map(rs));
-            }
+    public List<Map<String, Object>> coberturaEstoque() {
+        ColetorLinhas coletor = new ColetorLinhas();
+        try {
+            transmitir(Relatorio.COBERTURA_ESTOQUE, coletor);
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao gerar relatório", e, "relatorio", Relatorio.COBERTURA_ESTOQUE.getTitulo());
+        }
+        return coletor.getLinhas();
+    }
+
+    /**
+     * Calcula a cobertura de estoque e escreve as linhas na saída.
+     */
+    private void transmitirCobertura(SaidaRelatorio saida) throws SQLException {
+        long inicio = System.nanoTime();
+        int dias = CoberturaEstoque.JANELA_DIAS;
+        Map<Integer, Long> saidas = saidasPorProduto(dias);
+        List<CoberturaEstoque.Posicao> posicoes = new ArrayList<>();
+        paraCadaProduto((p, categoria) -> posicoes.add(new CoberturaEstoque.Posicao(p.id(), p.nome(), categoria,
+                p.quantidadeAtual(), p.quantidadeMinima(), p.quantidadeMaxima())));
+
+        CoberturaEstoque.Linha[] linhas = CoberturaEstoque.calcular(posicoes, saidas, dias,
+                CoberturaEstoque.PRAZO_REPOSICAO_DIAS);
+        CoberturaEstoque.escrever(linhas, saida);
+        Log.debug("📦 Cobertura de estoque calculada", "produtos", linhas.length, "janela_dias", dias,
+                "duracao_ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ========================= CURVA ABC =========================
+
+    /**
+     * Gera a curva ABC dos produtos pelo valor das saídas (quantidade × preço),
+     * do maior para o menor valor, para priorizar as contagens cíclicas.
+     * <p>
+     * A curva fica em cache em {@link CurvaAbc} e só é recalculada quando as
+     * saídas registradas depois dela mudam o valor total de forma
+     * significativa, quando um produto da curva é alterado ou quando o cache
+     * vence; produtos e saídas vêm das mesmas fontes da cobertura de estoque.
+     * </p>
+     *
+     * @return lista de mapas contendo:
+     *         <ul>
+     *             <li>{@code produto} e {@code categoria} — nomes;</li>
+     *             <li>{@code quantidade_saida} — unidades saídas na janela;</li>
+     *             <li>{@code valor} — quantidade saída × preço;</li>
+     *             <li>{@code participacao} e {@code participacao_acumulada} — em % do valor total;</li>
+     *             <li>{@code classe} — {@code A}, {@code B} ou {@code C}.</li>
+     *         </ul>
+     */
+    public List<Map<String, Object>> curvaAbc() {
+        ColetorLinhas coletor = new ColetorLinhas();
+        try {
+            transmitir(Relatorio.CURVA_ABC, coletor);
+        } catch (SQLException e) {
+            Log.erro("💥 Erro ao gerar relatório", e, "relatorio", Relatorio.CURVA_ABC.getTitulo());
+        }
+        return coletor.getLinhas();
+    }
+
+    /**
+     * Obtém a curva ABC (do cache ou recalculada) e escreve as linhas na saída.
+     */
+    private void transmitirCurvaAbc(SaidaRelatorio saida) throws SQLException {
+        CurvaAbc.Linha[] linhas = CurvaAbc.getInstancia().obter(dias -> {
+            Map<Integer, Long> saidas = saidasPorProduto(dias);
+            List<CurvaAbc.Posicao> posicoes = new ArrayList<>();
+            paraCadaProduto((p, categoria) -> posicoes.add(
+                    new CurvaAbc.Posicao(p.id(), p.nome(), categoria, p.preco())));
+            return new CurvaAbc.Dados(posicoes, saidas);
+        });
+        CurvaAbc.escrever(linhas, saida);
+    }
 
-            System.out.printf("📊 %s gerado com sucesso. Total de registros: %d%n",
-                    nomeRelatorio, lista.size());
+    // ========================= VALOR MOVIMENTADO =========================
 
+    /**
+     * Gera o relatório de valor movimentado por produto, com cada
+     * movimentação da janela valorizada pelo preço vigente quando ocorreu.
+     * <p>
+     * As movimentações são lidas em uma única consulta, em fluxo, e o preço de
+     * cada uma vem do índice em memória do {@link precos.HistoricoPrecos}
+     * (busca binária nas vigências do produto), sem {@code JOIN} com a
+     * tabela de histórico.
+     * </p>
+     *
+     * @return lista de mapas contendo:
+     *         <ul>
+     *             <li>{@code produto} e {@code categoria} — nomes;</li>
+     *             <li>{@code entradas} e {@code saidas} — unidades movimentadas na janela;</li>
+     *             <li>{@code valor_entradas} e {@code valor_saidas} — a preço da época;</li>
+     *             <li>{@code valor_saidas_preco_atual} — as mesmas saídas ao preço atual.</li>
+     *         </ul>
+     */
+    public List<Map<String, Object>> valorMovimentado() {
+        ColetorLinhas coletor = new ColetorLinhas();
+        try {
+            transmitir(Relatorio.VALOR_MOVIMENTADO, coletor);
         } catch (SQLException e) {
-            System.err.printf("💥 Erro ao gerar relatório '%s': %s%n",
-                    nomeRelatorio, e.getMessage());
-            e.printStackTrace();
+            Log.erro("💥 Erro ao gerar relatório", e, "relatorio", Relatorio.VALOR_MOVIMENTADO.getTitulo());
+        }
+        return coletor.getLinhas();
+    }
+
+    /**
+     * Valoriza as movimentações da janela e escreve as linhas na saída.
+     */
+    private void transmitirValorMovimentado(SaidaRelatorio saida) throws SQLException {
+        long inicio = System.nanoTime();
+        int dias = ValorMovimentado.JANELA_DIAS;
+        ValorMovimentado valor = new ValorMovimentado();
+        relatorios.percorrerMovimentacoes(LocalDate.now().minusDays(dias - 1L)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli(), valor::somar);
+        paraCadaProduto((p, categoria) -> valor.produto(p.id(), p.nome(), categoria, p.preco()));
+        int linhas = valor.escrever(saida);
+        Log.debug("🏷️ Valor movimentado calculado", "produtos", linhas, "janela_dias", dias,
+                "duracao_ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ========================= SAÍDAS E PRODUTOS =========================
+
+    /**
+     * Saídas de cada produto nos últimos {@code dias} dias: dos totais diários
+     * de {@link ConsolidacaoMovimentacoes}, já em memória, ou, se a janela for
+     * maior que a mantida, de uma única consulta agrupada por produto.
+     */
+    private Map<Integer, Long> saidasPorProduto(int dias) throws SQLException {
+        Map<Integer, Long> saidas = ConsolidacaoMovimentacoes.getInstancia().saidasPorProduto(dias);
+        if (saidas == null) {
+            saidas = relatorios.saidasPorProduto(LocalDate.now().minusDays(dias - 1L)
+                    .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return saidas;
+    }
+
+    /**
+     * Percorre os produtos com categoria (o mesmo critério dos outros
+     * relatórios), com o nome da categoria: da versão atual do catálogo, se
+     * carregado, ou do repositório.
+     */
+    private void paraCadaProduto(BiConsumer<VersaoCatalogo.Item, String> acao) {
+        VersaoCatalogo versao = versaoDoCatalogo(false);
+        if (versao != null) {
+            versao.forEach(p -> {
+                String categoria = versao.getNomeCategoria(p.categoriaId());
+                if (categoria != null) {
+                    acao.accept(p, categoria);
+                }
+            });
+        } else {
+            for (Produto p : relatorios.listarTodos()) {
+                if (p.getCategoria() != null) {
+                    acao.accept(VersaoCatalogo.Item.de(p, null), p.getCategoria().getNome());
+                }
+            }
+        }
+    }
+
+    // ========================= VERSÕES DO CATÁLOGO =========================
+
+    /**
+     * Gera um relatório a partir da versão atual do catálogo ou, se ele não
+     * estiver disponível, do repositório.
+     */
+    private List<Map<String, Object>> gerar(Relatorio relatorio, Supplier<List<Map<String, Object>>> doRepositorio) {
+        VersaoCatalogo versao = versaoDoCatalogo(relatorio == Relatorio.MAIS_MOVIMENTADO);
+        return versao == null ? doRepositorio.get() : coletar(versao, relatorio);
+    }
+
+    /**
+     * Devolve a versão atual do {@link CatalogoEstoque}, se ele estiver
+     * carregado; caso contrário, {@code null} (o relatório vem do banco).
+     *
+     * @param comMovimentacoes se {@code true}, soma antes as movimentações
+     *                         novas, necessárias ao relatório de mais movimentados
+     */
+    private static VersaoCatalogo versaoDoCatalogo(boolean comMovimentacoes) {
+        CatalogoEstoque catalogo = CatalogoEstoque.getInstancia();
+        if (!catalogo.isCarregado()) {
+            return null;
+        }
+        if (comMovimentacoes) {
+            try {
+                catalogo.sincronizarMovimentacoes();
+            } catch (SQLException e) {
+                Log.aviso("⚠️ Catálogo indisponível, consultando o banco", "motivo", e.getMessage());
+                return null;
+            }
+        }
+        return catalogo.versaoAtual();
+    }
+
+    /**
+     * Monta as linhas de um relatório a partir de uma versão do catálogo.
+     */
+    private static List<Map<String, Object>> coletar(VersaoCatalogo versao, Relatorio relatorio) {
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(relatorio);
+        versao.transmitir(relatorio, coletor);
+        coletor.concluir();
+        Log.debug("📊 Relatório gerado com sucesso", "relatorio", relatorio.getTitulo() + " (catálogo)",
+                "versao", versao.getNumero(), "registros", coletor.getLinhas().size());
+        return coletor.getLinhas();
+    }
+
+    // ========================= EM QUADROS =========================
+
+    /**
+     * Gera um relatório escrevendo cada linha direto na saída, sem montar
+     * mapas: com um {@link relatorios.EscritorQuadros}, o cliente recebe o
+     * cabeçalho e os blocos de linhas enquanto a consulta ainda é lida
+     * ({@code RELATORIO_QUADROS}).
+     * <p>
+     * Ao contrário das versões em lista, uma falha da consulta é propagada,
+     * para que o cliente receba o erro em vez de um relatório incompleto.
+     * </p>
+     *
+     * @param relatorio relatório desejado
+     * @param saida destino do relatório (iniciado e concluído aqui)
+     * @throws SQLException se a consulta falhar ou a requisição for cancelada
+     */
+    public void transmitir(Relatorio relatorio, SaidaRelatorio saida) throws SQLException {
+        saida.iniciar(relatorio);
+        if (relatorio == Relatorio.COBERTURA_ESTOQUE) {
+            transmitirCobertura(saida);
+        } else if (relatorio == Relatorio.CURVA_ABC) {
+            transmitirCurvaAbc(saida);
+        } else if (relatorio == Relatorio.VALOR_MOVIMENTADO) {
+            transmitirValorMovimentado(saida);
+        } else {
+            VersaoCatalogo versao = versaoDoCatalogo(relatorio == Relatorio.MAIS_MOVIMENTADO);
+            if (versao != null) {
+                versao.transmitir(relatorio, saida);
+            } else {
+                relatorios.transmitir(relatorio, saida);
+            }
         }
-        return lista;
+        saida.concluir();
     }
 
+    // ========================= DASHBOARD =========================
+
     /**
-     * Interface funcional interna responsável por mapear uma linha de {@link ResultSet}
-     * em um {@link Map} contendo os dados do relatório.
+     * Gera os cinco relatórios da tela de gestão em paralelo, cada um em uma
+     * thread virtual e com sua própria conexão, sob um prazo comum.
+     * <p>
+     * O tempo total fica próximo ao do relatório mais lento, em vez da soma
+     * dos cinco. Se um relatório falhar ou o prazo se esgotar, os que ainda
+     * estão em execução são cancelados (interrompidos; em threads virtuais,
+     * a interrupção fecha o socket JDBC bloqueado na leitura) e a falha é
+     * propagada, sem resultado parcial. As threads canceladas terminam em
+     * segundo plano, sem atrasar a resposta.
+     * </p>
+     * <p>
+     * Com o catálogo carregado, os cinco relatórios leem a mesma
+     * {@link VersaoCatalogo}, obtida uma única vez: os totais do painel
+     * correspondem todos ao mesmo instante.
+     * </p>
+     * <p>
+     * Cada tarefa recebe a {@link Requisicao} e a {@link Faixa} da thread
+     * chamadora: as consultas seguem o prazo e a cota de conexões do painel.
+     * </p>
+     *
+     * @param prazoMs prazo total, em milissegundos
+     * @return relatórios por nome, na ordem da tela:
+     *         {@code lista_precos}, {@code balanco}, {@code abaixo_minimo},
+     *         {@code qtd_por_categoria} e {@code mais_movimentado}
+     * @throws TimeoutException se o prazo se esgotar antes de todos terminarem
+     * @throws ExecutionException se algum relatório falhar (a causa é a falha original)
+     * @throws InterruptedException se a thread chamadora for interrompida
      */
-    @FunctionalInterface
-    private interface ResultMapper {
-        /**
-         * Mapeia uma linha do {@link ResultSet} para um {@link Map}.
-         *
-         * @param rs conjunto de resultados da consulta SQL
-         * @return mapa com colunas e valores correspondentes
-         * @throws SQLException caso ocorra erro na leitura dos dados
-         */
-        Map<String, Object> map(ResultSet rs) throws SQLException;
+    public Map<String, List<Map<String, Object>>> gerarDashboard(long prazoMs)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        VersaoCatalogo versao = versaoDoCatalogo(true);
+        Map<String, Callable<List<Map<String, Object>>>> relatorios = new LinkedHashMap<>();
+        relatorios.put("lista_precos", tarefa(versao, Relatorio.LISTA_PRECOS));
+        relatorios.put("balanco", tarefa(versao, Relatorio.BALANCO));
+        relatorios.put("abaixo_minimo", tarefa(versao, Relatorio.ABAIXO_MINIMO));
+        relatorios.put("qtd_por_categoria", tarefa(versao, Relatorio.QTD_POR_CATEGORIA));
+        relatorios.put("mais_movimentado", tarefa(versao, Relatorio.MAIS_MOVIMENTADO));
+
+        Requisicao requisicao = Requisicao.atual();
+        Faixa faixa = Faixa.atual();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(prazoMs);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Map.Entry<String, List<Map<String, Object>>>> concluidos =
+                new ExecutorCompletionService<>(executor);
+        Map<Future<?>, String> pendentes = new HashMap<>();
+        try {
+            for (Map.Entry<String, Callable<List<Map<String, Object>>>> r : relatorios.entrySet()) {
+                Callable<List<Map<String, Object>>> tarefa = r.getValue();
+                pendentes.put(concluidos.submit(() -> {
+                    if (requisicao != null) {
+                        requisicao.associar();
+                    }
+                    if (faixa != null) {
+                        faixa.associar();
+                    }
+                    try {
+                        return Map.entry(r.getKey(), tarefa.call());
+                    } finally {
+                        Requisicao.desassociar();
+                        Faixa.desassociar();
+                    }
+                }), r.getKey());
+            }
+
+            Map<String, List<Map<String, Object>>> resultados = new HashMap<>();
+            while (!pendentes.isEmpty()) {
+                Future<Map.Entry<String, List<Map<String, Object>>>> pronto =
+                        concluidos.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (pronto == null) {
+                    throw new TimeoutException("prazo de " + prazoMs + " ms esgotado; pendentes: "
+                            + String.join(", ", new TreeSet<>(pendentes.values())));
+                }
+                String nome = pendentes.remove(pronto);
+                try {
+                    resultados.put(nome, pronto.get().getValue());
+                } catch (ExecutionException e) {
+                    Log.aviso("⚠️ Relatório do painel falhou", "relatorio", nome, "motivo", e.getCause());
+                    throw e;
+                }
+            }
+
+            // Mantém a ordem da tela, independente da ordem de conclusão
+            Map<String, List<Map<String, Object>>> painel = new LinkedHashMap<>();
+            for (String nome : relatorios.keySet()) {
+                painel.put(nome, resultados.get(nome));
+            }
+            return painel;
+        } finally {
+            // Interrompe o que ainda estiver rodando (nada, no caminho feliz) sem esperar o término
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tarefa do painel: lê a versão capturada, se houver; senão, o banco.
+     * <p>
+     * A leitura do banco usa {@link #transmitir(Relatorio, SaidaRelatorio)},
+     * que propaga a {@link SQLException}: a falha chega ao painel como
+     * {@link ExecutionException}, em vez de uma seção vazia.
+     * </p>
+     */
+    private Callable<List<Map<String, Object>>> tarefa(VersaoCatalogo versao, Relatorio relatorio) {
+        if (versao != null) {
+            return () -> coletar(versao, relatorio);
+        }
+        return () -> {
+            ColetorLinhas coletor = new ColetorLinhas();
+            transmitir(relatorio, coletor);
+            return coletor.getLinhas();
+        };
     }
 }
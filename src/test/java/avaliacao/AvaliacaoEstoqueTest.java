@@ -0,0 +1,158 @@
+package avaliacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.Repositorios;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link AvaliacaoEstoque}, sobre o armazenamento em memória.
+ * <p>
+ * A avaliação é única na JVM e já pode conter produtos de outros testes;
+ * cada teste usa categorias próprias e confere o total por diferença.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class AvaliacaoEstoqueTest {
+
+    private final AvaliacaoEstoque avaliacao = AvaliacaoEstoque.getInstancia();
+
+    @BeforeEach
+    void carregar() throws SQLException {
+        assertTrue(Repositorios.isMemoria());
+        avaliacao.garantirCarregado();
+        // Alinha com produtos gravados direto no repositório por outros testes
+        avaliacao.conciliar();
+    }
+
+    @Test
+    void centavosArredondados() {
+        assertEquals(30, AvaliacaoEstoque.centavos(0.1 + 0.2));
+        assertEquals(1999, AvaliacaoEstoque.centavos(19.99));
+        assertEquals(2000, AvaliacaoEstoque.centavos(19.999));
+        assertEquals(0, AvaliacaoEstoque.centavos(0));
+    }
+
+    /** Mil produtos a R$ 0,10 somam exatamente R$ 100,00, sem erro de {@code double}. */
+    @Test
+    void somaExataEmCentavos() {
+        Categoria categoria = categoria("Avaliação Exata");
+        long totalAntes = avaliacao.getValorTotalCentavos();
+        for (int i = 0; i < 1000; i++) {
+            avaliacao.atualizar(inserir(categoria, 0.1, 1));
+        }
+        assertEquals(10_000, avaliacao.getValorCategoriaCentavos(categoria.getId()));
+        assertEquals(totalAntes + 10_000, avaliacao.getValorTotalCentavos());
+
+        Map<String, Object> linha = avaliacao.resumir().stream()
+                .filter(l -> Integer.valueOf(categoria.getId()).equals(l.get("categoria"))).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("100.00"), linha.get("valor"));
+        assertEquals(10_000L, linha.get("centavos"));
+    }
+
+    /** Alteração de preço, de quantidade e de categoria; exclusão. */
+    @Test
+    void atualizacoesSomamADiferenca() {
+        Categoria a = categoria("Avaliação A");
+        Categoria b = categoria("Avaliação B");
+        long totalAntes = avaliacao.getValorTotalCentavos();
+
+        Produto produto = inserir(a, 2.5, 4);
+        avaliacao.atualizar(produto);
+        assertEquals(1000, avaliacao.getValorCategoriaCentavos(a.getId()));
+
+        produto.setPreco(3.0);
+        produto.setQuantidadeAtual(5);
+        avaliacao.atualizar(produto);
+        assertEquals(1500, avaliacao.getValorCategoriaCentavos(a.getId()));
+
+        produto.setCategoria(b);
+        avaliacao.atualizar(produto);
+        assertEquals(0, avaliacao.getValorCategoriaCentavos(a.getId()));
+        assertEquals(1500, avaliacao.getValorCategoriaCentavos(b.getId()));
+        assertFalse(avaliacao.subtotaisPorCategoria().containsKey(a.getId()));
+        assertEquals(totalAntes + 1500, avaliacao.getValorTotalCentavos());
+
+        avaliacao.remover(produto.getId());
+        avaliacao.remover(produto.getId());
+        assertEquals(0, avaliacao.getValorCategoriaCentavos(b.getId()));
+        assertEquals(totalAntes, avaliacao.getValorTotalCentavos());
+    }
+
+    /** Uma alteração feita fora do servidor é encontrada e corrigida pela conciliação. */
+    @Test
+    void conciliacaoRecarregaDivergencias() throws SQLException {
+        Categoria categoria = categoria("Avaliação Conciliada");
+        Produto produto = inserir(categoria, 1.0, 10);
+        avaliacao.atualizar(produto);
+        assertTrue(avaliacao.conciliar());
+
+        produto.setQuantidadeAtual(20);
+        Repositorios.produtos().atualizar(produto);
+        assertEquals(1000, avaliacao.getValorCategoriaCentavos(categoria.getId()));
+        long divergencias = (long) avaliacao.resumir().get(0).get("divergencias");
+
+        assertFalse(avaliacao.conciliar());
+        assertEquals(2000, avaliacao.getValorCategoriaCentavos(categoria.getId()));
+        assertEquals(divergencias + 1, avaliacao.resumir().get(0).get("divergencias"));
+        assertTrue(avaliacao.conciliar());
+    }
+
+    /** Atualizações concorrentes de produtos diferentes não perdem diferenças. */
+    @Test
+    void atualizacoesConcorrentes() throws InterruptedException {
+        Categoria categoria = categoria("Avaliação Concorrente");
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Produto produto = inserir(categoria, 0.01, 0);
+            avaliacao.atualizar(produto);
+            produtos.add(produto);
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<Produto> parte = produtos.subList(t * 100, (t + 1) * 100);
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int q = 1; q <= 50; q++) {
+                    for (Produto p : parte) {
+                        avaliacao.atualizar(copiar(p, q));
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // 400 produtos com 50 unidades de R$ 0,01
+        assertEquals(400 * 50, avaliacao.getValorCategoriaCentavos(categoria.getId()));
+    }
+
+    private static Categoria categoria(String nome) {
+        Categoria categoria = new Categoria();
+        categoria.setNome(nome);
+        Repositorios.categorias().inserir(categoria);
+        return categoria;
+    }
+
+    private static Produto inserir(Categoria categoria, double preco, int quantidade) {
+        Produto produto = new Produto(0, "Produto Avaliado", preco, "UN", quantidade, 0, 1000, categoria);
+        assertEquals("Produto inserido com sucesso!", Repositorios.produtos().inserir(produto));
+        return produto;
+    }
+
+    private static Produto copiar(Produto p, int quantidade) {
+        return new Produto(p.getId(), p.getNome(), p.getPreco(), p.getTipoUnidade(), quantidade,
+                p.getQuantidadeMinima(), p.getQuantidadeMaxima(), p.getCategoria());
+    }
+}
@@ -0,0 +1,198 @@
+package catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link CatalogoOffHeap}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class CatalogoOffHeapTest {
+
+    private final Map<Integer, Categoria> categorias = new HashMap<>();
+
+    private final CatalogoOffHeap catalogo = new CatalogoOffHeap(16, categorias::get);
+
+    @Test
+    void gravarEBuscar() {
+        Categoria bebidas = new Categoria();
+        bebidas.setId(3);
+        bebidas.setNome("Bebidas");
+        categorias.put(3, bebidas);
+
+        Produto cafe = produto(7, 12);
+        cafe.setNome("Café torrado");
+        cafe.setPreco(19.9);
+        cafe.setTipoUnidade(null);
+        cafe.setQuantidadeMinima(2);
+        cafe.setQuantidadeMaxima(50);
+        cafe.setCategoria(bebidas);
+        catalogo.gravar(cafe);
+
+        Produto lido = catalogo.buscar(7);
+        assertEquals("Café torrado", lido.getNome());
+        assertNull(lido.getTipoUnidade());
+        assertEquals(19.9, lido.getPreco());
+        assertEquals(12, lido.getQuantidadeAtual());
+        assertEquals(2, lido.getQuantidadeMinima());
+        assertEquals(50, lido.getQuantidadeMaxima());
+        assertEquals("Bebidas", lido.getCategoria().getNome());
+        assertEquals(19.9, catalogo.getPreco(7));
+        assertEquals(12, catalogo.getQuantidadeAtual(7));
+        assertEquals(1, catalogo.tamanho());
+    }
+
+    /** A categoria é resolvida na leitura; sem ela no resolvedor, fica só o ID. */
+    @Test
+    void categoriaResolvidaNaLeitura() {
+        Categoria antiga = new Categoria();
+        antiga.setId(3);
+        Produto p = produto(1, 1);
+        p.setCategoria(antiga);
+        catalogo.gravar(p);
+
+        assertEquals(3, catalogo.buscar(1).getCategoria().getId());
+        assertNull(catalogo.buscar(1).getCategoria().getNome());
+
+        Categoria atual = new Categoria();
+        atual.setId(3);
+        atual.setNome("Limpeza");
+        categorias.put(3, atual);
+        assertEquals("Limpeza", catalogo.buscar(1).getCategoria().getNome());
+    }
+
+    @Test
+    void produtoAusente() {
+        catalogo.gravar(produto(1, 5));
+        assertNull(catalogo.buscar(2));
+        assertEquals(ArmazemProdutos.AUSENTE, catalogo.getQuantidadeAtual(2));
+        assertTrue(Double.isNaN(catalogo.getPreco(2)));
+        assertFalse(catalogo.remover(2));
+    }
+
+    @Test
+    void regravarSubstitui() {
+        catalogo.gravar(produto(1, 5));
+        Produto novo = produto(1, 9);
+        novo.setNome("Outro nome, mais comprido que o primeiro");
+        catalogo.gravar(novo);
+
+        assertEquals(1, catalogo.tamanho());
+        assertEquals(9, catalogo.getQuantidadeAtual(1));
+        assertEquals("Outro nome, mais comprido que o primeiro", catalogo.buscar(1).getNome());
+    }
+
+    @Test
+    void removerLiberaOId() {
+        catalogo.gravar(produto(1, 5));
+        catalogo.gravar(produto(2, 6));
+        assertTrue(catalogo.remover(1));
+        assertFalse(catalogo.remover(1));
+
+        assertEquals(1, catalogo.tamanho());
+        assertNull(catalogo.buscar(1));
+        assertEquals(6, catalogo.getQuantidadeAtual(2));
+
+        catalogo.gravar(produto(1, 7));
+        assertEquals(7, catalogo.getQuantidadeAtual(1));
+        assertEquals(2, catalogo.listar().size());
+    }
+
+    /**
+     * Inserções e remoções aleatórias em poucos IDs, comparadas com um
+     * {@link HashMap}: exercita as colisões, a sondagem que dá a volta na
+     * tabela, a remoção por deslocamento e o crescimento dos segmentos.
+     */
+    @Test
+    void sondagemConfereComMapa() {
+        Random aleatorio = new Random(42);
+        Map<Integer, Integer> esperado = new HashMap<>();
+        for (int n = 0; n < 50_000; n++) {
+            int id = 1 + aleatorio.nextInt(300);
+            if (aleatorio.nextInt(3) == 0) {
+                assertEquals(esperado.remove(id) != null, catalogo.remover(id));
+            } else {
+                int quantidade = aleatorio.nextInt(1000);
+                catalogo.gravar(produto(id, quantidade));
+                esperado.put(id, quantidade);
+            }
+            int consultado = 1 + aleatorio.nextInt(300);
+            assertEquals(esperado.getOrDefault(consultado, ArmazemProdutos.AUSENTE),
+                    catalogo.getQuantidadeAtual(consultado));
+        }
+        assertEquals(esperado.size(), catalogo.tamanho());
+        for (int id = 1; id <= 300; id++) {
+            assertEquals(esperado.getOrDefault(id, ArmazemProdutos.AUSENTE), catalogo.getQuantidadeAtual(id));
+        }
+        assertEquals(esperado.size(), catalogo.listar().size());
+    }
+
+    @Test
+    void crescimentoMantemProdutos() {
+        for (int id = 1; id <= 10_000; id++) {
+            catalogo.gravar(produto(id, id * 2));
+        }
+        assertEquals(10_000, catalogo.tamanho());
+        for (int id = 1; id <= 10_000; id++) {
+            assertEquals(id * 2, catalogo.getQuantidadeAtual(id));
+            assertEquals("Produto " + id, catalogo.buscar(id).getNome());
+        }
+    }
+
+    /** Regravações acumulam lixo na área de textos até a compactação, que preserva os vivos. */
+    @Test
+    void compactacaoPreservaTextos() {
+        for (int id = 1; id <= 100; id++) {
+            catalogo.gravar(produto(id, id));
+        }
+        Produto grande = produto(1, 1);
+        for (int i = 0; i < 3_000; i++) {
+            grande.setNome("x".repeat(1000) + i);
+            catalogo.gravar(grande);
+        }
+        assertTrue(catalogo.getBytesReservados() < 3_000_000);
+
+        assertEquals("x".repeat(1000) + 2_999, catalogo.buscar(1).getNome());
+        for (int id = 2; id <= 100; id++) {
+            assertEquals("Produto " + id, catalogo.buscar(id).getNome());
+            assertEquals("un", catalogo.buscar(id).getTipoUnidade());
+        }
+    }
+
+    @Test
+    void manterSomenteELimpar() {
+        for (int id = 1; id <= 10; id++) {
+            catalogo.gravar(produto(id, id));
+        }
+        catalogo.manterSomente(Set.of(2, 4, 6));
+        assertEquals(3, catalogo.tamanho());
+        assertNull(catalogo.buscar(1));
+        assertEquals(4, catalogo.getQuantidadeAtual(4));
+
+        catalogo.limpar();
+        assertEquals(0, catalogo.tamanho());
+        assertEquals(ArmazemProdutos.AUSENTE, catalogo.getQuantidadeAtual(4));
+    }
+
+    private static Produto produto(int id, int quantidade) {
+        Produto p = new Produto();
+        p.setId(id);
+        p.setNome("Produto " + id);
+        p.setTipoUnidade("un");
+        p.setPreco(id);
+        p.setQuantidadeAtual(quantidade);
+        return p;
+    }
+}
@@ -0,0 +1,129 @@
+package catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import model.Categoria;
+import model.EmbalagemProduto;
+import model.Produto;
+import model.TamanhoProduto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes do {@link SnapshotCatalogo}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class SnapshotCatalogoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void gravarELer() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        SnapshotCatalogo.gravar(arquivo, conteudo());
+
+        SnapshotCatalogo.Conteudo lido = SnapshotCatalogo.ler(arquivo);
+        assertEquals(42, lido.marcaMovimentacao());
+        assertEquals(1_700_000_000_000L, lido.marcaAtualizacao());
+
+        assertEquals(2, lido.categorias().size());
+        Categoria bebidas = lido.categorias().get(0);
+        assertEquals("Bebidas", bebidas.getNome());
+        assertEquals(EmbalagemProduto.PLASTICO, bebidas.getEmbalagem());
+        assertEquals(TamanhoProduto.PEQUENO, bebidas.getTamanho());
+        assertNull(lido.categorias().get(1).getEmbalagem());
+
+        Produto suco = lido.produtos().get(0);
+        assertEquals(10, suco.getId());
+        assertEquals("Suco de laranja 1ℓ", suco.getNome());
+        assertEquals(7.49, suco.getPreco());
+        assertEquals("un", suco.getTipoUnidade());
+        assertEquals(12, suco.getQuantidadeAtual());
+        assertEquals(3, suco.getQuantidadeMinima());
+        assertEquals(40, suco.getQuantidadeMaxima());
+        assertSame(bebidas, suco.getCategoria());
+
+        Produto semCategoria = lido.produtos().get(1);
+        assertNull(semCategoria.getNome());
+        assertNull(semCategoria.getCategoria());
+        // Categoria fora do snapshot: só o ID
+        assertEquals(99, lido.produtos().get(2).getCategoria().getId());
+
+        assertArrayEquals(new long[]{30, 18}, lido.totais().get(10));
+        assertFalse(Files.exists(diretorio.resolve("catalogo.snap.tmp")));
+    }
+
+    /** A gravação substitui o snapshot anterior por inteiro. */
+    @Test
+    void gravarSubstituiAnterior() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        SnapshotCatalogo.gravar(arquivo, conteudo());
+        SnapshotCatalogo.gravar(arquivo, new SnapshotCatalogo.Conteudo(43, 0, List.of(), List.of(), Map.of()));
+
+        SnapshotCatalogo.Conteudo lido = SnapshotCatalogo.ler(arquivo);
+        assertEquals(43, lido.marcaMovimentacao());
+        assertTrue(lido.produtos().isEmpty());
+    }
+
+    @Test
+    void corrompidoRecusado() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        SnapshotCatalogo.gravar(arquivo, conteudo());
+        byte[] bytes = Files.readAllBytes(arquivo);
+
+        byte[] trocado = bytes.clone();
+        trocado[40] ^= 1;
+        Files.write(arquivo, trocado);
+        assertThrows(IOException.class, () -> SnapshotCatalogo.ler(arquivo));
+
+        Files.write(arquivo, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> SnapshotCatalogo.ler(arquivo));
+
+        Files.write(arquivo, new byte[10]);
+        assertThrows(IOException.class, () -> SnapshotCatalogo.ler(arquivo));
+    }
+
+    /** Outra versão do formato é recusada mesmo com o CRC correto. */
+    @Test
+    void versaoDesconhecidaRecusada() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        SnapshotCatalogo.gravar(arquivo, conteudo());
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        buf.putInt(4, SnapshotCatalogo.VERSAO + 1);
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), 0, buf.capacity() - 4);
+        buf.putInt(buf.capacity() - 4, (int) crc.getValue());
+        Files.write(arquivo, buf.array());
+
+        IOException erro = assertThrows(IOException.class, () -> SnapshotCatalogo.ler(arquivo));
+        assertTrue(erro.getMessage().contains("Versão"));
+    }
+
+    private static SnapshotCatalogo.Conteudo conteudo() {
+        Categoria bebidas = new Categoria(1, "Bebidas", EmbalagemProduto.PLASTICO, TamanhoProduto.PEQUENO);
+        Categoria outras = new Categoria(2, "Outras", null, null);
+
+        Produto suco = new Produto(10, "Suco de laranja 1ℓ", 7.49, "un", 12, 3, 40, bebidas);
+        Produto semCategoria = new Produto(11, null, 0, null, 0, 0, 0, null);
+        Produto orfao = new Produto(12, "Órfão", 1, "kg", 1, 0, 0, new Categoria(99, "Removida", null, null));
+        return new SnapshotCatalogo.Conteudo(42, 1_700_000_000_000L, List.of(bebidas, outras),
+                List.of(suco, semCategoria, orfao), Map.of(10, new long[]{30, 18}));
+    }
+}
@@ -0,0 +1,124 @@
+package catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import relatorios.ColetorLinhas;
+import relatorios.Relatorio;
+
+/**
+ * Testes da {@link VersaoCatalogo}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class VersaoCatalogoTest {
+
+    /** Uma edição publica a versão seguinte sem alterar a de origem. */
+    @Test
+    void edicaoNaoAlteraAVersaoDeOrigem() {
+        VersaoCatalogo v1 = versao(Map.of(1, "Bebidas"),
+                item(3, "Suco", 1, 10, 0, 0), item(VersaoCatalogo.TAMANHO_BLOCO + 7, "Água", 1, 5, 0, 0));
+        assertEquals(1, v1.getNumero());
+        assertEquals(2, v1.getQuantidadeProdutos());
+
+        VersaoCatalogo.Edicao edicao = v1.editar();
+        edicao.gravar(item(3, "Suco de Uva", 1, 8, 0, 0));
+        edicao.remover(VersaoCatalogo.TAMANHO_BLOCO + 7);
+        edicao.gravar(item(5 * VersaoCatalogo.TAMANHO_BLOCO, "Chá", 1, 1, 0, 0));
+        VersaoCatalogo v2 = edicao.concluir();
+
+        assertEquals(2, v2.getNumero());
+        assertEquals("Suco", v1.getItem(3).nome());
+        assertEquals("Água", v1.getItem(VersaoCatalogo.TAMANHO_BLOCO + 7).nome());
+        assertNull(v1.getItem(5 * VersaoCatalogo.TAMANHO_BLOCO));
+        assertEquals(2, v1.getQuantidadeProdutos());
+
+        assertEquals("Suco de Uva", v2.getItem(3).nome());
+        assertNull(v2.getItem(VersaoCatalogo.TAMANHO_BLOCO + 7));
+        assertEquals("Chá", v2.getItem(5 * VersaoCatalogo.TAMANHO_BLOCO).nome());
+        assertEquals(2, v2.getQuantidadeProdutos());
+        assertSame(v1.getNomeCategoria(1), v2.getNomeCategoria(1));
+    }
+
+    @Test
+    void idsForaDoIntervalo() {
+        VersaoCatalogo versao = versao(Map.of(1, "Bebidas"), item(1, "Suco", 1, 1, 0, 0));
+        assertNull(versao.getItem(-1));
+        assertNull(versao.getItem(Integer.MAX_VALUE));
+        assertNull(VersaoCatalogo.VAZIA.getItem(0));
+
+        VersaoCatalogo.Edicao edicao = versao.editar();
+        edicao.remover(-1);
+        edicao.remover(99);
+        assertEquals(1, edicao.concluir().getQuantidadeProdutos());
+    }
+
+    /** A recriação descarta o conteúdo, mas mantém a numeração. */
+    @Test
+    void recriarComecaVazia() {
+        VersaoCatalogo versao = versao(Map.of(1, "Bebidas"), item(1, "Suco", 1, 1, 0, 0));
+        VersaoCatalogo nova = versao.recriar().concluir();
+        assertEquals(versao.getNumero() + 1, nova.getNumero());
+        assertEquals(0, nova.getQuantidadeProdutos());
+        assertNull(nova.getItem(1));
+        assertNull(nova.getNomeCategoria(1));
+    }
+
+    /**
+     * Os relatórios seguem as consultas: ordem pelo nome sem distinguir
+     * maiúsculas, produtos sem categoria fora, categorias vazias com zero e
+     * movimentados agrupados do maior para o menor total.
+     */
+    @Test
+    void relatoriosComoAsConsultas() {
+        VersaoCatalogo versao = versao(Map.of(1, "Bebidas", 2, "Limpeza", 3, "Vazia"),
+                item(1, "suco", 1, 3, 10, 2),
+                item(2, "agua", 1, 20, 0, 0),
+                item(3, "Detergente", 2, 1, 1, 1),
+                item(4, "Sem Categoria", 99, 1, 50, 50),
+                item(5, "suco", 1, 4, 5, 0));
+
+        assertEquals(List.of("agua", "Detergente", "suco", "suco"),
+                coluna(versao, Relatorio.LISTA_PRECOS, "produto"));
+        assertEquals(List.of("Bebidas", "Limpeza", "Vazia"), coluna(versao, Relatorio.QTD_POR_CATEGORIA, "categoria"));
+        assertEquals(List.of(3L, 1L, 0L), coluna(versao, Relatorio.QTD_POR_CATEGORIA, "quantidade"));
+        assertEquals(List.of("Detergente", "suco", "suco"), coluna(versao, Relatorio.ABAIXO_MINIMO, "produto"));
+
+        assertEquals(List.of("suco", "Detergente"), coluna(versao, Relatorio.MAIS_MOVIMENTADO, "produto"));
+        assertEquals(List.of(17L, 2L), coluna(versao, Relatorio.MAIS_MOVIMENTADO, "total_movimentado"));
+        // Nomes iguais ficam na ordem de ID (ordenação estável)
+        assertEquals(List.of(30.0, 1.5, 4.5, 6.0), coluna(versao, Relatorio.BALANCO, "valor_total"));
+    }
+
+    private static VersaoCatalogo versao(Map<Integer, String> categorias, VersaoCatalogo.Item... itens) {
+        VersaoCatalogo.Edicao edicao = VersaoCatalogo.VAZIA.editar();
+        edicao.categorias(categorias);
+        for (VersaoCatalogo.Item item : itens) {
+            edicao.gravar(item);
+        }
+        return edicao.concluir();
+    }
+
+    /** Item com preço 1,5 e mínimo 5. */
+    private static VersaoCatalogo.Item item(int id, String nome, int categoria, int quantidade,
+                                            long entradas, long saidas) {
+        return new VersaoCatalogo.Item(id, nome, categoria, 1.5, "UN", quantidade, 5, 100, entradas, saidas);
+    }
+
+    private static List<Object> coluna(VersaoCatalogo versao, Relatorio relatorio, String nome) {
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(relatorio);
+        versao.transmitir(relatorio, coletor);
+        List<Object> valores = new ArrayList<>();
+        for (Map<String, Object> linha : coletor.getLinhas()) {
+            valores.add(linha.get(nome));
+        }
+        return valores;
+    }
+}
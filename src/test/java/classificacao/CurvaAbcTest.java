@@ -0,0 +1,123 @@
+package classificacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Movimentacao;
+import model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link CurvaAbc}, com os limites padrão (A até 80%, B até 95%).
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class CurvaAbcTest {
+
+    private final CurvaAbc curva = CurvaAbc.getInstancia();
+
+    private final AtomicInteger leituras = new AtomicInteger();
+
+    /** Seis produtos a R$ 1,00; saídas somando 100 unidades, P6 sem saídas. */
+    private final CurvaAbc.Dados dados = new CurvaAbc.Dados(
+            List.of(posicao(5), posicao(4), posicao(6), posicao(3), posicao(2), posicao(1)),
+            Map.of(1, 70L, 2, 10L, 3, 10L, 4, 5L, 5, 5L));
+
+    @BeforeEach
+    void vencerCache() {
+        // A instância é compartilhada: cada teste começa sem curva em cache
+        curva.produtoAlterado(0);
+    }
+
+    /**
+     * A classe vem da participação acumulada antes do produto: exatamente 80%
+     * já é B, e exatamente 95% já é C. Empates de valor seguem o nome.
+     */
+    @Test
+    void classesNosLimites() throws SQLException {
+        CurvaAbc.Linha[] linhas = curva.obter(this::ler);
+
+        String[] produtos = {"P1", "P2", "P3", "P4", "P5", "P6"};
+        String[] classes = {"A", "A", "B", "B", "C", "C"};
+        for (int i = 0; i < produtos.length; i++) {
+            assertEquals(produtos[i], linhas[i].produto());
+            assertEquals(classes[i], linhas[i].classe(), produtos[i]);
+        }
+
+        assertEquals(70, linhas[0].quantidade());
+        assertEquals(7000, linhas[0].valorCentavos());
+        assertEquals(70.0, linhas[0].participacao(), 1e-9);
+        assertEquals(90.0, linhas[2].participacaoAcumulada(), 1e-9);
+        assertEquals(100.0, linhas[4].participacaoAcumulada(), 1e-9);
+        assertEquals(0, linhas[5].quantidade());
+        assertEquals(0.0, linhas[5].participacao(), 1e-9);
+    }
+
+    /** Sem nenhuma saída, todos os produtos são C. */
+    @Test
+    void semSaidasTudoC() throws SQLException {
+        CurvaAbc.Linha[] linhas = curva.obter(
+                dias -> new CurvaAbc.Dados(List.of(posicao(1), posicao(2)), Map.of()));
+        assertEquals(2, linhas.length);
+        for (CurvaAbc.Linha l : linhas) {
+            assertEquals("C", l.classe());
+            assertEquals(0.0, l.participacaoAcumulada(), 1e-9);
+        }
+
+        curva.produtoAlterado(0);
+        assertEquals(0, curva.obter(dias -> new CurvaAbc.Dados(List.of(), Map.of())).length);
+    }
+
+    @Test
+    void cacheVenceComAlteracoes() throws SQLException {
+        curva.obter(this::ler);
+        curva.obter(this::ler);
+        assertEquals(1, leituras.get());
+
+        curva.produtoAlterado(3);
+        curva.obter(this::ler);
+        assertEquals(2, leituras.get());
+
+        curva.categoriaAlterada();
+        curva.obter(this::ler);
+        assertEquals(3, leituras.get());
+    }
+
+    /** Saídas novas abaixo de 5% do valor total mantêm o cache; a partir daí, vencem. */
+    @Test
+    void cacheVenceComSaidas() throws SQLException {
+        curva.obter(this::ler);
+
+        curva.registrar(movimentacao("SAIDA", 4));
+        curva.registrar(movimentacao("ENTRADA", 50));
+        curva.obter(this::ler);
+        assertEquals(1, leituras.get());
+
+        curva.registrar(movimentacao("SAIDA", 1));
+        curva.obter(this::ler);
+        assertEquals(2, leituras.get());
+    }
+
+    private CurvaAbc.Dados ler(int dias) {
+        assertEquals(CurvaAbc.JANELA_DIAS, dias);
+        leituras.incrementAndGet();
+        return dados;
+    }
+
+    private static CurvaAbc.Posicao posicao(int id) {
+        return new CurvaAbc.Posicao(id, "P" + id, "Geral", 1.0);
+    }
+
+    /** Movimentação do produto 1, que tem saídas na curva (preço já conhecido). */
+    private static Movimentacao movimentacao(String tipo, int quantidade) {
+        Produto produto = new Produto();
+        produto.setId(1);
+        return new Movimentacao(produto, tipo, quantidade, new Date());
+    }
+}
@@ -0,0 +1,110 @@
+package consolidacao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link AnelBaldes} e da {@link Granularidade}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class AnelBaldesTest {
+
+    /** Um período novo reaproveita a posição do antigo, zerando-a; um período já vencido é recusado. */
+    @Test
+    void janelaCircular() {
+        AnelBaldes anel = new AnelBaldes(4);
+        assertTrue(anel.somar(10, 5, 1));
+        assertTrue(anel.somar(10, 2, 0));
+        assertTrue(anel.somar(11, 0, 3));
+        assertTrue(anel.somar(14, 1, 1));
+        assertFalse(anel.somar(10, 9, 9));
+
+        long[][] totais = new long[5][2];
+        anel.somarEm(10, totais);
+        assertArrayEquals(new long[][]{{0, 0}, {0, 3}, {0, 0}, {0, 0}, {1, 1}}, totais);
+        assertEquals(4, anel.saidasDesde(11));
+        assertEquals(1, anel.saidasDesde(12));
+    }
+
+    /** Só os períodos alterados desde o último recolhimento são gravados; uma falha os marca de novo. */
+    @Test
+    void recolherAlterados() {
+        AnelBaldes anel = new AnelBaldes(8);
+        anel.definir(3, 100, 50);
+        anel.somar(4, 1, 0);
+        anel.somar(5, 0, 2);
+
+        List<Balde> alterados = new ArrayList<>();
+        anel.recolherAlterados(Granularidade.DIA, Escopo.PRODUTO, 42, alterados);
+        assertEquals(List.of(new Balde(Granularidade.DIA, Escopo.PRODUTO, 42, 4, 1, 0),
+                new Balde(Granularidade.DIA, Escopo.PRODUTO, 42, 5, 0, 2)), alterados);
+
+        List<Balde> nenhum = new ArrayList<>();
+        anel.recolherAlterados(Granularidade.DIA, Escopo.PRODUTO, 42, nenhum);
+        assertTrue(nenhum.isEmpty());
+
+        anel.marcarAlterado(5);
+        anel.marcarAlterado(99);
+        anel.recolherAlterados(Granularidade.DIA, Escopo.PRODUTO, 42, nenhum);
+        assertEquals(List.of(new Balde(Granularidade.DIA, Escopo.PRODUTO, 42, 5, 0, 2)), nenhum);
+
+        // O período lido da tabela soma às movimentações novas
+        anel.somar(3, 1, 1);
+        long[][] totais = new long[1][2];
+        anel.somarEm(3, totais);
+        assertArrayEquals(new long[]{101, 51}, totais[0]);
+    }
+
+    /** Um período lido da tabela não sobrescreve um mais novo na mesma posição. */
+    @Test
+    void definirNaoVoltaNoTempo() {
+        AnelBaldes anel = new AnelBaldes(2);
+        anel.somar(7, 1, 1);
+        anel.definir(5, 100, 100);
+        long[][] totais = new long[1][2];
+        anel.somarEm(7, totais);
+        assertArrayEquals(new long[]{1, 1}, totais[0]);
+    }
+
+    @Test
+    void semDadosDesde() {
+        AnelBaldes anel = new AnelBaldes(4);
+        assertTrue(anel.semDadosDesde(0));
+        anel.somar(2, 1, 0);
+        assertFalse(anel.semDadosDesde(0));
+        // Alterado e ainda não gravado: não pode ser descartado
+        assertFalse(anel.semDadosDesde(3));
+        anel.recolherAlterados(Granularidade.HORA, Escopo.CATEGORIA, 1, new ArrayList<>());
+        assertTrue(anel.semDadosDesde(3));
+    }
+
+    @Test
+    void periodosERotulos() {
+        ZoneId zona = ZoneId.systemDefault();
+        long instante = LocalDateTime.of(2025, 3, 14, 9, 45).atZone(zona).toInstant().toEpochMilli();
+        int dia = Granularidade.DIA.periodo(instante);
+        assertEquals(LocalDate.of(2025, 3, 14).toEpochDay(), dia);
+        assertEquals("2025-03-14", Granularidade.DIA.rotulo(dia));
+        int hora = Granularidade.HORA.periodo(instante);
+        assertEquals("2025-03-14 09:00", Granularidade.HORA.rotulo(hora));
+        assertEquals(hora + 1, Granularidade.HORA.periodo(instante + 3_600_000));
+
+        assertSame(Granularidade.HORA, Granularidade.porNome(" hora "));
+        assertSame(Escopo.CATEGORIA, Escopo.porNome("Categoria"));
+        assertNull(Granularidade.porNome("SEMANA"));
+        assertNull(Escopo.porNome("LOJA"));
+    }
+}
@@ -0,0 +1,109 @@
+package consolidacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.Repositorios;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import model.Categoria;
+import model.Movimentacao;
+import model.Produto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link ConsolidacaoMovimentacoes}, sobre o armazenamento em
+ * memória. A consolidação é única na JVM e iniciada uma vez, aqui.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ConsolidacaoMovimentacoesTest {
+
+    private static final long DIA_MS = 86_400_000L;
+
+    private static final ConsolidacaoMovimentacoes CONSOLIDACAO = ConsolidacaoMovimentacoes.getInstancia();
+
+    private static Categoria categoria;
+
+    @BeforeAll
+    static void iniciar() {
+        assertTrue(Repositorios.isMemoria());
+        categoria = new Categoria();
+        categoria.setNome("Consolidação");
+        Repositorios.categorias().inserir(categoria);
+        ConsolidacaoMovimentacoes.iniciar();
+    }
+
+    /** Movimentações gravadas depois da carga aparecem na tendência diária do produto e da categoria. */
+    @Test
+    void tendenciaPorProdutoECategoria() {
+        int a = inserirProduto();
+        int b = inserirProduto();
+        long agora = System.currentTimeMillis();
+        movimentar(a, "ENTRADA", 10, agora);
+        movimentar(a, "SAIDA", 4, agora);
+        movimentar(a, "SAIDA", 3, agora - 2 * DIA_MS);
+        movimentar(b, "SAIDA", 1, agora);
+
+        List<Map<String, Object>> produto = CONSOLIDACAO.tendencia(Escopo.PRODUTO, a, Granularidade.DIA, 3);
+        assertEquals(3, produto.size());
+        assertEquals(Granularidade.DIA.rotulo(Granularidade.DIA.periodo(agora)), produto.get(2).get("periodo"));
+        assertEquals(10L, produto.get(2).get("entradas"));
+        assertEquals(4L, produto.get(2).get("saidas"));
+        assertEquals(6L, produto.get(2).get("saldo"));
+        assertEquals(3L, produto.get(0).get("saidas"));
+        assertEquals(0L, produto.get(1).get("saidas"));
+
+        List<Map<String, Object>> categorias =
+                CONSOLIDACAO.tendencia(Escopo.CATEGORIA, categoria.getId(), Granularidade.DIA, 1);
+        assertEquals(5L, categorias.get(0).get("saidas"));
+
+        Map<Integer, Long> saidas = CONSOLIDACAO.saidasPorProduto(7);
+        assertEquals(7L, saidas.get(a));
+        assertEquals(1L, saidas.get(b));
+        assertEquals(4L, CONSOLIDACAO.saidasPorProduto(1).get(a));
+        assertNull(CONSOLIDACAO.saidasPorProduto(Granularidade.DIA.getPeriodos() + 1));
+    }
+
+    /** Movimentações fora da janela diária não entram nos baldes. */
+    @Test
+    void foraDaJanelaIgnorada() {
+        int produto = inserirProduto();
+        movimentar(produto, "SAIDA", 9, System.currentTimeMillis() - (Granularidade.DIA.getPeriodos() + 5) * DIA_MS);
+        assertNull(CONSOLIDACAO.saidasPorProduto(Granularidade.DIA.getPeriodos()).get(produto));
+    }
+
+    /** A gravação leva os baldes alterados e a marca d'água para a tabela. */
+    @Test
+    void gravarBaldesEMarca() throws SQLException {
+        int produto = inserirProduto();
+        long agora = System.currentTimeMillis();
+        movimentar(produto, "ENTRADA", 2, agora);
+        CONSOLIDACAO.gravar();
+
+        assertEquals(Repositorios.movimentacoes().maiorId(), Repositorios.consolidacoes().carregarMarca());
+        List<Balde> gravados = Repositorios.consolidacoes().carregar();
+        assertTrue(gravados.contains(new Balde(Granularidade.DIA, Escopo.PRODUTO, produto,
+                Granularidade.DIA.periodo(agora), 2, 0)));
+        assertTrue(gravados.contains(new Balde(Granularidade.HORA, Escopo.PRODUTO, produto,
+                Granularidade.HORA.periodo(agora), 2, 0)));
+    }
+
+    private static int inserirProduto() {
+        Produto produto = new Produto(0, "Produto Consolidado", 1.0, "UN", 100, 0, 1000, categoria);
+        assertEquals("Produto inserido com sucesso!", Repositorios.produtos().inserir(produto));
+        return produto.getId();
+    }
+
+    private static void movimentar(int produtoId, String tipo, int quantidade, long data) {
+        Produto produto = new Produto();
+        produto.setId(produtoId);
+        assertEquals("Movimentação registrada com sucesso!",
+                Repositorios.movimentacoes().inserir(new Movimentacao(produto, tipo, quantidade, new Date(data))));
+    }
+}
@@ -0,0 +1,71 @@
+package dados;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link CalendarioSazonal}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class CalendarioSazonalTest {
+
+    /** O arredondamento acumulado distribui exatamente o total, inclusive se menor que os dias. */
+    @Test
+    void somaExataDoTotal() {
+        for (long total : new long[]{0, 7, 365, 1_000_003}) {
+            CalendarioSazonal calendario = new CalendarioSazonal(LocalDate.of(2024, 1, 1), 366, total);
+            long soma = 0;
+            for (int d = 0; d < calendario.getDias(); d++) {
+                assertTrue(calendario.getQuantidade(d) >= 0);
+                soma += calendario.getQuantidade(d);
+            }
+            assertEquals(total, soma);
+        }
+    }
+
+    /** Domingo tem menos movimento que sábado, que tem menos que os dias úteis. */
+    @Test
+    void fimDeSemanaMaisFraco() {
+        // Semana de segunda 2024-03-04 a domingo 2024-03-10
+        CalendarioSazonal calendario = new CalendarioSazonal(LocalDate.of(2024, 3, 4), 7, 1_000_000);
+        assertEquals(DayOfWeek.SUNDAY, calendario.getData(6).getDayOfWeek());
+        long sexta = calendario.getQuantidade(4);
+        long sabado = calendario.getQuantidade(5);
+        long domingo = calendario.getQuantidade(6);
+        assertTrue(domingo < sabado && sabado < sexta, sexta + " " + sabado + " " + domingo);
+    }
+
+    /** O pico de fim de ano supera o meio do ano, no mesmo dia da semana. */
+    @Test
+    void picoNoFimDoAno() {
+        LocalDate inicio = LocalDate.of(2023, 1, 1);
+        CalendarioSazonal calendario = new CalendarioSazonal(inicio, 365, 10_000_000);
+        // Quartas-feiras: 2023-07-05 e 2023-12-20
+        long julho = calendario.getQuantidade((int) (LocalDate.of(2023, 7, 5).toEpochDay() - inicio.toEpochDay()));
+        long dezembro = calendario.getQuantidade((int) (LocalDate.of(2023, 12, 20).toEpochDay() - inicio.toEpochDay()));
+        assertTrue(dezembro > julho * 1.5, julho + " " + dezembro);
+    }
+
+    /** O horário fica no dia e se concentra no expediente. */
+    @Test
+    void horarioComercial() {
+        SplittableRandom aleatorio = new SplittableRandom(1);
+        int expediente = 0;
+        int sorteios = 100_000;
+        for (int i = 0; i < sorteios; i++) {
+            int segundo = CalendarioSazonal.sortearSegundoDoDia(aleatorio);
+            assertTrue(segundo >= 0 && segundo < 86_400, "segundo " + segundo);
+            if (segundo >= 8 * 3600 && segundo < 18 * 3600) {
+                expediente++;
+            }
+        }
+        assertTrue(expediente > sorteios * 0.7, "no expediente: " + expediente);
+    }
+}
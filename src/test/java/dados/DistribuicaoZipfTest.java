@@ -0,0 +1,94 @@
+package dados;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link DistribuicaoZipf}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class DistribuicaoZipfTest {
+
+    private static final int AMOSTRAS = 200_000;
+
+    /** Posições sempre em {@code 1..n}, e a mesma semente sorteia a mesma sequência. */
+    @Test
+    void amostrasNoIntervaloEDeterministas() {
+        DistribuicaoZipf zipf = new DistribuicaoZipf(500, 1.1);
+        int[] primeira = sortear(zipf, 7, 1000);
+        for (int posicao : primeira) {
+            assertTrue(posicao >= 1 && posicao <= 500, "posição " + posicao);
+        }
+        assertArrayEquals(primeira, sortear(zipf, 7, 1000));
+    }
+
+    /** A frequência da posição {@code k} cai com {@code 1 / k^s}. */
+    @Test
+    void frequenciaSegueOExpoente() {
+        int[] contagem = contar(new DistribuicaoZipf(1000, 1.0), 1000);
+        assertProporcao(2.0, contagem[1], contagem[2]);
+        assertProporcao(4.0, contagem[1], contagem[4]);
+        assertTrue(contagem[1] > contagem[10] && contagem[10] > contagem[100]);
+    }
+
+    /** Com expoente zero, todas as posições têm a mesma chance. */
+    @Test
+    void expoenteZeroEUniforme() {
+        int[] contagem = contar(new DistribuicaoZipf(10, 0), 10);
+        for (int k = 1; k <= 10; k++) {
+            assertProporcao(1.0, contagem[k], AMOSTRAS / 10);
+        }
+    }
+
+    /** A conversão em ID é uma permutação de {@code 1..n}. */
+    @Test
+    void paraIdEPermutacao() {
+        for (int n : new int[]{1, 2, 10, 997, 1000}) {
+            DistribuicaoZipf zipf = new DistribuicaoZipf(n, 1.1);
+            boolean[] visto = new boolean[n + 1];
+            for (int posicao = 1; posicao <= n; posicao++) {
+                int id = zipf.paraId(posicao);
+                assertTrue(id >= 1 && id <= n && !visto[id], "n=" + n + ", id " + id);
+                visto[id] = true;
+            }
+        }
+        // Os mais populares não ficam nos primeiros IDs
+        assertTrue(new DistribuicaoZipf(1000, 1.1).paraId(2) > 10);
+    }
+
+    @Test
+    void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new DistribuicaoZipf(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DistribuicaoZipf(10, -0.5));
+    }
+
+    private static int[] sortear(DistribuicaoZipf zipf, long semente, int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        int[] posicoes = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            posicoes[i] = zipf.amostrar(aleatorio);
+        }
+        return posicoes;
+    }
+
+    private static int[] contar(DistribuicaoZipf zipf, int n) {
+        int[] contagem = new int[n + 1];
+        for (int posicao : sortear(zipf, 42, AMOSTRAS)) {
+            contagem[posicao]++;
+        }
+        return contagem;
+    }
+
+    /** Confere a razão entre duas contagens com 10% de tolerância. */
+    private static void assertProporcao(double esperada, int a, int b) {
+        double razao = (double) a / b;
+        assertEquals(esperada, razao, esperada * 0.1, a + " / " + b);
+    }
+}
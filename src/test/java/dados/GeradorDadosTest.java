@@ -0,0 +1,66 @@
+package dados;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes do {@link GeradorDados}, no destino de arquivos.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class GeradorDadosTest {
+
+    @TempDir
+    Path diretorio;
+
+    /** O resultado depende só da semente e dos tamanhos, não do número de conexões. */
+    @Test
+    void mesmaSementeMesmosDados() throws IOException {
+        Path umaConexao = gerar("uma", 1, "42");
+        Path tresConexoes = gerar("tres", 3, "42");
+        for (Tabela tabela : Tabela.values()) {
+            assertEquals(linhas(umaConexao, tabela), linhas(tresConexoes, tabela), tabela.getNome());
+        }
+        assertEquals(5, linhas(umaConexao, Tabela.CATEGORIA).size());
+        assertEquals(2500, linhas(umaConexao, Tabela.PRODUTO).size());
+        assertEquals(20_000, linhas(umaConexao, Tabela.MOVIMENTACAO).size());
+        assertTrue(Files.exists(umaConexao.resolve("carregar.sql")));
+
+        Path outraSemente = gerar("outra", 1, "43");
+        assertNotEquals(linhas(umaConexao, Tabela.MOVIMENTACAO), linhas(outraSemente, Tabela.MOVIMENTACAO));
+    }
+
+    private Path gerar(String nome, int conexoes, String semente) {
+        Path dir = diretorio.resolve(nome);
+        GeradorDados.main(new String[]{
+            "--destino", "arquivos", "--dir", dir.toString(), "--conexoes", String.valueOf(conexoes),
+            "--semente", semente, "--categorias", "5", "--produtos", "2500", "--movimentacoes", "20000",
+            "--inicio", "2024-01-01", "--dias", "30"});
+        return dir;
+    }
+
+    /** Linhas de todos os arquivos da tabela, ordenadas (a divisão entre arquivos varia). */
+    private static List<String> linhas(Path dir, Tabela tabela) throws IOException {
+        List<String> todas = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(dir)) {
+            for (Path arquivo : arquivos.filter(a -> a.getFileName().toString().startsWith(tabela.getNome() + "-"))
+                    .toList()) {
+                todas.addAll(Files.readAllLines(arquivo, StandardCharsets.UTF_8));
+            }
+        }
+        todas.sort(null);
+        return todas;
+    }
+}
@@ -0,0 +1,149 @@
+package dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import requisicoes.Requisicao;
+
+/**
+ * Testes do {@link ControleConsulta}, sobre uma conexão simulada que anota as
+ * chamadas recebidas pelo comando.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ControleConsultaTest {
+
+    /** Chamadas recebidas pelo comando simulado, com os argumentos de {@code setQueryTimeout}. */
+    private final List<String> chamadas = new ArrayList<>();
+
+    private Requisicao requisicao;
+
+    @AfterEach
+    void encerrar() {
+        if (requisicao != null) {
+            requisicao.encerrar();
+        }
+    }
+
+    /** O prazo restante vira {@code setQueryTimeout}, arredondado para cima. */
+    @Test
+    void prazoAplicadoAoComando() throws SQLException {
+        requisicao = Requisicao.iniciar("RELATORIO_BALANCO", "teste", 2_500);
+        Connection conexao = ControleConsulta.controlar(conexaoSimulada(0, null), requisicao);
+        try (PreparedStatement stmt = conexao.prepareStatement("SELECT 1")) {
+            stmt.executeUpdate();
+        }
+        assertEquals(List.of("setQueryTimeout 3", "executeUpdate", "close"), chamadas);
+    }
+
+    /**
+     * Com o resultado aberto, o comando segue registrado: o cancelamento
+     * interrompe a consulta e a leitura para na linha seguinte.
+     */
+    @Test
+    void cancelamentoDuranteALeitura() throws SQLException {
+        requisicao = Requisicao.iniciar("LISTAR_MOVIMENTACOES", "teste", 10_000);
+        Connection conexao = ControleConsulta.controlar(conexaoSimulada(100, null), requisicao);
+        try (PreparedStatement stmt = conexao.prepareStatement("SELECT * FROM movimentacao");
+             ResultSet rs = stmt.executeQuery()) {
+            assertTrue(rs.next());
+            requisicao.cancelar("cliente desconectou");
+            assertTrue(chamadas.contains("cancel"));
+            assertThrows(SQLException.class, rs::next);
+        }
+    }
+
+    /** Um comando concluído sai do registro e não é cancelado depois. */
+    @Test
+    void comandoConcluidoNaoECancelado() throws SQLException {
+        requisicao = Requisicao.iniciar("LISTAR_PRODUTOS", "teste", 10_000);
+        Connection conexao = ControleConsulta.controlar(conexaoSimulada(1, null), requisicao);
+        try (PreparedStatement stmt = conexao.prepareStatement("SELECT * FROM produto")) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    // lê todas as linhas
+                }
+            }
+            requisicao.cancelar("cancelada pelo comando CANCELAR");
+            assertFalse(chamadas.contains("cancel"));
+            // Cancelada, a requisição não executa mais nada
+            assertThrows(SQLException.class, stmt::executeQuery);
+        }
+    }
+
+    /** O tempo esgotado no banco cancela a requisição. */
+    @Test
+    void tempoEsgotadoNoBancoCancelaARequisicao() {
+        requisicao = Requisicao.iniciar("RELATORIO_MAIS_MOVIMENTADO", "teste", 10_000);
+        Connection conexao = ControleConsulta.controlar(
+                conexaoSimulada(0, new SQLTimeoutException("Statement cancelled due to timeout")), requisicao);
+        assertThrows(SQLTimeoutException.class, () -> conexao.prepareStatement("SELECT SLEEP(60)").executeQuery());
+        assertTrue(requisicao.isCancelada());
+        assertTrue(requisicao.getMotivoCancelamento().contains("prazo"));
+    }
+
+    /**
+     * Conexão cujos comandos devolvem {@code linhas} linhas em consultas ou,
+     * se {@code erro} não for {@code null}, falham com ele ao executar.
+     */
+    private Connection conexaoSimulada(int linhas, SQLException erro) {
+        PreparedStatement comando = simular(PreparedStatement.class, (metodo, args) -> {
+            if (metodo.startsWith("execute") && erro != null) {
+                return erro;
+            }
+            chamadas.add(metodo.equals("setQueryTimeout") ? metodo + " " + args[0] : metodo);
+            return switch (metodo) {
+                case "executeQuery" -> resultado(linhas);
+                case "executeUpdate" -> 0;
+                default -> null;
+            };
+        });
+        return simular(Connection.class, (metodo, args) -> metodo.equals("prepareStatement") ? comando : null);
+    }
+
+    private static ResultSet resultado(int linhas) {
+        int[] restantes = {linhas};
+        return simular(ResultSet.class, (metodo, args) -> metodo.equals("next") ? restantes[0]-- > 0 : null);
+    }
+
+    /**
+     * Objeto simulado; uma resposta {@link SQLException} é lançada. Responde
+     * a {@code hashCode} e {@code equals} por identidade, pois a requisição
+     * guarda os comandos em um conjunto.
+     */
+    private static <T> T simular(Class<T> tipo, BiFunction<String, Object[], Object> resposta) {
+        return tipo.cast(Proxy.newProxyInstance(ControleConsultaTest.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            break;
+                    }
+                    Object r = resposta.apply(metodo.getName(), args);
+                    if (r instanceof SQLException e) {
+                        throw e;
+                    }
+                    if (r == null && metodo.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    return r;
+                }));
+    }
+}
@@ -0,0 +1,160 @@
+package dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eventos.EventoSql;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes do {@link MonitorJdbc}, sobre uma conexão simulada.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class MonitorJdbcTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void normalizarAgrupaValores() {
+        assertEquals("SELECT * FROM produto WHERE id = ? AND nome = ?",
+                MonitorJdbc.normalizar("SELECT *\n  FROM produto WHERE id = 42 AND nome = 'O''Brien'"));
+        assertEquals("SELECT * FROM produto WHERE id IN (?, ...)",
+                MonitorJdbc.normalizar("SELECT * FROM produto WHERE id IN (?, ?,?)"));
+        assertEquals(MonitorJdbc.normalizar("UPDATE produto SET preco = 1.5 WHERE id = 7"),
+                MonitorJdbc.normalizar("UPDATE produto SET preco = 20 WHERE id = 8"));
+        // Números dentro de identificadores não são literais
+        assertEquals("SELECT t1.col2 FROM tabela3", MonitorJdbc.normalizar("SELECT t1.col2 FROM tabela3"));
+        assertEquals("(desconhecido)", MonitorJdbc.normalizar(null));
+    }
+
+    @Test
+    void consultaEAtualizacaoContabilizadas() throws SQLException {
+        Connection conexao = MonitorJdbc.monitorar(conexaoSimulada(3, 2), 1_000);
+
+        try (PreparedStatement stmt = conexao.prepareStatement("SELECT id FROM teste_monitor WHERE id IN (?, ?)")) {
+            stmt.setInt(1, 10);
+            stmt.setInt(2, 20);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int linhas = 0;
+                while (rs.next()) {
+                    linhas++;
+                }
+                assertEquals(3, linhas);
+            }
+        }
+        try (PreparedStatement stmt = conexao.prepareStatement("UPDATE teste_monitor SET x = ? WHERE id = 5")) {
+            stmt.setInt(1, 1);
+            assertEquals(2, stmt.executeUpdate());
+        }
+
+        List<Map<String, Object>> resumo = MonitorJdbc.resumir();
+        Map<String, Object> consulta = linha(resumo, "SELECT id FROM teste_monitor WHERE id IN (?, ...)");
+        assertEquals(1L, consulta.get("execucoes"));
+        assertEquals(3L, consulta.get("linhas_lidas"));
+        Map<String, Object> atualizacao = linha(resumo, "UPDATE teste_monitor SET x = ? WHERE id = ?");
+        assertEquals(1L, atualizacao.get("execucoes"));
+        assertEquals(2L, atualizacao.get("linhas_afetadas"));
+
+        Map<String, Object> emprestimos = resumo.get(resumo.size() - 1);
+        assertEquals("(obter conexão)", emprestimos.get("sql"));
+        assertTrue((long) emprestimos.get("execucoes") >= 1);
+    }
+
+    /**
+     * Com uma gravação JFR coletando {@code estoque.Sql}, cada execução gera
+     * um evento com o SQL normalizado e as linhas lidas ou afetadas.
+     */
+    @Test
+    void eventoSqlNaGravacao() throws SQLException, IOException {
+        assertFalse(EventoSql.ativo());
+        Path arquivo = diretorio.resolve("teste.jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("estoque.Sql").withoutThreshold();
+            gravacao.start();
+            assertTrue(EventoSql.ativo());
+
+            Connection conexao = MonitorJdbc.monitorar(conexaoSimulada(4, 1), 1_000);
+            try (PreparedStatement stmt = conexao.prepareStatement("SELECT id FROM teste_jfr WHERE id > 10")) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        // lê todas as linhas
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conexao.prepareStatement("DELETE FROM teste_jfr WHERE id = 3")) {
+                stmt.executeUpdate();
+            }
+
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+        assertFalse(EventoSql.ativo());
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+                .filter(e -> e.getString("sql").contains("teste_jfr"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(2, eventos.size());
+        assertEquals("SELECT id FROM teste_jfr WHERE id > ?", eventos.get(0).getString("sql"));
+        assertEquals(4, eventos.get(0).getLong("linhas"));
+        assertEquals("DELETE FROM teste_jfr WHERE id = ?", eventos.get(1).getString("sql"));
+        assertEquals(1, eventos.get(1).getLong("linhas"));
+    }
+
+    /**
+     * Conexão cujos comandos devolvem {@code linhas} linhas em consultas e
+     * {@code afetadas} em atualizações.
+     */
+    private static Connection conexaoSimulada(int linhas, int afetadas) {
+        PreparedStatement comando = simular(PreparedStatement.class, (metodo, args) -> switch (metodo) {
+            case "executeQuery" -> resultado(linhas);
+            case "executeUpdate" -> afetadas;
+            default -> null;
+        });
+        return simular(Connection.class, (metodo, args) -> metodo.equals("prepareStatement") ? comando : null);
+    }
+
+    private static ResultSet resultado(int linhas) {
+        int[] restantes = {linhas};
+        return simular(ResultSet.class, (metodo, args) -> metodo.equals("next") ? restantes[0]-- > 0 : null);
+    }
+
+    /** Resposta de um objeto simulado, pelo nome do método. */
+    @FunctionalInterface
+    private interface Resposta {
+        Object responder(String metodo, Object[] args);
+    }
+
+    private static <T> T simular(Class<T> tipo, Resposta resposta) {
+        return tipo.cast(Proxy.newProxyInstance(MonitorJdbcTest.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    Object r = resposta.responder(metodo.getName(), args);
+                    if (r == null && metodo.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    return r;
+                }));
+    }
+
+    private static Map<String, Object> linha(List<Map<String, Object>> linhas, String sql) {
+        return linhas.stream().filter(l -> sql.equals(l.get("sql"))).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,123 @@
+package faixas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link Faixa}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class FaixaTest {
+
+    @Test
+    void classificacaoDosComandos() {
+        assertSame(Faixa.RELATORIO, Faixa.classificar("RELATORIO_BALANCO"));
+        assertSame(Faixa.RELATORIO, Faixa.classificar("LISTAR_MOVIMENTACOES"));
+        assertSame(Faixa.ESCRITA, Faixa.classificar("INSERIR_MOVIMENTACAO"));
+        assertSame(Faixa.ESCRITA, Faixa.classificar("EXCLUIR_PRODUTO"));
+        assertSame(Faixa.ESCRITA, Faixa.classificar("RESERVAR"));
+        assertSame(Faixa.CONSULTA, Faixa.classificar("LISTAR_PRODUTOS"));
+        assertSame(Faixa.CONSULTA, Faixa.classificar("COMANDO_DESCONHECIDO"));
+    }
+
+    /** A faixa fica associada à thread entre {@code entrar} e {@code sair}. */
+    @Test
+    void entrarAssociaAThread() throws InterruptedException {
+        assertTrue(Faixa.CONSULTA.entrar());
+        try {
+            assertSame(Faixa.CONSULTA, Faixa.atual());
+        } finally {
+            Faixa.CONSULTA.sair();
+        }
+        assertNull(Faixa.atual());
+    }
+
+    /**
+     * Com todas as vagas da faixa ocupadas, a próxima requisição espera; as
+     * outras faixas não são afetadas.
+     */
+    @Test
+    void limiteDeRequisicoesSimultaneas() throws InterruptedException {
+        int limite = (int) linha(Faixa.RELATORIO).get("limite");
+        CountDownLatch ocupadas = new CountDownLatch(limite);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < limite; i++) {
+            threads.add(Thread.ofPlatform().start(() -> ocupar(ocupadas, liberar)));
+        }
+        assertTrue(ocupadas.await(5, TimeUnit.SECONDS));
+        assertEquals(limite, linha(Faixa.RELATORIO).get("em_execucao"));
+
+        CountDownLatch excedenteEntrou = new CountDownLatch(1);
+        Thread excedente = Thread.ofPlatform().start(() -> ocupar(excedenteEntrou, new CountDownLatch(0)));
+        assertFalse(excedenteEntrou.await(100, TimeUnit.MILLISECONDS));
+
+        // Escritas continuam com suas próprias vagas
+        assertTrue(Faixa.ESCRITA.entrar());
+        Faixa.ESCRITA.sair();
+
+        liberar.countDown();
+        assertTrue(excedenteEntrou.await(5, TimeUnit.SECONDS));
+        for (Thread t : threads) {
+            t.join();
+        }
+        excedente.join();
+        assertEquals(0, linha(Faixa.RELATORIO).get("em_execucao"));
+    }
+
+    /** O {@code close()} da conexão vinculada devolve a reserva à cota uma única vez. */
+    @Test
+    void conexaoVinculadaDevolveACota() throws Exception {
+        AtomicInteger fechamentos = new AtomicInteger();
+        Connection simulada = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close")) {
+                        fechamentos.incrementAndGet();
+                    }
+                    return metodo.getName().equals("isClosed") ? Boolean.FALSE : null;
+                });
+
+        assertTrue(Faixa.ESCRITA.reservarConexao());
+        Connection conexao = Faixa.ESCRITA.vincular(simulada);
+        assertEquals(1, linha(Faixa.ESCRITA).get("conexoes_em_uso"));
+        assertFalse(conexao.isClosed());
+        conexao.close();
+        conexao.close();
+        assertEquals(0, linha(Faixa.ESCRITA).get("conexoes_em_uso"));
+        assertEquals(2, fechamentos.get());
+    }
+
+    private static void ocupar(CountDownLatch ocupada, CountDownLatch liberar) {
+        try {
+            if (Faixa.RELATORIO.entrar()) {
+                try {
+                    ocupada.countDown();
+                    liberar.await();
+                } finally {
+                    Faixa.RELATORIO.sair();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Object> linha(Faixa faixa) {
+        return Faixa.resumir().stream().filter(l -> faixa.name().equals(l.get("faixa"))).findFirst().orElseThrow();
+    }
+}
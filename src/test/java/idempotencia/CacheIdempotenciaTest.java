@@ -0,0 +1,126 @@
+package idempotencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link CacheIdempotencia}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class CacheIdempotenciaTest {
+
+    private static final String SUCESSO = "Movimentação registrada com sucesso!";
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @Test
+    void repeticaoRecebeRespostaGuardada() {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 100);
+        assertEquals(SUCESSO, cache.executar("k1", "1 SAIDA 2", this::executar));
+        assertEquals(SUCESSO, cache.executar("k1", "1 SAIDA 2", this::executar));
+        assertEquals(1, execucoes.get());
+        assertEquals(1, cache.getRepetidas());
+    }
+
+    @Test
+    void chaveComOutroConteudoRecusada() {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 100);
+        cache.executar("k1", "1 SAIDA 2", this::executar);
+        assertEquals(CacheIdempotencia.CHAVE_REUTILIZADA, cache.executar("k1", "1 SAIDA 3", this::executar));
+        assertEquals(1, execucoes.get());
+        assertEquals(1, cache.getReutilizadas());
+    }
+
+    /** Uma resposta de erro não fica guardada: a próxima tentativa executa. */
+    @Test
+    void erroNaoFicaGuardado() {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 100);
+        assertEquals("Erro ao registrar movimentação.", cache.executar("k1", "1 SAIDA 2", () -> {
+            execucoes.incrementAndGet();
+            return "Erro ao registrar movimentação.";
+        }));
+        assertEquals(0, cache.getTamanho());
+        assertEquals(SUCESSO, cache.executar("k1", "1 SAIDA 2", this::executar));
+        assertEquals(2, execucoes.get());
+    }
+
+    /** Uma chave vencida é executada de novo, e pode vir com outro conteúdo. */
+    @Test
+    void chaveVencidaExecutaDeNovo() throws InterruptedException {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MILLISECONDS.toNanos(20), 100);
+        cache.executar("k1", "1 SAIDA 2", this::executar);
+        Thread.sleep(50);
+        assertEquals(SUCESSO, cache.executar("k1", "1 SAIDA 3", this::executar));
+        assertEquals(2, execucoes.get());
+        assertEquals(1, cache.getTamanho());
+    }
+
+    /** Acima do limite, as chaves mais antigas saem primeiro. */
+    @Test
+    void limiteRetiraMaisAntigas() {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 2);
+        cache.executar("k1", "1 SAIDA 1", this::executar);
+        cache.executar("k2", "1 SAIDA 1", this::executar);
+        cache.executar("k3", "1 SAIDA 1", this::executar);
+        assertEquals(2, cache.getTamanho());
+
+        cache.executar("k3", "1 SAIDA 1", this::executar);
+        assertEquals(3, execucoes.get());
+        cache.executar("k1", "1 SAIDA 1", this::executar);
+        assertEquals(4, execucoes.get());
+    }
+
+    /** A repetição que chega durante a primeira execução espera por ela. */
+    @Test
+    void repeticaoEsperaPrimeiraExecucao() throws Exception {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 100);
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(
+                () -> cache.executar("k1", "1 SAIDA 2", () -> {
+                    iniciada.countDown();
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return executar();
+                }));
+        iniciada.await();
+        CompletableFuture<String> repeticao = CompletableFuture.supplyAsync(
+                () -> cache.executar("k1", "1 SAIDA 2", this::executar));
+
+        Thread.sleep(50);
+        liberar.countDown();
+        assertEquals(SUCESSO, primeira.get(5, TimeUnit.SECONDS));
+        assertEquals(SUCESSO, repeticao.get(5, TimeUnit.SECONDS));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void semChaveExecutaSempre() {
+        CacheIdempotencia cache = new CacheIdempotencia(TimeUnit.MINUTES.toNanos(1), 100);
+        cache.executar(null, "1 SAIDA 2", this::executar);
+        cache.executar(null, "1 SAIDA 2", this::executar);
+        assertEquals(2, execucoes.get());
+        assertEquals(0, cache.getTamanho());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.executar("", "1 SAIDA 2", this::executar));
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.executar("k".repeat(CacheIdempotencia.TAMANHO_MAXIMO_CHAVE + 1), "1 SAIDA 2",
+                        this::executar));
+    }
+
+    private String executar() {
+        execucoes.incrementAndGet();
+        return SUCESSO;
+    }
+}
@@ -0,0 +1,82 @@
+package journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes do {@link AplicadorJournal}: checkpoint, classificação das falhas
+ * do banco e arquivo de rejeitadas.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class AplicadorJournalTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void checkpointSalvoELido() throws IOException {
+        assertEquals(0, AplicadorJournal.lerCheckpoint(diretorio));
+
+        AplicadorJournal.salvarCheckpoint(diretorio, 1234);
+        assertEquals(1234, AplicadorJournal.lerCheckpoint(diretorio));
+
+        AplicadorJournal.salvarCheckpoint(diretorio, 5678);
+        assertEquals(5678, AplicadorJournal.lerCheckpoint(diretorio));
+        assertFalse(Files.exists(diretorio.resolve(AplicadorJournal.ARQUIVO_CHECKPOINT + ".tmp")));
+    }
+
+    /** Um checkpoint com CRC inválido vale como ausente: tudo é reaplicado. */
+    @Test
+    void checkpointCorrompidoValeZero() throws IOException {
+        AplicadorJournal.salvarCheckpoint(diretorio, 1234);
+        Path arquivo = diretorio.resolve(AplicadorJournal.ARQUIVO_CHECKPOINT);
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[7] ^= 1;
+        Files.write(arquivo, bytes);
+        assertEquals(0, AplicadorJournal.lerCheckpoint(diretorio));
+
+        Files.write(arquivo, new byte[]{1, 2, 3});
+        assertEquals(0, AplicadorJournal.lerCheckpoint(diretorio));
+    }
+
+    @Test
+    void falhasTransitorias() {
+        assertTrue(AplicadorJournal.transitoria(new SQLTransientConnectionException("rede")));
+        assertTrue(AplicadorJournal.transitoria(new SQLException("Sem conexão com o banco de dados.")));
+        assertTrue(AplicadorJournal.transitoria(new SQLException("conexão", "08S01")));
+        assertTrue(AplicadorJournal.transitoria(new SQLException("deadlock", "40001")));
+
+        assertFalse(AplicadorJournal.transitoria(new SQLIntegrityConstraintViolationException("fk", "23000")));
+        assertFalse(AplicadorJournal.transitoria(new SQLException("sintaxe", "42000")));
+    }
+
+    @Test
+    void rejeitadaGravadaEContada() throws IOException {
+        long antes = AplicadorJournal.getRejeitadas();
+        RegistroJournal registro = new RegistroJournal(7, 99, "SAIDA", 3, 0, "k1");
+
+        AplicadorJournal.rejeitar(diretorio, registro, "produto\tinexistente");
+        AplicadorJournal.rejeitar(diretorio, new RegistroJournal(8, 99, "ENTRADA", 1, 0, null), null);
+
+        List<String> linhas = Files.readAllLines(diretorio.resolve(AplicadorJournal.ARQUIVO_REJEITADAS),
+                StandardCharsets.UTF_8);
+        assertEquals(2, linhas.size());
+        assertEquals("7\t99\tSAIDA\t3\t1970-01-01T00:00:00Z\tk1\tproduto inexistente", linhas.get(0));
+        assertEquals("8\t99\tENTRADA\t1\t1970-01-01T00:00:00Z\t\t", linhas.get(1));
+        assertEquals(antes + 2, AplicadorJournal.getRejeitadas());
+    }
+}
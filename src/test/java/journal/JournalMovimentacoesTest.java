@@ -0,0 +1,240 @@
+package journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import model.Movimentacao;
+import model.Produto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes do {@link JournalMovimentacoes}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class JournalMovimentacoesTest {
+
+    /** Registros por checkpoint do {@link AplicadorJournal}. */
+    private static final int REGISTROS = 256;
+
+    /** Tamanho de um registro sem chave de idempotência (prefixo + conteúdo). */
+    private static final int TAMANHO_REGISTRO = SegmentoJournal.TAMANHO_PREFIXO + SegmentoJournal.TAMANHO_CONTEUDO;
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Um segmento cheio exatamente no checkpoint é removido enquanto o cursor
+     * ainda está nele; o cursor deve seguir para o segmento seguinte.
+     */
+    @Test
+    void cursorSegueAposTruncarSegmentoAtual() throws IOException {
+        // Cabeçalho, 256 registros e o marcador de fim: o 257º abre um novo segmento
+        int tamanho = SegmentoJournal.TAMANHO_CABECALHO + REGISTROS * TAMANHO_REGISTRO + 4;
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, tamanho);
+        try {
+            JournalMovimentacoes.Cursor cursor = journal.abrirCursor(0);
+            for (int i = 0; i < REGISTROS; i++) {
+                journal.anexar(movimentacao());
+            }
+            for (int i = 1; i <= REGISTROS; i++) {
+                assertEquals(i, cursor.proximo().sequencia());
+            }
+            assertNull(cursor.proximo());
+
+            journal.anexar(movimentacao());
+            assertEquals(2, journal.getSegmentos().size());
+
+            // Checkpoint no último registro do primeiro segmento: ele é removido
+            assertEquals(1, journal.truncarAplicados(REGISTROS));
+
+            RegistroJournal seguinte = cursor.proximo();
+            assertNotNull(seguinte);
+            assertEquals(REGISTROS + 1, seguinte.sequencia());
+
+            journal.anexar(movimentacao());
+            assertEquals(REGISTROS + 2, cursor.proximo().sequencia());
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    /**
+     * Um registro gravado pela metade (CRC inválido) encerra a recuperação: os
+     * anteriores continuam legíveis, a cauda é zerada e a sequência segue do
+     * último registro válido.
+     */
+    @Test
+    void reaberturaDescartaRegistroInterrompido() throws IOException {
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, 4096);
+        for (int i = 0; i < 3; i++) {
+            journal.anexar(movimentacao());
+        }
+        Path arquivo = journal.getSegmentos().get(0).getArquivo();
+        journal.fechar();
+
+        // Um byte do conteúdo do terceiro registro trocado
+        int terceiro = SegmentoJournal.TAMANHO_CABECALHO + 2 * TAMANHO_REGISTRO;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), terceiro + SegmentoJournal.TAMANHO_PREFIXO);
+        }
+
+        journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, 4096);
+        try {
+            SegmentoJournal segmento = journal.getSegmentos().get(0);
+            assertTrue(segmento.isCaudaCorrompida());
+            assertEquals(2, segmento.getRegistros());
+            assertEquals(terceiro, segmento.getLimiteLeitura());
+            assertEquals(2, journal.getUltimaSequencia());
+
+            JournalMovimentacoes.Cursor cursor = journal.abrirCursor(0);
+            assertEquals(1, cursor.proximo().sequencia());
+            assertEquals(2, cursor.proximo().sequencia());
+            assertNull(cursor.proximo());
+
+            assertEquals(3, journal.anexar(movimentacao()));
+            assertEquals(3, cursor.proximo().sequencia());
+        } finally {
+            journal.fechar();
+        }
+
+        // A cauda foi zerada: a próxima abertura não vê mais restos
+        journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, 4096);
+        try {
+            assertFalse(journal.getSegmentos().get(0).isCaudaCorrompida());
+            assertEquals(3, journal.getUltimaSequencia());
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    /**
+     * Só saem os segmentos selados com todos os registros aplicados; o ativo
+     * fica mesmo aplicado, e a sequência continua após a reabertura.
+     */
+    @Test
+    void truncarRemoveSoSegmentosSeladosAplicados() throws IOException {
+        // Três registros por segmento
+        int tamanho = SegmentoJournal.TAMANHO_CABECALHO + 3 * TAMANHO_REGISTRO + 4;
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, tamanho);
+        try {
+            for (int i = 0; i < 7; i++) {
+                journal.anexar(movimentacao());
+            }
+            assertEquals(3, journal.getSegmentos().size());
+
+            assertEquals(0, journal.truncarAplicados(2));
+            assertEquals(1, journal.truncarAplicados(5));
+            assertEquals(4, journal.getSegmentos().get(0).getPrimeiraSequencia());
+
+            assertEquals(1, journal.truncarAplicados(7));
+            assertEquals(1, journal.getSegmentos().size());
+            assertEquals(1, JournalMovimentacoes.listarArquivos(diretorio).size());
+        } finally {
+            journal.fechar();
+        }
+
+        journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, tamanho);
+        try {
+            assertEquals(7, journal.getUltimaSequencia());
+            assertEquals(8, journal.anexar(movimentacao()));
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    /**
+     * Sem segmentos, o journal começa logo após o checkpoint, para não repetir
+     * sequências já aplicadas no banco.
+     */
+    @Test
+    void journalVazioComecaAposCheckpoint() throws IOException {
+        AplicadorJournal.salvarCheckpoint(diretorio, 41);
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, 4096);
+        try {
+            assertEquals(41, journal.getUltimaSequencia());
+            assertEquals(42, journal.anexar(movimentacao()));
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    /**
+     * Uma chave de idempotência já gravada não grava de novo: o registro
+     * anterior é devolvido. Sem chave, grava sempre.
+     */
+    @Test
+    void chaveRepetidaNaoGrava() throws IOException {
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, 4096);
+        try {
+            assertNull(journal.anexarSeChaveNova(movimentacao("k1")));
+            RegistroJournal anterior = journal.anexarSeChaveNova(movimentacao("k1"));
+            assertNotNull(anterior);
+            assertEquals(1, anterior.sequencia());
+            assertEquals(1, journal.getUltimaSequencia());
+            assertEquals(1, journal.buscarChave("k1").sequencia());
+            assertNull(journal.buscarChave("k2"));
+
+            assertNull(journal.anexarSeChaveNova(movimentacao()));
+            assertNull(journal.anexarSeChaveNova(movimentacao()));
+            assertEquals(3, journal.getUltimaSequencia());
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    /**
+     * O índice de chaves é refeito dos segmentos na reabertura, e as chaves de
+     * um segmento removido saem dele.
+     */
+    @Test
+    void indiceDeChavesRefeitoESaiNaTruncagem() throws IOException {
+        // Três registros com chave de dois caracteres por segmento
+        int registroComChave = TAMANHO_REGISTRO + 2 + 2;
+        int tamanho = SegmentoJournal.TAMANHO_CABECALHO + 3 * registroComChave + 4;
+        JournalMovimentacoes journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, tamanho);
+        for (int i = 1; i <= 4; i++) {
+            journal.anexarSeChaveNova(movimentacao("k" + i));
+        }
+        assertEquals(2, journal.getSegmentos().size());
+        journal.fechar();
+
+        journal = new JournalMovimentacoes(diretorio, PoliticaFsync.NUNCA, tamanho);
+        try {
+            assertEquals(1, journal.buscarChave("k1").sequencia());
+            assertEquals(4, journal.buscarChave("k4").sequencia());
+            assertNotNull(journal.anexarSeChaveNova(movimentacao("k2")));
+            assertEquals(4, journal.getUltimaSequencia());
+
+            assertEquals(1, journal.truncarAplicados(3));
+            assertNull(journal.buscarChave("k1"));
+            assertNull(journal.buscarChave("k3"));
+            assertEquals(4, journal.buscarChave("k4").sequencia());
+        } finally {
+            journal.fechar();
+        }
+    }
+
+    private static Movimentacao movimentacao(String chave) {
+        Movimentacao mov = movimentacao();
+        mov.setChaveIdempotencia(chave);
+        return mov;
+    }
+
+    private static Movimentacao movimentacao() {
+        Produto produto = new Produto();
+        produto.setId(1);
+        return new Movimentacao(produto, "SAIDA", 1, new Date());
+    }
+}
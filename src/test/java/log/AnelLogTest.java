@@ -0,0 +1,93 @@
+package log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link AnelLog}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class AnelLogTest {
+
+    @Test
+    void capacidadeEmPotenciaDeDois() {
+        assertEquals(8, new AnelLog(5).capacidade());
+        assertEquals(8, new AnelLog(8).capacidade());
+        assertEquals(4, new AnelLog(0).capacidade());
+    }
+
+    /** Fila cheia recusa sem esperar; a ordem de saída é a de entrada, dando voltas no vetor. */
+    @Test
+    void filaCheiaEOrdem() {
+        AnelLog fila = new AnelLog(4);
+        assertTrue(fila.vazia());
+        assertNull(fila.retirar());
+
+        List<RegistroLog> registros = new ArrayList<>();
+        for (int volta = 0; volta < 3; volta++) {
+            registros.clear();
+            for (int i = 0; i < 4; i++) {
+                RegistroLog r = registro("p", i);
+                registros.add(r);
+                assertTrue(fila.oferecer(r));
+            }
+            assertFalse(fila.oferecer(registro("p", 4)));
+            assertFalse(fila.vazia());
+
+            for (RegistroLog r : registros) {
+                assertSame(r, fila.retirar());
+            }
+            assertTrue(fila.vazia());
+        }
+    }
+
+    /** Vários produtores: cada registro sai uma vez, na ordem em que seu produtor o colocou. */
+    @Test
+    void variosProdutores() throws InterruptedException {
+        AnelLog fila = new AnelLog(1024);
+        int produtores = 4;
+        int porProdutor = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            String nome = "p" + p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < porProdutor; i++) {
+                    RegistroLog r = registro(nome, i);
+                    while (!fila.oferecer(r)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        int[] proximo = new int[produtores];
+        int recebidos = 0;
+        while (recebidos < produtores * porProdutor) {
+            RegistroLog r = fila.retirar();
+            if (r == null) {
+                Thread.yield();
+                continue;
+            }
+            int p = Integer.parseInt(r.thread().substring(1));
+            assertEquals(proximo[p]++, (int) r.campos()[1]);
+            recebidos++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(fila.vazia());
+    }
+
+    private static RegistroLog registro(String thread, int n) {
+        return new RegistroLog(0, Nivel.INFO, thread, "teste", new Object[]{"n", n}, null);
+    }
+}
@@ -0,0 +1,51 @@
+package log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da formatação do {@link Log}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class LogTest {
+
+    @Test
+    void formatoTexto() {
+        RegistroLog r = new RegistroLog(0, Nivel.AVISO, "main", "Produto alterado",
+                new Object[]{"id", 7, "nome", "Arroz Branco", "vazio", "", "ok", true}, null);
+        assertEquals("1970-01-01T00:00:00Z AVISO [main] Produto alterado id=7 nome=\"Arroz Branco\" vazio=\"\" ok=true",
+                Log.formatarTexto(r));
+    }
+
+    /** Uma quebra de linha num valor é escapada: não abre uma linha de log falsa. */
+    @Test
+    void formatoTextoEscapaQuebras() {
+        RegistroLog r = new RegistroLog(0, Nivel.INFO, "main", "Busca",
+                new Object[]{"termo", "a\n1970-01-01T00:00:00Z ERRO falso"}, null);
+        String linha = Log.formatarTexto(r);
+        assertEquals(-1, linha.indexOf('\n'));
+        assertTrue(linha.endsWith("termo=\"a\\n1970-01-01T00:00:00Z ERRO falso\""));
+    }
+
+    @Test
+    void formatoJson() {
+        RegistroLog r = new RegistroLog(0, Nivel.ERRO, "t\"1", "Falha\tgrave",
+                new Object[]{"id", 7, "ok", false, "texto", "x\\y", "sem par"}, null);
+        assertEquals("{\"ts\":\"1970-01-01T00:00:00Z\",\"nivel\":\"ERRO\",\"thread\":\"t\\\"1\","
+                        + "\"msg\":\"Falha\\tgrave\",\"id\":7,\"ok\":false,\"texto\":\"x\\\\y\"}",
+                Log.formatarJson(r));
+    }
+
+    @Test
+    void causaNaSaida() {
+        RegistroLog r = new RegistroLog(0, Nivel.ERRO, "main", "Falha", new Object[0],
+                new IllegalStateException("motivo"));
+        String texto = Log.formatarTexto(r);
+        assertTrue(texto.startsWith("1970-01-01T00:00:00Z ERRO  [main] Falha\njava.lang.IllegalStateException: motivo"));
+        assertTrue(Log.formatarJson(r).contains("\"erro\":\"java.lang.IllegalStateException: motivo\\n"));
+    }
+}
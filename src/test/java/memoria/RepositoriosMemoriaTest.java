@@ -0,0 +1,194 @@
+package memoria;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.MovimentacaoRepositorio;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import model.Categoria;
+import model.Movimentacao;
+import model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes dos repositórios em memória: as regras das chaves estrangeiras e das
+ * colunas únicas, e as consultas de movimentações.
+ * <p>
+ * O {@link BancoMemoria} é único na JVM; cada teste cria sua própria
+ * categoria e seus produtos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class RepositoriosMemoriaTest {
+
+    private static final String REGISTRADA = "Movimentação registrada com sucesso!";
+
+    private final CategoriaMemoria categorias = new CategoriaMemoria();
+    private final ProdutoMemoria produtos = new ProdutoMemoria();
+    private final MovimentacaoMemoria movimentacoes = new MovimentacaoMemoria();
+
+    private Categoria categoria;
+
+    @BeforeEach
+    void criarCategoria() {
+        categoria = new Categoria();
+        categoria.setNome("Limpeza");
+        categorias.inserir(categoria);
+    }
+
+    @Test
+    void produtoExigeCategoriaExistente() {
+        Categoria inexistente = new Categoria();
+        inexistente.setId(Integer.MAX_VALUE);
+        Produto produto = novoProduto("Detergente", inexistente);
+        assertTrue(produtos.inserir(produto).startsWith("Erro"));
+        assertFalse(produtos.listarIds().contains(produto.getId()));
+
+        int id = inserir("Sabão");
+        Produto alterado = produtos.buscarPorIds(List.of(id)).get(id);
+        alterado.setCategoria(inexistente);
+        assertTrue(produtos.atualizar(alterado).startsWith("Erro"));
+        assertEquals(categoria.getId(), produtos.buscarPorIds(List.of(id)).get(id).getCategoria().getId());
+    }
+
+    /** Uma categoria com produtos não pode ser excluída; sem produtos, pode. */
+    @Test
+    void categoriaComProdutosNaoExclui() throws Exception {
+        int id = inserir("Desinfetante");
+        assertThrows(Exception.class, () -> categorias.excluir(categoria.getId()));
+        assertEquals("Produto excluído com sucesso!", produtos.excluir(id));
+        categorias.excluir(categoria.getId());
+        assertNull(categorias.buscarPorId(categoria.getId()));
+    }
+
+    /** A exclusão do produto leva suas movimentações e libera as colunas únicas. */
+    @Test
+    void exclusaoDoProdutoEmCascata() throws Exception {
+        int id = inserir("Esponja");
+        String chave = "memoria-cascata";
+        assertEquals(REGISTRADA, movimentacoes.inserir(movimentacao(id, "ENTRADA", 5, chave)));
+        movimentacoes.inserirDoJournal(movimentacao(id, "SAIDA", 2, null), 9_000_001L);
+        assertEquals(2, movimentacoes.listarPorProduto(id).size());
+
+        produtos.excluir(id);
+        assertTrue(movimentacoes.listarPorProduto(id).isEmpty());
+        assertArrayEquals(new long[]{0, 0}, movimentacoes.totaisDoProduto(id));
+
+        int outro = inserir("Esponja Dupla");
+        assertEquals(REGISTRADA, movimentacoes.inserir(movimentacao(outro, "ENTRADA", 1, chave)));
+        movimentacoes.inserirDoJournal(movimentacao(outro, "ENTRADA", 1, null), 9_000_001L);
+        assertEquals(2, movimentacoes.listarPorProduto(outro).size());
+    }
+
+    /** Chave de idempotência e sequência do journal repetidas não gravam de novo. */
+    @Test
+    void colunasUnicas() throws Exception {
+        int id = inserir("Vassoura");
+        assertEquals(REGISTRADA, movimentacoes.inserir(movimentacao(id, "ENTRADA", 3, "memoria-unica")));
+        assertEquals(MovimentacaoRepositorio.JA_REGISTRADA,
+                movimentacoes.inserir(movimentacao(id, "ENTRADA", 3, "memoria-unica")));
+        movimentacoes.inserirDoJournal(movimentacao(id, "ENTRADA", 4, null), 9_000_002L);
+        movimentacoes.inserirDoJournal(movimentacao(id, "ENTRADA", 4, null), 9_000_002L);
+        assertArrayEquals(new long[]{7, 0}, movimentacoes.totaisDoProduto(id));
+    }
+
+    /** Produto inexistente: erro na inserção direta, exceção no journal, e nada fica reservado. */
+    @Test
+    void movimentacaoDeProdutoInexistente() throws Exception {
+        int inexistente = Integer.MAX_VALUE - 1;
+        assertTrue(movimentacoes.inserir(movimentacao(inexistente, "ENTRADA", 1, "memoria-orfa")).startsWith("Erro"));
+        assertThrows(SQLIntegrityConstraintViolationException.class,
+                () -> movimentacoes.inserirDoJournal(movimentacao(inexistente, "ENTRADA", 1, null), 9_000_003L));
+
+        int id = inserir("Rodo");
+        assertEquals(REGISTRADA, movimentacoes.inserir(movimentacao(id, "ENTRADA", 1, "memoria-orfa")));
+        movimentacoes.inserirDoJournal(movimentacao(id, "ENTRADA", 1, null), 9_000_003L);
+        assertArrayEquals(new long[]{2, 0}, movimentacoes.totaisDoProduto(id));
+    }
+
+    /** Totais por faixa de ID e listagem da mais recente para a mais antiga. */
+    @Test
+    void totaisEOrdem() {
+        int a = inserir("Balde");
+        int b = inserir("Pano");
+        long antes = movimentacoes.maiorId();
+        movimentacoes.inserir(movimentacao(a, "ENTRADA", 10, null, 1_000));
+        movimentacoes.inserir(movimentacao(a, "SAIDA", 4, null, 3_000));
+        movimentacoes.inserir(movimentacao(b, "SAIDA", 1, null, 2_000));
+        long meio = movimentacoes.maiorId();
+        movimentacoes.inserir(movimentacao(b, "ENTRADA", 6, null, 4_000));
+        long depois = movimentacoes.maiorId();
+        assertEquals(antes + 4, depois);
+
+        Map<Integer, long[]> ate = movimentacoes.totaisPorProduto(antes, meio);
+        assertArrayEquals(new long[]{10, 4}, ate.get(a));
+        assertArrayEquals(new long[]{0, 1}, ate.get(b));
+        Map<Integer, long[]> resto = movimentacoes.totaisPorProduto(meio, depois);
+        assertEquals(Set.of(b), resto.keySet());
+        assertArrayEquals(new long[]{6, 0}, resto.get(b));
+        assertTrue(movimentacoes.totaisPorProduto(depois, antes).isEmpty());
+        assertArrayEquals(new long[]{6, 1}, movimentacoes.totaisDoProduto(b));
+
+        List<Movimentacao> deA = movimentacoes.listarPorProduto(a);
+        assertEquals(List.of("SAIDA", "ENTRADA"), deA.stream().map(Movimentacao::getTipo).toList());
+    }
+
+    /** Inserções concorrentes recebem IDs distintos e todas ficam no índice. */
+    @Test
+    void insercoesConcorrentes() throws InterruptedException {
+        int id = inserir("Flanela");
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 250; i++) {
+                    Produto p = novoProduto("Concorrente", categoria);
+                    produtos.inserir(p);
+                    ids.add(p.getId());
+                    movimentacoes.inserir(movimentacao(id, "ENTRADA", 1, null));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, ids.size());
+        assertTrue(produtos.listarIds().containsAll(ids));
+        assertArrayEquals(new long[]{1000, 0}, movimentacoes.totaisDoProduto(id));
+    }
+
+    private int inserir(String nome) {
+        Produto produto = novoProduto(nome, categoria);
+        assertEquals("Produto inserido com sucesso!", produtos.inserir(produto));
+        return produto.getId();
+    }
+
+    private static Produto novoProduto(String nome, Categoria categoria) {
+        return new Produto(0, nome, 9.9, "UN", 10, 1, 100, categoria);
+    }
+
+    private static Movimentacao movimentacao(int produtoId, String tipo, int quantidade, String chave) {
+        return movimentacao(produtoId, tipo, quantidade, chave, System.currentTimeMillis());
+    }
+
+    private static Movimentacao movimentacao(int produtoId, String tipo, int quantidade, String chave, long data) {
+        Produto produto = new Produto();
+        produto.setId(produtoId);
+        Movimentacao movimentacao = new Movimentacao(produto, tipo, quantidade, new Date(data));
+        movimentacao.setChaveIdempotencia(chave);
+        return movimentacao;
+    }
+}
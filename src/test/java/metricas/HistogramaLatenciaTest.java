@@ -0,0 +1,109 @@
+package metricas;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link HistogramaLatencia}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class HistogramaLatenciaTest {
+
+    /**
+     * O limite superior da faixa de um valor nunca fica abaixo dele e erra
+     * no máximo 1/{@value HistogramaLatencia#SUBFAIXAS} do valor.
+     */
+    @Test
+    void faixasComErroRelativoLimitado() {
+        Random aleatorio = new Random(7);
+        List<Long> valores = new ArrayList<>();
+        for (int bits = 0; bits < 50; bits++) {
+            valores.add(1L << bits);
+            valores.add((1L << bits) - 1);
+            valores.add((1L << bits) + 1);
+            valores.add(aleatorio.nextLong(1L << 50));
+        }
+        int anterior = -1;
+        for (long v : valores.stream().sorted().distinct().toList()) {
+            int faixa = HistogramaLatencia.faixa(v);
+            assertTrue(faixa >= anterior, "faixas em ordem: " + v);
+            anterior = faixa;
+            if (faixa == HistogramaLatencia.FAIXAS - 1) {
+                continue;
+            }
+            long limite = HistogramaLatencia.limiteSuperior(faixa);
+            assertTrue(limite >= v, "limite abaixo do valor: " + v);
+            assertTrue(limite - v <= v / HistogramaLatencia.SUBFAIXAS, "erro acima do limite: " + v);
+        }
+    }
+
+    @Test
+    void valoresForaDaEscala() {
+        assertEquals(0, HistogramaLatencia.faixa(0));
+        assertEquals(0, HistogramaLatencia.faixa(-5));
+        assertEquals(HistogramaLatencia.FAIXAS - 1, HistogramaLatencia.faixa(Long.MAX_VALUE));
+        assertEquals(HistogramaLatencia.FAIXAS - 1, HistogramaLatencia.faixa(TimeUnit.HOURS.toNanos(10)));
+    }
+
+    @Test
+    void percentis() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        assertArrayEquals(new long[]{0, 0}, histograma.percentis(50, 99));
+
+        // 1 a 1000 µs
+        for (int i = 1000; i >= 1; i--) {
+            histograma.registrar(i * 1000L);
+        }
+        long[] p = histograma.percentis(50, 90, 99, 100);
+        assertEntre(500_000, p[0]);
+        assertEntre(900_000, p[1]);
+        assertEntre(990_000, p[2]);
+        // O máximo limita a estimativa da última faixa
+        assertEquals(1_000_000, p[3]);
+        assertEquals(1_000_000, histograma.getMaximo());
+    }
+
+    @Test
+    void registroConcorrente() throws InterruptedException {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histograma.registrar(base * 10_000 + i);
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        long[] contagens = new long[HistogramaLatencia.FAIXAS];
+        assertEquals(39_999, histograma.copiarPara(contagens));
+        long total = 0;
+        for (long c : contagens) {
+            total += c;
+        }
+        assertEquals(40_000, total);
+
+        histograma.zerar();
+        assertEquals(0, histograma.getMaximo());
+        assertArrayEquals(new long[]{0}, histograma.percentis(50));
+    }
+
+    /** O percentil é o limite superior da faixa: até 6,25% acima, nunca abaixo. */
+    private static void assertEntre(long esperado, long obtido) {
+        assertTrue(obtido >= esperado && obtido <= esperado + esperado / HistogramaLatencia.SUBFAIXAS,
+                "esperado ~" + esperado + ", obtido " + obtido);
+    }
+}
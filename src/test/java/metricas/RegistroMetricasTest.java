@@ -0,0 +1,63 @@
+package metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link RegistroMetricas}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class RegistroMetricasTest {
+
+    private final RegistroMetricas metricas = RegistroMetricas.getInstancia();
+
+    @Test
+    void resumoPorComando() {
+        metricas.registrar("TESTE_METRICAS_B", 2_000_000, false);
+        metricas.registrar("TESTE_METRICAS_A", 1_000_000, false);
+        metricas.registrar("TESTE_METRICAS_A", 3_000_000, true);
+
+        List<Map<String, Object>> linhas = metricas.resumir();
+        Map<String, Object> a = linha(linhas, "TESTE_METRICAS_A");
+        assertEquals(2L, a.get("requisicoes"));
+        assertEquals(1L, a.get("erros"));
+        assertEquals(2L, a.get("janela_requisicoes"));
+        assertEquals(3000.0, a.get("max_us"));
+        assertEquals(3000.0, a.get("p99_us"));
+
+        // Comandos em ordem alfabética, com a linha do servidor no fim
+        assertTrue(linhas.indexOf(a) < linhas.indexOf(linha(linhas, "TESTE_METRICAS_B")));
+        assertEquals("SERVIDOR", linhas.get(linhas.size() - 1).get("comando"));
+    }
+
+    @Test
+    void bytesContados() throws IOException {
+        Map<String, Object> antes = linha(metricas.resumir(), "SERVIDOR");
+
+        RegistroMetricas.EntradaContada in = metricas.contarEntrada(new ByteArrayInputStream(new byte[100]));
+        in.read();
+        in.read(new byte[30]);
+        RegistroMetricas.SaidaContada out = metricas.contarSaida(new ByteArrayOutputStream());
+        out.write(1);
+        out.write(new byte[20], 5, 10);
+        assertEquals(31, in.getBytes());
+        assertEquals(11, out.getBytes());
+
+        Map<String, Object> depois = linha(metricas.resumir(), "SERVIDOR");
+        assertEquals(31, (long) depois.get("bytes_recebidos") - (long) antes.get("bytes_recebidos"));
+        assertEquals(11, (long) depois.get("bytes_enviados") - (long) antes.get("bytes_enviados"));
+    }
+
+    private static Map<String, Object> linha(List<Map<String, Object>> linhas, String comando) {
+        return linhas.stream().filter(l -> comando.equals(l.get("comando"))).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,107 @@
+package precos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.Repositorios;
+import java.sql.SQLException;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link HistoricoPrecos}, sobre o armazenamento em memória.
+ * <p>
+ * Os produtos são gravados direto no repositório, sem passar pelo
+ * {@code service.ProdutoService}: cada teste registra os preços no histórico
+ * pelos mesmos métodos que o serviço chama.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class HistoricoPrecosTest {
+
+    private final HistoricoPrecos historico = HistoricoPrecos.getInstancia();
+
+    @BeforeAll
+    static void iniciar() {
+        assertTrue(Repositorios.isMemoria());
+        HistoricoPrecos.iniciar();
+    }
+
+    /** O preço anterior vale desde sempre; o novo, a partir da alteração. */
+    @Test
+    void precoDaEpoca() {
+        Produto produto = inserir("Histórico Época", 10.0);
+        historico.registrarPrecoAnterior(produto.getId());
+        assertEquals(1000, historico.centavosEm(produto.getId(), System.currentTimeMillis()));
+
+        long antes = System.currentTimeMillis() - 1;
+        historico.registrarPreco(alterarPreco(produto, 12.5));
+
+        assertEquals(1000, historico.centavosEm(produto.getId(), 0));
+        assertEquals(1000, historico.centavosEm(produto.getId(), antes));
+        assertEquals(1250, historico.centavosEm(produto.getId(), System.currentTimeMillis() + 1000));
+    }
+
+    /** Um preço igual ao vigente não grava vigência nova; o anterior só é gravado uma vez. */
+    @Test
+    void precoIgualNaoGrava() throws SQLException {
+        Produto produto = inserir("Histórico Igual", 7.0);
+        historico.registrarPrecoAnterior(produto.getId());
+        historico.registrarPrecoAnterior(produto.getId());
+        historico.registrarPreco(produto);
+        historico.registrarPreco(alterarPreco(produto, 7.0));
+
+        assertEquals(1, vigencias(produto.getId()));
+    }
+
+    /** Produto sem histórico ou removido do índice: {@code -1}. */
+    @Test
+    void semHistorico() {
+        assertEquals(-1, historico.centavosEm(Integer.MAX_VALUE, 0));
+
+        Produto produto = inserir("Histórico Removido", 3.0);
+        historico.registrarPrecoAnterior(produto.getId());
+        assertEquals(300, historico.centavosEm(produto.getId(), 0));
+        historico.remover(produto.getId());
+        assertEquals(-1, historico.centavosEm(produto.getId(), 0));
+    }
+
+    /** Ao iniciar de novo, as vigências gravadas voltam ao índice, sem duplicar. */
+    @Test
+    void recarregaVigenciasGravadas() throws SQLException {
+        Produto produto = inserir("Histórico Recarregado", 4.0);
+        historico.registrarPrecoAnterior(produto.getId());
+        historico.registrarPreco(alterarPreco(produto, 5.0));
+        historico.remover(produto.getId());
+
+        HistoricoPrecos.iniciar();
+
+        assertEquals(400, historico.centavosEm(produto.getId(), 0));
+        assertEquals(500, historico.centavosEm(produto.getId(), System.currentTimeMillis() + 1000));
+        assertEquals(2, vigencias(produto.getId()));
+    }
+
+    private static long vigencias(int produtoId) throws SQLException {
+        return Repositorios.historicoPrecos().carregar().stream().filter(v -> v.produtoId() == produtoId).count();
+    }
+
+    private static Produto inserir(String nome, double preco) {
+        Categoria categoria = new Categoria();
+        categoria.setNome(nome);
+        Repositorios.categorias().inserir(categoria);
+        Produto produto = new Produto(0, nome, preco, "UN", 10, 0, 100, categoria);
+        assertEquals("Produto inserido com sucesso!", Repositorios.produtos().inserir(produto));
+        return produto;
+    }
+
+    private static Produto alterarPreco(Produto p, double preco) {
+        Produto alterado = new Produto(p.getId(), p.getNome(), preco, p.getTipoUnidade(), p.getQuantidadeAtual(),
+                p.getQuantidadeMinima(), p.getQuantidadeMaxima(), p.getCategoria());
+        assertEquals("Produto atualizado com sucesso!", Repositorios.produtos().atualizar(alterado));
+        return alterado;
+    }
+}
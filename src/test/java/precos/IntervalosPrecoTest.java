@@ -0,0 +1,54 @@
+package precos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes dos {@link IntervalosPreco}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class IntervalosPrecoTest {
+
+    /** Cada vigência vale do seu início até o início da seguinte; antes da primeira, vale a primeira. */
+    @Test
+    void precoNosLimitesDasVigencias() {
+        IntervalosPreco intervalos = IntervalosPreco.de(100, 1000).com(200, 1200).com(300, 900);
+
+        assertEquals(1000, intervalos.centavosEm(0));
+        assertEquals(1000, intervalos.centavosEm(100));
+        assertEquals(1000, intervalos.centavosEm(199));
+        assertEquals(1200, intervalos.centavosEm(200));
+        assertEquals(1200, intervalos.centavosEm(299));
+        assertEquals(900, intervalos.centavosEm(300));
+        assertEquals(900, intervalos.centavosEm(Long.MAX_VALUE));
+        assertEquals(900, intervalos.atual());
+    }
+
+    /** Vigências fora de ordem entram na posição certa; o mesmo início substitui o preço. */
+    @Test
+    void insercaoOrdenadaESubstituicao() {
+        IntervalosPreco intervalos = IntervalosPreco.de(300, 900).com(100, 1000).com(200, 1200);
+        assertEquals(1000, intervalos.centavosEm(150));
+        assertEquals(1200, intervalos.centavosEm(250));
+        assertEquals(900, intervalos.atual());
+
+        IntervalosPreco substituido = intervalos.com(200, 1500);
+        assertEquals(1500, substituido.centavosEm(250));
+        assertEquals(900, substituido.centavosEm(300));
+    }
+
+    /** Uma vigência nova não altera a versão de quem já está consultando. */
+    @Test
+    void copiaNaoAlteraOriginal() {
+        IntervalosPreco original = IntervalosPreco.de(100, 1000).com(200, 1200);
+        original.com(150, 1100);
+        original.com(200, 1300);
+
+        assertEquals(1000, original.centavosEm(150));
+        assertEquals(1200, original.centavosEm(200));
+        assertEquals(1200, original.atual());
+    }
+}
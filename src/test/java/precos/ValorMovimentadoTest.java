@@ -0,0 +1,67 @@
+package precos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dao.Repositorios;
+import java.util.List;
+import java.util.Map;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.Test;
+import relatorios.ColetorLinhas;
+import relatorios.Relatorio;
+
+/**
+ * Testes do {@link ValorMovimentado}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ValorMovimentadoTest {
+
+    /**
+     * Movimentações valorizadas pelo preço da época; produto sem histórico
+     * pelo preço atual; linhas do maior para o menor valor de saídas.
+     */
+    @Test
+    void valorAPrecoDaEpoca() {
+        HistoricoPrecos.iniciar();
+        HistoricoPrecos historico = HistoricoPrecos.getInstancia();
+        Categoria categoria = new Categoria();
+        categoria.setNome("Valor Movimentado");
+        Repositorios.categorias().inserir(categoria);
+        Produto produto = new Produto(0, "alfa", 10.0, "UN", 10, 0, 100, categoria);
+        assertEquals("Produto inserido com sucesso!", Repositorios.produtos().inserir(produto));
+        historico.registrarPrecoAnterior(produto.getId());
+        produto.setPreco(12.0);
+        Repositorios.produtos().atualizar(produto);
+        historico.registrarPreco(produto);
+
+        int semHistorico = Integer.MAX_VALUE - 1;
+        long depois = System.currentTimeMillis() + 10_000;
+        ValorMovimentado valor = new ValorMovimentado();
+        valor.somar(produto.getId(), true, 5, 1000);
+        valor.somar(produto.getId(), false, 2, 1000);
+        valor.somar(produto.getId(), false, 1, depois);
+        valor.somar(semHistorico, false, 10, depois);
+        valor.produto(produto.getId(), "alfa", categoria.getNome(), 12.0);
+        valor.produto(semHistorico, "beta", categoria.getNome(), 5.0);
+        valor.produto(Integer.MAX_VALUE - 2, "sem movimentações", categoria.getNome(), 1.0);
+
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(Relatorio.VALOR_MOVIMENTADO);
+        assertEquals(2, valor.escrever(coletor));
+        List<Map<String, Object>> linhas = coletor.getLinhas();
+
+        assertEquals("beta", linhas.get(0).get("produto"));
+        assertEquals(50.0, linhas.get(0).get("valor_saidas"));
+        assertEquals(50.0, linhas.get(0).get("valor_saidas_preco_atual"));
+
+        Map<String, Object> alfa = linhas.get(1);
+        assertEquals(5L, alfa.get("entradas"));
+        assertEquals(3L, alfa.get("saidas"));
+        assertEquals(50.0, alfa.get("valor_entradas"));
+        assertEquals(32.0, alfa.get("valor_saidas"));
+        assertEquals(36.0, alfa.get("valor_saidas_preco_atual"));
+    }
+}
@@ -0,0 +1,129 @@
+package relatorios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.BlocoRelatorio;
+import model.CabecalhoRelatorio;
+import model.TipoColuna;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link EscritorQuadros} e do {@link ColetorLinhas}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class EscritorQuadrosTest {
+
+    /** Linhas por bloco padrão. */
+    private static final int BLOCO = 512;
+
+    /**
+     * Cabeçalho uma vez, blocos cheios enquanto as linhas são escritas e o
+     * último com o resto; cada bloco traz os próprios valores, apesar dos
+     * vetores reaproveitados.
+     */
+    @Test
+    void cabecalhoEBlocosPorColuna() throws Exception {
+        int linhas = 2 * BLOCO + 76;
+        List<Object> quadros = escrever(linhas);
+
+        CabecalhoRelatorio cabecalho = (CabecalhoRelatorio) quadros.get(0);
+        assertEquals("BALANCO", cabecalho.getRelatorio());
+        assertEquals(5, cabecalho.getQuantidadeColunas());
+        assertEquals("quantidade", cabecalho.getColuna(2));
+        assertEquals(TipoColuna.INTEIRO, cabecalho.getTipo(2));
+        assertEquals(TipoColuna.DECIMAL, cabecalho.getTipo(4));
+
+        assertEquals(4, quadros.size());
+        int linha = 0;
+        for (int b = 1; b < quadros.size(); b++) {
+            BlocoRelatorio bloco = (BlocoRelatorio) quadros.get(b);
+            assertEquals(b == 3, bloco.isUltimo());
+            assertEquals(b == 3 ? 76 : BLOCO, bloco.getLinhas());
+            assertEquals(bloco.getLinhas(), bloco.getTextos(0).length);
+            for (int i = 0; i < bloco.getLinhas(); i++, linha++) {
+                assertEquals("Produto " + linha, bloco.getTextos(0)[i]);
+                assertEquals(linha, bloco.getInteiros(2)[i]);
+                assertEquals(linha * 0.5, bloco.getDecimais(4)[i]);
+            }
+        }
+        assertEquals(linhas, linha);
+    }
+
+    /** Com um múltiplo exato do bloco, o último bloco vem vazio. */
+    @Test
+    void ultimoBlocoVazio() throws Exception {
+        List<Object> quadros = escrever(BLOCO);
+        assertEquals(3, quadros.size());
+        assertFalse(((BlocoRelatorio) quadros.get(1)).isUltimo());
+        BlocoRelatorio ultimo = (BlocoRelatorio) quadros.get(2);
+        assertTrue(ultimo.isUltimo());
+        assertEquals(0, ultimo.getLinhas());
+
+        List<Object> vazio = escrever(0);
+        assertEquals(2, vazio.size());
+        assertTrue(((BlocoRelatorio) vazio.get(1)).isUltimo());
+    }
+
+    @Test
+    void colunaForaDoTipoOuLinhaIncompleta() throws IOException {
+        EscritorQuadros escritor = new EscritorQuadros(new ObjectOutputStream(new ByteArrayOutputStream()));
+        escritor.iniciar(Relatorio.QTD_POR_CATEGORIA);
+        assertThrows(IllegalStateException.class, () -> escritor.inteiro(1));
+        escritor.texto("Bebidas");
+        assertThrows(IllegalStateException.class, escritor::fimLinha);
+        escritor.inteiro(3).fimLinha();
+        assertThrows(IllegalStateException.class, () -> escritor.texto("a").inteiro(1).inteiro(2));
+    }
+
+    /** O coletor monta um mapa por linha, com inteiros em {@link Long} e decimais em {@link Double}. */
+    @Test
+    void coletorMontaMapas() {
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(Relatorio.LISTA_PRECOS);
+        coletor.texto("Arroz").texto("Mercearia").decimal(5.5).texto("KG").fimLinha();
+        coletor.iniciar(Relatorio.QTD_POR_CATEGORIA);
+        coletor.texto("Mercearia").inteiro(7).fimLinha();
+        coletor.concluir();
+
+        assertEquals(List.of(
+                Map.of("produto", "Arroz", "categoria", "Mercearia", "preco", 5.5, "tipo_unidade", "KG"),
+                Map.of("categoria", "Mercearia", "quantidade", 7L)), coletor.getLinhas());
+    }
+
+    /** Escreve linhas do balanço e lê de volta os quadros enviados. */
+    private static List<Object> escrever(int linhas) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EscritorQuadros escritor = new EscritorQuadros(new ObjectOutputStream(bytes));
+        escritor.iniciar(Relatorio.BALANCO);
+        for (int i = 0; i < linhas; i++) {
+            escritor.texto("Produto " + i).texto("Categoria").inteiro(i).decimal(0.5).decimal(i * 0.5);
+            escritor.fimLinha();
+        }
+        escritor.concluir();
+        assertEquals(linhas, escritor.getTotalLinhas());
+        assertEquals(linhas / BLOCO + 1, escritor.getBlocos());
+
+        List<Object> quadros = new ArrayList<>();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object quadro;
+            do {
+                quadro = in.readObject();
+                quadros.add(quadro);
+            } while (!(quadro instanceof BlocoRelatorio b && b.isUltimo()));
+        }
+        return quadros;
+    }
+}
@@ -0,0 +1,102 @@
+package reposicao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import relatorios.ColetorLinhas;
+import relatorios.Relatorio;
+
+/**
+ * Testes da {@link CoberturaEstoque}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class CoberturaEstoqueTest {
+
+    /** Saída média, cobertura, ponto de pedido e sugestão até a quantidade máxima. */
+    @Test
+    void metricasDeUmProduto() {
+        CoberturaEstoque.Posicao p = new CoberturaEstoque.Posicao(1, "Arroz", "Mercearia", 40, 10, 200);
+        CoberturaEstoque.Linha linha = CoberturaEstoque.calcular(List.of(p), Map.of(1, 90L), 30, 7)[0];
+
+        assertEquals(3.0, linha.saidaMediaDiaria());
+        assertEquals(40 / 3.0, linha.diasCobertura(), 1e-9);
+        assertEquals(10 + 21, linha.pontoPedido());
+        assertEquals(0, linha.sugestaoCompra());
+
+        // No ponto de pedido: compra até a máxima
+        CoberturaEstoque.Posicao noPonto = new CoberturaEstoque.Posicao(1, "Arroz", "Mercearia", 31, 10, 200);
+        assertEquals(169, CoberturaEstoque.calcular(List.of(noPonto), Map.of(1, 90L), 30, 7)[0].sugestaoCompra());
+    }
+
+    /** O consumo previsto é arredondado para cima; a máxima abaixo do ponto de pedido não o limita. */
+    @Test
+    void pontoDePedidoArredondadoEMaximaBaixa() {
+        CoberturaEstoque.Posicao p = new CoberturaEstoque.Posicao(2, "Sal", "Temperos", 0, 5, 6);
+        CoberturaEstoque.Linha linha = CoberturaEstoque.calcular(List.of(p), Map.of(2, 10L), 30, 7)[0];
+        assertEquals(5 + 3, linha.pontoPedido());
+        assertEquals(8, linha.sugestaoCompra());
+        assertEquals(0.0, linha.diasCobertura());
+    }
+
+    /** Sem saídas, a cobertura é infinita (escrita como {@code -1}) e o ponto de pedido é a mínima. */
+    @Test
+    void semSaidas() {
+        CoberturaEstoque.Posicao acima = new CoberturaEstoque.Posicao(3, "Pilha", "Bazar", 20, 5, 50);
+        CoberturaEstoque.Posicao abaixo = new CoberturaEstoque.Posicao(4, "Copo", "Bazar", 2, 5, 50);
+        CoberturaEstoque.Linha[] linhas = CoberturaEstoque.calcular(List.of(acima, abaixo), Map.of(), 30, 7);
+
+        assertEquals("Copo", linhas[0].produto());
+        assertEquals(48, linhas[0].sugestaoCompra());
+        assertEquals(Double.POSITIVE_INFINITY, linhas[1].diasCobertura());
+        assertEquals(5, linhas[1].pontoPedido());
+
+        ColetorLinhas coletor = new ColetorLinhas();
+        coletor.iniciar(Relatorio.COBERTURA_ESTOQUE);
+        CoberturaEstoque.escrever(linhas, coletor);
+        assertEquals(-1.0, coletor.getLinhas().get(1).get("dias_cobertura"));
+        assertEquals(48L, coletor.getLinhas().get(0).get("sugestao_compra"));
+    }
+
+    /**
+     * Urgência: primeiro quem tem sugestão de compra, depois a menor
+     * cobertura, depois o nome, também com a ordenação paralela de muitos
+     * produtos.
+     */
+    @Test
+    void ordemDeUrgencia() {
+        List<CoberturaEstoque.Posicao> posicoes = new ArrayList<>();
+        Map<Integer, Long> saidas = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            posicoes.add(new CoberturaEstoque.Posicao(i, "Produto " + (i % 97), "Categoria", i % 300, 20, 250));
+            if (i % 3 != 0) {
+                saidas.put(i, (long) (i % 120));
+            }
+        }
+        CoberturaEstoque.Linha[] linhas = CoberturaEstoque.calcular(posicoes, saidas, 30, 7);
+        assertEquals(posicoes.size(), linhas.length);
+
+        for (int i = 1; i < linhas.length; i++) {
+            CoberturaEstoque.Linha antes = linhas[i - 1];
+            CoberturaEstoque.Linha depois = linhas[i];
+            boolean compraAntes = antes.sugestaoCompra() > 0;
+            boolean compraDepois = depois.sugestaoCompra() > 0;
+            assertTrue(compraAntes || !compraDepois, "linha " + i);
+            if (compraAntes == compraDepois) {
+                assertTrue(antes.diasCobertura() <= depois.diasCobertura(), "linha " + i);
+                if (antes.diasCobertura() == depois.diasCobertura()) {
+                    assertTrue(antes.produto().compareToIgnoreCase(depois.produto()) <= 0, "linha " + i);
+                }
+            }
+        }
+        long sugeridas = Arrays.stream(linhas).filter(l -> l.sugestaoCompra() > 0).count();
+        assertTrue(sugeridas > 0 && sugeridas < linhas.length);
+    }
+}
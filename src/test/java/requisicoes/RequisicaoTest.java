@@ -0,0 +1,144 @@
+package requisicoes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import faixas.Faixa;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link Requisicao}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class RequisicaoTest {
+
+    @AfterEach
+    void desassociar() {
+        Requisicao.desassociar();
+    }
+
+    @Test
+    void iniciarEEncerrar() {
+        Requisicao requisicao = Requisicao.iniciar("LISTAR_PRODUTOS", "teste", 10_000);
+        assertSame(requisicao, Requisicao.atual());
+        assertSame(requisicao, Requisicao.buscar(requisicao.getId()));
+        assertTrue(Requisicao.listarAtivas().stream().anyMatch(l -> l.get("id").equals(requisicao.getId())));
+
+        requisicao.encerrar();
+        assertNull(Requisicao.atual());
+        assertNull(Requisicao.buscar(requisicao.getId()));
+    }
+
+    /**
+     * O cancelamento interrompe os comandos em execução e os registrados
+     * depois dele; só o primeiro tem efeito.
+     */
+    @Test
+    void cancelarInterrompeComandos() {
+        Requisicao requisicao = Requisicao.iniciar("RELATORIO_BALANCO", "teste", 10_000);
+        AtomicInteger cancelados = new AtomicInteger();
+        Statement emExecucao = comando(cancelados);
+        Statement concluido = comando(cancelados);
+        requisicao.registrar(emExecucao);
+        requisicao.registrar(concluido);
+        requisicao.desregistrar(concluido);
+
+        assertTrue(requisicao.cancelar("cliente desconectou"));
+        assertFalse(requisicao.cancelar("outro motivo"));
+        assertEquals(1, cancelados.get());
+        assertEquals("cliente desconectou", requisicao.getMotivoCancelamento());
+
+        requisicao.registrar(comando(cancelados));
+        assertEquals(2, cancelados.get());
+        SQLException erro = assertThrows(SQLException.class, requisicao::verificar);
+        assertTrue(erro.getMessage().contains("cliente desconectou"));
+        assertFalse(requisicao.responder());
+        requisicao.encerrar();
+    }
+
+    /** Depois de {@code responder}, a requisição não é mais cancelada. */
+    @Test
+    void respondidaNaoCancela() throws SQLException {
+        Requisicao requisicao = Requisicao.iniciar("LISTAR_PRODUTOS", "teste", 10_000);
+        assertTrue(requisicao.responder());
+        assertFalse(requisicao.cancelar("cliente desconectou"));
+        requisicao.verificar();
+        requisicao.encerrar();
+    }
+
+    @Test
+    void prazoEsgotadoCancela() {
+        Requisicao requisicao = Requisicao.iniciar("RELATORIO_BALANCO", "teste", 0);
+        assertTrue(requisicao.nanosRestantes() <= 0);
+        assertThrows(SQLException.class, requisicao::verificar);
+        assertTrue(requisicao.isCancelada());
+        assertTrue(requisicao.getMotivoCancelamento().contains("prazo de 0 ms"));
+        requisicao.encerrar();
+    }
+
+    @Test
+    void prazoPorComando() {
+        assertEquals(Faixa.RELATORIO.getPrazoMs(), Requisicao.prazoPara("RELATORIO_TESTE_SEM_PRAZO", Faixa.RELATORIO));
+        System.setProperty("estoque.prazoMs.RELATORIO_TESTE_COM_PRAZO", "1234");
+        try {
+            assertEquals(1234, Requisicao.prazoPara("RELATORIO_TESTE_COM_PRAZO", Faixa.RELATORIO));
+        } finally {
+            System.clearProperty("estoque.prazoMs.RELATORIO_TESTE_COM_PRAZO");
+        }
+    }
+
+    /** Threads criadas durante o atendimento não herdam a requisição nem a faixa. */
+    @Test
+    void threadsNovasNaoHerdam() throws InterruptedException {
+        Requisicao requisicao = Requisicao.iniciar("RELATORIO_DASHBOARD", "teste", 10_000);
+        assertTrue(Faixa.RELATORIO.entrar());
+        try {
+            AtomicReference<Object> vistaRequisicao = new AtomicReference<>("não lida");
+            AtomicReference<Object> vistaFaixa = new AtomicReference<>("não lida");
+            Thread.ofPlatform().start(() -> {
+                vistaRequisicao.set(Requisicao.atual());
+                vistaFaixa.set(Faixa.atual());
+            }).join();
+            assertNull(vistaRequisicao.get());
+            assertNull(vistaFaixa.get());
+
+            // Associada explicitamente, como nas tarefas do painel
+            Thread.ofVirtual().start(() -> {
+                requisicao.associar();
+                vistaRequisicao.set(Requisicao.atual());
+                Requisicao.desassociar();
+            }).join();
+            assertSame(requisicao, vistaRequisicao.get());
+        } finally {
+            Faixa.RELATORIO.sair();
+            requisicao.encerrar();
+        }
+    }
+
+    /** Comando simulado que conta as chamadas a {@code cancel()}. */
+    private static Statement comando(AtomicInteger cancelados) {
+        return (Statement) Proxy.newProxyInstance(RequisicaoTest.class.getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("cancel")) {
+                        cancelados.incrementAndGet();
+                    }
+                    return switch (metodo.getName()) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    };
+                });
+    }
+}
@@ -0,0 +1,120 @@
+package reservas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da {@link RodaTemporizadores}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class RodaTemporizadoresTest {
+
+    /** Itens vencidos, com o instante do vencimento. */
+    private final BlockingQueue<Object[]> vencidos = new LinkedBlockingQueue<>();
+
+    /** Itens encerrados por outro caminho. */
+    private final Set<String> encerrados = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void itemVenceNoPrazo() throws InterruptedException {
+        RodaTemporizadores<String> roda = criar(64);
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30);
+        roda.agendar("a", prazo);
+
+        Object[] vencido = vencidos.poll(5, TimeUnit.SECONDS);
+        assertEquals("a", vencido[0]);
+        // Vence até um tick depois do prazo, nunca antes do tick do prazo
+        assertTrue((long) vencido[1] >= prazo - TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(0, roda.getPendentes());
+    }
+
+    /** Com prazo maior que uma volta, o item só vence depois das voltas que faltam. */
+    @Test
+    void prazoMaiorQueVoltaEsperaAsVoltas() throws InterruptedException {
+        RodaTemporizadores<String> roda = criar(4);
+        assertEquals(20, roda.getVoltaMs());
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        roda.agendar("a", prazo);
+
+        Object[] vencido = vencidos.poll(5, TimeUnit.SECONDS);
+        assertEquals("a", vencido[0]);
+        assertTrue((long) vencido[1] >= prazo - TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void itemEncerradoSaiSemVencer() throws InterruptedException {
+        RodaTemporizadores<String> roda = criar(64);
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30);
+        roda.agendar("encerrado", prazo);
+        roda.agendar("aberto", prazo);
+        encerrados.add("encerrado");
+
+        assertEquals("aberto", vencidos.poll(5, TimeUnit.SECONDS)[0]);
+        assertEquals(0, roda.getPendentes());
+        assertTrue(vencidos.isEmpty());
+    }
+
+    /**
+     * Um item encerrado com muitas voltas pela frente sai da roda na primeira
+     * visita à sua posição, bem antes do prazo.
+     */
+    @Test
+    void itemEncerradoSaiEmAteUmaVolta() throws InterruptedException {
+        RodaTemporizadores<String> roda = criar(4);
+        roda.agendar("encerrado", System.nanoTime() + TimeUnit.MINUTES.toNanos(10));
+        encerrados.add("encerrado");
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (roda.getPendentes() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, roda.getPendentes());
+        assertTrue(vencidos.isEmpty());
+    }
+
+    /** Uma falha na ação de um item não para a roda. */
+    @Test
+    void falhaAoVencerNaoParaARoda() throws InterruptedException {
+        RodaTemporizadores<String> roda = new RodaTemporizadores<>("roda-teste", 5, 64, item -> {
+            if (item.equals("falha")) {
+                throw new IllegalStateException("falha ao vencer");
+            }
+            vencidos.add(new Object[]{item, System.nanoTime()});
+        }, encerrados::contains);
+        long agora = System.nanoTime();
+        roda.agendar("falha", agora + TimeUnit.MILLISECONDS.toNanos(10));
+        roda.agendar("a", agora + TimeUnit.MILLISECONDS.toNanos(40));
+
+        assertEquals("a", vencidos.poll(5, TimeUnit.SECONDS)[0]);
+        assertEquals(0, roda.getPendentes());
+    }
+
+    @Test
+    void itensVencemEmOrdemDePrazo() throws InterruptedException {
+        RodaTemporizadores<String> roda = criar(8);
+        long agora = System.nanoTime();
+        roda.agendar("c", agora + TimeUnit.MILLISECONDS.toNanos(90));
+        roda.agendar("a", agora + TimeUnit.MILLISECONDS.toNanos(10));
+        roda.agendar("b", agora + TimeUnit.MILLISECONDS.toNanos(50));
+
+        for (String esperado : List.of("a", "b", "c")) {
+            assertEquals(esperado, vencidos.poll(5, TimeUnit.SECONDS)[0]);
+        }
+    }
+
+    /** Roda com ticks de 5 ms. */
+    private RodaTemporizadores<String> criar(int posicoes) {
+        return new RodaTemporizadores<>("roda-teste", 5, posicoes,
+                item -> vencidos.add(new Object[]{item, System.nanoTime()}), encerrados::contains);
+    }
+}
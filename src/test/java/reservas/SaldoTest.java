@@ -0,0 +1,90 @@
+package reservas;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link Saldo}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class SaldoTest {
+
+    @Test
+    void reservaLimitadaAoDisponivel() {
+        Saldo saldo = new Saldo(10, 10);
+        assertTrue(saldo.reservar(6));
+        assertFalse(saldo.reservar(5));
+        assertTrue(saldo.reservar(4));
+        assertArrayEquals(new int[]{10, 10, 0}, saldo.ler());
+
+        saldo.liberar(3);
+        assertArrayEquals(new int[]{10, 7, 3}, saldo.ler());
+    }
+
+    /** Com reservas, a saída avulsa não usa as unidades reservadas; sem reservas, passa. */
+    @Test
+    void saidaAvulsaNaoUsaReservado() {
+        Saldo saldo = new Saldo(10, 10);
+        saldo.reservar(8);
+        assertFalse(saldo.saida(3));
+        assertTrue(saldo.saida(2));
+        assertArrayEquals(new int[]{8, 8, 0}, saldo.ler());
+
+        Saldo semReservas = new Saldo(1, 1);
+        assertTrue(semReservas.saida(3));
+        assertArrayEquals(new int[]{-2, 0, -2}, semReservas.ler());
+    }
+
+    @Test
+    void confirmacaoBaixaDoFisico() {
+        Saldo saldo = new Saldo(10, 10);
+        saldo.reservar(4);
+        saldo.confirmar(4);
+        assertArrayEquals(new int[]{6, 0, 6}, saldo.ler());
+
+        // Saída da reserva não gravada: as unidades voltam ao físico
+        saldo.concluir(4);
+        assertArrayEquals(new int[]{10, 0, 10}, saldo.ler());
+    }
+
+    /** A alteração do cadastro muda o físico pela diferença, sem perder as movimentações. */
+    @Test
+    void recontarAplicaDiferencaDoCadastro() {
+        Saldo saldo = new Saldo(10, 13);
+        saldo.recontar(20);
+        assertArrayEquals(new int[]{23, 0, 23}, saldo.ler());
+        saldo.recontar(5);
+        assertArrayEquals(new int[]{8, 0, 8}, saldo.ler());
+    }
+
+    /** Só descarta sem reservas nem gravações em andamento. */
+    @Test
+    void descarteSoQuandoLivre() {
+        Saldo saldo = new Saldo(10, 10);
+        saldo.reservar(1);
+        assertFalse(saldo.descartarSeLivre());
+        saldo.liberar(1);
+
+        assertTrue(saldo.entrada(5));
+        assertFalse(saldo.descartarSeLivre());
+        saldo.concluir(0);
+
+        assertTrue(saldo.descartarSeLivre());
+        assertTrue(saldo.isDescartado());
+    }
+
+    @Test
+    void saldoDescartadoRecusaOperacoes() {
+        Saldo saldo = new Saldo(10, 10);
+        assertTrue(saldo.descartarSeLivre());
+        assertFalse(saldo.reservar(1));
+        assertFalse(saldo.saida(1));
+        assertFalse(saldo.entrada(1));
+        assertArrayEquals(new int[]{10, 0, 10}, saldo.ler());
+    }
+}
@@ -0,0 +1,139 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import model.Produto;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link IndiceBuscaProduto}.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class IndiceBuscaProdutoTest {
+
+    private final IndiceBuscaProduto indice = new IndiceBuscaProduto();
+
+    @Test
+    void normalizarRemoveAcentosEPontuacao() {
+        assertEquals("feijao carioca 1kg", IndiceBuscaProduto.normalizar("  Feijão   Carioca (1kg)!"));
+        assertEquals("acucar", IndiceBuscaProduto.normalizar("AÇÚCAR"));
+        assertEquals("", IndiceBuscaProduto.normalizar(null));
+        assertEquals("", IndiceBuscaProduto.normalizar(" -- "));
+    }
+
+    /** Cada palavra digitada deve iniciar alguma palavra do nome. */
+    @Test
+    void buscaPorPrefixos() throws SQLException {
+        carregar("Arroz Branco", "Arroz Integral", "Feijão Carioca", "Branco de Neve");
+
+        List<String> nomes = nomes(indice.buscar("arr bran", 10));
+        assertEquals("Arroz Branco", nomes.get(0));
+        assertFalse(nomes.contains("Branco de Neve"));
+
+        assertEquals(List.of("Arroz Branco", "Arroz Integral"), nomes(indice.buscar("ARR", 10)));
+    }
+
+    /** O prefixo do nome completo vem antes do prefixo de outra palavra. */
+    @Test
+    void prefixoDoNomeVemPrimeiro() throws SQLException {
+        carregar("Pão de Leite", "Leite Integral", "Doce de Leite Cremoso");
+        List<String> nomes = nomes(indice.buscar("leite", 10));
+        assertEquals("Leite Integral", nomes.get(0));
+        assertEquals(3, nomes.size());
+    }
+
+    /** Trigramas encontram trechos do nome e toleram erros de digitação. */
+    @Test
+    void buscaTolerante() throws SQLException {
+        carregar("Feijão Carioca", "Feijão Preto", "Café Torrado");
+        assertEquals("Feijão Carioca", nomes(indice.buscar("feijao carioac", 10)).get(0));
+        assertEquals("Café Torrado", nomes(indice.buscar("torado", 10)).get(0));
+        assertTrue(indice.buscar("xyzw", 10).isEmpty());
+    }
+
+    @Test
+    void limiteDeResultados() throws SQLException {
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            produtos.add(produto(i, "Parafuso " + i));
+        }
+        indice.garantirCarregado(() -> produtos);
+
+        assertEquals(5, indice.buscar("paraf", 5).size());
+        assertEquals(50, indice.buscar("paraf", 100).size());
+        assertTrue(indice.buscar("paraf", 0).isEmpty());
+        assertTrue(indice.buscar("   ", 5).isEmpty());
+    }
+
+    @Test
+    void alteracoesDepoisDaCarga() throws SQLException {
+        carregar("Arroz Branco", "Feijão Preto");
+
+        indice.atualizar(produto(1, "Macarrão Espaguete"));
+        assertTrue(indice.buscar("arroz", 10).isEmpty());
+        assertEquals("Macarrão Espaguete", nomes(indice.buscar("macarrao", 10)).get(0));
+
+        indice.atualizar(produto(3, "Farinha de Trigo"));
+        assertEquals(1, indice.buscar("farinha", 10).size());
+
+        indice.remover(2);
+        assertTrue(indice.buscar("feijao", 10).isEmpty());
+    }
+
+    /** Antes da carga, alterações são ignoradas: a carga lê o estado atual. */
+    @Test
+    void alteracoesAntesDaCargaIgnoradas() throws SQLException {
+        indice.atualizar(produto(1, "Arroz Branco"));
+        indice.remover(1);
+        assertFalse(indice.isCarregado());
+
+        carregar("Feijão Preto");
+        assertTrue(indice.buscar("arroz", 10).isEmpty());
+        assertEquals(1, indice.buscar("feijao", 10).size());
+    }
+
+    /** Se a fonte falha, o índice continua não carregado e a próxima chamada tenta de novo. */
+    @Test
+    void cargaRepetidaAposFalha() throws SQLException {
+        assertThrows(SQLException.class, () -> indice.garantirCarregado(() -> {
+            throw new SQLException("Sem conexão com o banco de dados.");
+        }));
+        assertFalse(indice.isCarregado());
+
+        carregar("Arroz Branco");
+        assertTrue(indice.isCarregado());
+        // Já carregado: a fonte não é lida de novo
+        indice.garantirCarregado(() -> {
+            throw new SQLException("não deveria ler");
+        });
+        assertEquals(1, indice.buscar("arroz", 10).size());
+    }
+
+    /** Carrega o índice com produtos de IDs 1, 2, ... na ordem dos nomes. */
+    private void carregar(String... nomes) throws SQLException {
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < nomes.length; i++) {
+            produtos.add(produto(i + 1, nomes[i]));
+        }
+        indice.garantirCarregado(() -> produtos);
+    }
+
+    private static List<String> nomes(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getNome).toList();
+    }
+
+    private static Produto produto(int id, String nome) {
+        Produto p = new Produto();
+        p.setId(id);
+        p.setNome(nome);
+        return p;
+    }
+}
@@ -0,0 +1,71 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.Repositorios;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link ProdutoService}, sobre o armazenamento em memória.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class ProdutoServiceTest {
+
+    private static Categoria categoria;
+
+    private final ProdutoService servico = new ProdutoService();
+
+    @BeforeAll
+    static void criarCategoria() throws Exception {
+        assertTrue(Repositorios.isMemoria());
+        categoria = new Categoria();
+        categoria.setNome("Mercearia");
+        Repositorios.categorias().inserir(categoria);
+    }
+
+    /**
+     * A resposta tem uma entrada por ID pedido, na ordem do pedido e sem
+     * repetições; IDs inexistentes vêm com {@code null}.
+     */
+    @Test
+    void buscarPorIdsNaOrdemDoPedido() throws SQLException {
+        int arroz = inserir("Arroz Branco");
+        int feijao = inserir("Feijão Preto");
+        int inexistente = Integer.MAX_VALUE;
+
+        Map<Integer, Produto> produtos = servico.buscarPorIds(new int[]{feijao, inexistente, arroz, feijao});
+
+        assertEquals(List.of(feijao, inexistente, arroz), new ArrayList<>(produtos.keySet()));
+        assertEquals("Feijão Preto", produtos.get(feijao).getNome());
+        assertEquals("Arroz Branco", produtos.get(arroz).getNome());
+        assertEquals("Mercearia", produtos.get(arroz).getCategoria().getNome());
+        assertNull(produtos.get(inexistente));
+    }
+
+    @Test
+    void buscarPorIdsSemIds() throws SQLException {
+        assertTrue(servico.buscarPorIds(new int[0]).isEmpty());
+    }
+
+    private static int inserir(String nome) {
+        Produto p = new Produto();
+        p.setNome(nome);
+        p.setPreco(10);
+        p.setTipoUnidade("un");
+        p.setQuantidadeAtual(5);
+        p.setCategoria(categoria);
+        assertTrue(Repositorios.produtos().inserir(p).contains("sucesso"));
+        return p.getId();
+    }
+}
@@ -0,0 +1,61 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dao.Repositorios;
+import java.util.List;
+import java.util.Map;
+import model.Categoria;
+import model.Produto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do {@link RelatorioService}, sobre o armazenamento em memória.
+ *
+ * @version 1.0
+ * @since 2025
+ */
+class RelatorioServiceTest {
+
+    private static final List<String> SECOES_PAINEL =
+            List.of("lista_precos", "balanco", "abaixo_minimo", "qtd_por_categoria", "mais_movimentado");
+
+    private final RelatorioService servico = new RelatorioService();
+
+    @BeforeAll
+    static void criarProdutos() throws Exception {
+        assertTrue(Repositorios.isMemoria());
+        Categoria categoria = new Categoria();
+        categoria.setNome("Painel");
+        Repositorios.categorias().inserir(categoria);
+        Repositorios.produtos().inserir(new Produto(0, "Painel Abaixo", 2.5, "UN", 1, 5, 50, categoria));
+        Repositorios.produtos().inserir(new Produto(0, "Painel Normal", 4.0, "UN", 20, 5, 50, categoria));
+    }
+
+    /** O painel traz as cinco seções na ordem da tela, cada uma igual ao relatório avulso. */
+    @Test
+    void painelIgualAosRelatoriosAvulsos() throws Exception {
+        Map<String, List<Map<String, Object>>> painel = servico.gerarDashboard(10_000);
+
+        assertEquals(SECOES_PAINEL, List.copyOf(painel.keySet()));
+        assertEquals(servico.listarPrecos(), painel.get("lista_precos"));
+        assertEquals(servico.balancoFisicoFinanceiro(), painel.get("balanco"));
+        assertEquals(servico.produtosAbaixoDoMinimo(), painel.get("abaixo_minimo"));
+        assertEquals(servico.quantidadePorCategoria(), painel.get("qtd_por_categoria"));
+        assertEquals(servico.produtoMaisMovimentado(), painel.get("mais_movimentado"));
+    }
+
+    @Test
+    void painelComOsProdutosCadastrados() throws Exception {
+        Map<String, List<Map<String, Object>>> painel = servico.gerarDashboard(10_000);
+
+        assertTrue(painel.get("lista_precos").stream().anyMatch(l -> "Painel Normal".equals(l.get("produto"))));
+        assertTrue(painel.get("abaixo_minimo").stream().anyMatch(l -> "Painel Abaixo".equals(l.get("produto"))));
+        assertTrue(painel.get("abaixo_minimo").stream().noneMatch(l -> "Painel Normal".equals(l.get("produto"))));
+        Map<String, Object> categoria = painel.get("qtd_por_categoria").stream()
+                .filter(l -> "Painel".equals(l.get("categoria"))).findFirst().orElseThrow();
+        assertEquals(2L, categoria.get("quantidade"));
+    }
+}